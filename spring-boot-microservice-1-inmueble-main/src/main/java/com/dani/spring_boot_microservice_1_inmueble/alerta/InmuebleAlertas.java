@@ -0,0 +1,228 @@
+package com.dani.spring_boot_microservice_1_inmueble.alerta;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleResumen;
+import com.dani.spring_boot_microservice_1_inmueble.event.ColectorInmuebles;
+import com.dani.spring_boot_microservice_1_inmueble.event.InmuebleEvent;
+import com.dani.spring_boot_microservice_1_inmueble.event.OyenteInmuebles;
+import com.dani.spring_boot_microservice_1_inmueble.model.BusquedaGuardada;
+import com.dani.spring_boot_microservice_1_inmueble.repository.BusquedaGuardadaRepository;
+import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleRepository;
+import com.dani.spring_boot_microservice_1_inmueble.shard.EnrutadorShards;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Avisos de nuevos inmuebles que cumplen las búsquedas guardadas de los usuarios.
+ * <p>
+ * Mantiene las búsquedas en un {@link Percolador} y sigue los {@link InmuebleEvent} de alta y
+ * actualización (los de {@code InmuebleServiceImpl#saveInmueble} y la importación masiva):
+ * <ol>
+ * <li>los IDs que le entrega {@link ColectorInmuebles} tras cada commit pasan a una cola común;</li>
+ * <li>cada {@code inmueble.alertas.intervalo}, un único hilo vacía la cola, relee esos inmuebles en
+ * bloque (cada uno de su shard), los pasa por el percolador e inserta los avisos de todas las coincidencias
+ * con lotes JDBC. Los avisos, como las búsquedas guardadas, están en el shard 0.</li>
+ * </ol>
+ * Así, una ráfaga de escrituras se resuelve con pocas consultas y sin añadir latencia a las peticiones.
+ * Si un lote falla (por ejemplo, con la base de datos caída), sus inmuebles y los siguientes vuelven a la
+ * cola para el próximo intervalo.
+ * Un inmueble nunca genera avisos para su propio dueño, y cada búsqueda avisa una sola vez por inmueble.
+ * <p>
+ * Las búsquedas se cargan al arrancar y se recargan cada {@code inmueble.alertas.recarga} para
+ * incorporar las guardadas a través de otras instancias del servicio.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Component
+@Slf4j
+public class InmuebleAlertas implements OyenteInmuebles {
+
+    private static final String SQL_INSERT = """
+            insert into inmueble_alerta (user_id, busqueda_id, inmueble_id, nombre, precio, fecha, leida)
+            values (?, ?, ?, ?, ?, ?, false)
+            on conflict (busqueda_id, inmueble_id) do nothing
+            """;
+
+    private static final int TAMANO_LOTE = 1000;
+
+    private record Aviso(Percolador.Consulta consulta, InmuebleResumen inmueble) {
+    }
+
+    private final BusquedaGuardadaRepository busquedaRepository;
+    private final InmuebleRepository inmuebleRepository;
+    private final EnrutadorShards enrutador;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate lectura;
+    private final Percolador percolador = new Percolador();
+    private final Set<Long> pendientes = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService procesador;
+    private volatile boolean cargado;
+
+    public InmuebleAlertas(BusquedaGuardadaRepository busquedaRepository,
+                           InmuebleRepository inmuebleRepository,
+                           EnrutadorShards enrutador,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${inmueble.alertas.intervalo:2s}") Duration intervalo,
+                           @Value("${inmueble.alertas.recarga:1m}") Duration recarga) {
+        this.busquedaRepository = busquedaRepository;
+        this.inmuebleRepository = inmuebleRepository;
+        this.enrutador = enrutador;
+        this.jdbcTemplate = jdbcTemplate;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.procesador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "inmueble-alertas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long periodo = Math.max(100, intervalo.toMillis());
+        long periodoRecarga = Math.max(1000, recarga.toMillis());
+        procesador.scheduleWithFixedDelay(this::procesar, periodo, periodo, TimeUnit.MILLISECONDS);
+        procesador.scheduleWithFixedDelay(this::cargar, periodoRecarga, periodoRecarga, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Carga todas las búsquedas guardadas al terminar el arranque.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        procesador.execute(this::cargar);
+    }
+
+    /**
+     * Incorpora (o actualiza) una búsqueda recién guardada en esta instancia.
+     *
+     * @param busqueda La búsqueda guardada.
+     */
+    public void registrar(BusquedaGuardada busqueda) {
+        percolador.guardar(consulta(busqueda));
+    }
+
+    /**
+     * Retira una búsqueda eliminada en esta instancia.
+     *
+     * @param busquedaId El ID de la búsqueda.
+     */
+    public void retirar(Long busquedaId) {
+        percolador.eliminar(busquedaId);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Solo interesan las altas y las actualizaciones.
+     */
+    @Override
+    public boolean acepta(InmuebleEvent.Tipo tipo) {
+        return tipo == InmuebleEvent.Tipo.CREADO || tipo == InmuebleEvent.Tipo.ACTUALIZADO;
+    }
+
+    /**
+     * Encola los inmuebles creados o actualizados para percolarlos en el siguiente intervalo.
+     *
+     * @param ids Los IDs modificados.
+     */
+    @Override
+    public void inmueblesConfirmados(Set<Long> ids) {
+        pendientes.addAll(ids);
+    }
+
+    @PreDestroy
+    void cerrar() {
+        procesador.shutdownNow();
+    }
+
+    private void cargar() {
+        try {
+            percolador.iniciarRecarga();
+            List<Percolador.Consulta> consultas = busquedaRepository.findAll().stream()
+                    .map(InmuebleAlertas::consulta)
+                    .toList();
+            percolador.reemplazar(consultas);
+            if (!cargado) {
+                cargado = true;
+                log.info("Percolador de búsquedas guardadas cargado: {} búsquedas.", consultas.size());
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron cargar las búsquedas guardadas: {}", e.getMessage());
+        }
+    }
+
+    private void procesar() {
+        if (!cargado || pendientes.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(pendientes);
+        pendientes.removeAll(ids);
+        int desde = 0;
+        try {
+            int avisos = 0;
+            for (; desde < ids.size(); desde += TAMANO_LOTE) {
+                List<Long> lote = ids.subList(desde, Math.min(desde + TAMANO_LOTE, ids.size()));
+                avisos += avisar(enrutador.leerPorShard(lote,
+                        suyos -> lectura.execute(status -> inmuebleRepository.findAllResumenByIdIn(suyos))));
+            }
+            log.debug("Percolados {} inmuebles: {} avisos.", ids.size(), avisos);
+        } catch (RuntimeException e) {
+            // Los lotes sin procesar vuelven a la cola; repetir un aviso ya insertado no tiene efecto.
+            pendientes.addAll(ids.subList(desde, ids.size()));
+            log.warn("No se pudieron generar los avisos de {} inmuebles; se reintentará: {}",
+                    ids.size() - desde, e.getMessage());
+        }
+    }
+
+    /**
+     * Percola los inmuebles e inserta los avisos resultantes.
+     *
+     * @return El número de coincidencias encontradas.
+     */
+    private int avisar(List<InmuebleResumen> inmuebles) {
+        List<Aviso> avisos = new ArrayList<>();
+        for (InmuebleResumen inmueble : inmuebles) {
+            for (Percolador.Consulta consulta : percolador.percolar(
+                    inmueble.estado(), inmueble.price(), inmueble.name(), inmueble.address())) {
+                if (inmueble.userId() == null || consulta.userId() != inmueble.userId()) {
+                    avisos.add(new Aviso(consulta, inmueble));
+                }
+            }
+        }
+        if (avisos.isEmpty()) {
+            return 0;
+        }
+        Timestamp fecha = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(SQL_INSERT, avisos, TAMANO_LOTE, (ps, aviso) -> {
+            ps.setLong(1, aviso.consulta().userId());
+            ps.setLong(2, aviso.consulta().id());
+            ps.setLong(3, aviso.inmueble().id());
+            ps.setString(4, aviso.inmueble().name());
+            ps.setObject(5, aviso.inmueble().price());
+            ps.setTimestamp(6, fecha);
+        });
+        return avisos.size();
+    }
+
+    private static Percolador.Consulta consulta(BusquedaGuardada busqueda) {
+        return Percolador.consulta(busqueda.getId(), busqueda.getUserId(), busqueda.getEstado(),
+                busqueda.getPrecioMinimo(), busqueda.getPrecioMaximo(), busqueda.getTexto());
+    }
+}
@@ -0,0 +1,290 @@
+package com.dani.spring_boot_microservice_1_inmueble.alerta;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
+import com.dani.spring_boot_microservice_1_inmueble.suggest.IndicePrefijos;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Percolador en memoria: indexa las búsquedas guardadas (no los inmuebles) para encontrar, dado un
+ * inmueble, qué búsquedas cumple sin evaluarlas todas.
+ * <p>
+ * Cada búsqueda se indexa bajo una única clave, así que nunca se examina dos veces para el mismo inmueble:
+ * <ul>
+ * <li>Las que tienen texto, bajo su palabra más larga (la que probablemente aparece en menos inmuebles).
+ * Para un inmueble solo se examinan las búsquedas ancladas en alguna de sus palabras.</li>
+ * <li>Las que no tienen texto, por estado (o "cualquier estado") y por bandas de precio de potencia de
+ * dos: una búsqueda {@code [min, max]} se registra en todas las bandas que solapa, y un inmueble solo
+ * consulta la banda de su precio.</li>
+ * </ul>
+ * Los candidatos se comprueban después con todos los criterios ({@link Consulta#cumple}).
+ * <p>
+ * Las escrituras están serializadas; las lecturas no toman ningún bloqueo. Una recarga completa
+ * ({@link #iniciarRecarga()} y {@link #reemplazar}) conserva los cambios hechos mientras se leían las
+ * búsquedas, que la lectura quizá ya no vio.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class Percolador {
+
+    /**
+     * Número de bandas de precio: la banda {@code b} contiene los precios en {@code [2^(b-1), 2^b)},
+     * y la banda 0 los menores que 1.
+     */
+    static final int BANDAS = 65;
+
+    private static final int CUALQUIER_ESTADO = EstadoInmueble.values().length;
+
+    /**
+     * Búsqueda guardada, tal como la evalúa el percolador.
+     *
+     * @param id           ID de la búsqueda.
+     * @param userId       ID del usuario que la guardó.
+     * @param estado       Estado exigido, o {@code null} para cualquiera.
+     * @param precioMinimo Precio mínimo (inclusive), o {@code null}.
+     * @param precioMaximo Precio máximo (inclusive), o {@code null}.
+     * @param palabras     Palabras normalizadas que deben aparecer todas (ver {@link IndicePrefijos#palabras}).
+     */
+    public record Consulta(long id, long userId, EstadoInmueble estado, Double precioMinimo, Double precioMaximo,
+                           List<String> palabras) {
+
+        /**
+         * Comprueba todos los criterios de la búsqueda.
+         *
+         * @param estadoInmueble   Estado del inmueble.
+         * @param precio           Precio del inmueble (puede ser {@code null}).
+         * @param palabrasInmueble Palabras normalizadas del nombre y la dirección.
+         * @return {@code true} si el inmueble cumple la búsqueda.
+         */
+        public boolean cumple(EstadoInmueble estadoInmueble, Double precio, Set<String> palabrasInmueble) {
+            if (estado != null && estado != estadoInmueble) {
+                return false;
+            }
+            if (precioMinimo != null && (precio == null || precio < precioMinimo)) {
+                return false;
+            }
+            if (precioMaximo != null && (precio == null || precio > precioMaximo)) {
+                return false;
+            }
+            return palabrasInmueble.containsAll(palabras);
+        }
+    }
+
+    /**
+     * Estructuras de un índice completo; {@link #reemplazar} construye uno nuevo y lo publica de una vez.
+     */
+    private static final class Indice {
+        private final Map<Long, Consulta> porId = new ConcurrentHashMap<>();
+        private final Map<String, Set<Consulta>> porPalabra = new ConcurrentHashMap<>();
+        @SuppressWarnings("unchecked")
+        private final Map<Integer, Set<Consulta>>[] porBanda = new Map[CUALQUIER_ESTADO + 1];
+
+        private Indice() {
+            for (int i = 0; i < porBanda.length; i++) {
+                porBanda[i] = new ConcurrentHashMap<>();
+            }
+        }
+    }
+
+    private volatile Indice indice = new Indice();
+
+    /**
+     * Búsquedas guardadas ({@code Optional} con la consulta) o eliminadas ({@code Optional.empty()})
+     * desde {@link #iniciarRecarga()}, o {@code null} si no hay ninguna recarga en curso.
+     */
+    private Map<Long, Optional<Consulta>> cambiosDuranteRecarga;
+
+    /**
+     * Crea la {@link Consulta} de una búsqueda, normalizando su texto.
+     *
+     * @param id           ID de la búsqueda.
+     * @param userId       ID del usuario.
+     * @param estado       Estado exigido, o {@code null}.
+     * @param precioMinimo Precio mínimo, o {@code null}.
+     * @param precioMaximo Precio máximo, o {@code null}.
+     * @param texto        Palabras exigidas, o {@code null}.
+     * @return La consulta.
+     */
+    public static Consulta consulta(long id, long userId, EstadoInmueble estado, Double precioMinimo,
+                                    Double precioMaximo, String texto) {
+        List<String> palabras = texto == null ? List.of() : List.copyOf(new HashSet<>(IndicePrefijos.palabras(texto)));
+        return new Consulta(id, userId, estado, precioMinimo, precioMaximo, palabras);
+    }
+
+    /**
+     * Añade una búsqueda, o la sustituye si ya existía una con el mismo ID.
+     *
+     * @param consulta La búsqueda.
+     */
+    public synchronized void guardar(Consulta consulta) {
+        Indice actual = indice;
+        quitar(actual, consulta.id());
+        indexar(actual, consulta);
+        if (cambiosDuranteRecarga != null) {
+            cambiosDuranteRecarga.put(consulta.id(), Optional.of(consulta));
+        }
+    }
+
+    /**
+     * Quita una búsqueda. No hace nada si no existe.
+     *
+     * @param id El ID de la búsqueda.
+     */
+    public synchronized void eliminar(long id) {
+        quitar(indice, id);
+        if (cambiosDuranteRecarga != null) {
+            cambiosDuranteRecarga.put(id, Optional.empty());
+        }
+    }
+
+    /**
+     * Empieza a anotar las búsquedas guardadas y eliminadas, para reaplicarlas en el siguiente
+     * {@link #reemplazar}. Debe llamarse antes de leer las búsquedas vigentes; si la lectura falla, la
+     * siguiente llamada descarta lo anotado.
+     */
+    public synchronized void iniciarRecarga() {
+        cambiosDuranteRecarga = new HashMap<>();
+    }
+
+    /**
+     * Sustituye todas las búsquedas. Las lecturas en curso terminan sobre el índice anterior.
+     * <p>
+     * Si se llamó antes a {@link #iniciarRecarga()}, los cambios hechos desde entonces se aplican encima,
+     * porque {@code consultas} puede haberse leído antes de que se confirmaran.
+     *
+     * @param consultas Las búsquedas vigentes.
+     */
+    public synchronized void reemplazar(Collection<Consulta> consultas) {
+        Indice nuevo = new Indice();
+        consultas.forEach(c -> indexar(nuevo, c));
+        if (cambiosDuranteRecarga != null) {
+            cambiosDuranteRecarga.forEach((id, cambio) -> {
+                quitar(nuevo, id);
+                cambio.ifPresent(c -> indexar(nuevo, c));
+            });
+            cambiosDuranteRecarga = null;
+        }
+        indice = nuevo;
+    }
+
+    /**
+     * Devuelve las búsquedas que cumple un inmueble.
+     *
+     * @param estado  Estado del inmueble.
+     * @param precio  Precio del inmueble.
+     * @param name    Nombre del inmueble.
+     * @param address Dirección del inmueble.
+     * @return Las búsquedas cumplidas, sin orden definido.
+     */
+    public List<Consulta> percolar(EstadoInmueble estado, Double precio, String name, String address) {
+        Indice actual = indice;
+        Set<String> palabras = new HashSet<>(IndicePrefijos.palabras(name));
+        palabras.addAll(IndicePrefijos.palabras(address));
+
+        List<Consulta> coincidencias = new ArrayList<>();
+        for (String palabra : palabras) {
+            comprobar(actual.porPalabra.get(palabra), estado, precio, palabras, coincidencias);
+        }
+        int banda = banda(precio);
+        if (estado != null) {
+            comprobar(actual.porBanda[estado.ordinal()].get(banda), estado, precio, palabras, coincidencias);
+        }
+        comprobar(actual.porBanda[CUALQUIER_ESTADO].get(banda), estado, precio, palabras, coincidencias);
+        return coincidencias;
+    }
+
+    /**
+     * @return El número de búsquedas indexadas.
+     */
+    public int size() {
+        return indice.porId.size();
+    }
+
+    /**
+     * Devuelve la banda de potencia de dos de un precio.
+     */
+    static int banda(Double precio) {
+        if (precio == null || precio < 1) {
+            return 0;
+        }
+        long entero = precio >= Long.MAX_VALUE ? Long.MAX_VALUE : precio.longValue();
+        return 64 - Long.numberOfLeadingZeros(entero);
+    }
+
+    private static void comprobar(Set<Consulta> candidatas, EstadoInmueble estado, Double precio,
+                                  Set<String> palabras, List<Consulta> coincidencias) {
+        if (candidatas == null) {
+            return;
+        }
+        for (Consulta consulta : candidatas) {
+            if (consulta.cumple(estado, precio, palabras)) {
+                coincidencias.add(consulta);
+            }
+        }
+    }
+
+    private static void indexar(Indice indice, Consulta consulta) {
+        indice.porId.put(consulta.id(), consulta);
+        if (!consulta.palabras().isEmpty()) {
+            indice.porPalabra.computeIfAbsent(ancla(consulta), p -> ConcurrentHashMap.newKeySet()).add(consulta);
+            return;
+        }
+        Map<Integer, Set<Consulta>> bandas = indice.porBanda[slot(consulta)];
+        for (int b = banda(consulta.precioMinimo()), fin = bandaMaxima(consulta); b <= fin; b++) {
+            bandas.computeIfAbsent(b, k -> ConcurrentHashMap.newKeySet()).add(consulta);
+        }
+    }
+
+    private static void quitar(Indice indice, long id) {
+        Consulta consulta = indice.porId.remove(id);
+        if (consulta == null) {
+            return;
+        }
+        if (!consulta.palabras().isEmpty()) {
+            String ancla = ancla(consulta);
+            Set<Consulta> anclados = indice.porPalabra.get(ancla);
+            if (anclados != null) {
+                anclados.remove(consulta);
+                if (anclados.isEmpty()) {
+                    indice.porPalabra.remove(ancla);
+                }
+            }
+            return;
+        }
+        Map<Integer, Set<Consulta>> bandas = indice.porBanda[slot(consulta)];
+        for (int b = banda(consulta.precioMinimo()), fin = bandaMaxima(consulta); b <= fin; b++) {
+            Set<Consulta> enBanda = bandas.get(b);
+            if (enBanda != null) {
+                enBanda.remove(consulta);
+                if (enBanda.isEmpty()) {
+                    bandas.remove(b);
+                }
+            }
+        }
+    }
+
+    private static String ancla(Consulta consulta) {
+        return consulta.palabras().stream()
+                .max(Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()))
+                .orElseThrow();
+    }
+
+    private static int slot(Consulta consulta) {
+        return consulta.estado() == null ? CUALQUIER_ESTADO : consulta.estado().ordinal();
+    }
+
+    private static int bandaMaxima(Consulta consulta) {
+        return consulta.precioMaximo() == null ? BANDAS - 1 : banda(consulta.precioMaximo());
+    }
+}
@@ -0,0 +1,146 @@
+package com.dani.spring_boot_microservice_1_inmueble.archivo;
+
+import com.dani.spring_boot_microservice_1_inmueble.event.InmuebleEvent;
+import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
+import com.dani.spring_boot_microservice_1_inmueble.shard.Shards;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mueve los inmuebles vendidos de la tabla {@code inmueble} al archivo ({@code inmueble_archivo}).
+ * <p>
+ * Un inmueble {@link EstadoInmueble#VENDIDO} ya no puede cambiar de estado, pero seguía ocupando la
+ * tabla del catálogo y todos sus índices. Cada {@code inmueble.archivo.intervalo}, un único hilo los
+ * mueve en lotes de {@code inmueble.archivo.lote}, cada uno en su propia transacción corta y con una
+ * sola sentencia ({@code DELETE ... RETURNING} dentro de un {@code INSERT ... SELECT}):
+ * <ul>
+ * <li>{@code FOR UPDATE SKIP LOCKED} salta las filas que otra transacción tenga bloqueadas, así que el
+ * traslado nunca espera a las escrituras del servicio ni las hace esperar más que un lote;</li>
+ * <li>el índice parcial {@code idx_inmueble_vendido} (ver {@code db/inmueble-schema.sql}) localiza los
+ * vendidos sin recorrer la tabla.</li>
+ * </ul>
+ * Cada inmueble archivado publica un {@link InmuebleEvent.Tipo#ARCHIVADO} en la transacción del lote, que
+ * invalida las cachés, lo retira del autocompletado y queda en el feed de cambios. Las consultas por ID,
+ * los inmuebles de un propietario y las estadísticas siguen incluyéndolo, leyendo también el archivo (ver
+ * {@code InmuebleServiceImpl}); los listados y búsquedas del catálogo ya no.
+ * <p>
+ * Con shards ({@link Shards}), cada shard archiva sus propios inmuebles.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Component
+@ConditionalOnProperty(name = "inmueble.archivo.habilitado", matchIfMissing = true)
+@Slf4j
+public class InmuebleArchivador {
+
+    private static final String SQL_MOVER = """
+            with movidos as (
+                delete from inmueble
+                where id in (select id from inmueble where estado = ? order by id limit ? for update skip locked)
+                returning id, nombre, direccion, foto, precio, fecha_creacion, user_id, estado, version,
+                          latitud, longitud, geohash
+            )
+            insert into inmueble_archivo (id, nombre, direccion, foto, precio, fecha_creacion, user_id, estado,
+                                          version, latitud, longitud, geohash, fecha_archivo)
+            select id, nombre, direccion, foto, precio, fecha_creacion, user_id, estado, version,
+                   latitud, longitud, geohash, ?
+            from movidos
+            returning id, user_id
+            """;
+
+    private record Archivado(long id, Long userId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate escritura;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<Shards> shards;
+    private final int tamanoLote;
+    private final ScheduledExecutorService procesador;
+
+    public InmuebleArchivador(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              ApplicationEventPublisher eventPublisher,
+                              ObjectProvider<Shards> shards,
+                              @Value("${inmueble.archivo.intervalo:5m}") Duration intervalo,
+                              @Value("${inmueble.archivo.lote:500}") int tamanoLote) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.escritura = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.shards = shards;
+        this.tamanoLote = Math.max(1, tamanoLote);
+        this.procesador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "inmueble-archivo");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long periodo = Math.max(1000, intervalo.toMillis());
+        procesador.scheduleWithFixedDelay(this::archivar, periodo, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void cerrar() {
+        procesador.shutdownNow();
+    }
+
+    private void archivar() {
+        Shards repartidos = shards.getIfAvailable();
+        if (repartidos == null) {
+            archivarVendidos();
+            return;
+        }
+        for (int s = 0; s < repartidos.size(); s++) {
+            repartidos.en(s, () -> {
+                archivarVendidos();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Archiva lotes hasta que no quedan vendidos (o hasta que falla uno, que se reintenta en la siguiente pasada).
+     */
+    private void archivarVendidos() {
+        long total = 0;
+        try {
+            int movidos;
+            do {
+                movidos = escritura.execute(status -> moverLote());
+                total += movidos;
+            } while (movidos == tamanoLote && !Thread.currentThread().isInterrupted());
+        } catch (RuntimeException e) {
+            log.warn("Archivo de inmuebles vendidos interrumpido tras {} inmuebles: {}", total, e.getMessage());
+            return;
+        }
+        if (total > 0) {
+            log.info("Archivados {} inmuebles vendidos.", total);
+        }
+    }
+
+    private int moverLote() {
+        List<Archivado> archivados = jdbcTemplate.query(SQL_MOVER,
+                (rs, n) -> new Archivado(rs.getLong(1), rs.getObject(2, Long.class)),
+                EstadoInmueble.VENDIDO.name(), tamanoLote, Timestamp.valueOf(LocalDateTime.now()));
+        archivados.forEach(a -> eventPublisher.publishEvent(
+                new InmuebleEvent(InmuebleEvent.Tipo.ARCHIVADO, a.id(), a.userId())));
+        return archivados.size();
+    }
+}
@@ -0,0 +1,119 @@
+package com.dani.spring_boot_microservice_1_inmueble.cache;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.CampoInmueble;
+import com.dani.spring_boot_microservice_1_inmueble.event.InmuebleEvent;
+import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleCambioRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Versión del catálogo de inmuebles, usada como {@code ETag} de las lecturas.
+ * <p>
+ * Es el número de secuencia del último cambio del registro {@code inmueble_cambio}
+ * ({@code feed.InmuebleCambioLog}), que cada escritura de inmuebles inserta en su misma transacción y
+ * que la purga del registro nunca borra. Así, la versión es común a todas las instancias del servicio
+ * (y a todos los shards, cuyo registro vive en el shard 0), nunca retrocede tras un reinicio y cambia
+ * con cualquier escritura confirmada, se haga a través de la instancia que se haga.
+ * Mientras la versión no cambie, el catálogo tampoco lo ha hecho, por lo que un cliente que
+ * envía la versión actual en {@code If-None-Match} puede recibir {@code 304 Not Modified}
+ * sin consultar los inmuebles.
+ * <p>
+ * Para no consultar la base de datos en cada petición, la versión leída se reutiliza durante
+ * {@code inmueble.catalogo.version-ttl}: es el retraso máximo con el que una instancia ve las escrituras
+ * hechas a través de otra. Las escrituras de la propia instancia la invalidan tras su commit.
+ * <p>
+ * Regla de uso: leer la versión <em>antes</em> de consultar los datos. Si una escritura se
+ * confirma entre ambas operaciones, la respuesta llevará una versión más antigua que sus datos
+ * y el cliente simplemente los volverá a descargar en la siguiente petición; nunca al revés.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.1
+ * @since 2026-10-16
+ */
+@Component
+public class CatalogoVersion {
+
+    /**
+     * Versión leída y momento ({@link System#nanoTime()}) a partir del cual hay que volver a leerla.
+     */
+    private record Lectura(long version, long caduca) {
+    }
+
+    private final InmuebleCambioRepository cambioRepository;
+    private final long ttl;
+    private volatile Lectura lectura;
+
+    public CatalogoVersion(InmuebleCambioRepository cambioRepository,
+                           @Value("${inmueble.catalogo.version-ttl:1s}") Duration ttl) {
+        this.cambioRepository = cambioRepository;
+        this.ttl = ttl.toNanos();
+    }
+
+    /**
+     * Devuelve la versión actual del catálogo.
+     *
+     * @return La versión actual.
+     */
+    public long current() {
+        Lectura actual = lectura;
+        if (actual == null || System.nanoTime() - actual.caduca() >= 0) {
+            actual = leer();
+        }
+        return actual.version();
+    }
+
+    /**
+     * Devuelve la versión actual del catálogo formateada como {@code ETag} (entre comillas).
+     *
+     * @return El {@code ETag} de la versión actual.
+     */
+    public String etag() {
+        return "\"" + current() + "\"";
+    }
+
+    /**
+     * Igual que {@link #etag()}, para una respuesta que solo incluye algunos campos: el {@code ETag}
+     * identifica también el conjunto de campos, para que una representación parcial nunca valide otra
+     * distinta (ni la completa) guardada en una caché.
+     *
+     * @param campos Los campos de la respuesta, ya normalizados con {@link CampoInmueble#parse(String)}.
+     * @return El {@code ETag} de la versión actual para esos campos.
+     */
+    public String etag(Set<CampoInmueble> campos) {
+        long mascara = 0;
+        for (CampoInmueble campo : campos) {
+            mascara |= 1L << campo.ordinal();
+        }
+        return "\"" + current() + "-" + Long.toHexString(mascara) + "\"";
+    }
+
+    /**
+     * Descarta la versión leída tras cada modificación confirmada en esta instancia, para que la
+     * siguiente petición ya vea la nueva. Espera a que termine una lectura en curso, que podría
+     * ser anterior al commit.
+     *
+     * @param event El evento de modificación confirmado.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onInmuebleEvent(InmuebleEvent event) {
+        lectura = null;
+    }
+
+    /**
+     * Lee la versión de la base de datos, una sola vez aunque caduque para varias peticiones a la vez.
+     */
+    private synchronized Lectura leer() {
+        Lectura actual = lectura;
+        if (actual != null && System.nanoTime() - actual.caduca() < 0) {
+            return actual;
+        }
+        Long ultimo = cambioRepository.findUltimoSeq();
+        actual = new Lectura(ultimo == null ? 0 : ultimo, System.nanoTime() + ttl);
+        lectura = actual;
+        return actual;
+    }
+}
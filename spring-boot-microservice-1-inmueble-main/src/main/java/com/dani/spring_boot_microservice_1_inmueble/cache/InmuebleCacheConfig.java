@@ -0,0 +1,72 @@
+package com.dani.spring_boot_microservice_1_inmueble.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la caché en proceso para las lecturas de inmuebles.
+ * <p>
+ * Habilita la abstracción de caché de Spring. El proveedor es Caffeine y sus límites
+ * (tamaño máximo, expiración y registro de estadísticas) se definen en
+ * {@code application.properties} mediante {@code spring.cache.caffeine.spec}.
+ * Con {@code recordStats}, Spring Boot Actuator publica las métricas de aciertos y fallos
+ * en {@code /actuator/metrics/cache.gets}.
+ * <p>
+ * Las entradas se invalidan explícitamente tras cada escritura confirmada
+ * (ver {@link InmuebleCacheInvalidator}); la expiración actúa solo como red de seguridad.
+ * La excepción son las estadísticas globales ({@link #CACHE_ESTADISTICAS}): son una instantánea
+ * de vida corta ({@code inmueble.stats.ttl}) que no se invalida en cada escritura.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.1
+ * @since 2026-10-16
+ */
+@Configuration
+@EnableCaching
+public class InmuebleCacheConfig {
+
+    /**
+     * Caché de inmuebles individuales, indexada por ID de inmueble.
+     */
+    public static final String CACHE_INMUEBLES = "inmuebles";
+
+    /**
+     * Caché de listados de inmuebles por propietario, indexada por ID de usuario.
+     */
+    public static final String CACHE_INMUEBLES_POR_USUARIO = "inmueblesPorUsuario";
+
+    /**
+     * Caché con la instantánea de estadísticas globales del catálogo (una sola entrada).
+     */
+    public static final String CACHE_ESTADISTICAS = "estadisticas";
+
+    /**
+     * Caché de estadísticas por propietario, indexada por ID de usuario.
+     */
+    public static final String CACHE_ESTADISTICAS_POR_USUARIO = "estadisticasPorUsuario";
+
+    /**
+     * Registra las cachés de estadísticas con una expiración propia, más corta que la
+     * del resto de cachés definida en {@code spring.cache.caffeine.spec}.
+     *
+     * @param ttl Vida de cada instantánea de estadísticas ({@code inmueble.stats.ttl}).
+     * @return El personalizador del {@link CaffeineCacheManager}.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> estadisticasCacheCustomizer(
+            @Value("${inmueble.stats.ttl:30s}") Duration ttl) {
+        return cacheManager -> {
+            cacheManager.registerCustomCache(CACHE_ESTADISTICAS,
+                    Caffeine.newBuilder().maximumSize(1).expireAfterWrite(ttl).recordStats().build());
+            cacheManager.registerCustomCache(CACHE_ESTADISTICAS_POR_USUARIO,
+                    Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(ttl).recordStats().build());
+        };
+    }
+}
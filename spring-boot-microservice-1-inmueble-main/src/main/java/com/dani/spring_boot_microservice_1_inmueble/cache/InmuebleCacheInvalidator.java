@@ -0,0 +1,67 @@
+package com.dani.spring_boot_microservice_1_inmueble.cache;
+
+import com.dani.spring_boot_microservice_1_inmueble.event.InmuebleEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Invalida las entradas de caché afectadas por cada modificación de un inmueble.
+ * <p>
+ * Escucha los {@link InmuebleEvent} en la fase {@code AFTER_COMMIT}: invalidar antes de
+ * confirmar permitiría que una lectura concurrente volviera a cachear el valor antiguo.
+ * <ul>
+ * <li>Siempre se elimina la entrada del inmueble en {@link InmuebleCacheConfig#CACHE_INMUEBLES}.</li>
+ * <li>Si se conoce el propietario, se elimina solo su listado en
+ * {@link InmuebleCacheConfig#CACHE_INMUEBLES_POR_USUARIO} y sus estadísticas en
+ * {@link InmuebleCacheConfig#CACHE_ESTADISTICAS_POR_USUARIO}; si no, se vacían esas cachés completas.</li>
+ * </ul>
+ * Las estadísticas globales no se invalidan: expiran por tiempo.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InmuebleCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Invalida las entradas de caché relacionadas con el inmueble del evento.
+     *
+     * @param event El evento de modificación confirmado.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInmuebleEvent(InmuebleEvent event) {
+        Cache inmuebles = cacheManager.getCache(InmuebleCacheConfig.CACHE_INMUEBLES);
+        if (inmuebles != null) {
+            inmuebles.evict(event.inmuebleId());
+        }
+
+        evictPorUsuario(InmuebleCacheConfig.CACHE_INMUEBLES_POR_USUARIO, event.userId());
+        evictPorUsuario(InmuebleCacheConfig.CACHE_ESTADISTICAS_POR_USUARIO, event.userId());
+        log.debug("Caché invalidada para inmueble ID: {} ({})", event.inmuebleId(), event.tipo());
+    }
+
+    /**
+     * Elimina la entrada del usuario en una caché indexada por ID de usuario,
+     * o la vacía completa si no se conoce el usuario.
+     */
+    private void evictPorUsuario(String cacheName, Long userId) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (userId != null) {
+            cache.evict(userId);
+        } else {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.dani.spring_boot_microservice_1_inmueble.controller;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.BusquedaGuardada;
+import com.dani.spring_boot_microservice_1_inmueble.model.InmuebleAlerta;
+import com.dani.spring_boot_microservice_1_inmueble.service.BusquedaService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST de las búsquedas guardadas y de la bandeja de avisos de cada usuario.
+ * <p>
+ * El usuario se obtiene de la cabecera {@code X-User-ID} propagada por el API Gateway.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@RestController
+@RequestMapping("api/inmueble")
+@RequiredArgsConstructor
+@Slf4j
+public class BusquedaController {
+
+    private final BusquedaService busquedaService;
+
+    /**
+     * Endpoint para guardar una búsqueda y recibir avisos de los nuevos inmuebles que la cumplan.
+     *
+     * @param busqueda Los criterios (estado, precioMinimo, precioMaximo, texto) y un nombre opcional.
+     * @param userId   El ID del usuario, extraído de la cabecera "X-User-ID".
+     * @return Un {@link ResponseEntity} con la búsqueda guardada y estado HTTP 201 (Created),
+     * o 400 (Bad Request) si los criterios no son válidos o se ha alcanzado el máximo de búsquedas.
+     */
+    @PostMapping("/busquedas")
+    public ResponseEntity<BusquedaGuardada> guardarBusqueda(@RequestBody BusquedaGuardada busqueda,
+                                                            @RequestHeader("X-User-ID") Long userId) {
+        log.info("Recibida petición para guardar una búsqueda por usuario ID: {}", userId);
+        try {
+            return new ResponseEntity<>(busquedaService.guardarBusqueda(busqueda, userId), HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            log.warn("Búsqueda rechazada: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint con las búsquedas guardadas del usuario.
+     *
+     * @param userId El ID del usuario, extraído de la cabecera "X-User-ID".
+     * @return Un {@link ResponseEntity} con las búsquedas, más recientes primero, y estado HTTP 200 (OK).
+     */
+    @GetMapping("/busquedas")
+    public ResponseEntity<List<BusquedaGuardada>> getBusquedas(@RequestHeader("X-User-ID") Long userId) {
+        return ResponseEntity.ok(busquedaService.findBusquedasByUserId(userId));
+    }
+
+    /**
+     * Endpoint para eliminar una búsqueda guardada.
+     *
+     * @param busquedaId El ID de la búsqueda.
+     * @param userId     El ID del usuario, extraído de la cabecera "X-User-ID".
+     * @param userRoles  Los roles del usuario, extraídos de la cabecera "X-User-Roles".
+     * @return Un {@link ResponseEntity} con estado HTTP 204 (No Content), 404 (Not Found) si no existe
+     * o 403 (Forbidden) si no pertenece al usuario.
+     */
+    @DeleteMapping("/busquedas/{busquedaId}")
+    public ResponseEntity<Void> eliminarBusqueda(@PathVariable Long busquedaId,
+                                                 @RequestHeader("X-User-ID") Long userId,
+                                                 @RequestHeader("X-User-Roles") List<String> userRoles) {
+        try {
+            return busquedaService.eliminarBusqueda(busquedaId, userId, userRoles)
+                    ? ResponseEntity.noContent().build()
+                    : ResponseEntity.notFound().build();
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+
+    /**
+     * Endpoint con la bandeja de avisos del usuario: inmuebles nuevos o actualizados que cumplen
+     * alguna de sus búsquedas guardadas.
+     *
+     * @param userId       El ID del usuario, extraído de la cabecera "X-User-ID".
+     * @param soloNoLeidas Si es {@code true}, solo los avisos no leídos (por defecto {@code false}).
+     * @param limit        Número máximo de avisos (por defecto 50, máximo 200).
+     * @return Un {@link ResponseEntity} con los avisos, más recientes primero, y estado HTTP 200 (OK).
+     */
+    @GetMapping("/alertas")
+    public ResponseEntity<List<InmuebleAlerta>> getAlertas(@RequestHeader("X-User-ID") Long userId,
+                                                           @RequestParam(defaultValue = "false") boolean soloNoLeidas,
+                                                           @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(busquedaService.findAlertas(userId, soloNoLeidas, limit));
+    }
+
+    /**
+     * Endpoint para marcar como leídos los avisos del usuario hasta uno dado (inclusive).
+     *
+     * @param userId  El ID del usuario, extraído de la cabecera "X-User-ID".
+     * @param hastaId El ID del aviso más reciente que ha visto el usuario.
+     * @return Un {@link ResponseEntity} con el número de avisos marcados y estado HTTP 200 (OK).
+     */
+    @PutMapping("/alertas/leidas")
+    public ResponseEntity<Integer> marcarAlertasLeidas(@RequestHeader("X-User-ID") Long userId,
+                                                       @RequestParam Long hastaId) {
+        return ResponseEntity.ok(busquedaService.marcarAlertasLeidas(userId, hastaId));
+    }
+}
@@ -1,15 +1,79 @@
 package com.dani.spring_boot_microservice_1_inmueble.controller;
 
+import com.dani.spring_boot_microservice_1_inmueble.cache.CatalogoVersion;
+import com.dani.spring_boot_microservice_1_inmueble.dto.CampoInmueble;
+import com.dani.spring_boot_microservice_1_inmueble.dto.EstadoCambio;
+import com.dani.spring_boot_microservice_1_inmueble.dto.EstadoCambioResultado;
+import com.dani.spring_boot_microservice_1_inmueble.dto.EstadoTransicion;
+import com.dani.spring_boot_microservice_1_inmueble.dto.FormatoImportacion;
+import com.dani.spring_boot_microservice_1_inmueble.dto.ImagenSubida;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleCambioLote;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleFiltro;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleImportResult;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmueblePage;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmueblePopular;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleResumen;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleSearchResult;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleSimilar;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleStats;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleSugerencia;
+import com.dani.spring_boot_microservice_1_inmueble.dto.PrecioDistribucion;
+import com.dani.spring_boot_microservice_1_inmueble.dto.PrecioIntervalo;
+import com.dani.spring_boot_microservice_1_inmueble.dto.PrecioPunto;
+import com.dani.spring_boot_microservice_1_inmueble.dto.PrecioTendencia;
+import com.dani.spring_boot_microservice_1_inmueble.feed.InmuebleCambioFeed;
+import com.dani.spring_boot_microservice_1_inmueble.imagen.Imagen;
+import com.dani.spring_boot_microservice_1_inmueble.imagen.ImagenStorage;
 import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
 import com.dani.spring_boot_microservice_1_inmueble.model.Inmueble;
+import com.dani.spring_boot_microservice_1_inmueble.precio.DistribucionPrecios;
+import com.dani.spring_boot_microservice_1_inmueble.precio.PrecioHistorial;
+import com.dani.spring_boot_microservice_1_inmueble.service.InmuebleImportService;
 import com.dani.spring_boot_microservice_1_inmueble.service.InmuebleService;
+import com.dani.spring_boot_microservice_1_inmueble.similar.InmuebleSimilares;
+import com.dani.spring_boot_microservice_1_inmueble.suggest.IndicePrefijos;
+import com.dani.spring_boot_microservice_1_inmueble.suggest.InmuebleSugerencias;
+import com.dani.spring_boot_microservice_1_inmueble.visita.InmuebleVisitas;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Controlador REST para gestionar las operaciones CRUD de la entidad {@link Inmueble}.
@@ -32,7 +96,45 @@ import java.util.List;
 @Slf4j
 public class InmuebleController {
 
+    /**
+     * Tipo de contenido de la exportación: JSON delimitado por saltos de línea (un inmueble por línea).
+     */
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
+    /**
+     * Tipo de contenido CSV aceptado por la importación masiva.
+     */
+    private static final String CSV_MEDIA_TYPE = "text/csv";
+
+    /**
+     * Caché de las imágenes: su URL identifica el contenido exacto, así que nunca cambia.
+     */
+    private static final String CACHE_IMAGEN_INMUTABLE = "public, max-age=31536000, immutable";
+
+    /**
+     * Caché de una miniatura aún no generada, servida provisionalmente con el original.
+     */
+    private static final String CACHE_IMAGEN_PROVISIONAL = "public, max-age=60";
+
+    /**
+     * Atributos de petición con los que Tomcat envía un fichero con {@code sendfile} (copia cero).
+     */
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final InmuebleService inmuebleService;
+    private final InmuebleImportService inmuebleImportService;
+    private final CatalogoVersion catalogoVersion;
+    private final InmuebleCambioFeed cambioFeed;
+    private final ImagenStorage imagenStorage;
+    private final InmuebleSugerencias sugerencias;
+    private final PrecioHistorial precioHistorial;
+    private final DistribucionPrecios distribucionPrecios;
+    private final InmuebleVisitas visitas;
+    private final InmuebleSimilares similares;
+    private final ObjectMapper objectMapper;
 
     /**
      * Endpoint para crear o actualizar un inmueble.
@@ -44,15 +146,58 @@ public class InmuebleController {
      * recibido en el cuerpo de la petición.
      * @param userId El ID del usuario que realiza la petición, extraído de la cabecera "X-User-ID".
      * @param userRoles Los roles del usuario que realiza la petición, extraídos de la cabecera "X-User-Roles".
-     * @return Un {@link ResponseEntity} con el inmueble guardado y el estado HTTP 201 (Created).
+     * @return Un {@link ResponseEntity} con el inmueble guardado y el estado HTTP 201 (Created),
+     * o 409 (Conflict) si el inmueble ha cambiado desde que se leyó la {@code version} enviada.
      */
     @PostMapping
     public ResponseEntity<Inmueble> saveInmueble(@RequestBody Inmueble inmueble,
                                                  @RequestHeader("X-User-ID") Long userId,
                                                  @RequestHeader("X-User-Roles") List<String> userRoles) {
         log.info("Recibida petición para guardar/actualizar inmueble con nombre: {} por usuario ID: {}", inmueble.getName(), userId);
-        Inmueble savedInmueble = inmuebleService.saveInmueble(inmueble, userId, userRoles);
-        return new ResponseEntity<>(savedInmueble, HttpStatus.CREATED);
+        try {
+            Inmueble savedInmueble = inmuebleService.saveInmueble(inmueble, userId, userRoles);
+            return new ResponseEntity<>(savedInmueble, HttpStatus.CREATED);
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Actualización concurrente del inmueble ID {}: {}", inmueble.getId(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * Endpoint de importación masiva de inmuebles desde un fichero CSV ({@code text/csv}, con cabecera)
+     * o NDJSON ({@code application/x-ndjson}) enviado como cuerpo de la petición.
+     * <p>
+     * El cuerpo se procesa en flujo y se carga mediante {@code COPY} de PostgreSQL, por lo que está
+     * pensado para altas de miles de inmuebles de una sola vez. Todos los inmuebles se asignan al
+     * usuario de la cabecera "X-User-ID". Las filas inválidas no detienen la importación: se
+     * descartan y se detallan en la respuesta. Admite cuerpos comprimidos
+     * ({@code Content-Encoding: gzip}).
+     *
+     * @param userId  El ID del usuario que realiza la importación, extraído de la cabecera "X-User-ID".
+     * @param request La petición HTTP cuyo cuerpo contiene el fichero.
+     * @return Un {@link ResponseEntity} con el {@link InmuebleImportResult} y estado HTTP 200 (OK),
+     * o 400 (Bad Request) si la cabecera CSV no es válida.
+     * @throws IOException si falla la lectura del cuerpo de la petición.
+     */
+    @PostMapping(value = "/import", consumes = {CSV_MEDIA_TYPE, NDJSON_MEDIA_TYPE})
+    public ResponseEntity<InmuebleImportResult> importInmuebles(@RequestHeader("X-User-ID") Long userId,
+                                                                HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        FormatoImportacion formato = contentType.isCompatibleWith(MediaType.parseMediaType(CSV_MEDIA_TYPE))
+                ? FormatoImportacion.CSV : FormatoImportacion.NDJSON;
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        log.info("Recibida petición de importación {} por usuario ID: {}", formato, userId);
+
+        InputStream body = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+            body = new GZIPInputStream(body, 8192);
+        }
+        try (Reader reader = new InputStreamReader(body, charset)) {
+            return ResponseEntity.ok(inmuebleImportService.importInmuebles(reader, formato, userId));
+        } catch (IllegalArgumentException e) {
+            log.warn("Importación rechazada: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -78,62 +223,707 @@ public class InmuebleController {
     /**
      * Endpoint para obtener todos los inmuebles registrados.
      * Este endpoint es público y no requiere cabeceras de usuario.
+     * Devuelve proyecciones de listado ({@link InmuebleResumen}), no entidades completas.
+     * <p>
+     * La respuesta lleva como {@code ETag} la versión del catálogo ({@link CatalogoVersion}).
+     * Si el cliente envía esa misma versión en {@code If-None-Match}, se responde
+     * {@code 304 Not Modified} sin consultar los inmuebles.
+     * <p>
+     * Con {@code fields} (por ejemplo {@code fields=name,price,estado}) solo se leen y se devuelven
+     * esos atributos, además del {@code id}; el {@code ETag} incluye entonces el conjunto de campos.
      *
-     * @return Un {@link ResponseEntity} con una lista de todos los inmuebles y estado HTTP 200 (OK).
+     * @param fields     Lista opcional de campos separados por comas (ver {@link CampoInmueble}).
+     * @param webRequest La petición, usada para evaluar {@code If-None-Match}.
+     * @return Un {@link ResponseEntity} con una lista de todos los inmuebles y estado HTTP 200 (OK),
+     * 304 (Not Modified) si el catálogo no ha cambiado, o 400 (Bad Request) si algún campo no existe.
      */
     @GetMapping
-    public ResponseEntity<List<Inmueble>> getAllInmuebles() {
-        log.debug("Recibida petición para obtener todos los inmuebles.");
-        return new ResponseEntity<>(inmuebleService.findAllInmuebles(), HttpStatus.OK);
+    public ResponseEntity<List<?>> getAllInmuebles(@RequestParam(required = false) String fields, WebRequest webRequest) {
+        Set<CampoInmueble> campos;
+        try {
+            campos = fields == null ? null : CampoInmueble.parse(fields);
+        } catch (IllegalArgumentException e) {
+            log.warn("Parámetro fields inválido: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        String etag = campos == null ? catalogoVersion.etag() : catalogoVersion.etag(campos);
+        if (webRequest.checkNotModified(etag)) {
+            log.debug("Catálogo sin cambios (ETag {}). Respondiendo 304.", etag);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        log.debug("Recibida petición para obtener todos los inmuebles. fields={}", fields);
+        if (campos == null) {
+            return ResponseEntity.ok().eTag(etag).body(inmuebleService.findAllInmuebles());
+        }
+        return ResponseEntity.ok().eTag(etag).body(inmuebleService.findAllInmuebles(campos));
+    }
+
+    /**
+     * Endpoint para obtener una página del catálogo mediante paginación por cursor (keyset).
+     * <p>
+     * Los inmuebles se devuelven ordenados por fecha de creación descendente. Para obtener la
+     * página siguiente se debe reenviar el {@code nextCursor} de la respuesta anterior.
+     * Todos los filtros son opcionales. Este endpoint es público y no requiere cabeceras de usuario.
+     *
+     * @param cursor   Token de la página anterior; se omite para la primera página.
+     * @param size     Número de elementos por página (por defecto 20, máximo 100).
+     * @param estado   Filtra por estado del inmueble.
+     * @param minPrice Precio mínimo (inclusive).
+     * @param maxPrice Precio máximo (inclusive).
+     * @param userId   Filtra por propietario.
+     * @param fields   Lista opcional de campos a devolver, separados por comas (ver {@link CampoInmueble}).
+     * @return Un {@link ResponseEntity} con la {@link InmueblePage} y estado HTTP 200 (OK),
+     * o 400 (Bad Request) si el cursor o algún campo no son válidos.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<InmueblePage<?>> getInmueblesPage(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "20") int size,
+                                                            @RequestParam(required = false) EstadoInmueble estado,
+                                                            @RequestParam(required = false) Double minPrice,
+                                                            @RequestParam(required = false) Double maxPrice,
+                                                            @RequestParam(required = false) Long userId,
+                                                            @RequestParam(required = false) String fields) {
+        log.debug("Recibida petición de página de catálogo. cursor={}, size={}, estado={}, precio=[{}, {}], userId={}, fields={}",
+                cursor, size, estado, minPrice, maxPrice, userId, fields);
+        try {
+            InmuebleFiltro filtro = new InmuebleFiltro(estado, minPrice, maxPrice, userId);
+            return ResponseEntity.ok(fields == null
+                    ? inmuebleService.findInmueblesPage(filtro, cursor, size)
+                    : inmuebleService.findInmueblesPage(filtro, cursor, size, CampoInmueble.parse(fields)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Petición de página inválida (cursor={}, fields={}): {}", cursor, fields, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint de búsqueda de texto completo sobre el nombre y la dirección de los inmuebles.
+     * <p>
+     * Los resultados se ordenan por relevancia. Este endpoint es público y no requiere
+     * cabeceras de usuario.
+     *
+     * @param q    El texto a buscar (obligatorio, no vacío).
+     * @param page Número de página, empezando en 0 (por defecto 0).
+     * @param size Número de elementos por página (por defecto 20, máximo 100).
+     * @return Un {@link ResponseEntity} con el {@link InmuebleSearchResult} y estado HTTP 200 (OK),
+     * o 400 (Bad Request) si el texto está vacío.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<InmuebleSearchResult<Inmueble>> searchInmuebles(@RequestParam String q,
+                                                                          @RequestParam(defaultValue = "0") int page,
+                                                                          @RequestParam(defaultValue = "20") int size) {
+        log.debug("Recibida petición de búsqueda: '{}' (page={}, size={})", q, page, size);
+        try {
+            return ResponseEntity.ok(inmuebleService.searchInmuebles(q, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint de autocompletado para una caja de búsqueda que consulta mientras el usuario escribe.
+     * <p>
+     * Se resuelve con un índice de prefijos en memoria, sin acceder a la base de datos. Cada palabra
+     * de {@code prefix} debe ser el comienzo de alguna palabra del nombre o la dirección (sin distinguir
+     * mayúsculas ni tildes). Este endpoint es público y no requiere cabeceras de usuario.
+     *
+     * @param prefix El texto escrito hasta el momento.
+     * @param limit  Número máximo de sugerencias (por defecto 10, máximo {@value IndicePrefijos#MAX_RESULTADOS}).
+     * @return Un {@link ResponseEntity} con las {@link InmuebleSugerencia}, más recientes primero,
+     * y estado HTTP 200 (OK).
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<InmuebleSugerencia>> suggest(@RequestParam String prefix,
+                                                            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(sugerencias.sugerir(prefix, limit));
+    }
+
+    /**
+     * Endpoint para buscar inmuebles cercanos a un punto, ordenados por distancia.
+     * Este endpoint es público y no requiere cabeceras de usuario.
+     *
+     * @param lat      Latitud del centro de búsqueda.
+     * @param lon      Longitud del centro de búsqueda.
+     * @param radiusKm Radio de búsqueda en kilómetros (máximo 100).
+     * @param limit    Número máximo de resultados (por defecto 20, máximo 100).
+     * @return Un {@link ResponseEntity} con los inmuebles dentro del radio y estado HTTP 200 (OK),
+     * o 400 (Bad Request) si los parámetros no son válidos.
+     */
+    @GetMapping("/near")
+    public ResponseEntity<List<Inmueble>> getInmueblesNear(@RequestParam double lat,
+                                                           @RequestParam double lon,
+                                                           @RequestParam double radiusKm,
+                                                           @RequestParam(defaultValue = "20") int limit) {
+        log.debug("Recibida petición de búsqueda por proximidad: ({}, {}) radio {} km", lat, lon, radiusKm);
+        try {
+            return ResponseEntity.ok(inmuebleService.findNear(lat, lon, radiusKm, limit));
+        } catch (IllegalArgumentException e) {
+            log.warn("Parámetros de búsqueda por proximidad inválidos: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint para buscar inmuebles dentro de un rectángulo geográfico (por ejemplo, el área
+     * visible de un mapa). Este endpoint es público y no requiere cabeceras de usuario.
+     *
+     * @param minLat Latitud mínima.
+     * @param minLon Longitud mínima.
+     * @param maxLat Latitud máxima.
+     * @param maxLon Longitud máxima.
+     * @param limit  Número máximo de resultados (por defecto 20, máximo 100).
+     * @return Un {@link ResponseEntity} con los inmuebles dentro del rectángulo y estado HTTP 200 (OK),
+     * o 400 (Bad Request) si el rectángulo no es válido.
+     */
+    @GetMapping("/within")
+    public ResponseEntity<List<Inmueble>> getInmueblesWithin(@RequestParam double minLat,
+                                                             @RequestParam double minLon,
+                                                             @RequestParam double maxLat,
+                                                             @RequestParam double maxLon,
+                                                             @RequestParam(defaultValue = "20") int limit) {
+        log.debug("Recibida petición de búsqueda por rectángulo: [{}, {}] - [{}, {}]", minLat, minLon, maxLat, maxLon);
+        try {
+            return ResponseEntity.ok(inmuebleService.findWithinBoundingBox(minLat, minLon, maxLat, maxLon, limit));
+        } catch (IllegalArgumentException e) {
+            log.warn("Parámetros de búsqueda por rectángulo inválidos: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint para exportar el catálogo completo como NDJSON (un objeto JSON por línea).
+     * <p>
+     * Los inmuebles se leen mediante un cursor de base de datos y se escriben directamente
+     * en la respuesta a medida que llegan, sin construir una lista ni un array JSON en memoria,
+     * por lo que el consumo de heap es constante con independencia del número de filas.
+     * Pensado para feeds de partners y procesos nocturnos.
+     *
+     * @param gzip Si es {@code true}, la respuesta se comprime con gzip ({@code Content-Encoding: gzip}).
+     * @param response La respuesta HTTP sobre la que se escribe el flujo.
+     * @throws IOException si falla la escritura (por ejemplo, si el cliente cierra la conexión).
+     */
+    @GetMapping(value = "/export", produces = NDJSON_MEDIA_TYPE)
+    public void exportInmuebles(@RequestParam(defaultValue = "false") boolean gzip,
+                                HttpServletResponse response) throws IOException {
+        log.info("Recibida petición de exportación NDJSON del catálogo (gzip={}).", gzip);
+        response.setContentType(NDJSON_MEDIA_TYPE);
+        response.setCharacterEncoding("UTF-8");
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        ObjectWriter writer = objectMapper.writerFor(Inmueble.class);
+        OutputStream raw = gzip ? new GZIPOutputStream(response.getOutputStream(), 8192) : response.getOutputStream();
+        try (OutputStream out = new BufferedOutputStream(raw, 64 * 1024)) {
+            long total = inmuebleService.forEachInmueble(inmueble -> {
+                try {
+                    out.write(writer.writeValueAsBytes(inmueble));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            log.info("Exportación NDJSON finalizada: {} inmuebles.", total);
+        } catch (UncheckedIOException e) {
+            log.warn("Exportación NDJSON interrumpida: {}", e.getCause().getMessage());
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Endpoint del registro ordenado de cambios (change feed) mediante long-poll.
+     * <p>
+     * Devuelve los cambios (altas, actualizaciones, cambios de estado y bajas) con número de secuencia
+     * mayor que {@code since}, en orden. Si no hay ninguno y se indica {@code wait}, la petición queda en
+     * espera hasta que se confirme un cambio o venza el plazo. El consumidor debe enviar como
+     * {@code since} el {@code ultimoSeq} de la respuesta anterior; si recibe {@code resincronizar = true},
+     * debe recargar el catálogo completo antes de continuar.
+     *
+     * @param since Último número de secuencia procesado (por defecto 0, desde el principio del registro).
+     * @param limit Número máximo de cambios (por defecto 100, máximo {@value InmuebleCambioFeed#MAX_CAMBIOS_POR_LOTE}).
+     * @param wait  Segundos máximos de espera si no hay cambios (por defecto 0, máximo 30).
+     * @return Un {@link DeferredResult} con el {@link InmuebleCambioLote}.
+     */
+    @GetMapping("/cambios")
+    public DeferredResult<InmuebleCambioLote> getCambios(@RequestParam(defaultValue = "0") long since,
+                                                         @RequestParam(defaultValue = "100") int limit,
+                                                         @RequestParam(defaultValue = "0") int wait) {
+        log.debug("Recibida petición del feed de cambios. since={}, limit={}, wait={}s", since, limit, wait);
+        return cambioFeed.esperar(since, limit, Duration.ofSeconds(wait));
+    }
+
+    /**
+     * Endpoint del registro ordenado de cambios como flujo Server-Sent Events.
+     * <p>
+     * Envía primero los cambios pendientes posteriores a {@code since} y después cada nuevo cambio a
+     * medida que se confirma. Cada evento tiene como {@code id} su número de secuencia, así que al
+     * reconectar el cliente puede reanudar con la cabecera {@code Last-Event-ID}, que tiene prioridad
+     * sobre {@code since}.
+     *
+     * @param since       Último número de secuencia procesado (por defecto 0).
+     * @param lastEventId Cabecera {@code Last-Event-ID} enviada por el cliente SSE al reconectar.
+     * @return El {@link SseEmitter} de la suscripción.
+     */
+    @GetMapping(value = "/cambios/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCambios(@RequestParam(defaultValue = "0") long since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        long desde = lastEventId != null ? lastEventId : since;
+        log.info("Nueva suscripción SSE al feed de cambios desde seq {}", desde);
+        return cambioFeed.suscribir(desde);
+    }
+
+    /**
+     * Endpoint para subir una foto de inmueble.
+     * <p>
+     * La imagen se guarda direccionada por su SHA-256 (subir dos veces la misma foto devuelve el mismo
+     * hash) y sus miniaturas se generan en segundo plano. El cliente guarda el hash o la URL devuelta
+     * en el campo {@code picture} del inmueble.
+     *
+     * @param file La imagen (JPEG, PNG, GIF o BMP) en la parte {@code file} de la petición multipart.
+     * @return Un {@link ResponseEntity} con la {@link ImagenSubida} y estado HTTP 201 (Created),
+     * o 400 (Bad Request) si el fichero no es una imagen admitida.
+     * @throws IOException si falla la escritura en disco.
+     */
+    @PostMapping(value = "/imagenes", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImagenSubida> subirImagen(@RequestPart("file") MultipartFile file) throws IOException {
+        log.info("Recibida imagen '{}' ({} bytes).", file.getOriginalFilename(), file.getSize());
+        try (InputStream in = file.getInputStream()) {
+            ImagenSubida subida = imagenStorage.guardar(in);
+            return ResponseEntity.created(URI.create(subida.url())).body(subida);
+        } catch (IllegalArgumentException e) {
+            log.warn("Imagen rechazada '{}': {}", file.getOriginalFilename(), e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint para descargar una foto o una de sus miniaturas.
+     * <p>
+     * El fichero se envía sin copiarlo a memoria: con el conector de Tomcat se delega en
+     * {@code sendfile} y, si no está disponible, se usa {@link FileChannel#transferTo}. Las respuestas
+     * llevan un ETag fuerte y se pueden cachear indefinidamente, salvo cuando la miniatura pedida aún
+     * no está generada y se sirve provisionalmente el original.
+     *
+     * @param hash        El SHA-256 de la imagen.
+     * @param size        Ancho deseado en píxeles; se sirve la menor miniatura de al menos ese ancho
+     *                    (sin él, el original).
+     * @param ifNoneMatch Cabecera {@code If-None-Match} con el ETag que tiene el cliente.
+     * @param request     La petición HTTP (para los atributos de {@code sendfile}).
+     * @param response    La respuesta HTTP sobre la que se escribe el fichero.
+     * @throws IOException si falla la lectura del fichero o la escritura de la respuesta.
+     */
+    @GetMapping("/imagenes/{hash}")
+    public void getImagen(@PathVariable String hash,
+                          @RequestParam(required = false) Integer size,
+                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                          HttpServletRequest request,
+                          HttpServletResponse response) throws IOException {
+        Optional<Imagen> encontrada = imagenStorage.resolver(hash, size);
+        if (encontrada.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        Imagen imagen = encontrada.get();
+        response.setHeader(HttpHeaders.ETAG, imagen.etag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                imagen.inmutable() ? CACHE_IMAGEN_INMUTABLE : CACHE_IMAGEN_PROVISIONAL);
+        if (etagCoincide(ifNoneMatch, imagen.etag())) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long longitud = Files.size(imagen.fichero());
+        response.setContentType(imagen.contentType());
+        response.setContentLengthLong(longitud);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, imagen.fichero().toRealPath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, longitud);
+            return;
+        }
+        try (FileChannel canal = FileChannel.open(imagen.fichero(), StandardOpenOption.READ)) {
+            WritableByteChannel salida = Channels.newChannel(response.getOutputStream());
+            long enviados = 0;
+            while (enviados < longitud) {
+                enviados += canal.transferTo(enviados, longitud - enviados, salida);
+            }
+        }
+    }
+
+    /**
+     * Comprueba si una cabecera {@code If-None-Match} incluye un ETag.
+     *
+     * @param ifNoneMatch Valor de la cabecera (lista separada por comas, o {@code *}), o {@code null}.
+     * @param etag        El ETag actual.
+     * @return {@code true} si el cliente ya tiene esa versión.
+     */
+    private static boolean etagCoincide(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals("*") || valor.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Endpoint con las estadísticas globales del catálogo (total, desglose por estado,
+     * agregados de precio y número de propietarios).
+     * <p>
+     * Se calculan en la base de datos sin transferir los inmuebles y se sirven desde una
+     * instantánea en caché de pocos segundos. Sustituye a descargar el listado completo
+     * solo para contarlo.
+     *
+     * @return Un {@link ResponseEntity} con las {@link InmuebleStats} y estado HTTP 200 (OK).
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<InmuebleStats> getEstadisticas() {
+        log.debug("Recibida petición de estadísticas globales.");
+        return ResponseEntity.ok(inmuebleService.getEstadisticas());
+    }
+
+    /**
+     * Endpoint con las estadísticas de los inmuebles de un propietario.
+     *
+     * @param userId El ID del propietario.
+     * @return Un {@link ResponseEntity} con las {@link InmuebleStats} del propietario y estado HTTP 200 (OK).
+     */
+    @GetMapping("/stats/user/{userId}")
+    public ResponseEntity<InmuebleStats> getEstadisticasDeUsuario(@PathVariable Long userId) {
+        log.debug("Recibida petición de estadísticas del usuario ID: {}", userId);
+        return ResponseEntity.ok(inmuebleService.getEstadisticasDeUsuario(userId));
+    }
+
+    /**
+     * Endpoint con los inmuebles más visitados recientemente, pensado para la portada del catálogo.
+     * <p>
+     * Se sirve desde un ranking en memoria que se actualiza con cada volcado de visitas; solo consulta
+     * la base de datos para leer los inmuebles del ranking. Este endpoint es público y no requiere
+     * cabeceras de usuario.
+     *
+     * @param limit Número máximo de inmuebles (por defecto 10, máximo {@value InmuebleVisitas#MAX_POPULARES}).
+     * @return Un {@link ResponseEntity} con los {@link InmueblePopular}, de mayor a menor puntuación,
+     * y estado HTTP 200 (OK).
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<List<InmueblePopular>> getPopulares(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(visitas.populares(limit));
+    }
+
+    /**
+     * Endpoint con el número total de visitas a la ficha de un inmueble.
+     *
+     * @param inmuebleId El ID del inmueble.
+     * @return Un {@link ResponseEntity} con el número de visitas y estado HTTP 200 (OK).
+     */
+    @GetMapping("/{inmuebleId}/visitas")
+    public ResponseEntity<Long> getVisitas(@PathVariable Long inmuebleId) {
+        return ResponseEntity.ok(visitas.total(inmuebleId));
+    }
+
+    /**
+     * Endpoint con los inmuebles disponibles más parecidos a uno dado (precio, ubicación y palabras del
+     * nombre y la dirección), pensado para la ficha del inmueble.
+     * <p>
+     * Se sirve desde un índice de vecinos más cercanos en memoria; solo consulta la base de datos para
+     * leer los inmuebles resultantes. El resultado es aproximado. Este endpoint es público y no requiere
+     * cabeceras de usuario.
+     *
+     * @param inmuebleId El ID del inmueble.
+     * @param limit      Número máximo de inmuebles (por defecto 10, máximo {@value InmuebleSimilares#MAX_SIMILARES}).
+     * @return Un {@link ResponseEntity} con los {@link InmuebleSimilar}, del más al menos parecido, y estado
+     * HTTP 200 (OK). Un inmueble que no está en el catálogo no tiene parecidos: la lista va vacía, sin
+     * 404, para que el circuit breaker del gateway no cuente como fallos los IDs desconocidos.
+     */
+    @GetMapping("/{inmuebleId}/similar")
+    public ResponseEntity<List<InmuebleSimilar>> getSimilares(@PathVariable Long inmuebleId,
+                                                              @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(similares.similares(inmuebleId, limit));
+    }
+
+    /**
+     * Endpoint con la tendencia de precios del mercado: los precios registrados en el histórico de
+     * todos los inmuebles, agregados por hora, día o semana (media, mínimo y máximo por intervalo).
+     * <p>
+     * Se calcula recorriendo los bloques comprimidos del histórico, sin cargarlo en memoria.
+     * Este endpoint es público y no requiere cabeceras de usuario.
+     *
+     * @param intervalo Granularidad (por defecto {@code DIA}).
+     * @param desde     Comienzo del periodo (por defecto, 90 días antes de {@code hasta}).
+     * @param hasta     Fin del periodo (por defecto, ahora).
+     * @return Un {@link ResponseEntity} con los {@link PrecioTendencia} en orden cronológico y estado
+     * HTTP 200 (OK), o 400 (Bad Request) si el periodo está invertido o tiene más de
+     * {@value PrecioHistorial#MAX_INTERVALOS} intervalos.
+     */
+    @GetMapping("/precios/tendencia")
+    public ResponseEntity<List<PrecioTendencia>> getTendenciaPrecios(
+            @RequestParam(defaultValue = "DIA") PrecioHistorial.Intervalo intervalo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta) {
+        LocalDateTime fin = hasta != null ? hasta : LocalDateTime.now();
+        LocalDateTime inicio = desde != null ? desde : fin.minusDays(90);
+        log.debug("Recibida petición de tendencia de precios: {} de {} a {}", intervalo, inicio, fin);
+        try {
+            return ResponseEntity.ok(precioHistorial.tendencia(intervalo, inicio, fin));
+        } catch (IllegalArgumentException e) {
+            log.warn("Petición de tendencia de precios inválida: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint con la distribución de los precios actuales de una zona: mínimo, mediana, percentil 90 y
+     * máximo, opcionalmente solo de los inmuebles en un estado.
+     * <p>
+     * Se sirve desde resúmenes en memoria, así que tarda lo mismo sea cual sea el tamaño del catálogo; los
+     * precios tienen un error relativo de como mucho el 1 %. Los vendidos incluyen los archivados. Este
+     * endpoint es público y no requiere cabeceras de usuario.
+     *
+     * @param area   Prefijo de geohash de la zona, de 1 a {@value DistribucionPrecios#PRECISION_AREA}
+     *               caracteres (opcional; por defecto, todo el catálogo).
+     * @param estado Estado de los inmuebles (opcional; por defecto, todos).
+     * @return Un {@link ResponseEntity} con la {@link PrecioDistribucion} y estado HTTP 200 (OK), o 400
+     * (Bad Request) si la zona no es válida.
+     */
+    @GetMapping("/precios/distribucion")
+    public ResponseEntity<PrecioDistribucion> getDistribucionPrecios(@RequestParam(required = false) String area,
+                                                                     @RequestParam(required = false) EstadoInmueble estado) {
+        try {
+            return ResponseEntity.ok(distribucionPrecios.distribucion(area, estado));
+        } catch (IllegalArgumentException e) {
+            log.warn("Petición de distribución de precios inválida: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint con el histograma de los precios actuales de una zona, en intervalos de igual anchura entre
+     * el precio mínimo y el máximo.
+     * <p>
+     * Se sirve desde los mismos resúmenes en memoria que {@code /precios/distribucion}. Este endpoint es
+     * público y no requiere cabeceras de usuario.
+     *
+     * @param area       Prefijo de geohash de la zona (opcional; por defecto, todo el catálogo).
+     * @param estado     Estado de los inmuebles (opcional; por defecto, todos).
+     * @param intervalos Número de intervalos (por defecto 20, máximo {@value DistribucionPrecios#MAX_INTERVALOS}).
+     * @return Un {@link ResponseEntity} con los {@link PrecioIntervalo}, de menor a mayor precio, y estado
+     * HTTP 200 (OK), o 400 (Bad Request) si la zona no es válida.
+     */
+    @GetMapping("/precios/histograma")
+    public ResponseEntity<List<PrecioIntervalo>> getHistogramaPrecios(@RequestParam(required = false) String area,
+                                                                      @RequestParam(required = false) EstadoInmueble estado,
+                                                                      @RequestParam(defaultValue = "20") int intervalos) {
+        try {
+            return ResponseEntity.ok(distribucionPrecios.histograma(area, estado, intervalos));
+        } catch (IllegalArgumentException e) {
+            log.warn("Petición de histograma de precios inválida: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint con el histórico de precios de un inmueble.
+     * <p>
+     * El primer punto es el precio con el que se dio de alta y cada uno de los siguientes, un cambio de
+     * precio. Si el precio nunca ha cambiado, la lista está vacía. Este endpoint es público y no
+     * requiere cabeceras de usuario.
+     *
+     * @param inmuebleId El ID del inmueble.
+     * @param desde      Comienzo del periodo (opcional).
+     * @param hasta      Fin del periodo (opcional).
+     * @return Un {@link ResponseEntity} con los {@link PrecioPunto}, del más antiguo al más reciente,
+     * y estado HTTP 200 (OK).
+     */
+    @GetMapping("/{inmuebleId}/precios")
+    public ResponseEntity<List<PrecioPunto>> getHistorialPrecios(
+            @PathVariable Long inmuebleId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta) {
+        log.debug("Recibida petición del histórico de precios del inmueble ID: {}", inmuebleId);
+        return ResponseEntity.ok(precioHistorial.historial(inmuebleId, desde, hasta));
     }
 
     /**
      * Endpoint para obtener todos los inmuebles de un usuario específico.
      *
      * @param userId El ID del usuario cuyos inmuebles se desean obtener.
-     * @return Un {@link ResponseEntity} con una lista de los inmuebles del usuario y estado HTTP 200 (OK).
+     * @param fields Lista opcional de campos a devolver, separados por comas (ver {@link CampoInmueble}).
+     * @return Un {@link ResponseEntity} con una lista de los inmuebles del usuario (proyecciones
+     * {@link InmuebleResumen}, o solo los campos solicitados) y estado HTTP 200 (OK),
+     * o 400 (Bad Request) si algún campo no existe.
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Inmueble>> getAllInmueblesByUserId(@PathVariable Long userId) {
-        log.debug("Recibida petición para obtener inmuebles del usuario ID: {}", userId);
-        return ResponseEntity.ok(inmuebleService.findAllByUserId(userId));
+    public ResponseEntity<List<?>> getAllInmueblesByUserId(@PathVariable Long userId,
+                                                           @RequestParam(required = false) String fields) {
+        log.debug("Recibida petición para obtener inmuebles del usuario ID: {}. fields={}", userId, fields);
+        if (fields == null) {
+            return ResponseEntity.ok(inmuebleService.findAllByUserId(userId));
+        }
+        try {
+            return ResponseEntity.ok(inmuebleService.findAllByUserId(userId, CampoInmueble.parse(fields)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Parámetro fields inválido: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
      * Endpoint para actualizar únicamente el estado de un inmueble.
      * <p>
-     * Este endpoint es utilizado internamente por otros servicios, como el {@code compra-service},
-     * para marcar un inmueble como "VENDIDO" después de una transacción exitosa.
-     * Está protegido por la configuración de seguridad del servicio.
+     * Es una operación administrativa, protegida por la configuración de seguridad del servicio: solo
+     * aplica transiciones permitidas desde el estado actual, pero no comprueba la versión ni el titular
+     * de una reserva. Las compras usan {@code POST /api/inmueble/{inmuebleId}/transicion}.
      *
      * @param inmuebleId El ID del inmueble cuyo estado se actualizará.
      * @param estado El nuevo {@link EstadoInmueble} a asignar.
-     * @return Un {@link ResponseEntity} con un mensaje de éxito y estado HTTP 200 (OK).
+     * @return Un {@link ResponseEntity} con un mensaje de éxito y estado HTTP 200 (OK), 409 (Conflict) si
+     * el estado actual no permite la transición, o 404 (Not Found) si el inmueble no existe.
      */
     @PutMapping("/{inmuebleId}/estado")
     public ResponseEntity<String> updateInmuebleEstado(@PathVariable Long inmuebleId, @RequestParam EstadoInmueble estado) {
         log.info("Recibida petición para actualizar estado del inmueble ID: {} a {}", inmuebleId, estado);
         try {
-            inmuebleService.updateInmuebleEstado(inmuebleId, estado);
-            return ResponseEntity.ok("Estado del inmueble actualizado correctamente.");
+            return inmuebleService.updateInmuebleEstado(inmuebleId, estado)
+                    .map(transicion -> transicion.aplicada()
+                            ? ResponseEntity.ok("Estado del inmueble actualizado correctamente.")
+                            : ResponseEntity.status(HttpStatus.CONFLICT)
+                            .body("No se permite pasar de " + transicion.estado() + " a " + estado + "."))
+                    .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             log.error("Error al actualizar estado para el inmueble ID {}: {}", inmuebleId, e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error al actualizar estado del inmueble.");
         }
     }
 
+    /**
+     * Endpoint para cambiar el estado de un inmueble respetando la máquina de estados
+     * ({@code DISPONIBLE → RESERVADO → VENDIDO}, ver {@link EstadoInmueble}) de forma atómica.
+     * <p>
+     * Es la operación que deben usar los flujos de reserva y compra: de varias peticiones concurrentes
+     * sobre el mismo inmueble solo una gana. Opcionalmente se puede exigir la {@code version} leída
+     * previamente por el cliente. Un inmueble reservado solo sale de {@code RESERVADO} si {@code userId}
+     * es el titular de la reserva: el {@code compra-service} envía el comprador.
+     *
+     * @param inmuebleId El ID del inmueble.
+     * @param estado     El estado de destino.
+     * @param version    Versión esperada del inmueble (opcional).
+     * @param userId     El usuario en cuyo nombre se pide la transición (opcional).
+     * @return Un {@link ResponseEntity} con la {@link EstadoTransicion}: 200 (OK) si esta petición ha
+     * realizado la transición, 409 (Conflict) si no estaba permitida desde el estado actual, la versión
+     * no coincidía o el inmueble está reservado por otro usuario, o 404 (Not Found) si el inmueble no existe.
+     */
+    @PostMapping("/{inmuebleId}/transicion")
+    public ResponseEntity<EstadoTransicion> transicionarEstado(@PathVariable Long inmuebleId,
+                                                               @RequestParam EstadoInmueble estado,
+                                                               @RequestParam(required = false) Long version,
+                                                               @RequestParam(required = false) Long userId) {
+        log.info("Recibida petición de transición del inmueble ID: {} a {} para usuario ID {} (versión esperada: {})",
+                inmuebleId, estado, userId, version);
+        return inmuebleService.transicionarEstado(inmuebleId, estado, version, userId)
+                .map(transicion -> ResponseEntity.status(transicion.aplicada() ? HttpStatus.OK : HttpStatus.CONFLICT)
+                        .body(transicion))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Endpoint para actualizar el estado de muchos inmuebles en una sola petición.
+     * <p>
+     * Pensado para tareas administrativas y para ponerse al día tras una caída, en lugar de
+     * invocar {@code PUT /api/inmueble/{inmuebleId}/estado} una vez por inmueble. Los cambios se
+     * aplican por lotes con sentencias {@code UPDATE} agrupadas y solo si la transición está permitida
+     * desde el estado actual; la respuesta indica el resultado de cada cambio ({@code NO_PERMITIDO} para
+     * las transiciones rechazadas), en el mismo orden en que se enviaron.
+     *
+     * @param cambios La lista de pares {@code (inmuebleId, estado)} a aplicar.
+     * @return Un {@link ResponseEntity} con un {@link EstadoCambioResultado} por cambio y estado HTTP 200 (OK),
+     * o 400 (Bad Request) si la petición supera el número máximo de cambios.
+     */
+    @PutMapping("/estado")
+    public ResponseEntity<List<EstadoCambioResultado>> updateInmueblesEstado(@RequestBody List<EstadoCambio> cambios) {
+        log.info("Recibida petición de actualización masiva de estado: {} cambios", cambios.size());
+        try {
+            return ResponseEntity.ok(inmuebleService.updateInmueblesEstado(cambios));
+        } catch (IllegalArgumentException e) {
+            log.warn("Actualización masiva de estado rechazada: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint para obtener varios inmuebles por su ID en una sola petición, en lugar de invocar
+     * {@code GET /api/inmueble/{inmuebleId}} una vez por inmueble (por ejemplo, para completar los
+     * datos de las compras de un usuario). Se resuelven con una única consulta {@code IN}.
+     * <p>
+     * A diferencia de la ficha, no cuenta como visita.
+     *
+     * @param inmuebleIds Los IDs a buscar (como máximo {@value InmuebleService#MAX_IDS_LOTE} distintos).
+     * @return Un {@link ResponseEntity} con los inmuebles encontrados, en el orden de los IDs y sin los
+     * que no existen, y estado HTTP 200 (OK), o 400 (Bad Request) si se piden demasiados IDs.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<Inmueble>> getInmueblesByIds(@RequestBody List<Long> inmuebleIds) {
+        log.debug("Recibida petición de {} inmuebles por ID", inmuebleIds.size());
+        try {
+            return ResponseEntity.ok(inmuebleService.findAllById(inmuebleIds));
+        } catch (IllegalArgumentException e) {
+            log.warn("Búsqueda por lote rechazada: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Endpoint para obtener un inmueble específico por su ID.
+     * <p>
+     * Al igual que el listado, la respuesta lleva como {@code ETag} la versión del catálogo (y, con
+     * {@code fields}, el conjunto de campos) y se responde {@code 304 Not Modified} si no ha cambiado y el
+     * inmueble existe (una comprobación que suele resolver la caché de {@link InmuebleService#findById(Long)}).
+     * Cada respuesta 200 o 304 cuenta como una visita a la ficha (ver {@link InmuebleVisitas}), siempre
+     * después de haber encontrado el inmueble: las peticiones a IDs inexistentes no cuentan.
      *
      * @param inmuebleId El ID del inmueble a buscar.
-     * @return Un {@link ResponseEntity} que contiene el {@link Inmueble} si se encuentra (con estado 200 OK),
-     * o un estado 404 (Not Found) si no existe.
+     * @param fields     Lista opcional de campos a devolver, separados por comas (ver {@link CampoInmueble}).
+     * @param webRequest La petición, usada para evaluar {@code If-None-Match}.
+     * @return Un {@link ResponseEntity} que contiene el {@link Inmueble} (o solo los campos solicitados)
+     * si se encuentra (con estado 200 OK), 304 (Not Modified) si el catálogo no ha cambiado,
+     * 400 (Bad Request) si algún campo no existe, o un estado 404 (Not Found) si no existe.
      */
     @GetMapping("/{inmuebleId}")
-    public ResponseEntity<Inmueble> getInmuebleById(@PathVariable Long inmuebleId) {
-        log.debug("Recibida petición para obtener inmueble por ID: {}", inmuebleId);
-        return inmuebleService.findById(inmuebleId)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<?> getInmuebleById(@PathVariable Long inmuebleId,
+                                             @RequestParam(required = false) String fields,
+                                             WebRequest webRequest) {
+        Set<CampoInmueble> campos;
+        try {
+            campos = fields == null ? null : CampoInmueble.parse(fields);
+        } catch (IllegalArgumentException e) {
+            log.warn("Parámetro fields inválido: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        String etag = campos == null ? catalogoVersion.etag() : catalogoVersion.etag(campos);
+        log.debug("Recibida petición para obtener inmueble por ID: {}. fields={}", inmuebleId, fields);
+        // El ETag es el del catálogo: antes de validarlo hay que comprobar que el inmueble existe.
+        boolean condicional = webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+        Optional<?> inmueble = campos == null || condicional
+                ? inmuebleService.findById(inmuebleId)
+                : inmuebleService.findById(inmuebleId, campos);
+        if (inmueble.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        visitas.registrar(inmuebleId);
+        if (condicional && webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        if (campos != null && condicional) {
+            inmueble = inmuebleService.findById(inmuebleId, campos);
+        }
+        return inmueble
+                .<ResponseEntity<?>>map(body -> ResponseEntity.ok().eTag(etag).body(body))
                 .orElse(ResponseEntity.notFound().build());
     }
 }
\ No newline at end of file
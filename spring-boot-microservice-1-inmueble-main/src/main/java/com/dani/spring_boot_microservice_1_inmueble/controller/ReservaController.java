@@ -0,0 +1,93 @@
+package com.dani.spring_boot_microservice_1_inmueble.controller;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.ReservaResultado;
+import com.dani.spring_boot_microservice_1_inmueble.model.InmuebleReserva;
+import com.dani.spring_boot_microservice_1_inmueble.service.ReservaService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST de las reservas con caducidad de inmuebles.
+ * <p>
+ * El usuario se obtiene de la cabecera {@code X-User-ID} propagada por el API Gateway.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@RestController
+@RequestMapping("api/inmueble")
+@RequiredArgsConstructor
+@Slf4j
+public class ReservaController {
+
+    private final ReservaService reservaService;
+
+    /**
+     * Endpoint para reservar un inmueble disponible durante un tiempo limitado, o para renovar la
+     * reserva que ya tiene el usuario. Al caducar, el inmueble vuelve automáticamente a {@code DISPONIBLE}.
+     *
+     * @param inmuebleId El ID del inmueble.
+     * @param userId     El ID del usuario, extraído de la cabecera "X-User-ID".
+     * @param minutos    Duración de la reserva en minutos (opcional; por defecto {@code inmueble.reservas.ttl}).
+     * @return Un {@link ResponseEntity} con el {@link ReservaResultado}: 200 (OK) si el usuario tiene la
+     * reserva, 409 (Conflict) si el inmueble no está disponible, 404 (Not Found) si no existe o
+     * 400 (Bad Request) si la duración no es válida.
+     */
+    @PostMapping("/{inmuebleId}/reserva")
+    public ResponseEntity<ReservaResultado> reservar(@PathVariable Long inmuebleId,
+                                                     @RequestHeader("X-User-ID") Long userId,
+                                                     @RequestParam(required = false) Integer minutos) {
+        log.info("Recibida petición de reserva del inmueble ID: {} por usuario ID: {} ({} min)", inmuebleId, userId, minutos);
+        try {
+            return reservaService.reservar(inmuebleId, userId, minutos)
+                    .map(resultado -> ResponseEntity.status(resultado.aplicada() ? HttpStatus.OK : HttpStatus.CONFLICT)
+                            .body(resultado))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            log.warn("Reserva rechazada: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint con la reserva vigente de un inmueble.
+     *
+     * @param inmuebleId El ID del inmueble.
+     * @return Un {@link ResponseEntity} con la {@link InmuebleReserva} y estado HTTP 200 (OK),
+     * o 404 (Not Found) si el inmueble no tiene reserva.
+     */
+    @GetMapping("/{inmuebleId}/reserva")
+    public ResponseEntity<InmuebleReserva> getReserva(@PathVariable Long inmuebleId) {
+        return reservaService.findReserva(inmuebleId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Endpoint para cancelar una reserva y devolver el inmueble a {@code DISPONIBLE}.
+     *
+     * @param inmuebleId El ID del inmueble.
+     * @param userId     El ID del usuario, extraído de la cabecera "X-User-ID".
+     * @param userRoles  Los roles del usuario, extraídos de la cabecera "X-User-Roles".
+     * @return Un {@link ResponseEntity} con estado HTTP 204 (No Content), 404 (Not Found) si el inmueble
+     * no tiene reserva o 403 (Forbidden) si la reserva es de otro usuario.
+     */
+    @DeleteMapping("/{inmuebleId}/reserva")
+    public ResponseEntity<Void> cancelarReserva(@PathVariable Long inmuebleId,
+                                                @RequestHeader("X-User-ID") Long userId,
+                                                @RequestHeader("X-User-Roles") List<String> userRoles) {
+        try {
+            return reservaService.cancelarReserva(inmuebleId, userId, userRoles)
+                    ? ResponseEntity.noContent().build()
+                    : ResponseEntity.notFound().build();
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+}
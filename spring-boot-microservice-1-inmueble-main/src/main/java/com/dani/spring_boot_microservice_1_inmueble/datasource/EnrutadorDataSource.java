@@ -0,0 +1,223 @@
+package com.dani.spring_boot_microservice_1_inmueble.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link javax.sql.DataSource} que envía las transacciones de solo lectura a las réplicas y el resto al primario.
+ * <p>
+ * La decisión se toma al pedir la conexión física, según
+ * {@link TransactionSynchronizationManager#isCurrentTransactionReadOnly()}; por eso debe usarse detrás de un
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, que retrasa la petición hasta
+ * la primera sentencia, cuando la transacción ya está marcada (ver {@link ReplicasConfig}).
+ * <p>
+ * Una lectura vuelve al primario cuando:
+ * <ul>
+ * <li>ninguna réplica es elegible: su retraso supera {@code inmueble.replicas.lag-maximo}, no respondió a la
+ * última comprobación o no entregó una conexión a tiempo (ver {@link SelectorReplicas});</li>
+ * <li>la réplica elegida aún no ha reproducido la última transacción de escritura confirmada por esta
+ * instancia, para que la lectura que sigue a una escritura (y la caché que la rellena) no vea datos
+ * anteriores a ella.</li>
+ * </ul>
+ * Para lo segundo, tras el commit de cada escritura se lee, en su misma conexión, la posición del WAL
+ * del primario ({@code pg_current_wal_lsn()}, que ya incluye el commit). Una lectura solo consulta en la
+ * réplica la posición reproducida ({@code pg_last_wal_replay_lsn()}) si lo que se sabe de ella es anterior
+ * a esa escritura; en cuanto la alcanza, las lecturas vuelven a la réplica sin esperar a que pase ningún
+ * plazo.
+ * <p>
+ * Un único hilo mide el retraso y la posición reproducida de cada réplica cada
+ * {@code inmueble.replicas.comprobacion}.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Slf4j
+public class EnrutadorDataSource extends AbstractDataSource implements AutoCloseable {
+
+    /**
+     * Retraso de replicación en segundos y posición del WAL reproducida. El retraso es 0 si la réplica
+     * está al día con lo recibido y sigue conectada al primario (un primario sin escrituras no genera
+     * transacciones que reproducir) y {@code null} si nunca ha reproducido nada.
+     */
+    static final String SQL_LAG = """
+            select case
+                     when not pg_is_in_recovery() then 0
+                     when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn()
+                          and exists (select 1 from pg_stat_wal_receiver) then 0
+                     else extract(epoch from now() - pg_last_xact_replay_timestamp())
+                   end,
+                   pg_last_wal_replay_lsn()::text
+            """;
+
+    private static final String SQL_REPRODUCIDO = "select pg_last_wal_replay_lsn()::text";
+
+    private static final String SQL_ESCRITO = "select pg_current_wal_lsn()::text";
+
+    private final HikariDataSource primario;
+    private final List<HikariDataSource> replicas;
+    private final List<JdbcTemplate> comprobaciones;
+    private final SelectorReplicas selector;
+    private final ScheduledExecutorService comprobador;
+    /**
+     * Posición del WAL de la última escritura confirmada por esta instancia.
+     */
+    private final AtomicLong escrito = new AtomicLong();
+
+    /**
+     * @param primario     Pool del primario.
+     * @param replicas     Pools de las réplicas.
+     * @param lagMaximo    Retraso de replicación máximo tolerado.
+     * @param comprobacion Frecuencia con la que se mide el retraso.
+     */
+    public EnrutadorDataSource(HikariDataSource primario, List<HikariDataSource> replicas,
+                               Duration lagMaximo, Duration comprobacion) {
+        this.primario = primario;
+        this.replicas = List.copyOf(replicas);
+        this.selector = new SelectorReplicas(replicas.size(), lagMaximo);
+        int timeout = (int) Math.max(1, comprobacion.toSeconds());
+        this.comprobaciones = this.replicas.stream().map(replica -> {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(replica);
+            jdbcTemplate.setQueryTimeout(timeout);
+            return jdbcTemplate;
+        }).toList();
+        this.comprobador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "inmueble-replicas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long periodo = Math.max(100, comprobacion.toMillis());
+        comprobador.scheduleWithFixedDelay(this::comprobar, 0, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Connection conexion = primario.getConnection();
+            registrarEscritura(conexion);
+            return conexion;
+        }
+        int replica = selector.elegir();
+        if (replica < 0) {
+            return primario.getConnection();
+        }
+        Connection conexion;
+        try {
+            conexion = replicas.get(replica).getConnection();
+        } catch (SQLException e) {
+            if (selector.marcarCaida(replica)) {
+                log.warn("Réplica {} sin conexiones disponibles; las lecturas pasan a otra réplica o al primario: {}",
+                        replicas.get(replica).getPoolName(), e.getMessage());
+            }
+            return primario.getConnection();
+        }
+        long minimo = escrito.get();
+        if (selector.alcanza(replica, minimo)) {
+            return conexion;
+        }
+        try {
+            selector.registrarReproducido(replica, SelectorReplicas.lsn(consultarLsn(conexion, SQL_REPRODUCIDO)));
+        } catch (SQLException | RuntimeException e) {
+            log.debug("No se pudo leer la posición reproducida de la réplica {}: {}",
+                    replicas.get(replica).getPoolName(), e.getMessage());
+        }
+        if (selector.alcanza(replica, minimo)) {
+            return conexion;
+        }
+        conexion.close();
+        return primario.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Las credenciales se configuran en cada pool.");
+    }
+
+    /**
+     * @return El estado de las réplicas (para diagnóstico y pruebas).
+     */
+    public SelectorReplicas getSelector() {
+        return selector;
+    }
+
+    @Override
+    public void close() {
+        comprobador.shutdownNow();
+        replicas.forEach(HikariDataSource::close);
+        primario.close();
+    }
+
+    /**
+     * Tras el commit de la transacción en curso, guarda la posición del WAL del primario, que las lecturas
+     * exigirán a las réplicas. La conexión sigue abierta hasta que termina la transacción. Las escrituras
+     * sin transacción (contadores, avisos) no afectan a los datos cacheados y no cuentan.
+     */
+    private void registrarEscritura(Connection conexion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        escrito.accumulateAndGet(SelectorReplicas.lsn(consultarLsn(conexion, SQL_ESCRITO)), Math::max);
+                    } catch (SQLException | RuntimeException e) {
+                        log.warn("No se pudo leer la posición del WAL tras una escritura: {}", e.getMessage());
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Lee una posición del WAL en una conexión, sin dejar abierta ninguna transacción.
+     */
+    private static String consultarLsn(Connection conexion, String sql) throws SQLException {
+        String lsn;
+        try (Statement sentencia = conexion.createStatement(); ResultSet rs = sentencia.executeQuery(sql)) {
+            lsn = rs.next() ? rs.getString(1) : null;
+        }
+        if (!conexion.getAutoCommit()) {
+            conexion.rollback();
+        }
+        return lsn;
+    }
+
+    private void comprobar() {
+        for (int i = 0; i < replicas.size(); i++) {
+            Double lag;
+            try {
+                int replica = i;
+                lag = comprobaciones.get(i).queryForObject(SQL_LAG, (rs, n) -> {
+                    selector.registrarReproducido(replica, SelectorReplicas.lsn(rs.getString(2)));
+                    return rs.getObject(1, Double.class);
+                });
+            } catch (RuntimeException e) {
+                log.debug("No se pudo medir el retraso de la réplica {}: {}", replicas.get(i).getPoolName(), e.getMessage());
+                lag = null;
+            }
+            if (selector.actualizar(i, lag)) {
+                if (selector.disponible(i)) {
+                    log.info("Réplica {} disponible para lecturas (retraso {} s).", replicas.get(i).getPoolName(), lag);
+                } else {
+                    log.warn("Réplica {} retirada de las lecturas (retraso {} s).", replicas.get(i).getPoolName(),
+                            lag == null ? "desconocido" : lag);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.dani.spring_boot_microservice_1_inmueble.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de lectura de PostgreSQL, activas solo si se define {@code inmueble.replicas.urls}.
+ * <p>
+ * Sustituye el {@link DataSource} autoconfigurado por un {@link EnrutadorDataSource} envuelto en un
+ * {@link LazyConnectionDataSourceProxy}: las transacciones {@code readOnly} (listados, búsquedas, detalle)
+ * se sirven desde las réplicas y todo lo demás desde el primario. Sin la propiedad, el servicio usa
+ * un único pool como siempre.
+ * <p>
+ * El primario se configura con las propiedades habituales {@code spring.datasource.*} y
+ * {@code spring.datasource.hikari.*}; las réplicas heredan usuario, contraseña y driver, y admiten
+ * {@code inmueble.replicas.hikari.*} para ajustar sus pools (por ejemplo, otro usuario o más conexiones).
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Configuration
+@ConditionalOnProperty(name = "inmueble.replicas.urls")
+public class ReplicasConfig {
+
+    /**
+     * Espera máxima por una conexión de réplica antes de leer del primario, salvo que se configure
+     * {@code inmueble.replicas.hikari.connection-timeout}.
+     */
+    private static final long TIMEOUT_CONEXION_REPLICA_MS = 2_000;
+
+    /**
+     * Crea los pools del primario y de las réplicas y el enrutador que los reparte.
+     *
+     * @param properties   Propiedades {@code spring.datasource.*}.
+     * @param environment  Entorno, para enlazar las propiedades de cada pool.
+     * @param urls         URLs JDBC de las réplicas ({@code inmueble.replicas.urls}, separadas por comas).
+     * @param lagMaximo    Retraso de replicación máximo tolerado ({@code inmueble.replicas.lag-maximo}).
+     * @param comprobacion Frecuencia de medición del retraso ({@code inmueble.replicas.comprobacion}).
+     * @return El enrutador; Spring cierra sus pools al parar.
+     */
+    @Bean
+    public EnrutadorDataSource enrutadorDataSource(DataSourceProperties properties,
+                                                   Environment environment,
+                                                   @Value("${inmueble.replicas.urls}") List<String> urls,
+                                                   @Value("${inmueble.replicas.lag-maximo:5s}") Duration lagMaximo,
+                                                   @Value("${inmueble.replicas.comprobacion:2s}") Duration comprobacion) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primario = pool(properties, properties.determineUrl(), "inmueble-primario");
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primario));
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = pool(properties, url.trim(), "inmueble-replica-" + (replicas.size() + 1));
+            replica.setConnectionTimeout(TIMEOUT_CONEXION_REPLICA_MS);
+            binder.bind("inmueble.replicas.hikari", Bindable.ofInstance(replica));
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        if (replicas.isEmpty()) {
+            throw new IllegalStateException("inmueble.replicas.urls no contiene ninguna URL.");
+        }
+        return new EnrutadorDataSource(primario, replicas, lagMaximo, comprobacion);
+    }
+
+    /**
+     * {@link DataSource} que usan JPA, los {@code JdbcTemplate} y la inicialización del esquema.
+     *
+     * @param enrutador El enrutador entre primario y réplicas.
+     * @return El enrutador detrás de un proxy que obtiene la conexión física en la primera sentencia.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(EnrutadorDataSource enrutador) {
+        return new LazyConnectionDataSourceProxy(enrutador);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, String url, String nombre) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        pool.setPoolName(nombre);
+        return pool;
+    }
+}
@@ -0,0 +1,156 @@
+package com.dani.spring_boot_microservice_1_inmueble.datasource;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Estado de las réplicas de lectura y elección de la réplica para cada conexión.
+ * <p>
+ * Cada réplica tiene el último retraso de replicación medido. Una réplica es elegible si ese retraso
+ * no supera el máximo tolerado; la que no responde, o aún no se ha comprobado, no lo es. Entre las
+ * elegibles se reparte en turno rotatorio; si no hay ninguna, {@link #elegir()} devuelve {@code -1}
+ * y la lectura va al primario.
+ * <p>
+ * También guarda la última posición del WAL que se sabe que cada réplica ha reproducido
+ * ({@code pg_last_wal_replay_lsn()}), para decidir si ya contiene una escritura confirmada en el primario.
+ * <p>
+ * Todas las operaciones son seguras entre hilos y no toman bloqueos.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class SelectorReplicas {
+
+    private static final long SIN_DATOS = Double.doubleToLongBits(Double.NaN);
+
+    private final double lagMaximoSegundos;
+    private final AtomicLongArray lags;
+    private final AtomicLongArray reproducido;
+    private final AtomicInteger turno = new AtomicInteger();
+
+    /**
+     * @param replicas  Número de réplicas.
+     * @param lagMaximo Retraso de replicación máximo tolerado.
+     */
+    public SelectorReplicas(int replicas, Duration lagMaximo) {
+        if (replicas <= 0) {
+            throw new IllegalArgumentException("Se necesita al menos una réplica.");
+        }
+        this.lagMaximoSegundos = lagMaximo.toMillis() / 1000.0;
+        this.lags = new AtomicLongArray(replicas);
+        this.reproducido = new AtomicLongArray(replicas);
+        for (int i = 0; i < replicas; i++) {
+            lags.set(i, SIN_DATOS);
+        }
+    }
+
+    /**
+     * Registra el resultado de una comprobación.
+     *
+     * @param replica     Índice de la réplica.
+     * @param lagSegundos Retraso medido, en segundos, o {@code null} si la réplica no respondió
+     *                    o no pudo medirse.
+     * @return {@code true} si la réplica ha pasado de elegible a no elegible o al revés.
+     */
+    public boolean actualizar(int replica, Double lagSegundos) {
+        boolean antes = disponible(replica);
+        lags.set(replica, lagSegundos == null ? SIN_DATOS : Double.doubleToLongBits(Math.max(0, lagSegundos)));
+        return antes != disponible(replica);
+    }
+
+    /**
+     * Retira una réplica hasta la siguiente comprobación (por ejemplo, si no entrega conexiones).
+     *
+     * @param replica Índice de la réplica.
+     * @return {@code true} si la réplica era elegible.
+     */
+    public boolean marcarCaida(int replica) {
+        return actualizar(replica, null);
+    }
+
+    /**
+     * @param replica Índice de la réplica.
+     * @return {@code true} si la réplica respondió en la última comprobación y su retraso está dentro del máximo.
+     */
+    public boolean disponible(int replica) {
+        double lag = lag(replica);
+        return !Double.isNaN(lag) && lag <= lagMaximoSegundos;
+    }
+
+    /**
+     * @param replica Índice de la réplica.
+     * @return El último retraso medido, en segundos, o {@link Double#NaN} si no se conoce.
+     */
+    public double lag(int replica) {
+        return Double.longBitsToDouble(lags.get(replica));
+    }
+
+    /**
+     * Registra una posición del WAL que la réplica ya ha reproducido.
+     *
+     * @param replica Índice de la réplica.
+     * @param lsn     La posición (ver {@link #lsn(String)}).
+     */
+    public void registrarReproducido(int replica, long lsn) {
+        reproducido.accumulateAndGet(replica, lsn, Math::max);
+    }
+
+    /**
+     * @param replica Índice de la réplica.
+     * @param lsn     Posición del WAL de una escritura confirmada en el primario.
+     * @return {@code true} si se sabe que la réplica ya ha reproducido esa posición.
+     */
+    public boolean alcanza(int replica, long lsn) {
+        return reproducido.get(replica) >= lsn;
+    }
+
+    /**
+     * Convierte una posición del WAL de PostgreSQL ({@code pg_lsn} en texto, por ejemplo {@code 16/B374D848})
+     * en un número comparable.
+     *
+     * @param texto La posición, o {@code null} si el servidor no es una réplica (y por tanto está al día).
+     * @return La posición como número no negativo; {@link Long#MAX_VALUE} para {@code null}.
+     * @throws IllegalArgumentException si el texto no es una posición válida.
+     */
+    public static long lsn(String texto) {
+        if (texto == null) {
+            return Long.MAX_VALUE;
+        }
+        int barra = texto.indexOf('/');
+        if (barra <= 0 || barra == texto.length() - 1) {
+            throw new IllegalArgumentException("Posición del WAL no válida: " + texto);
+        }
+        long alta = Long.parseLong(texto.substring(0, barra), 16);
+        long baja = Long.parseLong(texto.substring(barra + 1), 16);
+        if (alta > 0x7FFFFFFFL || baja > 0xFFFFFFFFL || alta < 0 || baja < 0) {
+            throw new IllegalArgumentException("Posición del WAL no válida: " + texto);
+        }
+        return alta << 32 | baja;
+    }
+
+    /**
+     * Elige la siguiente réplica elegible en turno rotatorio.
+     *
+     * @return El índice de la réplica, o {@code -1} si ninguna es elegible.
+     */
+    public int elegir() {
+        int n = lags.length();
+        int inicio = Math.floorMod(turno.getAndIncrement(), n);
+        for (int i = 0; i < n; i++) {
+            int replica = (inicio + i) % n;
+            if (disponible(replica)) {
+                return replica;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return El número de réplicas.
+     */
+    public int size() {
+        return lags.length();
+    }
+}
@@ -0,0 +1,76 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Atributos de un {@link com.dani.spring_boot_microservice_1_inmueble.model.Inmueble} que un cliente
+ * puede solicitar con el parámetro {@code fields=} (sparse fieldsets).
+ * <p>
+ * El nombre de cada campo coincide a la vez con el atributo JPA y con la propiedad JSON, de modo
+ * que la misma lista sirve para construir la proyección SQL y las claves de la respuesta.
+ * El campo {@link #ID} se incluye siempre.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public enum CampoInmueble {
+
+    ID("id"),
+    USER_ID("userId"),
+    NAME("name"),
+    ADDRESS("address"),
+    PICTURE("picture"),
+    PRICE("price"),
+    CREATION_DATE("creationDate"),
+    ESTADO("estado"),
+    LATITUDE("latitude"),
+    LONGITUDE("longitude"),
+    VERSION("version");
+
+    private final String nombre;
+
+    CampoInmueble(String nombre) {
+        this.nombre = nombre;
+    }
+
+    /**
+     * @return El nombre del atributo JPA y de la propiedad JSON.
+     */
+    public String nombre() {
+        return nombre;
+    }
+
+    /**
+     * Interpreta el valor del parámetro {@code fields}: una lista de nombres separados por comas
+     * (por ejemplo {@code "name,price,estado"}). Los nombres no distinguen mayúsculas y se ignoran
+     * los espacios y las entradas vacías.
+     *
+     * @param fields El valor del parámetro.
+     * @return Los campos solicitados, siempre con {@link #ID}, en el orden de declaración.
+     * @throws IllegalArgumentException si algún nombre no corresponde a un campo conocido.
+     */
+    public static Set<CampoInmueble> parse(String fields) {
+        Set<CampoInmueble> campos = EnumSet.of(ID);
+        if (fields == null) {
+            return campos;
+        }
+        for (String nombre : fields.split(",")) {
+            String limpio = nombre.strip();
+            if (!limpio.isEmpty()) {
+                campos.add(deNombre(limpio));
+            }
+        }
+        return campos;
+    }
+
+    private static CampoInmueble deNombre(String nombre) {
+        for (CampoInmueble campo : values()) {
+            if (campo.nombre.equalsIgnoreCase(nombre)) {
+                return campo;
+            }
+        }
+        throw new IllegalArgumentException("Campo desconocido: '" + nombre + "'.");
+    }
+}
@@ -0,0 +1,61 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición dentro del catálogo usada por la paginación por cursor (keyset).
+ * <p>
+ * Identifica el último inmueble entregado al cliente mediante la pareja
+ * ({@code fecha_creacion}, {@code id}), que coincide con el orden del índice
+ * {@code idx_inmueble_fecha_creacion_id}. La siguiente página comienza
+ * estrictamente después de esta posición, por lo que el coste de cada página
+ * no depende de cuántas páginas se hayan recorrido antes.
+ * <p>
+ * Se transmite al cliente como un token opaco en Base64 (URL-safe).
+ *
+ * @param creationDate Fecha de creación del último inmueble entregado.
+ * @param id           ID del último inmueble entregado (desempate para fechas iguales).
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record CatalogoCursor(LocalDateTime creationDate, Long id) {
+
+    private static final String SEPARADOR = "|";
+
+    /**
+     * Codifica el cursor como un token opaco apto para usarse en una URL.
+     *
+     * @return El token que el cliente debe reenviar para obtener la página siguiente.
+     */
+    public String encode() {
+        String raw = creationDate + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token generado previamente con {@link #encode()}.
+     *
+     * @param token El token recibido del cliente.
+     * @return El {@link CatalogoCursor} correspondiente.
+     * @throws IllegalArgumentException si el token no tiene un formato válido.
+     */
+    public static CatalogoCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = raw.lastIndexOf(SEPARADOR);
+            if (separador < 0) {
+                throw new IllegalArgumentException("Cursor de paginación inválido.");
+            }
+            return new CatalogoCursor(
+                    LocalDateTime.parse(raw.substring(0, separador)),
+                    Long.valueOf(raw.substring(separador + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido.", e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
+
+/**
+ * Fila de agregados de inmuebles para un estado concreto, resultado de un {@code GROUP BY estado}.
+ *
+ * @param estado       El estado agrupado.
+ * @param total        Número de inmuebles en ese estado.
+ * @param precioMinimo Precio mínimo del grupo.
+ * @param precioMaximo Precio máximo del grupo.
+ * @param precioSuma   Suma de precios del grupo (permite combinar medias entre grupos).
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record EstadoAgregado(
+        EstadoInmueble estado,
+        Long total,
+        Double precioMinimo,
+        Double precioMaximo,
+        Double precioSuma
+) {
+}
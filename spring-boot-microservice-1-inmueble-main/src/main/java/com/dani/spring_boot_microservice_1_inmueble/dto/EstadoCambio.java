@@ -0,0 +1,19 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
+
+/**
+ * Cambio de estado solicitado para un inmueble dentro de una actualización masiva.
+ *
+ * @param inmuebleId El ID del inmueble a actualizar.
+ * @param estado     El nuevo estado a asignar.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record EstadoCambio(
+        Long inmuebleId,
+        EstadoInmueble estado
+) {
+}
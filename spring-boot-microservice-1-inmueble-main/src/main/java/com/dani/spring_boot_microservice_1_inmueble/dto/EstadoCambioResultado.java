@@ -0,0 +1,39 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
+
+/**
+ * Resultado de un {@link EstadoCambio} concreto dentro de una actualización masiva.
+ *
+ * @param inmuebleId El ID del inmueble solicitado.
+ * @param estado     El estado solicitado.
+ * @param resultado  Lo que ocurrió con este cambio.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record EstadoCambioResultado(
+        Long inmuebleId,
+        EstadoInmueble estado,
+        Resultado resultado
+) {
+
+    /**
+     * Posibles resultados de un cambio de estado.
+     */
+    public enum Resultado {
+        /** El estado se ha actualizado. */
+        ACTUALIZADO,
+        /** No existe ningún inmueble con ese ID. */
+        NO_ENCONTRADO,
+        /** El estado actual del inmueble no permite pasar al solicitado (ver {@link EstadoInmueble#puedeTransicionarA}). */
+        NO_PERMITIDO,
+        /** Falta el ID o el estado. */
+        INVALIDO,
+        /** El mismo inmueble aparece más adelante en la petición; se aplica solo el último cambio. */
+        DUPLICADO,
+        /** El lote que contenía este cambio falló y se deshizo. */
+        ERROR
+    }
+}
@@ -0,0 +1,29 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
+
+/**
+ * Resultado de una transición de estado atómica
+ * ({@code POST /api/inmueble/{inmuebleId}/transicion}).
+ * <p>
+ * Si la transición no se ha aplicado ({@code aplicada = false}), {@code estado} y {@code version}
+ * reflejan el estado actual del inmueble, es decir, lo que hizo perder la carrera.
+ *
+ * @param inmuebleId El ID del inmueble.
+ * @param solicitado El estado de destino solicitado.
+ * @param estado     El estado del inmueble tras la operación.
+ * @param version    La versión del inmueble tras la operación.
+ * @param aplicada   {@code true} si esta petición ha realizado la transición.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record EstadoTransicion(
+        Long inmuebleId,
+        EstadoInmueble solicitado,
+        EstadoInmueble estado,
+        Long version,
+        boolean aplicada
+) {
+}
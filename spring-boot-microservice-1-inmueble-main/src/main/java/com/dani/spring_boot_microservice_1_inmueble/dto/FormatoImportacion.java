@@ -0,0 +1,23 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+/**
+ * Formatos de fichero aceptados por la importación masiva de inmuebles.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public enum FormatoImportacion {
+
+    /**
+     * CSV con cabecera. Las columnas se identifican por nombre:
+     * {@code name}, {@code address}, {@code price} (obligatorias) y
+     * {@code picture}, {@code latitude}, {@code longitude}, {@code estado} (opcionales).
+     */
+    CSV,
+
+    /**
+     * JSON delimitado por saltos de línea: un objeto por línea con los mismos campos que el CSV.
+     */
+    NDJSON
+}
@@ -0,0 +1,16 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+/**
+ * Respuesta de {@code POST /api/inmueble/imagenes}.
+ *
+ * @param hash        SHA-256 (hexadecimal) del contenido, que identifica la imagen.
+ * @param contentType Tipo MIME detectado.
+ * @param bytes       Tamaño del original en bytes.
+ * @param url         Ruta relativa de la imagen original en este servicio
+ *                    (admite {@code ?size=} para pedir una miniatura).
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record ImagenSubida(String hash, String contentType, long bytes, String url) {
+}
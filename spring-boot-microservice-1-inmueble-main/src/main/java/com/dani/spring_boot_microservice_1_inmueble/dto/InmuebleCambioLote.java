@@ -0,0 +1,25 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.InmuebleCambio;
+
+import java.util.List;
+
+/**
+ * Respuesta del feed de cambios ({@code GET /api/inmueble/cambios}).
+ *
+ * @param cambios        Los cambios posteriores al {@code since} solicitado, en orden de secuencia.
+ * @param ultimoSeq      Valor a enviar como {@code since} en la siguiente petición
+ *                       (el {@code seq} del último cambio devuelto, o el {@code since} recibido si no hay cambios).
+ * @param resincronizar  {@code true} si parte de los cambios posteriores a {@code since} ya se han
+ *                       purgado del registro: el consumidor debe recargar el catálogo completo antes de continuar.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record InmuebleCambioLote(
+        List<InmuebleCambio> cambios,
+        long ultimoSeq,
+        boolean resincronizar
+) {
+}
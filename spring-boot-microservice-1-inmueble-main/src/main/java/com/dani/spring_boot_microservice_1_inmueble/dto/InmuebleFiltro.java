@@ -0,0 +1,25 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
+
+/**
+ * Criterios opcionales de filtrado para las consultas paginadas del catálogo de inmuebles.
+ * <p>
+ * Cualquier campo nulo se interpreta como "sin restricción" para ese criterio.
+ *
+ * @param estado   Estado exacto que deben tener los inmuebles devueltos.
+ * @param minPrice Precio mínimo (inclusive).
+ * @param maxPrice Precio máximo (inclusive).
+ * @param userId   ID del usuario propietario de los inmuebles.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record InmuebleFiltro(
+        EstadoInmueble estado,
+        Double minPrice,
+        Double maxPrice,
+        Long userId
+) {
+}
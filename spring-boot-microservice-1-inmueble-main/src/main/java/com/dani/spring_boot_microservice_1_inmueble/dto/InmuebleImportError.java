@@ -0,0 +1,17 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+/**
+ * Error de validación de una fila concreta durante una importación masiva.
+ *
+ * @param linea   Número de línea del fichero (empezando en 1; en CSV la cabecera es la línea 1).
+ * @param mensaje Descripción del problema encontrado.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record InmuebleImportError(
+        long linea,
+        String mensaje
+) {
+}
@@ -0,0 +1,25 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de una importación masiva de inmuebles.
+ * <p>
+ * Las filas inválidas no interrumpen la importación: se descartan y se informan en {@code errores}.
+ * Para acotar el tamaño de la respuesta solo se detallan los primeros errores; {@code rechazados}
+ * contiene siempre el total.
+ *
+ * @param importados Número de inmuebles insertados.
+ * @param rechazados Número de filas descartadas por errores de validación.
+ * @param errores    Detalle de los errores (limitado a los primeros encontrados).
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record InmuebleImportResult(
+        long importados,
+        long rechazados,
+        List<InmuebleImportError> errores
+) {
+}
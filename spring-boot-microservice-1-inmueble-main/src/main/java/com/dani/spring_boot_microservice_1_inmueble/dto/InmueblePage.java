@@ -0,0 +1,25 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+import java.util.List;
+
+/**
+ * Página de resultados obtenida mediante paginación por cursor (keyset).
+ * <p>
+ * A diferencia de una paginación por offset, no incluye el total de elementos:
+ * calcularlo obligaría a contar toda la tabla en cada petición.
+ *
+ * @param items      Los elementos de la página actual, en orden de fecha de creación descendente.
+ * @param nextCursor Token a enviar en la siguiente petición para continuar; {@code null} si no hay más páginas.
+ * @param hasMore    {@code true} si existen más elementos después de esta página.
+ * @param <T>        Tipo de los elementos de la página.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record InmueblePage<T>(
+        List<T> items,
+        String nextCursor,
+        boolean hasMore
+) {
+}
@@ -0,0 +1,13 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+/**
+ * Inmueble del ranking de tendencias ({@code GET /api/inmueble/trending}).
+ *
+ * @param inmueble   Los datos del inmueble.
+ * @param puntuacion Visitas recientes estimadas, con las más antiguas atenuadas.
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record InmueblePopular(InmuebleResumen inmueble, double puntuacion) {
+}
@@ -0,0 +1,23 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
+
+/**
+ * Proyección mínima de un inmueble para las estadísticas de precios: su precio, dónde está y en qué estado.
+ *
+ * @param id      El ID del inmueble.
+ * @param price   El precio, o {@code null}.
+ * @param geohash El geohash de la ubicación, o {@code null} si no tiene coordenadas.
+ * @param estado  El estado.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record InmueblePrecio(
+        Long id,
+        Double price,
+        String geohash,
+        EstadoInmueble estado
+) {
+}
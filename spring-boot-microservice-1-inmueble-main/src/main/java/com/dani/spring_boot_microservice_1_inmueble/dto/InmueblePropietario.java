@@ -0,0 +1,20 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+/**
+ * Proyección mínima de un inmueble: su ID y el de su propietario.
+ * <p>
+ * Útil en operaciones masivas que solo necesitan saber qué inmuebles existen y a quién
+ * pertenecen (por ejemplo, para invalidar la caché por usuario).
+ *
+ * @param id     El ID del inmueble.
+ * @param userId El ID del propietario.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record InmueblePropietario(
+        Long id,
+        Long userId
+) {
+}
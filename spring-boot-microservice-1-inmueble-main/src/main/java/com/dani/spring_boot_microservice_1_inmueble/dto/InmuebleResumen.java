@@ -0,0 +1,40 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de solo lectura de un {@link com.dani.spring_boot_microservice_1_inmueble.model.Inmueble}
+ * para las pantallas de listado (catálogo y "mis inmuebles").
+ * <p>
+ * Se construye directamente en la consulta ({@code select new ...}), por lo que solo se leen
+ * las columnas necesarias y no se crea ninguna entidad gestionada: no hay contexto de
+ * persistencia que llenar ni instantáneas para el dirty-checking. Los nombres de los
+ * componentes coinciden con los de la entidad, así que el JSON resultante es compatible
+ * con los clientes existentes.
+ *
+ * @param id           Identificador del inmueble.
+ * @param userId       ID del propietario.
+ * @param name         Nombre del inmueble.
+ * @param address      Dirección del inmueble.
+ * @param picture      URL de la imagen principal.
+ * @param price        Precio del inmueble.
+ * @param creationDate Fecha de creación.
+ * @param estado       Estado actual.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record InmuebleResumen(
+        Long id,
+        Long userId,
+        String name,
+        String address,
+        String picture,
+        Double price,
+        LocalDateTime creationDate,
+        EstadoInmueble estado
+) {
+}
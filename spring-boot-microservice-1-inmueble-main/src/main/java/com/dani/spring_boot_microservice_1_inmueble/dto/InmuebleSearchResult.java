@@ -0,0 +1,27 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+import java.util.List;
+
+/**
+ * Página de resultados de una búsqueda de texto completo, ordenada por relevancia.
+ * <p>
+ * Como el orden depende de la puntuación de cada consulta, se pagina por número de página.
+ * No incluye el total de coincidencias para evitar una consulta {@code COUNT} adicional.
+ *
+ * @param items   Los elementos de la página, de mayor a menor relevancia.
+ * @param page    Número de página devuelto (empezando en 0).
+ * @param size    Tamaño de página aplicado.
+ * @param hasMore {@code true} si existen más resultados en la página siguiente.
+ * @param <T>     Tipo de los elementos devueltos.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record InmuebleSearchResult<T>(
+        List<T> items,
+        int page,
+        int size,
+        boolean hasMore
+) {
+}
@@ -0,0 +1,13 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+/**
+ * Inmueble parecido a otro ({@code GET /api/inmueble/{inmuebleId}/similar}).
+ *
+ * @param inmueble  Los datos del inmueble.
+ * @param distancia Distancia entre los vectores de características de ambos inmuebles (menor es más parecido).
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record InmuebleSimilar(InmuebleResumen inmueble, double distancia) {
+}
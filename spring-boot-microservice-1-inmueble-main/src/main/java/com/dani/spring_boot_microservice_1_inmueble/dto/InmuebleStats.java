@@ -0,0 +1,38 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Estadísticas agregadas del catálogo de inmuebles, global o de un propietario.
+ * <p>
+ * Se calculan con consultas {@code COUNT}/{@code GROUP BY} en la base de datos, sin transferir
+ * los inmuebles, y se sirven desde una instantánea en caché de vida corta: {@code generadoEn}
+ * indica el momento en que se calcularon.
+ *
+ * @param userId       El propietario al que se refieren, o {@code null} si son globales.
+ * @param total        Número total de inmuebles.
+ * @param porEstado    Número de inmuebles por estado (incluye todos los estados, con 0 si no hay ninguno).
+ * @param precioMinimo Precio mínimo, o {@code null} si no hay inmuebles.
+ * @param precioMaximo Precio máximo, o {@code null} si no hay inmuebles.
+ * @param precioMedio  Precio medio, o {@code null} si no hay inmuebles.
+ * @param propietarios Número de propietarios distintos (solo en las estadísticas globales).
+ * @param generadoEn   Momento en que se calcularon las estadísticas.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record InmuebleStats(
+        Long userId,
+        long total,
+        Map<EstadoInmueble, Long> porEstado,
+        Double precioMinimo,
+        Double precioMaximo,
+        Double precioMedio,
+        Long propietarios,
+        LocalDateTime generadoEn
+) {
+}
@@ -0,0 +1,14 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+/**
+ * Sugerencia de autocompletado ({@code GET /api/inmueble/suggest}).
+ *
+ * @param id      ID del inmueble.
+ * @param name    Nombre del inmueble.
+ * @param address Dirección del inmueble.
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record InmuebleSugerencia(Long id, String name, String address) {
+}
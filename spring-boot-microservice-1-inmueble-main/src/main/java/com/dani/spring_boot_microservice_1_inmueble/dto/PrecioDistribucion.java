@@ -0,0 +1,29 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
+
+/**
+ * Distribución de los precios de una zona ({@code GET /api/inmueble/precios/distribucion}).
+ * Los precios son aproximados, con un error relativo de como mucho el 1 %.
+ *
+ * @param area      Prefijo de geohash de la zona, o {@code null} para todo el catálogo.
+ * @param estado    Estado de los inmuebles, o {@code null} para todos.
+ * @param inmuebles Número de inmuebles con precio.
+ * @param minimo    Precio mínimo, o {@code null} si no hay inmuebles.
+ * @param mediana   Mediana, o {@code null} si no hay inmuebles.
+ * @param p90       Percentil 90, o {@code null} si no hay inmuebles.
+ * @param maximo    Precio máximo, o {@code null} si no hay inmuebles.
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record PrecioDistribucion(
+        String area,
+        EstadoInmueble estado,
+        long inmuebles,
+        Double minimo,
+        Double mediana,
+        Double p90,
+        Double maximo
+) {
+}
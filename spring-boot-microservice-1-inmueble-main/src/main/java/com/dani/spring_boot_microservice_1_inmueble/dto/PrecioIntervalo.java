@@ -0,0 +1,18 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+/**
+ * Barra del histograma de precios de una zona ({@code GET /api/inmueble/precios/histograma}).
+ *
+ * @param desde     Precio inicial del intervalo.
+ * @param hasta     Precio final del intervalo.
+ * @param inmuebles Número de inmuebles con un precio dentro del intervalo.
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record PrecioIntervalo(
+        double desde,
+        double hasta,
+        long inmuebles
+) {
+}
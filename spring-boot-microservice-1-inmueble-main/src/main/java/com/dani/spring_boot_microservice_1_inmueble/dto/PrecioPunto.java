@@ -0,0 +1,15 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Punto del histórico de precios de un inmueble ({@code GET /api/inmueble/{inmuebleId}/precios}).
+ *
+ * @param fecha  Momento del cambio de precio.
+ * @param precio Precio a partir de ese momento.
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record PrecioPunto(LocalDateTime fecha, Double precio) {
+}
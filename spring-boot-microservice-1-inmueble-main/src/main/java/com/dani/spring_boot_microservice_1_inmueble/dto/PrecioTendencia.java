@@ -0,0 +1,25 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Intervalo de la tendencia de precios del mercado ({@code GET /api/inmueble/precios/tendencia}):
+ * agregados de todos los precios registrados en el histórico durante el intervalo.
+ *
+ * @param desde        Comienzo del intervalo (inclusive).
+ * @param precioMedio  Media de los precios registrados.
+ * @param precioMinimo Precio mínimo registrado.
+ * @param precioMaximo Precio máximo registrado.
+ * @param puntos       Número de precios registrados en el intervalo.
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record PrecioTendencia(
+        LocalDateTime desde,
+        Double precioMedio,
+        Double precioMinimo,
+        Double precioMaximo,
+        long puntos
+) {
+}
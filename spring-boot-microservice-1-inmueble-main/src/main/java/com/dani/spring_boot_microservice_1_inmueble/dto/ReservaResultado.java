@@ -0,0 +1,28 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultado de una petición de reserva ({@code POST /api/inmueble/{inmuebleId}/reserva}).
+ * <p>
+ * Si la reserva no se ha aplicado ({@code aplicada = false}), {@code estado} es el estado actual del
+ * inmueble (normalmente reservado por otro usuario o vendido) y {@code expira} es {@code null}.
+ *
+ * @param inmuebleId El ID del inmueble.
+ * @param estado     El estado del inmueble tras la operación.
+ * @param expira     Caducidad de la reserva, si se ha aplicado.
+ * @param aplicada   {@code true} si el usuario tiene ahora la reserva (nueva o renovada).
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record ReservaResultado(
+        Long inmuebleId,
+        EstadoInmueble estado,
+        LocalDateTime expira,
+        boolean aplicada
+) {
+}
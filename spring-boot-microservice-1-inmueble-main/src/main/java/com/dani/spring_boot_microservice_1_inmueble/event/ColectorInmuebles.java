@@ -0,0 +1,103 @@
+package com.dani.spring_boot_microservice_1_inmueble.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reparte entre los {@link OyenteInmuebles} los inmuebles modificados, una vez confirmados.
+ * <p>
+ * Escucha los {@link InmuebleEvent} de forma síncrona, dentro de la transacción que los publica, y
+ * acumula sus IDs en un único recurso ligado a la transacción, con un conjunto por oyente. Tras el
+ * commit entrega a cada oyente su conjunto de una vez; si la transacción se deshace, se descartan. Un
+ * evento publicado sin transacción se entrega al momento.
+ * <p>
+ * El fallo de un oyente se registra y no afecta a los demás ni a la transacción, que ya está confirmada.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Component
+@Slf4j
+public class ColectorInmuebles {
+
+    private final List<OyenteInmuebles> oyentes;
+
+    public ColectorInmuebles(List<OyenteInmuebles> oyentes) {
+        this.oyentes = List.copyOf(oyentes);
+    }
+
+    /**
+     * Acumula el inmueble modificado para entregarlo tras el commit de la transacción en curso
+     * (o inmediatamente, si no la hay).
+     *
+     * @param event El evento de modificación.
+     */
+    @EventListener
+    public void onInmuebleEvent(InmuebleEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            for (OyenteInmuebles oyente : oyentes) {
+                if (oyente.acepta(event.tipo())) {
+                    entregar(oyente, Set.of(event.inmuebleId()));
+                }
+            }
+            return;
+        }
+        Pendientes pendientes = (Pendientes) TransactionSynchronizationManager.getResource(this);
+        if (pendientes == null) {
+            pendientes = new Pendientes();
+            TransactionSynchronizationManager.bindResource(this, pendientes);
+            TransactionSynchronizationManager.registerSynchronization(pendientes);
+        }
+        for (int i = 0; i < oyentes.size(); i++) {
+            if (oyentes.get(i).acepta(event.tipo())) {
+                pendientes.ids.get(i).add(event.inmuebleId());
+            }
+        }
+    }
+
+    private static void entregar(OyenteInmuebles oyente, Set<Long> ids) {
+        try {
+            oyente.inmueblesConfirmados(ids);
+        } catch (RuntimeException e) {
+            log.warn("{} no pudo aplicar {} inmuebles modificados: {}",
+                    oyente.getClass().getSimpleName(), ids.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * IDs modificados en una transacción, uno por oyente, que se entregan en {@link #afterCommit()}.
+     */
+    private final class Pendientes implements TransactionSynchronization {
+
+        private final List<Set<Long>> ids = new ArrayList<>(oyentes.size());
+
+        private Pendientes() {
+            for (int i = 0; i < oyentes.size(); i++) {
+                ids.add(new LinkedHashSet<>());
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            for (int i = 0; i < oyentes.size(); i++) {
+                if (!ids.get(i).isEmpty()) {
+                    entregar(oyentes.get(i), ids.get(i));
+                }
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ColectorInmuebles.this);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.dani.spring_boot_microservice_1_inmueble.event;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estado de la construcción inicial de un índice en memoria que se mantiene con {@link OyenteInmuebles}.
+ * <p>
+ * Mientras el índice recorre el catálogo, los cambios que se confirman no se aplican (el recorrido podría
+ * leer después una versión anterior y pisarlos): se aplazan, y al terminar se devuelven para aplicarlos
+ * encima. Un cambio que llega justo cuando termina la construcción puede aplicarse dos veces, lo que es
+ * inocuo porque los índices releen el inmueble.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public final class ConstruccionIndice {
+
+    private final Set<Long> aplazados = ConcurrentHashMap.newKeySet();
+    private volatile boolean terminada;
+
+    /**
+     * Decide si unos inmuebles modificados se pueden aplicar ya al índice.
+     *
+     * @param ids Los IDs modificados.
+     * @return {@code true} si la construcción ha terminado y hay que aplicarlos; {@code false} si se han
+     * aplazado hasta {@link #terminar()}.
+     */
+    public boolean aplicarAhora(Set<Long> ids) {
+        if (terminada) {
+            return true;
+        }
+        aplazados.addAll(ids);
+        if (!terminada) {
+            return false;
+        }
+        // La construcción ha terminado mientras tanto y quizá ya no vea estos IDs.
+        aplazados.removeAll(ids);
+        return true;
+    }
+
+    /**
+     * Marca la construcción como terminada.
+     *
+     * @return Los IDs aplazados durante la construcción, que deben aplicarse ahora.
+     */
+    public Set<Long> terminar() {
+        terminada = true;
+        Set<Long> pendientes = new HashSet<>(aplazados);
+        aplazados.removeAll(pendientes);
+        return pendientes;
+    }
+}
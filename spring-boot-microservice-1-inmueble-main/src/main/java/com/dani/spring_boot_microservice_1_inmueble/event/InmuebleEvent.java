@@ -0,0 +1,42 @@
+package com.dani.spring_boot_microservice_1_inmueble.event;
+
+/**
+ * Evento de dominio publicado por {@code InmuebleServiceImpl} cada vez que se modifica un inmueble.
+ * <p>
+ * Se publica dentro de la transacción de escritura a través del
+ * {@link org.springframework.context.ApplicationEventPublisher}. Los componentes interesados
+ * (cachés, índices en memoria, etc.) deben escucharlo con
+ * {@link org.springframework.transaction.event.TransactionalEventListener} para reaccionar
+ * solo cuando el cambio se ha confirmado en la base de datos.
+ *
+ * @param tipo       El tipo de modificación realizada.
+ * @param inmuebleId El ID del inmueble afectado.
+ * @param userId     El ID del propietario del inmueble, o {@code null} si no se conoce
+ *                   (por ejemplo, en una actualización de estado directa por ID).
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record InmuebleEvent(
+        Tipo tipo,
+        Long inmuebleId,
+        Long userId
+) {
+
+    /**
+     * Tipos de modificación que puede sufrir un inmueble.
+     */
+    public enum Tipo {
+        /** Se ha creado un nuevo inmueble. */
+        CREADO,
+        /** Se han actualizado los datos de un inmueble existente. */
+        ACTUALIZADO,
+        /** Se ha cambiado únicamente el estado del inmueble. */
+        ESTADO_ACTUALIZADO,
+        /** Se ha eliminado el inmueble. */
+        ELIMINADO,
+        /** El inmueble vendido ha pasado al archivo: sale del catálogo, pero sigue accesible por ID. */
+        ARCHIVADO
+    }
+}
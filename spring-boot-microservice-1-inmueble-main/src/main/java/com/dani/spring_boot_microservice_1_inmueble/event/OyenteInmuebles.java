@@ -0,0 +1,36 @@
+package com.dani.spring_boot_microservice_1_inmueble.event;
+
+import java.util.Set;
+
+/**
+ * Componente que mantiene datos derivados de los inmuebles (índices en memoria, colas de avisos) y
+ * necesita saber qué inmuebles han cambiado, pero solo una vez confirmados.
+ * <p>
+ * {@link ColectorInmuebles} acumula los IDs de los {@link InmuebleEvent} de cada transacción y se los
+ * entrega todos juntos tras el commit, para que el oyente los relea en bloque.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public interface OyenteInmuebles {
+
+    /**
+     * Indica qué tipos de evento interesan al oyente; por defecto, todos.
+     *
+     * @param tipo El tipo del evento.
+     * @return {@code true} si el inmueble del evento debe entregarse al oyente.
+     */
+    default boolean acepta(InmuebleEvent.Tipo tipo) {
+        return true;
+    }
+
+    /**
+     * Recibe los inmuebles modificados en una transacción ya confirmada (o en una escritura sin
+     * transacción). Se llama en el hilo que ha hecho el commit, cuyos recursos de transacción siguen
+     * ligados: cualquier lectura debe abrir una transacción nueva ({@code REQUIRES_NEW}).
+     *
+     * @param ids Los IDs, sin repetidos y en el orden de sus eventos.
+     */
+    void inmueblesConfirmados(Set<Long> ids);
+}
@@ -0,0 +1,376 @@
+package com.dani.spring_boot_microservice_1_inmueble.feed;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleCambioLote;
+import com.dani.spring_boot_microservice_1_inmueble.event.InmuebleEvent;
+import com.dani.spring_boot_microservice_1_inmueble.model.InmuebleCambio;
+import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleCambioRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lectura del registro de cambios de inmuebles para los consumidores del feed
+ * ({@code GET /api/inmueble/cambios} y {@code GET /api/inmueble/cambios/stream}).
+ * <p>
+ * Los consumidores se sitúan con un número de secuencia ({@code since}) y reciben solo los cambios
+ * posteriores, de modo que pueden mantener cachés o modelos de lectura al día de forma incremental
+ * y reanudar tras una desconexión sin perder ni repetir cambios.
+ * <p>
+ * Las peticiones que esperan cambios (long-poll y SSE) no ocupan hilos del servidor: se atienden
+ * desde un único hilo de despacho que se activa:
+ * <ul>
+ * <li>tras cada commit local (escuchando {@link InmuebleEvent} en {@code AFTER_COMMIT});</li>
+ * <li>cada {@code inmueble.cambios.poll-interval}, comprobando el último {@code seq} de la tabla,
+ * para los cambios confirmados por otras instancias del servicio. Esta comprobación solo se hace
+ * si hay consumidores esperando.</li>
+ * </ul>
+ * Cada despacho lee el registro una sola vez desde el {@code since} más antiguo de los consumidores en
+ * espera (por páginas de {@value #MAX_CAMBIOS_POR_LOTE}) y reparte a cada uno, en memoria, los cambios
+ * posteriores al suyo. Los envíos SSE se hacen fuera del hilo de despacho, en un hilo virtual por envío,
+ * para que un cliente lento no retrase a los demás; un suscriptor que sigue con un envío en curso no
+ * recibe más hasta terminarlo, y si tarda más de {@code inmueble.cambios.sse-envio-timeout} se le
+ * desconecta.
+ * <p>
+ * El mismo hilo purga cada hora las entradas más antiguas que {@code inmueble.cambios.retencion}, salvo
+ * la última: así el registro nunca queda vacío y {@link #leer} siempre puede detectar que un consumidor
+ * se ha quedado atrás.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Component
+@Slf4j
+public class InmuebleCambioFeed {
+
+    /**
+     * Número máximo de cambios devueltos en una respuesta o enviados de una vez a un suscriptor.
+     */
+    public static final int MAX_CAMBIOS_POR_LOTE = 500;
+
+    /**
+     * Tiempo máximo que una petición long-poll puede quedar en espera.
+     */
+    public static final Duration ESPERA_MAXIMA = Duration.ofSeconds(30);
+
+    private record Espera(long since, int limit, DeferredResult<InmuebleCambioLote> resultado) {
+    }
+
+    private static final class Suscripcion {
+        private final SseEmitter emitter;
+        private final AtomicBoolean enviando = new AtomicBoolean();
+        private volatile long ultimoSeq;
+        private volatile long enviandoDesde;
+        private volatile Future<?> envio;
+
+        private Suscripcion(SseEmitter emitter, long ultimoSeq) {
+            this.emitter = emitter;
+            this.ultimoSeq = ultimoSeq;
+        }
+    }
+
+    private final InmuebleCambioRepository cambioRepository;
+    private final Duration retencion;
+    private final Duration sseTimeout;
+    private final long envioMaximoNanos;
+    private final ScheduledExecutorService despachador;
+    private final ExecutorService envios;
+    private final Queue<Espera> esperas = new ConcurrentLinkedQueue<>();
+    private final Queue<Suscripcion> suscripciones = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean despachoPendiente = new AtomicBoolean();
+    private long ultimoSeqComprobado;
+
+    public InmuebleCambioFeed(InmuebleCambioRepository cambioRepository,
+                              @Value("${inmueble.cambios.poll-interval:1s}") Duration pollInterval,
+                              @Value("${inmueble.cambios.retencion:7d}") Duration retencion,
+                              @Value("${inmueble.cambios.sse-timeout:5m}") Duration sseTimeout,
+                              @Value("${inmueble.cambios.sse-envio-timeout:10s}") Duration sseEnvioTimeout) {
+        this.cambioRepository = cambioRepository;
+        this.retencion = retencion;
+        this.sseTimeout = sseTimeout;
+        this.envioMaximoNanos = sseEnvioTimeout.toNanos();
+        this.despachador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "inmueble-cambios");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        this.envios = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("inmueble-cambios-envio-", 0).factory());
+        long poll = Math.max(100, pollInterval.toMillis());
+        despachador.scheduleWithFixedDelay(this::comprobar, poll, poll, TimeUnit.MILLISECONDS);
+        despachador.scheduleWithFixedDelay(this::purgar, 1, 60, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Lee los cambios posteriores a {@code since}.
+     *
+     * @param since Último número de secuencia procesado por el consumidor ({@code 0} para empezar desde el principio).
+     * @param limit Número máximo de cambios; se limita a {@value #MAX_CAMBIOS_POR_LOTE}.
+     * @return El lote de cambios.
+     */
+    public InmuebleCambioLote leer(long since, int limit) {
+        int max = Math.max(1, Math.min(limit, MAX_CAMBIOS_POR_LOTE));
+        List<InmuebleCambio> cambios = cambioRepository.findBySeqGreaterThanOrderBySeqAsc(since, Limit.of(max));
+        // La purga conserva siempre el último cambio, así que solo está vacío un registro sin cambios.
+        Long primerSeq = cambioRepository.findPrimerSeq();
+        boolean resincronizar = primerSeq != null && since < primerSeq - 1;
+        long ultimoSeq = cambios.isEmpty() ? since : cambios.get(cambios.size() - 1).getSeq();
+        return new InmuebleCambioLote(cambios, ultimoSeq, resincronizar);
+    }
+
+    /**
+     * Long-poll: responde en cuanto haya cambios posteriores a {@code since}, o con un lote vacío
+     * al cabo de {@code espera}.
+     *
+     * @param since  Último número de secuencia procesado por el consumidor.
+     * @param limit  Número máximo de cambios.
+     * @param espera Tiempo máximo de espera; se limita a {@link #ESPERA_MAXIMA}.
+     * @return Un {@link DeferredResult} que se completa con el lote de cambios.
+     */
+    public DeferredResult<InmuebleCambioLote> esperar(long since, int limit, Duration espera) {
+        long timeout = Math.max(0, Math.min(espera.toMillis(), ESPERA_MAXIMA.toMillis()));
+        DeferredResult<InmuebleCambioLote> resultado = new DeferredResult<>(timeout,
+                () -> new InmuebleCambioLote(List.of(), since, false));
+        InmuebleCambioLote lote = leer(since, limit);
+        if (!lote.cambios().isEmpty() || lote.resincronizar() || timeout == 0) {
+            resultado.setResult(lote);
+            return resultado;
+        }
+        Espera pendiente = new Espera(since, limit, resultado);
+        esperas.add(pendiente);
+        resultado.onCompletion(() -> esperas.remove(pendiente));
+        // Un commit entre la lectura y el registro de la espera no volvería a notificarse.
+        solicitarDespacho();
+        return resultado;
+    }
+
+    /**
+     * Server-Sent Events: envía los cambios posteriores a {@code since} y después cada nuevo cambio.
+     * <p>
+     * Cada evento lleva como {@code id} su número de secuencia y como nombre su tipo, por lo que un
+     * cliente SSE estándar se reanuda por sí solo (cabecera {@code Last-Event-ID}). Si los cambios
+     * posteriores a {@code since} ya se han purgado, se envía un evento {@code resincronizar} y se
+     * cierra el flujo. El flujo se cierra también al cabo de {@code inmueble.cambios.sse-timeout}.
+     *
+     * @param since Último número de secuencia procesado por el consumidor.
+     * @return El {@link SseEmitter} de la suscripción.
+     */
+    public SseEmitter suscribir(long since) {
+        SseEmitter emitter = new SseEmitter(sseTimeout.toMillis());
+        Suscripcion suscripcion = new Suscripcion(emitter, since);
+        suscripciones.add(suscripcion);
+        Runnable quitar = () -> suscripciones.remove(suscripcion);
+        emitter.onCompletion(quitar);
+        emitter.onTimeout(quitar);
+        emitter.onError(error -> quitar.run());
+        solicitarDespacho();
+        return emitter;
+    }
+
+    /**
+     * Despierta a los consumidores en espera tras cada commit local.
+     *
+     * @param event El evento de modificación confirmado.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInmuebleEvent(InmuebleEvent event) {
+        if (!esperas.isEmpty() || !suscripciones.isEmpty()) {
+            solicitarDespacho();
+        }
+    }
+
+    @PreDestroy
+    void cerrar() {
+        despachador.shutdownNow();
+        envios.shutdownNow();
+        suscripciones.forEach(s -> s.emitter.complete());
+    }
+
+    /**
+     * Programa un despacho, agrupando las solicitudes que lleguen mientras haya uno pendiente.
+     */
+    private void solicitarDespacho() {
+        if (despachoPendiente.compareAndSet(false, true)) {
+            despachador.execute(this::despachar);
+        }
+    }
+
+    private void comprobar() {
+        descartarBloqueados();
+        if (esperas.isEmpty() && suscripciones.isEmpty()) {
+            return;
+        }
+        try {
+            Long ultimo = cambioRepository.findUltimoSeq();
+            if (ultimo != null && ultimo > ultimoSeqComprobado) {
+                ultimoSeqComprobado = ultimo;
+                despachar();
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudo comprobar el registro de cambios: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Lee el registro una vez por página, desde el {@code since} más antiguo de los consumidores
+     * pendientes, y reparte cada página entre ellos. Un consumidor que ya ha recibido algo en este
+     * despacho no vuelve a aparecer en las páginas siguientes: las esperas se completan, y las
+     * suscripciones piden otro despacho al terminar su envío.
+     */
+    private void despachar() {
+        despachoPendiente.set(false);
+        try {
+            List<Espera> pendientes = new ArrayList<>();
+            for (Espera espera : esperas) {
+                if (!espera.resultado().isSetOrExpired()) {
+                    pendientes.add(espera);
+                }
+            }
+            List<Suscripcion> libres = new ArrayList<>();
+            for (Suscripcion suscripcion : suscripciones) {
+                if (!suscripcion.enviando.get()) {
+                    libres.add(suscripcion);
+                }
+            }
+            if (pendientes.isEmpty() && libres.isEmpty()) {
+                return;
+            }
+            Long primerSeq = cambioRepository.findPrimerSeq();
+            while (!pendientes.isEmpty() || !libres.isEmpty()) {
+                long desde = Long.MAX_VALUE;
+                for (Espera espera : pendientes) {
+                    desde = Math.min(desde, espera.since());
+                }
+                for (Suscripcion suscripcion : libres) {
+                    desde = Math.min(desde, suscripcion.ultimoSeq);
+                }
+                List<InmuebleCambio> pagina = cambioRepository.findBySeqGreaterThanOrderBySeqAsc(desde,
+                        Limit.of(MAX_CAMBIOS_POR_LOTE));
+                boolean hayMas = pagina.size() == MAX_CAMBIOS_POR_LOTE;
+                for (Iterator<Espera> it = pendientes.iterator(); it.hasNext(); ) {
+                    Espera espera = it.next();
+                    InmuebleCambioLote lote = recortar(pagina, espera.since(), espera.limit(), primerSeq);
+                    if (!lote.cambios().isEmpty() || lote.resincronizar()) {
+                        espera.resultado().setResult(lote);
+                        it.remove();
+                    } else if (!hayMas) {
+                        it.remove();
+                    }
+                }
+                for (Iterator<Suscripcion> it = libres.iterator(); it.hasNext(); ) {
+                    Suscripcion suscripcion = it.next();
+                    InmuebleCambioLote lote = recortar(pagina, suscripcion.ultimoSeq, MAX_CAMBIOS_POR_LOTE, primerSeq);
+                    if (!lote.cambios().isEmpty() || lote.resincronizar()) {
+                        enviar(suscripcion, lote);
+                        it.remove();
+                    } else if (!hayMas) {
+                        it.remove();
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Error al despachar el registro de cambios: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Extrae de una página del registro el lote que corresponde a un consumidor, con el mismo resultado
+     * que {@link #leer} si la página empieza en o antes de su {@code since}.
+     */
+    private static InmuebleCambioLote recortar(List<InmuebleCambio> pagina, long since, int limit, Long primerSeq) {
+        int max = Math.max(1, Math.min(limit, MAX_CAMBIOS_POR_LOTE));
+        int inicio = 0;
+        while (inicio < pagina.size() && pagina.get(inicio).getSeq() <= since) {
+            inicio++;
+        }
+        List<InmuebleCambio> cambios = pagina.subList(inicio, Math.min(pagina.size(), inicio + max));
+        boolean resincronizar = primerSeq != null && since < primerSeq - 1;
+        long ultimoSeq = cambios.isEmpty() ? since : cambios.get(cambios.size() - 1).getSeq();
+        return new InmuebleCambioLote(List.copyOf(cambios), ultimoSeq, resincronizar);
+    }
+
+    /**
+     * Envía un lote a un suscriptor en su propio hilo virtual. Al terminar pide otro despacho, que le
+     * envía lo que haya llegado mientras tanto.
+     */
+    private void enviar(Suscripcion suscripcion, InmuebleCambioLote lote) {
+        suscripcion.enviando.set(true);
+        suscripcion.enviandoDesde = System.nanoTime();
+        suscripcion.envio = envios.submit(() -> {
+            try {
+                if (lote.resincronizar()) {
+                    suscripcion.emitter.send(SseEmitter.event().name("resincronizar").data(lote.ultimoSeq()));
+                    suscripcion.emitter.complete();
+                    suscripciones.remove(suscripcion);
+                    return;
+                }
+                for (InmuebleCambio cambio : lote.cambios()) {
+                    suscripcion.emitter.send(SseEmitter.event()
+                            .id(String.valueOf(cambio.getSeq()))
+                            .name(cambio.getTipo().name())
+                            .data(cambio));
+                }
+                suscripcion.ultimoSeq = lote.ultimoSeq();
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Suscriptor SSE desconectado: {}", e.getMessage());
+                suscripciones.remove(suscripcion);
+                suscripcion.emitter.completeWithError(e);
+            } finally {
+                suscripcion.enviando.set(false);
+                if (suscripciones.contains(suscripcion) && !despachador.isShutdown()) {
+                    solicitarDespacho();
+                }
+            }
+        });
+    }
+
+    /**
+     * Desconecta a los suscriptores cuyo envío en curso lleva más de {@code inmueble.cambios.sse-envio-timeout}
+     * (un cliente que no lee). No se toca su {@link SseEmitter} desde aquí, porque seguiría bloqueado por
+     * el envío: se interrumpe el hilo del envío, que lo cierra al fallar.
+     */
+    private void descartarBloqueados() {
+        long ahora = System.nanoTime();
+        for (Suscripcion suscripcion : suscripciones) {
+            if (suscripcion.enviando.get() && ahora - suscripcion.enviandoDesde > envioMaximoNanos
+                    && suscripciones.remove(suscripcion)) {
+                log.info("Suscriptor SSE desconectado: el envío lleva bloqueado más de {} ms.",
+                        TimeUnit.NANOSECONDS.toMillis(envioMaximoNanos));
+                Future<?> envio = suscripcion.envio;
+                if (envio != null) {
+                    envio.cancel(true);
+                }
+            }
+        }
+    }
+
+    private void purgar() {
+        try {
+            int eliminados = cambioRepository.deleteByFechaBeforeExceptoUltimo(LocalDateTime.now().minus(retencion));
+            if (eliminados > 0) {
+                log.info("Purgados {} cambios anteriores a {} del registro.", eliminados, retencion);
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudo purgar el registro de cambios: {}", e.getMessage());
+        }
+    }
+}
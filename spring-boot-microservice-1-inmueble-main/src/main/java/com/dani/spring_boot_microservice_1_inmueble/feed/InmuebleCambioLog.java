@@ -0,0 +1,210 @@
+package com.dani.spring_boot_microservice_1_inmueble.feed;
+
+import com.dani.spring_boot_microservice_1_inmueble.event.InmuebleEvent;
+import com.dani.spring_boot_microservice_1_inmueble.shard.Shards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Escribe el registro ordenado de cambios ({@code inmueble_cambio}) en la misma transacción que
+ * cada escritura de inmuebles.
+ * <p>
+ * Escucha los {@link InmuebleEvent} de forma síncrona, dentro de la transacción que los publica,
+ * y los acumula. Justo antes del commit:
+ * <ol>
+ * <li>toma el bloqueo consultivo {@code pg_advisory_xact_lock}, que se libera con el commit;</li>
+ * <li>inserta todas las entradas acumuladas en lotes JDBC.</li>
+ * </ol>
+ * Como los números de secuencia se asignan con el bloqueo tomado, las transacciones que escriben en
+ * el registro se confirman en el mismo orden que sus números de secuencia. Así, un consumidor que ya
+ * ha leído hasta {@code seq = N} nunca verá aparecer después una entrada menor que {@code N}.
+ * El bloqueo solo cubre la inserción y el commit, no la transacción completa.
+ * <p>
+ * Con shards ({@link Shards}) el registro vive solo en el shard 0, que es donde lo lee
+ * {@link InmuebleCambioFeed}. Las transacciones de otro shard escriben sus entradas en una transacción
+ * local del shard 0 que se abre justo antes de su commit y se confirma justo después, todavía con el
+ * bloqueo tomado, así que el orden se mantiene; si la del shard se deshace, la del shard 0 también. Lo
+ * único que se pierde es la atomicidad: si el proceso cae entre los dos commits, el cambio queda
+ * guardado sin su entrada en el registro.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Component
+@Slf4j
+public class InmuebleCambioLog {
+
+    /**
+     * Clave del bloqueo consultivo que serializa las inserciones en el registro.
+     */
+    private static final long CLAVE_BLOQUEO = 0x494E4D4342494FL;
+
+    private static final String SQL_BLOQUEO = "select pg_advisory_xact_lock(?)";
+
+    private static final String SQL_INSERT =
+            "insert into inmueble_cambio (tipo, inmueble_id, user_id, fecha) values (?, ?, ?, ?)";
+
+    private static final int TAMANO_LOTE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<Shards> shards;
+
+    public InmuebleCambioLog(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             ObjectProvider<Shards> shards) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shards = shards;
+    }
+
+    /**
+     * Registra el cambio en la transacción en curso o, si no la hay, en una transacción propia.
+     *
+     * @param event El evento de modificación.
+     */
+    @EventListener
+    public void onInmuebleEvent(InmuebleEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Shards repartidos = fueraDelShard0();
+            if (repartidos == null) {
+                transactionTemplate.executeWithoutResult(status -> escribir(jdbcTemplate, List.of(event)));
+            } else {
+                cerrar(escribirEnShard0(repartidos, List.of(event)), true);
+            }
+            return;
+        }
+        Pendientes pendientes = (Pendientes) TransactionSynchronizationManager.getResource(this);
+        if (pendientes == null) {
+            pendientes = new Pendientes();
+            TransactionSynchronizationManager.bindResource(this, pendientes);
+            TransactionSynchronizationManager.registerSynchronization(pendientes);
+        }
+        pendientes.eventos.add(event);
+    }
+
+    /**
+     * @return Los shards, si el hilo trabaja en uno distinto del 0; {@code null} en otro caso.
+     */
+    private Shards fueraDelShard0() {
+        Shards repartidos = shards.getIfAvailable();
+        return repartidos != null && repartidos.actual() != 0 ? repartidos : null;
+    }
+
+    /**
+     * Escribe los eventos en una transacción local del shard 0, que queda abierta (con el bloqueo
+     * tomado) hasta que se cierre con {@link #cerrar}.
+     */
+    private Connection escribirEnShard0(Shards repartidos, List<InmuebleEvent> eventos) {
+        Connection conexion;
+        try {
+            conexion = repartidos.getDataSource(0).getConnection();
+            conexion.setAutoCommit(false);
+        } catch (SQLException e) {
+            throw new IllegalStateException("No se pudo abrir la conexión al shard 0 para el registro de cambios", e);
+        }
+        try {
+            escribir(new JdbcTemplate(new SingleConnectionDataSource(conexion, true)), eventos);
+            return conexion;
+        } catch (RuntimeException e) {
+            cerrar(conexion, false);
+            throw e;
+        }
+    }
+
+    private static void cerrar(Connection conexion, boolean confirmar) {
+        try (conexion) {
+            if (confirmar) {
+                conexion.commit();
+            } else {
+                conexion.rollback();
+            }
+        } catch (SQLException e) {
+            if (confirmar) {
+                throw new IllegalStateException("No se pudo confirmar el registro de cambios en el shard 0", e);
+            }
+            log.warn("No se pudo deshacer el registro de cambios en el shard 0: {}", e.getMessage());
+        }
+    }
+
+    private static void escribir(JdbcTemplate jdbcTemplate, List<InmuebleEvent> eventos) {
+        jdbcTemplate.query(SQL_BLOQUEO, (ResultSetExtractor<Void>) rs -> null, CLAVE_BLOQUEO);
+        Timestamp fecha = Timestamp.valueOf(LocalDateTime.now());
+        for (int desde = 0; desde < eventos.size(); desde += TAMANO_LOTE) {
+            List<InmuebleEvent> lote = eventos.subList(desde, Math.min(desde + TAMANO_LOTE, eventos.size()));
+            jdbcTemplate.batchUpdate(SQL_INSERT, lote, lote.size(), (ps, event) -> {
+                ps.setString(1, event.tipo().name());
+                ps.setLong(2, event.inmuebleId());
+                ps.setObject(3, event.userId());
+                ps.setTimestamp(4, fecha);
+            });
+        }
+        log.debug("Registrados {} cambios en el feed.", eventos.size());
+    }
+
+    /**
+     * Eventos acumulados en una transacción, que se escriben en {@link #beforeCommit(boolean)}.
+     * <p>
+     * Va antes que las demás sincronizaciones para que la transacción del shard 0, si la hay, se haya
+     * confirmado cuando los oyentes posteriores al commit despierten a los consumidores del feed.
+     */
+    private final class Pendientes implements TransactionSynchronization {
+
+        private final List<InmuebleEvent> eventos = new ArrayList<>();
+        private Connection shard0;
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            Shards repartidos = fueraDelShard0();
+            if (repartidos == null) {
+                escribir(jdbcTemplate, eventos);
+            } else {
+                shard0 = escribirEnShard0(repartidos, eventos);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            if (shard0 != null) {
+                Connection conexion = shard0;
+                shard0 = null;
+                try {
+                    cerrar(conexion, true);
+                } catch (IllegalStateException e) {
+                    log.warn("{} cambios confirmados sin su entrada en el registro: {}", eventos.size(), e.getMessage());
+                }
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (shard0 != null) {
+                cerrar(shard0, false);
+                shard0 = null;
+            }
+            TransactionSynchronizationManager.unbindResourceIfPossible(InmuebleCambioLog.this);
+        }
+    }
+}
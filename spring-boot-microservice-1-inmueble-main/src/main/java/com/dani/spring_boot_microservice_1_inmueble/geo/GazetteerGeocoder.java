@@ -0,0 +1,111 @@
+package com.dani.spring_boot_microservice_1_inmueble.geo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Geocodificador local basado en un nomenclátor (gazetteer) en formato CSV.
+ * <p>
+ * Sustituye a un servicio de geocodificación externo: asigna a una dirección las coordenadas
+ * del lugar más específico del nomenclátor cuyo nombre aparezca en ella como palabra completa
+ * (sin distinguir mayúsculas ni tildes). El fichero se carga una sola vez al arrancar.
+ * <p>
+ * Formato del fichero: {@code nombre;latitud;longitud}, una entrada por línea.
+ * Las líneas vacías y las que empiezan por {@code #} se ignoran.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Component
+@Slf4j
+public class GazetteerGeocoder {
+
+    private record Lugar(String nombreNormalizado, GeoPoint punto) {
+    }
+
+    /**
+     * Lugares del nomenclátor, ordenados de nombre más largo a más corto para que
+     * "San José del Cabo" tenga prioridad sobre "San José".
+     */
+    private final List<Lugar> lugares;
+
+    /**
+     * Carga el nomenclátor desde el recurso configurado.
+     *
+     * @param gazetteer El fichero CSV del nomenclátor ({@code inmueble.geo.gazetteer}).
+     */
+    public GazetteerGeocoder(@Value("${inmueble.geo.gazetteer:classpath:geo/gazetteer.csv}") Resource gazetteer) {
+        List<Lugar> cargados = new ArrayList<>();
+        if (gazetteer.exists()) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(gazetteer.getInputStream(), StandardCharsets.UTF_8))) {
+                String linea;
+                while ((linea = reader.readLine()) != null) {
+                    linea = linea.strip();
+                    if (linea.isEmpty() || linea.startsWith("#")) {
+                        continue;
+                    }
+                    String[] campos = linea.split(";");
+                    if (campos.length != 3) {
+                        log.warn("Entrada de nomenclátor ignorada (formato inválido): {}", linea);
+                        continue;
+                    }
+                    cargados.add(new Lugar(normalize(campos[0]),
+                            new GeoPoint(Double.parseDouble(campos[1].strip()), Double.parseDouble(campos[2].strip()))));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo leer el nomenclátor " + gazetteer, e);
+            }
+        } else {
+            log.warn("Nomenclátor {} no encontrado. La geocodificación automática queda desactivada.", gazetteer);
+        }
+        cargados.sort(Comparator.comparingInt((Lugar l) -> l.nombreNormalizado().length()).reversed());
+        this.lugares = List.copyOf(cargados);
+        log.info("Nomenclátor cargado con {} lugares.", lugares.size());
+    }
+
+    /**
+     * Obtiene unas coordenadas aproximadas para una dirección.
+     *
+     * @param address La dirección en texto libre.
+     * @return Las coordenadas del lugar más específico reconocido, o vacío si no se reconoce ninguno.
+     */
+    public Optional<GeoPoint> geocode(String address) {
+        if (address == null || address.isBlank()) {
+            return Optional.empty();
+        }
+        String texto = " " + normalize(address) + " ";
+        for (Lugar lugar : lugares) {
+            if (texto.contains(" " + lugar.nombreNormalizado() + " ")) {
+                return Optional.of(lugar.punto());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Normaliza un texto para compararlo: minúsculas, sin tildes y con cualquier signo
+     * de puntuación sustituido por un espacio simple.
+     *
+     * @param texto El texto original.
+     * @return El texto normalizado.
+     */
+    static String normalize(String texto) {
+        String sinTildes = Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return sinTildes.toLowerCase(Locale.ROOT).replaceAll("[^\\p{Alnum}]+", " ").strip();
+    }
+}
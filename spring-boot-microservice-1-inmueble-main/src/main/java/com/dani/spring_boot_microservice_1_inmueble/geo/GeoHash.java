@@ -0,0 +1,142 @@
+package com.dani.spring_boot_microservice_1_inmueble.geo;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Utilidades de codificación geohash para el índice espacial de inmuebles.
+ * <p>
+ * Un geohash intercala los bits de longitud y latitud y los codifica en base 32, de forma que
+ * todos los puntos dentro de una misma celda comparten prefijo. Así, una búsqueda espacial se
+ * reduce a unas pocas consultas {@code LIKE 'prefijo%'} sobre un índice B-tree ordinario,
+ * sin necesidad de PostGIS.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public final class GeoHash {
+
+    /**
+     * Precisión (número de caracteres) con la que se almacena el geohash de cada inmueble.
+     * Con 9 caracteres cada celda mide aproximadamente 4,8 m x 4,8 m.
+     */
+    public static final int PRECISION_ALMACENADA = 9;
+
+    /**
+     * Número máximo de celdas que se generan para cubrir un área de búsqueda.
+     * Limita el número de predicados {@code LIKE} de la consulta resultante.
+     */
+    public static final int MAX_CELDAS_COBERTURA = 16;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private GeoHash() {
+    }
+
+    /**
+     * Codifica unas coordenadas como geohash.
+     *
+     * @param latitude  Latitud en grados decimales [-90, 90].
+     * @param longitude Longitud en grados decimales [-180, 180].
+     * @param precision Número de caracteres del geohash resultante (1-12).
+     * @return El geohash de la celda que contiene el punto.
+     */
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean esLongitud = true;
+        int bit = 0;
+        int valor = 0;
+        while (hash.length() < precision) {
+            if (esLongitud) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    valor = (valor << 1) | 1;
+                    minLon = mid;
+                } else {
+                    valor <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    valor = (valor << 1) | 1;
+                    minLat = mid;
+                } else {
+                    valor <<= 1;
+                    maxLat = mid;
+                }
+            }
+            esLongitud = !esLongitud;
+            if (++bit == 5) {
+                hash.append(BASE32[valor]);
+                bit = 0;
+                valor = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Alto de una celda geohash, en grados de latitud, para una precisión dada.
+     *
+     * @param precision Número de caracteres del geohash.
+     * @return El alto de la celda en grados.
+     */
+    public static double cellHeight(int precision) {
+        int latBits = (5 * precision) / 2;
+        return 180.0 / (1L << latBits);
+    }
+
+    /**
+     * Ancho de una celda geohash, en grados de longitud, para una precisión dada.
+     *
+     * @param precision Número de caracteres del geohash.
+     * @return El ancho de la celda en grados.
+     */
+    public static double cellWidth(int precision) {
+        int lonBits = (5 * precision + 1) / 2;
+        return 360.0 / (1L << lonBits);
+    }
+
+    /**
+     * Calcula un conjunto de prefijos geohash cuyas celdas cubren por completo un rectángulo.
+     * <p>
+     * Se elige la mayor precisión con la que el rectángulo queda cubierto por, como mucho,
+     * {@link #MAX_CELDAS_COBERTURA} celdas; una mayor precisión significa celdas más ajustadas
+     * al área y, por tanto, menos candidatos que descartar después.
+     * El rectángulo no puede cruzar el antimeridiano.
+     *
+     * @param minLat Latitud mínima.
+     * @param minLon Longitud mínima.
+     * @param maxLat Latitud máxima.
+     * @param maxLon Longitud máxima.
+     * @return Los prefijos geohash que cubren el rectángulo (vacío solo si es el mundo entero).
+     */
+    public static Set<String> coveringCells(double minLat, double minLon, double maxLat, double maxLon) {
+        for (int precision = PRECISION_ALMACENADA; precision >= 1; precision--) {
+            double alto = cellHeight(precision);
+            double ancho = cellWidth(precision);
+            long filas = (long) Math.floor(maxLat / alto) - (long) Math.floor(minLat / alto) + 1;
+            long columnas = (long) Math.floor(maxLon / ancho) - (long) Math.floor(minLon / ancho) + 1;
+            if (filas * columnas <= MAX_CELDAS_COBERTURA) {
+                Set<String> celdas = new LinkedHashSet<>();
+                for (long f = 0; f < filas; f++) {
+                    double lat = Math.min(minLat + f * alto, maxLat);
+                    for (long c = 0; c < columnas; c++) {
+                        double lon = Math.min(minLon + c * ancho, maxLon);
+                        celdas.add(encode(lat, lon, precision));
+                    }
+                    celdas.add(encode(lat, maxLon, precision));
+                }
+                for (long c = 0; c < columnas; c++) {
+                    celdas.add(encode(maxLat, Math.min(minLon + c * ancho, maxLon), precision));
+                }
+                celdas.add(encode(maxLat, maxLon, precision));
+                return celdas;
+            }
+        }
+        return Set.of();
+    }
+}
@@ -0,0 +1,46 @@
+package com.dani.spring_boot_microservice_1_inmueble.geo;
+
+/**
+ * Punto geográfico expresado en grados decimales (WGS84).
+ *
+ * @param latitude  Latitud en grados [-90, 90].
+ * @param longitude Longitud en grados [-180, 180].
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record GeoPoint(double latitude, double longitude) {
+
+    /**
+     * Radio medio de la Tierra en kilómetros, usado en la fórmula del haversine.
+     */
+    public static final double RADIO_TIERRA_KM = 6371.0088;
+
+    /**
+     * Valida el rango de las coordenadas.
+     *
+     * @throws IllegalArgumentException si la latitud o la longitud están fuera de rango.
+     */
+    public GeoPoint {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordenadas fuera de rango: " + latitude + ", " + longitude);
+        }
+    }
+
+    /**
+     * Calcula la distancia ortodrómica hasta otro punto mediante la fórmula del haversine.
+     *
+     * @param latitude  Latitud del otro punto.
+     * @param longitude Longitud del otro punto.
+     * @return La distancia en kilómetros.
+     */
+    public double distanceKm(double latitude, double longitude) {
+        double dLat = Math.toRadians(latitude - this.latitude);
+        double dLon = Math.toRadians(longitude - this.longitude);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(this.latitude)) * Math.cos(Math.toRadians(latitude))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * RADIO_TIERRA_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
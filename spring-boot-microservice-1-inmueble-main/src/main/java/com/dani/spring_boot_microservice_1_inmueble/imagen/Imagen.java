@@ -0,0 +1,19 @@
+package com.dani.spring_boot_microservice_1_inmueble.imagen;
+
+import java.nio.file.Path;
+
+/**
+ * Fichero de imagen listo para servirse, resuelto por {@link ImagenStorage#resolver(String, Integer)}.
+ *
+ * @param fichero     Ruta del fichero en disco.
+ * @param contentType Tipo MIME del fichero.
+ * @param etag        ETag fuerte (entre comillas), único para el contenido exacto del fichero.
+ * @param inmutable   {@code true} si la URL solicitada siempre devolverá este mismo contenido y puede
+ *                    cachearse indefinidamente; {@code false} si es un sustituto provisional (la miniatura
+ *                    aún no se ha generado y se sirve el original).
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record Imagen(Path fichero, String contentType, String etag, boolean inmutable) {
+}
@@ -0,0 +1,356 @@
+package com.dani.spring_boot_microservice_1_inmueble.imagen;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.ImagenSubida;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Almacenamiento local de las imágenes de los inmuebles, direccionado por contenido.
+ * <p>
+ * Cada imagen se identifica por el SHA-256 de sus bytes y se guarda una sola vez en
+ * {@code <directorio>/originales/<ab>/<hash>.<ext>}, por lo que subir dos veces la misma foto no ocupa
+ * más espacio y el contenido de una URL nunca cambia (lo que permite ETags fuertes y caché indefinida).
+ * <p>
+ * Tras cada subida se generan de forma asíncrona miniaturas JPEG de los anchos configurados en
+ * {@code inmueble.imagenes.miniaturas}, en {@code <directorio>/miniaturas/<ancho>/<ab>/<hash>.jpg}.
+ * La generación usa un pool de hilos acotado con una cola acotada: si la cola está llena la tarea se
+ * descarta y la miniatura se genera más tarde, la primera vez que se pida.
+ * <p>
+ * Todas las escrituras se hacen sobre un fichero temporal que después se mueve atómicamente a su
+ * ruta definitiva, así que un lector nunca ve un fichero a medio escribir.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Component
+@Slf4j
+public class ImagenStorage {
+
+    /**
+     * Número máximo de píxeles que se aceptan al decodificar una imagen (protege la memoria frente a
+     * ficheros pequeños que declaran dimensiones enormes).
+     */
+    static final long MAX_PIXELES = 50_000_000L;
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    /**
+     * Formatos aceptados: nombre de formato de ImageIO -> extensión y tipo MIME.
+     */
+    private static final Map<String, Formato> FORMATOS = Map.of(
+            "jpeg", new Formato("jpg", "image/jpeg"),
+            "png", new Formato("png", "image/png"),
+            "gif", new Formato("gif", "image/gif"),
+            "bmp", new Formato("bmp", "image/bmp"));
+
+    private static final float CALIDAD_MINIATURA = 0.85f;
+
+    private record Formato(String extension, String contentType) {
+    }
+
+    private final class Generacion implements Runnable {
+        private final String hash;
+
+        private Generacion(String hash) {
+            this.hash = hash;
+        }
+
+        @Override
+        public void run() {
+            try {
+                generarMiniaturas(hash);
+            } finally {
+                pendientes.remove(hash);
+            }
+        }
+    }
+
+    private final Path originales;
+    private final Path miniaturas;
+    private final Path temporales;
+    private final List<Integer> anchos;
+    private final ThreadPoolExecutor generador;
+    private final Set<String> pendientes = ConcurrentHashMap.newKeySet();
+
+    public ImagenStorage(@Value("${inmueble.imagenes.directorio:./data/imagenes}") Path directorio,
+                         @Value("${inmueble.imagenes.miniaturas:160,320,640}") List<Integer> anchos,
+                         @Value("${inmueble.imagenes.hilos:2}") int hilos,
+                         @Value("${inmueble.imagenes.cola:200}") int cola) throws IOException {
+        this.originales = directorio.resolve("originales");
+        this.miniaturas = directorio.resolve("miniaturas");
+        this.temporales = directorio.resolve("tmp");
+        this.anchos = anchos.stream().filter(a -> a > 0).distinct().sorted().toList();
+        Files.createDirectories(originales);
+        Files.createDirectories(miniaturas);
+        Files.createDirectories(temporales);
+
+        AtomicInteger contador = new AtomicInteger();
+        this.generador = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, cola)),
+                r -> {
+                    Thread hilo = new Thread(r, "inmueble-miniaturas-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                (tarea, executor) -> {
+                    String hash = ((Generacion) tarea).hash;
+                    pendientes.remove(hash);
+                    log.warn("Cola de miniaturas llena: las de la imagen {} se generarán cuando se pidan.", hash);
+                });
+    }
+
+    /**
+     * Guarda una imagen y programa la generación de sus miniaturas.
+     *
+     * @param contenido Los bytes de la imagen; el flujo no se cierra.
+     * @return Los datos de la imagen guardada (si ya existía, los de la existente).
+     * @throws IllegalArgumentException si el contenido no es una imagen de un formato admitido.
+     * @throws IOException              si falla la escritura en disco.
+     */
+    public ImagenSubida guardar(InputStream contenido) throws IOException {
+        Path temporal = Files.createTempFile(temporales, "subida-", ".tmp");
+        try {
+            MessageDigest sha256 = sha256();
+            long bytes;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temporal), sha256)) {
+                bytes = contenido.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(sha256.digest());
+            String formatoLeido = detectarFormato(temporal);
+            Formato formato = formatoLeido == null ? null : FORMATOS.get(formatoLeido);
+            if (formato == null) {
+                throw new IllegalArgumentException("El fichero no es una imagen JPEG, PNG, GIF o BMP.");
+            }
+
+            Path destino = rutaOriginal(hash, formato);
+            if (Files.exists(destino)) {
+                log.debug("Imagen {} ya almacenada; se reutiliza.", hash);
+            } else {
+                Files.createDirectories(destino.getParent());
+                // Dos subidas simultáneas de la misma foto escriben el mismo contenido: da igual cuál gane.
+                Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                log.info("Imagen {} almacenada ({} bytes, {}).", hash, bytes, formato.contentType());
+            }
+            programarMiniaturas(hash);
+            return new ImagenSubida(hash, formato.contentType(), bytes, "/api/inmueble/imagenes/" + hash);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    /**
+     * Resuelve el fichero que debe servirse para una imagen y un ancho solicitado.
+     * <p>
+     * Con {@code ancho} se elige la menor miniatura configurada de al menos ese ancho (o el original si
+     * es mayor que todas). Si esa miniatura todavía no existe, se devuelve el original como sustituto
+     * no inmutable y se programa su generación.
+     *
+     * @param hash  El SHA-256 de la imagen.
+     * @param ancho Ancho deseado en píxeles, o {@code null} para el original.
+     * @return La {@link Imagen} a servir, o vacío si el hash no es válido o la imagen no existe.
+     */
+    public Optional<Imagen> resolver(String hash, Integer ancho) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Optional<Imagen> original = buscarOriginal(hash);
+        Integer miniatura = elegirAncho(anchos, ancho);
+        if (original.isEmpty() || miniatura == null) {
+            return original;
+        }
+        Path fichero = rutaMiniatura(hash, miniatura);
+        if (Files.exists(fichero)) {
+            return Optional.of(new Imagen(fichero, "image/jpeg", "\"" + hash + "-" + miniatura + "\"", true));
+        }
+        programarMiniaturas(hash);
+        Imagen sustituto = original.get();
+        return Optional.of(new Imagen(sustituto.fichero(), sustituto.contentType(), sustituto.etag(), false));
+    }
+
+    /**
+     * Elige la miniatura que sirve para un ancho solicitado.
+     *
+     * @param anchos Anchos configurados, en orden ascendente.
+     * @param ancho  Ancho solicitado, o {@code null}.
+     * @return El menor ancho configurado mayor o igual que el solicitado, o {@code null} si debe
+     * servirse el original.
+     */
+    static Integer elegirAncho(List<Integer> anchos, Integer ancho) {
+        if (ancho == null || ancho <= 0) {
+            return null;
+        }
+        for (Integer candidato : anchos) {
+            if (candidato >= ancho) {
+                return candidato;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Genera (si faltan) todas las miniaturas de una imagen, decodificando el original una sola vez.
+     *
+     * @param hash El SHA-256 de la imagen.
+     */
+    void generarMiniaturas(String hash) {
+        Optional<Imagen> original = buscarOriginal(hash);
+        if (original.isEmpty()) {
+            return;
+        }
+        List<Integer> faltan = anchos.stream().filter(a -> !Files.exists(rutaMiniatura(hash, a))).toList();
+        if (faltan.isEmpty()) {
+            return;
+        }
+        try {
+            BufferedImage imagen = leer(original.get().fichero());
+            for (Integer ancho : faltan) {
+                escribirJpeg(escalar(imagen, ancho), rutaMiniatura(hash, ancho));
+            }
+            log.debug("Miniaturas {} generadas para la imagen {}.", faltan, hash);
+        } catch (IOException | RuntimeException e) {
+            log.warn("No se pudieron generar las miniaturas de la imagen {}: {}", hash, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void detener() {
+        generador.shutdownNow();
+    }
+
+    private void programarMiniaturas(String hash) {
+        if (anchos.isEmpty() || !pendientes.add(hash)) {
+            return;
+        }
+        generador.execute(new Generacion(hash));
+    }
+
+    private Optional<Imagen> buscarOriginal(String hash) {
+        for (Formato formato : FORMATOS.values()) {
+            Path fichero = rutaOriginal(hash, formato);
+            if (Files.exists(fichero)) {
+                return Optional.of(new Imagen(fichero, formato.contentType(), "\"" + hash + "\"", true));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Path rutaOriginal(String hash, Formato formato) {
+        return originales.resolve(hash.substring(0, 2)).resolve(hash + "." + formato.extension());
+    }
+
+    private Path rutaMiniatura(String hash, int ancho) {
+        return miniaturas.resolve(Integer.toString(ancho)).resolve(hash.substring(0, 2)).resolve(hash + ".jpg");
+    }
+
+    private static String detectarFormato(Path fichero) throws IOException {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(fichero.toFile())) {
+            if (entrada == null) {
+                return null;
+            }
+            Iterator<ImageReader> lectores = ImageIO.getImageReaders(entrada);
+            return lectores.hasNext() ? lectores.next().getFormatName().toLowerCase() : null;
+        }
+    }
+
+    private static BufferedImage leer(Path fichero) throws IOException {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(fichero.toFile())) {
+            Iterator<ImageReader> lectores = entrada == null ? null : ImageIO.getImageReaders(entrada);
+            if (lectores == null || !lectores.hasNext()) {
+                throw new IOException("Formato de imagen no reconocido");
+            }
+            ImageReader lector = lectores.next();
+            try {
+                lector.setInput(entrada, true, true);
+                long pixeles = (long) lector.getWidth(0) * lector.getHeight(0);
+                if (pixeles > MAX_PIXELES) {
+                    throw new IOException("Imagen demasiado grande (" + pixeles + " píxeles)");
+                }
+                return lector.read(0);
+            } finally {
+                lector.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage escalar(BufferedImage origen, int ancho) {
+        int destinoAncho = Math.min(ancho, origen.getWidth());
+        int destinoAlto = Math.max(1, (int) Math.round((double) origen.getHeight() * destinoAncho / origen.getWidth()));
+        BufferedImage destino = new BufferedImage(destinoAncho, destinoAlto, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+        try {
+            // JPEG no tiene transparencia: las zonas transparentes de PNG/GIF quedan en blanco.
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, destinoAncho, destinoAlto);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(origen, 0, 0, destinoAncho, destinoAlto, null);
+        } finally {
+            g.dispose();
+        }
+        return destino;
+    }
+
+    private void escribirJpeg(BufferedImage imagen, Path destino) throws IOException {
+        Files.createDirectories(destino.getParent());
+        Path temporal = Files.createTempFile(temporales, "miniatura-", ".tmp");
+        try {
+            ImageWriter escritor = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream salida = ImageIO.createImageOutputStream(temporal.toFile())) {
+                escritor.setOutput(salida);
+                ImageWriteParam parametros = escritor.getDefaultWriteParam();
+                parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                parametros.setCompressionQuality(CALIDAD_MINIATURA);
+                escritor.write(null, new IIOImage(imagen, null, null), parametros);
+            } finally {
+                escritor.dispose();
+            }
+            Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
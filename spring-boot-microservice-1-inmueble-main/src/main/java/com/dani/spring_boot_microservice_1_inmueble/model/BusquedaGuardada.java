@@ -0,0 +1,79 @@
+package com.dani.spring_boot_microservice_1_inmueble.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Búsqueda guardada por un comprador para recibir avisos de los nuevos inmuebles que la cumplan.
+ * <p>
+ * Todos los criterios son opcionales y se combinan con AND: un inmueble cumple la búsqueda si tiene
+ * el {@link #estado} indicado, su precio está entre {@link #precioMinimo} y {@link #precioMaximo}
+ * (ambos inclusive) y su nombre o dirección contienen todas las palabras de {@link #texto}.
+ * Las coincidencias las calcula el percolador en memoria ({@code alerta.Percolador}) con cada
+ * alta o actualización de un inmueble.
+ * Mapeado a la tabla {@code busqueda_guardada}.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Entity
+@Table(name = "busqueda_guardada", indexes = {
+        @Index(name = "idx_busqueda_guardada_user_id", columnList = "user_id")
+})
+@Data
+public class BusquedaGuardada {
+
+    /**
+     * Identificador de la búsqueda.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID del usuario que guardó la búsqueda y que recibe los avisos. Mapeado a la columna {@code user_id}.
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * Nombre descriptivo que el usuario da a la búsqueda. Mapeado a la columna {@code nombre}.
+     */
+    @Column(name = "nombre")
+    private String nombre;
+
+    /**
+     * Estado exigido, o {@code null} para cualquiera. Mapeado a la columna {@code estado}.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado")
+    private EstadoInmueble estado;
+
+    /**
+     * Precio mínimo (inclusive), o {@code null} sin límite. Mapeado a la columna {@code precio_minimo}.
+     */
+    @Column(name = "precio_minimo")
+    private Double precioMinimo;
+
+    /**
+     * Precio máximo (inclusive), o {@code null} sin límite. Mapeado a la columna {@code precio_maximo}.
+     */
+    @Column(name = "precio_maximo")
+    private Double precioMaximo;
+
+    /**
+     * Palabras que deben aparecer en el nombre o la dirección (sin distinguir mayúsculas ni tildes),
+     * o {@code null} sin condición de texto. Mapeado a la columna {@code texto}.
+     */
+    @Column(name = "texto")
+    private String texto;
+
+    /**
+     * Momento en que se guardó la búsqueda. Mapeado a la columna {@code fecha_creacion}.
+     */
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+}
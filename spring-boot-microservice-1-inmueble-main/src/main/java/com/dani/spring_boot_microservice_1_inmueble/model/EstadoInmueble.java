@@ -1,10 +1,17 @@
 package com.dani.spring_boot_microservice_1_inmueble.model;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Enumeración que representa los posibles estados de un {@link Inmueble}.
  * <p>
  * Define un conjunto fijo de estados que un inmueble puede tener a lo largo de su ciclo de vida
  * en el sistema, como "DISPONIBLE" para la venta/alquiler, "VENDIDO" o "RESERVADO".
+ * <p>
+ * Las transiciones permitidas forman una máquina de estados:
+ * {@code DISPONIBLE → RESERVADO → VENDIDO}, la venta directa {@code DISPONIBLE → VENDIDO}
+ * y la liberación de una reserva {@code RESERVADO → DISPONIBLE}. {@link #VENDIDO} es final.
  *
  * @author Daniel Núñez Rojas (danidev fullstack software)
  * @version 1.0
@@ -26,5 +33,36 @@ public enum EstadoInmueble {
      * El inmueble está actualmente reservado por un posible comprador,
      * y no está disponible temporalmente.
      */
-    RESERVADO
+    RESERVADO;
+
+    /**
+     * Indica si la máquina de estados permite pasar de este estado a {@code destino}.
+     *
+     * @param destino El estado al que se quiere pasar.
+     * @return {@code true} si la transición está permitida.
+     */
+    public boolean puedeTransicionarA(EstadoInmueble destino) {
+        return switch (this) {
+            case DISPONIBLE -> destino == RESERVADO || destino == VENDIDO;
+            case RESERVADO -> destino == VENDIDO || destino == DISPONIBLE;
+            case VENDIDO -> false;
+        };
+    }
+
+    /**
+     * Devuelve los estados desde los que se puede llegar a {@code destino}.
+     * Es la condición que se aplica en el {@code UPDATE} condicional de una transición.
+     *
+     * @param destino El estado de destino.
+     * @return Los estados de origen válidos (vacío si ninguno lo es).
+     */
+    public static Set<EstadoInmueble> origenesHacia(EstadoInmueble destino) {
+        Set<EstadoInmueble> origenes = EnumSet.noneOf(EstadoInmueble.class);
+        for (EstadoInmueble origen : values()) {
+            if (origen.puedeTransicionarA(destino)) {
+                origenes.add(origen);
+            }
+        }
+        return origenes;
+    }
 }
\ No newline at end of file
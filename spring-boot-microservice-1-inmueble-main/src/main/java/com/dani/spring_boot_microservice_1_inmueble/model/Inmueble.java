@@ -1,5 +1,8 @@
 package com.dani.spring_boot_microservice_1_inmueble.model;
 
+import com.dani.spring_boot_microservice_1_inmueble.geo.GeoHash;
+import com.dani.spring_boot_microservice_1_inmueble.shard.IdPorShard;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 
@@ -12,23 +15,46 @@ import java.time.LocalDateTime;
  * Almacena toda la información relevante de una propiedad, como su nombre, dirección,
  * precio, estado y propietario.
  * Está mapeada a la tabla "inmueble" en la base de datos PostgreSQL.
+ * <p>
+ * El índice {@code idx_inmueble_fecha_creacion_id} sigue el orden del catálogo
+ * ({@code fecha_creacion DESC, id DESC}) y permite que la paginación por cursor
+ * resuelva cada página con un recorrido acotado del índice.
  *
  * @author Daniel Núñez Rojas (danidev fullstack software)
  * @version 1.1
  * @since 2025-05-13 (Actualizado con JavaDoc completo)
  */
 @Entity
-@Table(name = "inmueble")
+@Table(name = "inmueble", indexes = {
+        @Index(name = "idx_inmueble_fecha_creacion_id", columnList = "fecha_creacion DESC, id DESC")
+})
 @Data
 public class Inmueble {
 
     /**
-     * Identificador único del inmueble, generado automáticamente por la base de datos.
+     * Nombre de la secuencia de la que se obtienen los IDs de inmueble.
+     */
+    public static final String SECUENCIA_ID = "inmueble_id_seq";
+
+    /**
+     * Número de IDs reservados con cada llamada a la secuencia (esquema {@code pooled}: cada
+     * {@code nextval} devuelve el último ID de un bloque).
+     * Debe coincidir con el {@code INCREMENT BY} de {@link #SECUENCIA_ID}
+     * (ver {@code db/inmueble-schema.sql}).
+     */
+    public static final int TAMANO_BLOQUE_ID = 50;
+
+    /**
+     * Identificador único del inmueble, obtenido de la secuencia {@link #SECUENCIA_ID}.
      * Es la clave primaria de la tabla {@code inmueble}.
-     * Se utiliza la estrategia de generación {@link GenerationType#IDENTITY}.
+     * <p>
+     * Se genera por bloques de {@link #TAMANO_BLOQUE_ID} IDs de la secuencia ({@link IdPorShard}):
+     * Hibernate conoce el ID antes del INSERT, por lo que puede agrupar las inserciones en lotes
+     * JDBC (algo imposible con {@link GenerationType#IDENTITY}), y solo consulta la secuencia
+     * una vez por bloque. Con varios shards, cada uno usa su propia secuencia y su propio bloque.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdPorShard
     private Long id;
 
     /**
@@ -90,4 +116,52 @@ public class Inmueble {
     @Enumerated(EnumType.STRING)
     @Column(name = "estado")
     private EstadoInmueble estado;
+
+    /**
+     * Versión del registro para el bloqueo optimista.
+     * Hibernate la incrementa en cada actualización de la entidad, y los cambios de estado por
+     * {@code UPDATE} directo (ver {@link com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleRepository})
+     * también la incrementan, de modo que una escritura basada en una lectura anterior se detecta.
+     * Mapeado a la columna {@code version}.
+     */
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    /**
+     * Latitud de la ubicación del inmueble, en grados decimales (WGS84).
+     * Este campo es opcional; si no se informa, se intenta obtener a partir de la dirección.
+     * Mapeado a la columna {@code latitud}.
+     */
+    @Column(name = "latitud")
+    private Double latitude;
+
+    /**
+     * Longitud de la ubicación del inmueble, en grados decimales (WGS84).
+     * Este campo es opcional; si no se informa, se intenta obtener a partir de la dirección.
+     * Mapeado a la columna {@code longitud}.
+     */
+    @Column(name = "longitud")
+    private Double longitude;
+
+    /**
+     * Geohash de la ubicación, derivado de {@link #latitude} y {@link #longitude}.
+     * Sirve como índice espacial: las búsquedas por área se traducen a prefijos de este campo
+     * (ver índice {@code idx_inmueble_geohash} en {@code db/inmueble-schema.sql}).
+     * No se expone en la API. Mapeado a la columna {@code geohash}.
+     */
+    @JsonIgnore
+    @Column(name = "geohash", length = GeoHash.PRECISION_ALMACENADA)
+    private String geohash;
+
+    /**
+     * Recalcula el {@link #geohash} a partir de las coordenadas antes de cada inserción o actualización.
+     */
+    @PrePersist
+    @PreUpdate
+    void actualizarGeohash() {
+        geohash = (latitude != null && longitude != null)
+                ? GeoHash.encode(latitude, longitude, GeoHash.PRECISION_ALMACENADA)
+                : null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.dani.spring_boot_microservice_1_inmueble.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aviso en la bandeja de un usuario: un inmueble que cumple una de sus {@link BusquedaGuardada}.
+ * <p>
+ * Se inserta por lotes desde {@code alerta.InmuebleAlertas}. La restricción única
+ * {@code (busqueda_id, inmueble_id)} hace que cada inmueble se notifique una sola vez por búsqueda,
+ * aunque se actualice varias veces. El nombre y el precio son una copia del momento del aviso, para
+ * mostrar la bandeja sin consultar los inmuebles.
+ * Mapeado a la tabla {@code inmueble_alerta}.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Entity
+@Table(name = "inmueble_alerta",
+        uniqueConstraints = @UniqueConstraint(name = "uk_inmueble_alerta_busqueda_inmueble",
+                columnNames = {"busqueda_id", "inmueble_id"}),
+        indexes = @Index(name = "idx_inmueble_alerta_user_id", columnList = "user_id, id DESC"))
+@Data
+public class InmuebleAlerta {
+
+    /**
+     * Identificador del aviso; crece con el orden de inserción.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID del usuario destinatario. Mapeado a la columna {@code user_id}.
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * ID de la búsqueda que se ha cumplido. Mapeado a la columna {@code busqueda_id}.
+     */
+    @Column(name = "busqueda_id", nullable = false)
+    private Long busquedaId;
+
+    /**
+     * ID del inmueble que cumple la búsqueda. Mapeado a la columna {@code inmueble_id}.
+     */
+    @Column(name = "inmueble_id", nullable = false)
+    private Long inmuebleId;
+
+    /**
+     * Nombre del inmueble en el momento del aviso. Mapeado a la columna {@code nombre}.
+     */
+    @Column(name = "nombre")
+    private String nombre;
+
+    /**
+     * Precio del inmueble en el momento del aviso. Mapeado a la columna {@code precio}.
+     */
+    @Column(name = "precio")
+    private Double precio;
+
+    /**
+     * Momento del aviso. Mapeado a la columna {@code fecha}.
+     */
+    @Column(name = "fecha", nullable = false)
+    private LocalDateTime fecha;
+
+    /**
+     * Indica si el usuario ya ha visto el aviso. Mapeado a la columna {@code leida}.
+     */
+    @Column(name = "leida", nullable = false)
+    private boolean leida;
+}
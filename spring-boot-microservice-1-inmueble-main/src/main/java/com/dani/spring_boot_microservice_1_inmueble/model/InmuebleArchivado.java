@@ -0,0 +1,93 @@
+package com.dani.spring_boot_microservice_1_inmueble.model;
+
+import com.dani.spring_boot_microservice_1_inmueble.geo.GeoHash;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Inmueble vendido que ha salido de la tabla {@code inmueble} hacia el archivo.
+ * <p>
+ * {@code archivo.InmuebleArchivador} mueve aquí los inmuebles {@link EstadoInmueble#VENDIDO}, que ya no
+ * pueden cambiar de estado, para que la tabla {@code inmueble} y sus índices solo contengan el catálogo
+ * vivo. Las columnas son las de {@link Inmueble} (con el mismo ID) más la fecha de archivo; el servicio
+ * sigue devolviendo estos inmuebles al consultarlos por ID (ver {@link #aInmueble()}).
+ * Mapeado a la tabla {@code inmueble_archivo}.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Entity
+@Table(name = "inmueble_archivo", indexes = @Index(name = "idx_inmueble_archivo_user_id", columnList = "user_id"))
+@Data
+public class InmuebleArchivado {
+
+    /**
+     * ID que tenía el inmueble en la tabla {@code inmueble}.
+     */
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "nombre", nullable = false)
+    private String name;
+
+    @Column(name = "direccion", nullable = false)
+    private String address;
+
+    @Column(name = "foto")
+    private String picture;
+
+    @Column(name = "precio", nullable = false)
+    private Double price;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime creationDate;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado")
+    private EstadoInmueble estado;
+
+    @Column(name = "version")
+    private Long version;
+
+    @Column(name = "latitud")
+    private Double latitude;
+
+    @Column(name = "longitud")
+    private Double longitude;
+
+    @Column(name = "geohash", length = GeoHash.PRECISION_ALMACENADA)
+    private String geohash;
+
+    /**
+     * Momento en que se archivó. Mapeado a la columna {@code fecha_archivo}.
+     */
+    @Column(name = "fecha_archivo", nullable = false)
+    private LocalDateTime fechaArchivo;
+
+    /**
+     * @return Un {@link Inmueble} no gestionado con los datos archivados.
+     */
+    public Inmueble aInmueble() {
+        Inmueble inmueble = new Inmueble();
+        inmueble.setId(id);
+        inmueble.setName(name);
+        inmueble.setAddress(address);
+        inmueble.setPicture(picture);
+        inmueble.setPrice(price);
+        inmueble.setCreationDate(creationDate);
+        inmueble.setUserId(userId);
+        inmueble.setEstado(estado);
+        inmueble.setVersion(version);
+        inmueble.setLatitude(latitude);
+        inmueble.setLongitude(longitude);
+        inmueble.setGeohash(geohash);
+        return inmueble;
+    }
+}
@@ -0,0 +1,62 @@
+package com.dani.spring_boot_microservice_1_inmueble.model;
+
+import com.dani.spring_boot_microservice_1_inmueble.event.InmuebleEvent;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrada del registro ordenado de cambios de inmuebles (change feed).
+ * <p>
+ * Se inserta una fila por cada {@link InmuebleEvent}, en la misma transacción que la escritura
+ * que lo origina (ver {@code feed.InmuebleCambioLog}), por lo que el registro nunca contiene
+ * cambios deshechos ni omite cambios confirmados. Los consumidores leen las entradas con
+ * {@link #seq} mayor que la última que procesaron.
+ * Mapeado a la tabla {@code inmueble_cambio}.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Entity
+@Table(name = "inmueble_cambio", indexes = {
+        @Index(name = "idx_inmueble_cambio_fecha", columnList = "fecha")
+})
+@Data
+public class InmuebleCambio {
+
+    /**
+     * Número de secuencia del cambio. Es estrictamente creciente en orden de confirmación:
+     * una entrada con un {@code seq} menor nunca se hace visible después de otra con uno mayor.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "seq")
+    private Long seq;
+
+    /**
+     * Tipo de modificación. Mapeado a la columna {@code tipo}.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, length = 32)
+    private InmuebleEvent.Tipo tipo;
+
+    /**
+     * ID del inmueble afectado. Mapeado a la columna {@code inmueble_id}.
+     */
+    @Column(name = "inmueble_id", nullable = false)
+    private Long inmuebleId;
+
+    /**
+     * ID del propietario, si se conoce. Mapeado a la columna {@code user_id}.
+     */
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * Momento en que se registró el cambio. Mapeado a la columna {@code fecha}.
+     */
+    @Column(name = "fecha", nullable = false)
+    private LocalDateTime fecha;
+}
@@ -0,0 +1,77 @@
+package com.dani.spring_boot_microservice_1_inmueble.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Bloque del histórico de precios de un inmueble.
+ * <p>
+ * Cada bloque guarda hasta {@code precio.SeriePrecios#PUNTOS_POR_BLOQUE} cambios de precio codificados
+ * en {@link #datos} (ver {@code precio.SeriePrecios}); los cambios nuevos se concatenan al último bloque
+ * del inmueble. Los instantes se guardan en segundos desde la época (UTC) y los precios en céntimos,
+ * para que la codificación sea exacta.
+ * Se escribe desde {@code precio.PrecioHistorial} con JDBC; la entidad solo declara la tabla.
+ * Mapeado a la tabla {@code inmueble_precio_bloque}.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Entity
+@Table(name = "inmueble_precio_bloque",
+        uniqueConstraints = @UniqueConstraint(name = "uk_inmueble_precio_bloque_inmueble_bloque",
+                columnNames = {"inmueble_id", "bloque"}),
+        indexes = @Index(name = "idx_inmueble_precio_bloque_fin", columnList = "fin_epoch"))
+@Data
+public class InmueblePrecioBloque {
+
+    /**
+     * Identificador del bloque.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID del inmueble. Mapeado a la columna {@code inmueble_id}.
+     */
+    @Column(name = "inmueble_id", nullable = false)
+    private Long inmuebleId;
+
+    /**
+     * Número de bloque dentro del histórico del inmueble, empezando en 0. Mapeado a la columna {@code bloque}.
+     */
+    @Column(name = "bloque", nullable = false)
+    private Integer bloque;
+
+    /**
+     * Número de puntos codificados en {@link #datos}. Mapeado a la columna {@code puntos}.
+     */
+    @Column(name = "puntos", nullable = false)
+    private Integer puntos;
+
+    /**
+     * Instante del primer punto, en segundos desde la época (UTC). Mapeado a la columna {@code inicio_epoch}.
+     */
+    @Column(name = "inicio_epoch", nullable = false)
+    private Long inicioEpoch;
+
+    /**
+     * Instante del último punto, en segundos desde la época (UTC). Mapeado a la columna {@code fin_epoch}.
+     */
+    @Column(name = "fin_epoch", nullable = false)
+    private Long finEpoch;
+
+    /**
+     * Precio del último punto, en céntimos; permite codificar el siguiente sin decodificar el bloque.
+     * Mapeado a la columna {@code ultimo_centimos}.
+     */
+    @Column(name = "ultimo_centimos", nullable = false)
+    private Long ultimoCentimos;
+
+    /**
+     * Puntos codificados. Mapeado a la columna {@code datos} ({@code bytea}).
+     */
+    @Column(name = "datos", nullable = false, columnDefinition = "bytea")
+    private byte[] datos;
+}
@@ -0,0 +1,52 @@
+package com.dani.spring_boot_microservice_1_inmueble.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reserva con caducidad de un inmueble en estado {@link EstadoInmueble#RESERVADO}.
+ * <p>
+ * Existe como mucho una por inmueble: la crea {@code ReservaService} al reservar y se borra al
+ * cancelarla, al caducar o cuando el inmueble cambia de estado por otra vía (por ejemplo, al venderse).
+ * Al vencer {@link #expira}, {@code reserva.InmuebleReservas} devuelve el inmueble a
+ * {@link EstadoInmueble#DISPONIBLE}.
+ * Mapeado a la tabla {@code inmueble_reserva}.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Entity
+@Table(name = "inmueble_reserva", indexes = {
+        @Index(name = "idx_inmueble_reserva_expira", columnList = "expira")
+})
+@Data
+public class InmuebleReserva {
+
+    /**
+     * ID del inmueble reservado. Mapeado a la columna {@code inmueble_id}.
+     */
+    @Id
+    @Column(name = "inmueble_id")
+    private Long inmuebleId;
+
+    /**
+     * ID del usuario que tiene la reserva. Mapeado a la columna {@code user_id}.
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * Momento en que se hizo la reserva. Mapeado a la columna {@code fecha}.
+     */
+    @Column(name = "fecha", nullable = false)
+    private LocalDateTime fecha;
+
+    /**
+     * Momento en que caduca la reserva. Mapeado a la columna {@code expira}.
+     */
+    @Column(name = "expira", nullable = false)
+    private LocalDateTime expira;
+}
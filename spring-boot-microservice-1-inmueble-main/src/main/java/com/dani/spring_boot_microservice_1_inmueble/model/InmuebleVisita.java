@@ -0,0 +1,42 @@
+package com.dani.spring_boot_microservice_1_inmueble.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contador acumulado de visitas a la ficha de un inmueble ({@code GET /api/inmueble/{inmuebleId}}).
+ * <p>
+ * No se escribe en cada visita: {@code visita.InmuebleVisitas} cuenta en memoria y suma lo acumulado
+ * con {@code INSERT ... ON CONFLICT DO UPDATE} por lotes cada pocos segundos.
+ * Mapeado a la tabla {@code inmueble_visita}.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Entity
+@Table(name = "inmueble_visita")
+@Data
+public class InmuebleVisita {
+
+    /**
+     * ID del inmueble. Mapeado a la columna {@code inmueble_id}.
+     */
+    @Id
+    @Column(name = "inmueble_id")
+    private Long inmuebleId;
+
+    /**
+     * Número total de visitas volcadas. Mapeado a la columna {@code visitas}.
+     */
+    @Column(name = "visitas", nullable = false)
+    private Long visitas;
+
+    /**
+     * Momento del último volcado. Mapeado a la columna {@code actualizado}.
+     */
+    @Column(name = "actualizado", nullable = false)
+    private LocalDateTime actualizado;
+}
@@ -0,0 +1,268 @@
+package com.dani.spring_boot_microservice_1_inmueble.precio;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmueblePrecio;
+import com.dani.spring_boot_microservice_1_inmueble.dto.PrecioDistribucion;
+import com.dani.spring_boot_microservice_1_inmueble.dto.PrecioIntervalo;
+import com.dani.spring_boot_microservice_1_inmueble.event.ColectorInmuebles;
+import com.dani.spring_boot_microservice_1_inmueble.event.ConstruccionIndice;
+import com.dani.spring_boot_microservice_1_inmueble.event.OyenteInmuebles;
+import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
+import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleArchivadoRepository;
+import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleRepository;
+import com.dani.spring_boot_microservice_1_inmueble.shard.EnrutadorShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Distribución de los precios del catálogo por zona y por estado ({@code GET /api/inmueble/precios/distribucion}
+ * y {@code /precios/histograma}), mantenida en memoria.
+ * <p>
+ * Las zonas son prefijos de geohash de 1 a {@value #PRECISION_AREA} caracteres (con 5, celdas de unos
+ * 5 × 5 km). Cada inmueble con precio se cuenta en un {@link SketchPrecios} por cada prefijo de su geohash
+ * y estado, y en el de todo el catálogo; así, cualquier consulta combina como mucho tres resúmenes (uno
+ * por estado) y tarda lo mismo tenga el catálogo cien inmuebles o diez millones.
+ * <p>
+ * Se mantiene igual que el autocompletado ({@code suggest.InmuebleSugerencias}): se construye al arrancar
+ * y relee los IDs que le entrega {@link ColectorInmuebles} tras cada commit. Como los resúmenes admiten
+ * quitar precios, se guarda el último precio, zona y estado contados de cada inmueble para descontarlos cuando
+ * cambian o el inmueble se elimina. Los inmuebles archivados se siguen contando como vendidos.
+ * <p>
+ * Cada instancia del servicio mantiene sus propios resúmenes y solo ve los cambios hechos a través de ella.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Component
+@Slf4j
+public class DistribucionPrecios implements OyenteInmuebles {
+
+    /**
+     * Longitud máxima de los prefijos de geohash que identifican una zona.
+     */
+    public static final int PRECISION_AREA = 5;
+
+    /**
+     * Número máximo de intervalos de un histograma.
+     */
+    public static final int MAX_INTERVALOS = 100;
+
+    private static final int TAMANO_LOTE = 1000;
+    private static final Pattern AREA = Pattern.compile("[0-9b-hjkmnp-z]{1," + PRECISION_AREA + "}");
+
+    /**
+     * Zona y estado de un resumen; la zona vacía es todo el catálogo.
+     */
+    private record Clave(String area, EstadoInmueble estado) {
+    }
+
+    /**
+     * Lo último que se ha contado de un inmueble.
+     */
+    private record Registro(double precio, String geohash, EstadoInmueble estado) {
+    }
+
+    private final InmuebleRepository inmuebleRepository;
+    private final InmuebleArchivadoRepository archivoRepository;
+    private final EnrutadorShards enrutador;
+    private final TransactionTemplate lectura;
+    private final Map<Clave, SketchPrecios> sketches = new ConcurrentHashMap<>();
+    private final Map<Long, Registro> registros = new HashMap<>();
+    private final ConstruccionIndice construccion = new ConstruccionIndice();
+
+    public DistribucionPrecios(InmuebleRepository inmuebleRepository,
+                               InmuebleArchivadoRepository archivoRepository,
+                               EnrutadorShards enrutador,
+                               PlatformTransactionManager transactionManager) {
+        this.inmuebleRepository = inmuebleRepository;
+        this.archivoRepository = archivoRepository;
+        this.enrutador = enrutador;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        // Tras el commit, los recursos de la transacción original siguen ligados al hilo.
+        this.lectura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Resume los precios de una zona.
+     *
+     * @param area   Prefijo de geohash de la zona, o {@code null} para todo el catálogo.
+     * @param estado Estado de los inmuebles, o {@code null} para todos.
+     * @return Número de inmuebles, mínimo, mediana, percentil 90 y máximo (vacío mientras se construyen
+     * los resúmenes).
+     * @throws IllegalArgumentException si {@code area} no es un geohash de como mucho {@value #PRECISION_AREA}
+     *                                  caracteres.
+     */
+    public PrecioDistribucion distribucion(String area, EstadoInmueble estado) {
+        String zona = normalizar(area);
+        SketchPrecios sketch = combinar(zona, estado);
+        return new PrecioDistribucion(zona.isEmpty() ? null : zona, estado, sketch.total(),
+                sketch.cuantil(0), sketch.cuantil(0.5), sketch.cuantil(0.9), sketch.cuantil(1));
+    }
+
+    /**
+     * Histograma de los precios de una zona, en intervalos de igual anchura entre el mínimo y el máximo.
+     *
+     * @param area       Prefijo de geohash de la zona, o {@code null} para todo el catálogo.
+     * @param estado     Estado de los inmuebles, o {@code null} para todos.
+     * @param intervalos Número de intervalos; se limita a {@value #MAX_INTERVALOS}.
+     * @return Los intervalos, de menor a mayor precio (vacío si no hay inmuebles).
+     * @throws IllegalArgumentException si {@code area} no es un geohash de como mucho {@value #PRECISION_AREA}
+     *                                  caracteres.
+     */
+    public List<PrecioIntervalo> histograma(String area, EstadoInmueble estado, int intervalos) {
+        SketchPrecios.Histograma histograma = combinar(normalizar(area), estado)
+                .histograma(Math.min(Math.max(intervalos, 1), MAX_INTERVALOS));
+        if (histograma == null) {
+            return List.of();
+        }
+        List<PrecioIntervalo> resultado = new ArrayList<>(histograma.recuentos().length);
+        for (int i = 0; i < histograma.recuentos().length; i++) {
+            resultado.add(new PrecioIntervalo(histograma.limites()[i], histograma.limites()[i + 1], histograma.recuentos()[i]));
+        }
+        return resultado;
+    }
+
+    /**
+     * Construye los resúmenes con el catálogo y el archivo completos de cada shard al terminar el arranque.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void construir() {
+        long inicio = System.nanoTime();
+        enrutador.enCadaShard(shard -> lectura.executeWithoutResult(status -> {
+            try (Stream<InmueblePrecio> precios = inmuebleRepository.streamPrecioBy()) {
+                precios.forEach(this::contar);
+            }
+            try (Stream<InmueblePrecio> precios = archivoRepository.streamPrecioBy()) {
+                precios.forEach(this::contar);
+            }
+        }));
+        aplicar(construccion.terminar());
+        int inmuebles;
+        synchronized (this) {
+            inmuebles = registros.size();
+        }
+        log.info("Distribución de precios construida: {} inmuebles en {} resúmenes en {} ms.",
+                inmuebles, sketches.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Relee los inmuebles modificados, o los aplaza si los resúmenes aún se están construyendo.
+     *
+     * @param ids Los IDs modificados.
+     */
+    @Override
+    public void inmueblesConfirmados(Set<Long> ids) {
+        if (construccion.aplicarAhora(ids)) {
+            aplicar(ids);
+        }
+    }
+
+    private static String normalizar(String area) {
+        if (area == null || area.isBlank()) {
+            return "";
+        }
+        String zona = area.trim().toLowerCase(Locale.ROOT);
+        if (!AREA.matcher(zona).matches()) {
+            throw new IllegalArgumentException("La zona debe ser un geohash de 1 a " + PRECISION_AREA + " caracteres.");
+        }
+        return zona;
+    }
+
+    private SketchPrecios combinar(String zona, EstadoInmueble estado) {
+        SketchPrecios combinado = new SketchPrecios();
+        for (EstadoInmueble e : estado != null ? List.of(estado) : List.of(EstadoInmueble.values())) {
+            SketchPrecios sketch = sketches.get(new Clave(zona, e));
+            if (sketch != null) {
+                combinado.fusionar(sketch);
+            }
+        }
+        return combinado;
+    }
+
+    /**
+     * Relee de su shard los inmuebles indicados (del catálogo o, si ya no están, del archivo) y
+     * actualiza los resúmenes.
+     */
+    private void aplicar(Set<Long> ids) {
+        enrutador.porShard(ids, lista -> {
+            for (int desde = 0; desde < lista.size(); desde += TAMANO_LOTE) {
+                List<Long> lote = lista.subList(desde, Math.min(desde + TAMANO_LOTE, lista.size()));
+                List<InmueblePrecio> existentes = lectura.execute(status -> {
+                    List<InmueblePrecio> precios = new ArrayList<>(inmuebleRepository.findAllPrecioByIdIn(lote));
+                    Set<Long> ausentes = new HashSet<>(lote);
+                    precios.forEach(p -> ausentes.remove(p.id()));
+                    if (!ausentes.isEmpty()) {
+                        precios.addAll(archivoRepository.findAllPrecioByIdIn(ausentes));
+                    }
+                    return precios;
+                });
+                Set<Long> eliminados = new HashSet<>(lote);
+                for (InmueblePrecio precio : existentes) {
+                    contar(precio);
+                    eliminados.remove(precio.id());
+                }
+                eliminados.forEach(this::descontar);
+            }
+        });
+        log.debug("Distribución de precios actualizada para {} inmuebles.", ids.size());
+    }
+
+    private synchronized void contar(InmueblePrecio inmueble) {
+        Registro nuevo = inmueble.price() == null || inmueble.estado() == null
+                ? null
+                : new Registro(inmueble.price(), inmueble.geohash(), inmueble.estado());
+        Registro anterior = nuevo == null ? registros.remove(inmueble.id()) : registros.put(inmueble.id(), nuevo);
+        if (nuevo != null && nuevo.equals(anterior)) {
+            return;
+        }
+        if (anterior != null) {
+            modificar(anterior, false);
+        }
+        if (nuevo != null) {
+            modificar(nuevo, true);
+        }
+    }
+
+    private synchronized void descontar(Long id) {
+        Registro anterior = registros.remove(id);
+        if (anterior != null) {
+            modificar(anterior, false);
+        }
+    }
+
+    /**
+     * Cuenta o descuenta un precio en el resumen de todo el catálogo y en el de cada prefijo de su geohash.
+     */
+    private void modificar(Registro registro, boolean agregar) {
+        int longitud = registro.geohash() == null ? 0 : Math.min(registro.geohash().length(), PRECISION_AREA);
+        for (int i = 0; i <= longitud; i++) {
+            Clave clave = new Clave(registro.geohash() == null ? "" : registro.geohash().substring(0, i), registro.estado());
+            if (agregar) {
+                sketches.computeIfAbsent(clave, c -> new SketchPrecios()).agregar(registro.precio());
+            } else {
+                SketchPrecios sketch = sketches.get(clave);
+                sketch.quitar(registro.precio());
+                if (sketch.total() == 0) {
+                    sketches.remove(clave);
+                }
+            }
+        }
+    }
+}
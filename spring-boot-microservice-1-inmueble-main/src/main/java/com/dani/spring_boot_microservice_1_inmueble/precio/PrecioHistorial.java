@@ -0,0 +1,295 @@
+package com.dani.spring_boot_microservice_1_inmueble.precio;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.PrecioPunto;
+import com.dani.spring_boot_microservice_1_inmueble.dto.PrecioTendencia;
+import com.dani.spring_boot_microservice_1_inmueble.shard.Shards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Histórico de precios de los inmuebles, guardado como series temporales comprimidas.
+ * <p>
+ * Cada inmueble tiene una serie de bloques en la tabla {@code inmueble_precio_bloque} (ver
+ * {@link SeriePrecios}). Registrar un cambio de precio es una única sentencia {@code UPDATE} que
+ * concatena unos pocos bytes al último bloque, dentro de la misma transacción que actualiza el
+ * inmueble; solo cada {@value SeriePrecios#PUNTOS_POR_BLOQUE} cambios se inserta un bloque nuevo.
+ * El primer cambio de un inmueble registra también su precio original, con su fecha de alta, así que
+ * no hace falta escribir nada al crear inmuebles.
+ * <p>
+ * La tendencia del mercado se calcula recorriendo los bloques con un cursor y agregando los precios
+ * por intervalos, sin cargar el histórico en memoria.
+ * <p>
+ * Con shards ({@link Shards}), el histórico de cada inmueble se guarda en su propio shard, en la misma
+ * transacción que el cambio: el de un inmueble se lee de su shard y la tendencia agrega los de todos.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Component
+@Slf4j
+public class PrecioHistorial {
+
+    /**
+     * Número máximo de intervalos de una tendencia.
+     */
+    public static final int MAX_INTERVALOS = 1000;
+
+    private static final String SQL_ULTIMO_BLOQUE = """
+            select bloque, puntos, fin_epoch, ultimo_centimos from inmueble_precio_bloque
+            where inmueble_id = ? order by bloque desc limit 1 for update
+            """;
+
+    private static final String SQL_INSERT = """
+            insert into inmueble_precio_bloque
+                (inmueble_id, bloque, puntos, inicio_epoch, fin_epoch, ultimo_centimos, datos)
+            values (?, ?, ?, ?, ?, ?, ?)
+            on conflict (inmueble_id, bloque) do nothing
+            """;
+
+    private static final String SQL_AMPLIAR = """
+            update inmueble_precio_bloque
+            set datos = datos || ?, puntos = puntos + 1, fin_epoch = ?, ultimo_centimos = ?
+            where inmueble_id = ? and bloque = ?
+            """;
+
+    private static final String SQL_BLOQUES_INMUEBLE = """
+            select puntos, datos from inmueble_precio_bloque
+            where inmueble_id = ? and fin_epoch >= ? and inicio_epoch <= ?
+            order by bloque
+            """;
+
+    private static final String SQL_BLOQUES_PERIODO = """
+            select puntos, datos from inmueble_precio_bloque
+            where fin_epoch >= ? and inicio_epoch <= ?
+            """;
+
+    private static final String SQL_ELIMINAR = """
+            delete from inmueble_precio_bloque where inmueble_id = ?
+            """;
+
+    private static final int INTENTOS = 3;
+
+    /**
+     * Granularidad de la tendencia del mercado.
+     */
+    public enum Intervalo {
+        HORA(Duration.ofHours(1), Duration.ZERO),
+        DIA(Duration.ofDays(1), Duration.ZERO),
+        /**
+         * Semanas de lunes a domingo (el 1 de enero de 1970 fue jueves).
+         */
+        SEMANA(Duration.ofDays(7), Duration.ofDays(4));
+
+        private final long segundos;
+        private final long desfase;
+
+        Intervalo(Duration duracion, Duration desfase) {
+            this.segundos = duracion.toSeconds();
+            this.desfase = desfase.toSeconds();
+        }
+
+        long inicio(long epoch) {
+            return Math.floorDiv(epoch - desfase, segundos) * segundos + desfase;
+        }
+    }
+
+    private record UltimoBloque(int bloque, int puntos, long finEpoch, long ultimoCentimos) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate cursor;
+    private final TransactionTemplate lectura;
+    private final ObjectProvider<Shards> shards;
+
+    public PrecioHistorial(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           ObjectProvider<Shards> shards) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shards = shards;
+        this.cursor = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.cursor.setFetchSize(500);
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+    }
+
+    /**
+     * Elimina el histórico de un inmueble. Debe llamarse dentro de la transacción que elimina el inmueble,
+     * para que no queden bloques huérfanos en la tendencia del mercado.
+     *
+     * @param inmuebleId El ID del inmueble.
+     * @return El número de bloques eliminados.
+     */
+    public int eliminar(Long inmuebleId) {
+        return jdbcTemplate.update(SQL_ELIMINAR, inmuebleId);
+    }
+
+    /**
+     * Registra un cambio de precio. Debe llamarse dentro de la transacción que actualiza el inmueble,
+     * para que el histórico se confirme (o se deshaga) junto con él.
+     *
+     * @param inmuebleId     El ID del inmueble.
+     * @param fechaAlta      Fecha de alta del inmueble, usada para registrar su precio original si es
+     *                       el primer cambio (puede ser {@code null}).
+     * @param precioAnterior El precio antes del cambio (puede ser {@code null}).
+     * @param fecha          Momento del cambio.
+     * @param precio         El nuevo precio.
+     */
+    public void registrar(Long inmuebleId, LocalDateTime fechaAlta, Double precioAnterior,
+                          LocalDateTime fecha, Double precio) {
+        long t = fecha.toEpochSecond(ZoneOffset.UTC);
+        long c = SeriePrecios.centimos(precio);
+        for (int intento = 0; intento < INTENTOS; intento++) {
+            List<UltimoBloque> ultimo = jdbcTemplate.query(SQL_ULTIMO_BLOQUE, (rs, i) -> new UltimoBloque(
+                    rs.getInt(1), rs.getInt(2), rs.getLong(3), rs.getLong(4)), inmuebleId);
+            if (ultimo.isEmpty()) {
+                if (precioAnterior != null && fechaAlta != null) {
+                    long t0 = fechaAlta.toEpochSecond(ZoneOffset.UTC);
+                    long c0 = SeriePrecios.centimos(precioAnterior);
+                    byte[] datos = concatenar(SeriePrecios.codificar(t0, c0), SeriePrecios.codificar(t - t0, c - c0));
+                    if (insertar(inmuebleId, 0, 2, t0, t, c, datos)) {
+                        return;
+                    }
+                } else if (insertar(inmuebleId, 0, 1, t, t, c, SeriePrecios.codificar(t, c))) {
+                    return;
+                }
+            } else if (ultimo.get(0).puntos() >= SeriePrecios.PUNTOS_POR_BLOQUE) {
+                if (insertar(inmuebleId, ultimo.get(0).bloque() + 1, 1, t, t, c, SeriePrecios.codificar(t, c))) {
+                    return;
+                }
+            } else {
+                UltimoBloque bloque = ultimo.get(0);
+                jdbcTemplate.update(SQL_AMPLIAR,
+                        SeriePrecios.codificar(t - bloque.finEpoch(), c - bloque.ultimoCentimos()),
+                        t, c, inmuebleId, bloque.bloque());
+                return;
+            }
+            // Otra transacción ha creado el bloque a la vez: se vuelve a leer (ahora bloqueado).
+        }
+        log.warn("No se pudo registrar el cambio de precio del inmueble ID {} tras {} intentos.", inmuebleId, INTENTOS);
+    }
+
+    /**
+     * Devuelve el histórico de precios de un inmueble, del más antiguo al más reciente.
+     *
+     * @param inmuebleId El ID del inmueble.
+     * @param desde      Comienzo del periodo (inclusive), o {@code null} para desde el principio.
+     * @param hasta      Fin del periodo (inclusive), o {@code null} para hasta ahora.
+     * @return Los cambios de precio del periodo; vacío si el precio nunca ha cambiado.
+     */
+    public List<PrecioPunto> historial(Long inmuebleId, LocalDateTime desde, LocalDateTime hasta) {
+        long inicio = desde == null ? Long.MIN_VALUE : desde.toEpochSecond(ZoneOffset.UTC);
+        long fin = hasta == null ? Long.MAX_VALUE : hasta.toEpochSecond(ZoneOffset.UTC);
+        Shards repartidos = shards.getIfAvailable();
+        if (repartidos == null) {
+            return leerHistorial(inmuebleId, inicio, fin);
+        }
+        return repartidos.en(Math.max(0, repartidos.deId(inmuebleId)), () -> leerHistorial(inmuebleId, inicio, fin));
+    }
+
+    private List<PrecioPunto> leerHistorial(Long inmuebleId, long inicio, long fin) {
+        List<PrecioPunto> puntos = new ArrayList<>();
+        lectura.executeWithoutResult(status -> jdbcTemplate.query(SQL_BLOQUES_INMUEBLE, rs -> {
+            recorrer(rs.getInt(1), rs.getBytes(2), inicio, fin, (t, c) ->
+                    puntos.add(new PrecioPunto(LocalDateTime.ofEpochSecond(t, 0, ZoneOffset.UTC), c / 100.0)));
+        }, inmuebleId, inicio, fin));
+        return puntos;
+    }
+
+    /**
+     * Calcula la tendencia de precios del mercado: los precios registrados en el histórico de todos
+     * los inmuebles, agregados por intervalos. Los intervalos sin cambios de precio no aparecen.
+     *
+     * @param intervalo Granularidad de los intervalos.
+     * @param desde     Comienzo del periodo (inclusive).
+     * @param hasta     Fin del periodo (inclusive).
+     * @return Los intervalos con algún precio registrado, en orden cronológico.
+     * @throws IllegalArgumentException si el periodo está invertido o tiene más de {@value #MAX_INTERVALOS} intervalos.
+     */
+    public List<PrecioTendencia> tendencia(Intervalo intervalo, LocalDateTime desde, LocalDateTime hasta) {
+        long inicio = desde.toEpochSecond(ZoneOffset.UTC);
+        long fin = hasta.toEpochSecond(ZoneOffset.UTC);
+        if (fin < inicio) {
+            throw new IllegalArgumentException("El periodo está invertido.");
+        }
+        if ((intervalo.inicio(fin) - intervalo.inicio(inicio)) / intervalo.segundos >= MAX_INTERVALOS) {
+            throw new IllegalArgumentException("El periodo no puede tener más de " + MAX_INTERVALOS + " intervalos.");
+        }
+
+        Shards repartidos = shards.getIfAvailable();
+        Map<Long, long[]> agregados;
+        if (repartidos == null) {
+            agregados = agregar(intervalo, inicio, fin);
+        } else {
+            agregados = new TreeMap<>();
+            for (Map<Long, long[]> parcial : repartidos.enTodos(shard -> agregar(intervalo, inicio, fin))) {
+                parcial.forEach((t, a) -> agregados.merge(t, a, (x, y) -> new long[]{
+                        x[0] + y[0], Math.min(x[1], y[1]), Math.max(x[2], y[2]), x[3] + y[3]}));
+            }
+        }
+
+        List<PrecioTendencia> tendencia = new ArrayList<>(agregados.size());
+        agregados.forEach((t, a) -> tendencia.add(new PrecioTendencia(
+                LocalDateTime.ofEpochSecond(t, 0, ZoneOffset.UTC),
+                a[0] / (a[3] * 100.0), a[1] / 100.0, a[2] / 100.0, a[3])));
+        return tendencia;
+    }
+
+    /**
+     * Agrega por intervalos los precios del periodo.
+     *
+     * @return Por inicio de intervalo: {suma, mínimo, máximo, número de puntos}, en céntimos.
+     */
+    private Map<Long, long[]> agregar(Intervalo intervalo, long inicio, long fin) {
+        Map<Long, long[]> agregados = new TreeMap<>();
+        lectura.executeWithoutResult(status -> cursor.query(SQL_BLOQUES_PERIODO, rs -> {
+            recorrer(rs.getInt(1), rs.getBytes(2), inicio, fin, (t, c) -> {
+                long[] a = agregados.computeIfAbsent(intervalo.inicio(t),
+                        k -> new long[]{0, Long.MAX_VALUE, Long.MIN_VALUE, 0});
+                a[0] += c;
+                a[1] = Math.min(a[1], c);
+                a[2] = Math.max(a[2], c);
+                a[3]++;
+            });
+        }, inicio, fin));
+        return agregados;
+    }
+
+    private boolean insertar(Long inmuebleId, int bloque, int puntos, long inicio, long fin, long ultimo, byte[] datos) {
+        return jdbcTemplate.update(SQL_INSERT, inmuebleId, bloque, puntos, inicio, fin, ultimo, datos) == 1;
+    }
+
+    @FunctionalInterface
+    private interface Visitante {
+        void punto(long segundos, long centimos);
+    }
+
+    private static void recorrer(int puntos, byte[] datos, long inicio, long fin, Visitante visitante) {
+        long[] segundos = new long[puntos];
+        long[] centimos = new long[puntos];
+        SeriePrecios.decodificar(datos, puntos, segundos, centimos);
+        for (int i = 0; i < puntos; i++) {
+            if (segundos[i] >= inicio && segundos[i] <= fin) {
+                visitante.punto(segundos[i], centimos[i]);
+            }
+        }
+    }
+
+    private static byte[] concatenar(byte[] a, byte[] b) {
+        byte[] resultado = new byte[a.length + b.length];
+        System.arraycopy(a, 0, resultado, 0, a.length);
+        System.arraycopy(b, 0, resultado, a.length, b.length);
+        return resultado;
+    }
+}
@@ -0,0 +1,111 @@
+package com.dani.spring_boot_microservice_1_inmueble.precio;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Codificación compacta de una serie temporal de precios en bloques de bytes.
+ * <p>
+ * Cada punto es un par {@code (segundos, céntimos)}. El primer punto de un bloque se guarda en valor
+ * absoluto y los siguientes como diferencia con el anterior. Cada número se escribe con codificación
+ * zigzag (para que las diferencias negativas también sean pequeñas) y varint de 7 bits por byte. Un
+ * cambio de precio típico (días de diferencia, unos miles de euros) ocupa así 6 u 7 bytes, frente a
+ * los 16 de dos {@code long} o a una fila completa de tabla.
+ * <p>
+ * Como cada bloque empieza por un punto absoluto, los bloques se decodifican de forma independiente
+ * y se pueden ampliar concatenando bytes al final, sin reescribirlos.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public final class SeriePrecios {
+
+    /**
+     * Número máximo de puntos por bloque; al alcanzarlo se empieza un bloque nuevo.
+     */
+    public static final int PUNTOS_POR_BLOQUE = 256;
+
+    private SeriePrecios() {
+        throw new IllegalStateException("Clase de utilidad no instanciable.");
+    }
+
+    /**
+     * Codifica un punto: absoluto si es el primero del bloque, o la diferencia con el anterior si no.
+     *
+     * @param segundos Segundos (o diferencia de segundos).
+     * @param centimos Céntimos (o diferencia de céntimos).
+     * @return Los bytes del punto, listos para añadir al final del bloque.
+     */
+    public static byte[] codificar(long segundos, long centimos) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(20);
+        escribir(salida, zigzag(segundos));
+        escribir(salida, zigzag(centimos));
+        return salida.toByteArray();
+    }
+
+    /**
+     * Decodifica un bloque completo.
+     *
+     * @param datos    Los bytes del bloque.
+     * @param puntos   El número de puntos del bloque.
+     * @param segundos Array donde se escriben los instantes absolutos (al menos {@code puntos} posiciones).
+     * @param centimos Array donde se escriben los precios absolutos (al menos {@code puntos} posiciones).
+     * @throws IllegalArgumentException si los bytes no contienen {@code puntos} puntos válidos.
+     */
+    public static void decodificar(byte[] datos, int puntos, long[] segundos, long[] centimos) {
+        int posicion = 0;
+        long t = 0;
+        long c = 0;
+        for (int i = 0; i < puntos; i++) {
+            long[] leido = new long[1];
+            posicion = leer(datos, posicion, leido);
+            t += unzigzag(leido[0]);
+            posicion = leer(datos, posicion, leido);
+            c += unzigzag(leido[0]);
+            segundos[i] = t;
+            centimos[i] = c;
+        }
+    }
+
+    /**
+     * Convierte un precio a céntimos enteros.
+     *
+     * @param precio El precio.
+     * @return El precio en céntimos, redondeado.
+     */
+    public static long centimos(double precio) {
+        return Math.round(precio * 100);
+    }
+
+    static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    static long unzigzag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    private static void escribir(ByteArrayOutputStream salida, long valor) {
+        while ((valor & ~0x7FL) != 0) {
+            salida.write((int) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        salida.write((int) valor);
+    }
+
+    private static int leer(byte[] datos, int posicion, long[] destino) {
+        long valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            if (posicion >= datos.length) {
+                throw new IllegalArgumentException("Bloque de precios truncado.");
+            }
+            byte b = datos[posicion++];
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                destino[0] = valor;
+                return posicion;
+            }
+        }
+        throw new IllegalArgumentException("Varint demasiado largo en el bloque de precios.");
+    }
+}
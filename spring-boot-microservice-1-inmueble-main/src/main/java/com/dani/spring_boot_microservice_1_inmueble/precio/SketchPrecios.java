@@ -0,0 +1,246 @@
+package com.dani.spring_boot_microservice_1_inmueble.precio;
+
+import java.util.Arrays;
+
+/**
+ * Resumen de la distribución de un conjunto de precios, de tamaño acotado y combinable.
+ * <p>
+ * Los precios se cuentan en intervalos logarítmicos (el esquema de DDSketch): el intervalo {@code i}
+ * cubre {@code (γ^(i-1), γ^i]}, con {@code γ = (1 + α) / (1 - α)}, y se representa por el valor que
+ * está a distancia relativa {@code α} de ambos extremos. Así, cualquier cuantil se obtiene con un error
+ * relativo de como mucho {@value #ERROR_RELATIVO} respecto al precio real, con independencia de cuántos
+ * precios haya, y entre 1 y 10<sup>12</sup> no hacen falta más de unos 1.400 intervalos.
+ * <p>
+ * A diferencia de t-digest o KLL, los contadores permiten quitar un precio exactamente, que es lo que
+ * necesita un catálogo en el que los precios cambian y los inmuebles se eliminan; y dos resúmenes se
+ * combinan sumando sus contadores, sin perder precisión.
+ * <p>
+ * Los contadores se guardan en un array denso que solo abarca los intervalos usados. Los métodos están
+ * sincronizados.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class SketchPrecios {
+
+    /**
+     * Error relativo máximo de los cuantiles.
+     */
+    public static final double ERROR_RELATIVO = 0.01;
+
+    private static final double GAMMA = (1 + ERROR_RELATIVO) / (1 - ERROR_RELATIVO);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    /**
+     * Precio mínimo distinguible; los menores (y el cero) se cuentan aparte.
+     */
+    private static final double PRECIO_MINIMO = 1.0;
+
+    private long[] contadores = new long[0];
+    private int desplazamiento;
+    private long ceros;
+    private long total;
+
+    /**
+     * Cuenta un precio.
+     *
+     * @param precio El precio; los negativos se tratan como cero.
+     */
+    public synchronized void agregar(double precio) {
+        sumar(precio, 1);
+    }
+
+    /**
+     * Descuenta un precio contado antes con {@link #agregar}.
+     *
+     * @param precio El precio.
+     * @throws IllegalStateException si el precio no estaba contado.
+     */
+    public synchronized void quitar(double precio) {
+        sumar(precio, -1);
+    }
+
+    /**
+     * Suma a este resumen los precios de otro.
+     *
+     * @param otro El otro resumen.
+     */
+    public void fusionar(SketchPrecios otro) {
+        long[] suyos;
+        int suDesplazamiento;
+        long susCeros;
+        synchronized (otro) {
+            suyos = otro.contadores.clone();
+            suDesplazamiento = otro.desplazamiento;
+            susCeros = otro.ceros;
+        }
+        synchronized (this) {
+            for (int i = 0; i < suyos.length; i++) {
+                if (suyos[i] != 0) {
+                    int posicion = asegurar(i + suDesplazamiento);
+                    contadores[posicion] += suyos[i];
+                    total += suyos[i];
+                }
+            }
+            ceros += susCeros;
+            total += susCeros;
+        }
+    }
+
+    /**
+     * @return El número de precios contados.
+     */
+    public synchronized long total() {
+        return total;
+    }
+
+    /**
+     * Devuelve un cuantil de los precios.
+     *
+     * @param q El cuantil, entre 0 y 1 (0,5 es la mediana).
+     * @return El precio, con un error relativo de como mucho {@value #ERROR_RELATIVO}, o {@code null} si
+     * no hay precios.
+     */
+    public synchronized Double cuantil(double q) {
+        if (q < 0 || q > 1 || Double.isNaN(q)) {
+            throw new IllegalArgumentException("El cuantil debe estar entre 0 y 1.");
+        }
+        if (total == 0) {
+            return null;
+        }
+        long rango = (long) Math.floor(q * (total - 1));
+        if (rango < ceros) {
+            return 0.0;
+        }
+        long acumulado = ceros;
+        for (int i = 0; i < contadores.length; i++) {
+            acumulado += contadores[i];
+            if (acumulado > rango) {
+                return valor(i + desplazamiento);
+            }
+        }
+        throw new IllegalStateException("Contadores inconsistentes.");
+    }
+
+    /**
+     * Reparte los precios en intervalos de igual anchura entre el mínimo y el máximo.
+     * <p>
+     * Cada intervalo logarítmico del resumen se asigna entero al intervalo que contiene su valor
+     * representativo, así que los límites tienen el mismo error relativo que los cuantiles.
+     *
+     * @param intervalos Número de intervalos del histograma (al menos 1).
+     * @return Los límites ({@code intervalos + 1} valores crecientes) y los recuentos de cada intervalo,
+     * o {@code null} si no hay precios.
+     */
+    public synchronized Histograma histograma(int intervalos) {
+        if (intervalos < 1) {
+            throw new IllegalArgumentException("El histograma necesita al menos un intervalo.");
+        }
+        if (total == 0) {
+            return null;
+        }
+        double minimo = ceros > 0 ? 0.0 : valor(primero() + desplazamiento);
+        double maximo = contadores.length == 0 || total == ceros ? 0.0 : valor(ultimo() + desplazamiento);
+        double anchura = (maximo - minimo) / intervalos;
+        double[] limites = new double[intervalos + 1];
+        for (int i = 0; i <= intervalos; i++) {
+            limites[i] = minimo + anchura * i;
+        }
+        limites[intervalos] = maximo;
+        long[] recuentos = new long[intervalos];
+        recuentos[0] += ceros;
+        for (int i = 0; i < contadores.length; i++) {
+            if (contadores[i] != 0) {
+                int destino = anchura > 0 ? (int) ((valor(i + desplazamiento) - minimo) / anchura) : 0;
+                recuentos[Math.min(Math.max(destino, 0), intervalos - 1)] += contadores[i];
+            }
+        }
+        return new Histograma(limites, recuentos);
+    }
+
+    /**
+     * Histograma de los precios.
+     *
+     * @param limites   Límites de los intervalos: el intervalo {@code i} va de {@code limites[i]} a
+     *                  {@code limites[i + 1]}.
+     * @param recuentos Precios de cada intervalo.
+     */
+    public record Histograma(double[] limites, long[] recuentos) {
+    }
+
+    /**
+     * Índice del intervalo logarítmico de un precio.
+     */
+    static int indice(double precio) {
+        return (int) Math.ceil(Math.log(precio) / LOG_GAMMA);
+    }
+
+    /**
+     * Valor representativo de un intervalo: a distancia relativa {@link #ERROR_RELATIVO} de sus extremos.
+     */
+    static double valor(int indice) {
+        return 2 * Math.pow(GAMMA, indice) / (GAMMA + 1);
+    }
+
+    private void sumar(double precio, int delta) {
+        if (Double.isNaN(precio) || Double.isInfinite(precio)) {
+            throw new IllegalArgumentException("Precio no válido: " + precio);
+        }
+        if (precio < PRECIO_MINIMO) {
+            if (ceros + delta < 0) {
+                throw new IllegalStateException("El precio " + precio + " no estaba contado.");
+            }
+            ceros += delta;
+        } else {
+            int i = indice(precio);
+            int posicion = delta > 0 ? asegurar(i) : i - desplazamiento;
+            if (delta < 0 && (posicion < 0 || posicion >= contadores.length || contadores[posicion] == 0)) {
+                throw new IllegalStateException("El precio " + precio + " no estaba contado.");
+            }
+            contadores[posicion] += delta;
+        }
+        total += delta;
+        if (total == 0) {
+            contadores = new long[0];
+        }
+    }
+
+    /**
+     * Amplía el array para que incluya el intervalo {@code indice}.
+     *
+     * @return La posición del intervalo en el array.
+     */
+    private int asegurar(int indice) {
+        if (contadores.length == 0) {
+            contadores = new long[1];
+            desplazamiento = indice;
+        } else if (indice < desplazamiento) {
+            long[] ampliados = new long[contadores.length + desplazamiento - indice];
+            System.arraycopy(contadores, 0, ampliados, desplazamiento - indice, contadores.length);
+            contadores = ampliados;
+            desplazamiento = indice;
+        } else if (indice >= desplazamiento + contadores.length) {
+            contadores = Arrays.copyOf(contadores, indice - desplazamiento + 1);
+        }
+        return indice - desplazamiento;
+    }
+
+    private int primero() {
+        for (int i = 0; i < contadores.length; i++) {
+            if (contadores[i] != 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private int ultimo() {
+        for (int i = contadores.length - 1; i >= 0; i--) {
+            if (contadores[i] != 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+}
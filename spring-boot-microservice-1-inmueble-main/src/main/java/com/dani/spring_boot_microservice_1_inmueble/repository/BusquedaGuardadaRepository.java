@@ -0,0 +1,30 @@
+package com.dani.spring_boot_microservice_1_inmueble.repository;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.BusquedaGuardada;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositorio Spring Data JPA para las {@link BusquedaGuardada} de los usuarios.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Repository
+public interface BusquedaGuardadaRepository extends JpaRepository<BusquedaGuardada, Long> {
+
+    /**
+     * @param userId El ID del usuario.
+     * @return Las búsquedas guardadas del usuario, más recientes primero.
+     */
+    List<BusquedaGuardada> findAllByUserIdOrderByIdDesc(Long userId);
+
+    /**
+     * @param userId El ID del usuario.
+     * @return El número de búsquedas guardadas del usuario.
+     */
+    long countByUserId(Long userId);
+}
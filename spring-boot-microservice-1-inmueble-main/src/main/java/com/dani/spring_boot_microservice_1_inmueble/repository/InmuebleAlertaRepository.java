@@ -0,0 +1,52 @@
+package com.dani.spring_boot_microservice_1_inmueble.repository;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.InmuebleAlerta;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Repositorio Spring Data JPA para la bandeja de avisos {@link InmuebleAlerta}.
+ * <p>
+ * Solo se usa para leer y marcar avisos; las inserciones se hacen por lotes JDBC desde
+ * {@code alerta.InmuebleAlertas}.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Repository
+public interface InmuebleAlertaRepository extends JpaRepository<InmuebleAlerta, Long> {
+
+    /**
+     * @param userId El ID del usuario.
+     * @param limit  Número máximo de avisos.
+     * @return Los avisos del usuario, más recientes primero.
+     */
+    List<InmuebleAlerta> findByUserIdOrderByIdDesc(Long userId, Limit limit);
+
+    /**
+     * @param userId El ID del usuario.
+     * @param limit  Número máximo de avisos.
+     * @return Los avisos no leídos del usuario, más recientes primero.
+     */
+    List<InmuebleAlerta> findByUserIdAndLeidaFalseOrderByIdDesc(Long userId, Limit limit);
+
+    /**
+     * Marca como leídos los avisos de un usuario hasta un ID (inclusive).
+     *
+     * @param userId  El ID del usuario.
+     * @param hastaId El ID del aviso más reciente que ha visto el usuario.
+     * @return El número de avisos marcados.
+     */
+    @Transactional
+    @Modifying
+    @Query("update InmuebleAlerta a set a.leida = true where a.userId = :userId and a.id <= :hastaId and a.leida = false")
+    int marcarLeidas(@Param("userId") Long userId, @Param("hastaId") Long hastaId);
+}
@@ -0,0 +1,99 @@
+package com.dani.spring_boot_microservice_1_inmueble.repository;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.EstadoAgregado;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmueblePrecio;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleResumen;
+import com.dani.spring_boot_microservice_1_inmueble.model.InmuebleArchivado;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repositorio Spring Data JPA para los {@link InmuebleArchivado}, indexados por el ID del inmueble.
+ * <p>
+ * Las inserciones no pasan por aquí: las hace {@code archivo.InmuebleArchivador} con una única sentencia
+ * que borra de {@code inmueble} e inserta en {@code inmueble_archivo}.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Repository
+public interface InmuebleArchivadoRepository extends JpaRepository<InmuebleArchivado, Long> {
+
+    /**
+     * Devuelve los inmuebles archivados indicados como proyecciones {@link InmueblePrecio}.
+     *
+     * @param inmuebleIds Los IDs a consultar.
+     * @return Una {@link List} de {@link InmueblePrecio}, solo para los IDs archivados y sin orden definido.
+     */
+    @Query("""
+            select new com.dani.spring_boot_microservice_1_inmueble.dto.InmueblePrecio(a.id, a.price, a.geohash, a.estado)
+            from InmuebleArchivado a
+            where a.id in :inmuebleIds
+            """)
+    List<InmueblePrecio> findAllPrecioByIdIn(@Param("inmuebleIds") Collection<Long> inmuebleIds);
+
+    /**
+     * Recorre el precio, la ubicación y el estado de todos los inmuebles archivados con un cursor JDBC de
+     * solo avance. Debe llamarse dentro de una transacción y el {@link Stream} debe cerrarse.
+     *
+     * @return Un {@link Stream} perezoso de {@link InmueblePrecio}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.dani.spring_boot_microservice_1_inmueble.dto.InmueblePrecio(a.id, a.price, a.geohash, a.estado) from InmuebleArchivado a")
+    Stream<InmueblePrecio> streamPrecioBy();
+
+    /**
+     * Devuelve los inmuebles archivados de un usuario como proyecciones {@link InmuebleResumen},
+     * más recientes primero (el mismo orden que {@link InmuebleRepository#findAllResumenByUserId}).
+     *
+     * @param userId El ID del usuario propietario.
+     * @return Una {@link List} de {@link InmuebleResumen} archivados del usuario.
+     */
+    @Query("""
+            select new com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleResumen(
+                a.id, a.userId, a.name, a.address, a.picture, a.price, a.creationDate, a.estado)
+            from InmuebleArchivado a
+            where a.userId = :userId
+            order by a.creationDate desc, a.id desc
+            """)
+    List<InmuebleResumen> findAllResumenByUserId(@Param("userId") Long userId);
+
+    /**
+     * Devuelve los inmuebles archivados de un usuario, más recientes primero.
+     *
+     * @param userId El ID del usuario propietario.
+     * @return Una {@link List} de {@link InmuebleArchivado} del usuario.
+     */
+    List<InmuebleArchivado> findAllByUserIdOrderByCreationDateDescIdDesc(Long userId);
+
+    /**
+     * Igual que {@link InmuebleRepository#aggregateByEstado()}, para los inmuebles archivados.
+     *
+     * @return Una fila {@link EstadoAgregado} por cada estado con al menos un inmueble archivado.
+     */
+    @Query("select new com.dani.spring_boot_microservice_1_inmueble.dto.EstadoAgregado("
+            + "a.estado, count(a), min(a.price), max(a.price), sum(a.price)) "
+            + "from InmuebleArchivado a group by a.estado")
+    List<EstadoAgregado> aggregateByEstado();
+
+    /**
+     * Igual que {@link InmuebleRepository#aggregateByEstadoForUser(Long)}, para los inmuebles archivados.
+     *
+     * @param userId El ID del propietario.
+     * @return Una fila {@link EstadoAgregado} por cada estado con al menos un inmueble archivado del propietario.
+     */
+    @Query("select new com.dani.spring_boot_microservice_1_inmueble.dto.EstadoAgregado("
+            + "a.estado, count(a), min(a.price), max(a.price), sum(a.price)) "
+            + "from InmuebleArchivado a where a.userId = :userId group by a.estado")
+    List<EstadoAgregado> aggregateByEstadoForUser(@Param("userId") Long userId);
+}
@@ -0,0 +1,173 @@
+package com.dani.spring_boot_microservice_1_inmueble.repository;
+
+import com.dani.spring_boot_microservice_1_inmueble.geo.GeoHash;
+import com.dani.spring_boot_microservice_1_inmueble.model.Inmueble;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Acceso JDBC de alto rendimiento para la carga masiva de inmuebles.
+ * <p>
+ * Evita por completo el contexto de persistencia de JPA: los IDs se reservan por bloques
+ * de la secuencia {@link Inmueble#SECUENCIA_ID} (con el mismo esquema {@code pooled} que el generador
+ * de {@link Inmueble#getId()}, así que ambos caminos pueden convivir sin colisiones) y las filas se envían con
+ * el protocolo {@code COPY ... FROM STDIN} de PostgreSQL, que evita el coste por sentencia
+ * de los INSERT.
+ * <p>
+ * Ambas operaciones usan la conexión de la transacción Spring en curso, por lo que la carga
+ * se confirma o se deshace junto con el resto de la transacción.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class InmuebleBulkRepository {
+
+    private static final String SQL_NEXTVAL =
+            "select nextval('" + Inmueble.SECUENCIA_ID + "') from generate_series(1, ?)";
+
+    private static final String SQL_INCREMENTO =
+            "select increment_by from pg_sequences where sequencename = ? and schemaname = current_schema()";
+
+    private static final String SQL_COPY =
+            "COPY inmueble (id, nombre, direccion, foto, precio, fecha_creacion, user_id, estado, latitud, longitud, geohash, version)"
+                    + " FROM STDIN WITH (FORMAT csv)";
+
+    private final DataSource dataSource;
+
+    /**
+     * Incremento real de la secuencia, leído la primera vez que se reservan IDs.
+     */
+    private volatile Integer incremento;
+
+    /**
+     * Reserva {@code cantidad} IDs de la secuencia con el mínimo número de llamadas.
+     * <p>
+     * Cada {@code nextval} devuelve el extremo superior de un bloque de tantos IDs como el
+     * incremento de la secuencia; todos los valores del bloque pertenecen en exclusiva a quien
+     * lo ha obtenido.
+     *
+     * @param cantidad Número de IDs necesarios.
+     * @return Una lista con exactamente {@code cantidad} IDs distintos.
+     */
+    public List<Long> reservarIds(int cantidad) {
+        List<Long> ids = new ArrayList<>(cantidad);
+        if (cantidad <= 0) {
+            return ids;
+        }
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            int bloque = incremento(connection);
+            int llamadas = (cantidad + bloque - 1) / bloque;
+            try (PreparedStatement ps = connection.prepareStatement(SQL_NEXTVAL)) {
+                ps.setInt(1, llamadas);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next() && ids.size() < cantidad) {
+                        long hi = rs.getLong(1);
+                        for (long id = Math.max(1, hi - bloque + 1); id <= hi && ids.size() < cantidad; id++) {
+                            ids.add(id);
+                        }
+                    }
+                }
+            }
+            return ids;
+        } catch (SQLException e) {
+            throw new IllegalStateException("No se pudieron reservar IDs de " + Inmueble.SECUENCIA_ID, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Inserta los inmuebles mediante {@code COPY}. Todos deben tener ya asignado su ID.
+     *
+     * @param inmuebles Los inmuebles a insertar.
+     * @return El número de filas insertadas.
+     */
+    public long copiar(List<Inmueble> inmuebles) {
+        if (inmuebles.isEmpty()) {
+            return 0;
+        }
+        StringBuilder csv = new StringBuilder(inmuebles.size() * 160);
+        for (Inmueble inmueble : inmuebles) {
+            appendFila(csv, inmueble);
+        }
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            return copyManager.copyIn(SQL_COPY, new StringReader(csv.toString()));
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Error en la carga COPY de " + inmuebles.size() + " inmuebles", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private int incremento(Connection connection) throws SQLException {
+        Integer actual = incremento;
+        if (actual == null) {
+            try (PreparedStatement ps = connection.prepareStatement(SQL_INCREMENTO)) {
+                ps.setString(1, Inmueble.SECUENCIA_ID);
+                try (ResultSet rs = ps.executeQuery()) {
+                    actual = rs.next() ? Math.max(1, rs.getInt(1)) : 1;
+                }
+            }
+            if (actual != Inmueble.TAMANO_BLOQUE_ID) {
+                log.warn("La secuencia {} tiene INCREMENT BY {} (se esperaba {}).",
+                        Inmueble.SECUENCIA_ID, actual, Inmueble.TAMANO_BLOQUE_ID);
+            }
+            incremento = actual;
+        }
+        return actual;
+    }
+
+    /**
+     * Añade una fila en formato CSV de PostgreSQL: los textos van siempre entre comillas
+     * y los valores nulos como campo vacío sin comillas.
+     */
+    private static void appendFila(StringBuilder csv, Inmueble inmueble) {
+        String geohash = (inmueble.getLatitude() != null && inmueble.getLongitude() != null)
+                ? GeoHash.encode(inmueble.getLatitude(), inmueble.getLongitude(), GeoHash.PRECISION_ALMACENADA)
+                : null;
+        csv.append(inmueble.getId()).append(',');
+        appendTexto(csv, inmueble.getName()).append(',');
+        appendTexto(csv, inmueble.getAddress()).append(',');
+        appendTexto(csv, inmueble.getPicture()).append(',');
+        appendValor(csv, inmueble.getPrice()).append(',');
+        appendValor(csv, inmueble.getCreationDate()).append(',');
+        appendValor(csv, inmueble.getUserId()).append(',');
+        appendValor(csv, inmueble.getEstado()).append(',');
+        appendValor(csv, inmueble.getLatitude()).append(',');
+        appendValor(csv, inmueble.getLongitude()).append(',');
+        appendTexto(csv, geohash).append(',');
+        csv.append(0).append('\n');
+    }
+
+    private static StringBuilder appendTexto(StringBuilder csv, String valor) {
+        if (valor == null) {
+            return csv;
+        }
+        return csv.append('"').append(valor.replace("\"", "\"\"")).append('"');
+    }
+
+    private static StringBuilder appendValor(StringBuilder csv, Object valor) {
+        return valor == null ? csv : csv.append(valor);
+    }
+}
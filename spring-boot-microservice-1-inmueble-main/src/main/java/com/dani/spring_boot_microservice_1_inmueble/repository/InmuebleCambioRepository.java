@@ -0,0 +1,60 @@
+package com.dani.spring_boot_microservice_1_inmueble.repository;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.InmuebleCambio;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio Spring Data JPA para el registro de cambios {@link InmuebleCambio}.
+ * <p>
+ * Solo se usa para leer y depurar el registro; las inserciones se hacen por lotes JDBC desde
+ * {@code feed.InmuebleCambioLog}.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Repository
+public interface InmuebleCambioRepository extends JpaRepository<InmuebleCambio, Long> {
+
+    /**
+     * Devuelve los cambios posteriores a {@code seq}, en orden.
+     *
+     * @param seq   Último número de secuencia ya procesado por el consumidor.
+     * @param limit Número máximo de cambios.
+     * @return Los cambios con número de secuencia mayor que {@code seq}, en orden ascendente.
+     */
+    List<InmuebleCambio> findBySeqGreaterThanOrderBySeqAsc(long seq, Limit limit);
+
+    /**
+     * @return El número de secuencia del último cambio registrado, o {@code null} si no hay ninguno.
+     */
+    @Query("select max(c.seq) from InmuebleCambio c")
+    Long findUltimoSeq();
+
+    /**
+     * @return El número de secuencia más antiguo conservado, o {@code null} si no hay ninguno.
+     */
+    @Query("select min(c.seq) from InmuebleCambio c")
+    Long findPrimerSeq();
+
+    /**
+     * Elimina los cambios registrados antes de una fecha, salvo el último, que se conserva siempre como
+     * marca: sin él, un registro purgado por completo no permitiría saber qué secuencias se han perdido.
+     *
+     * @param fecha Fecha límite (exclusiva).
+     * @return El número de cambios eliminados.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from InmuebleCambio c where c.fecha < :fecha and c.seq < (select max(u.seq) from InmuebleCambio u)")
+    int deleteByFechaBeforeExceptoUltimo(@Param("fecha") LocalDateTime fecha);
+}
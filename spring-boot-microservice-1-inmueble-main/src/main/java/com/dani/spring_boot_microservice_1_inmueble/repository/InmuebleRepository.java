@@ -1,14 +1,26 @@
 package com.dani.spring_boot_microservice_1_inmueble.repository;
 
+import com.dani.spring_boot_microservice_1_inmueble.dto.EstadoAgregado;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmueblePrecio;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleResumen;
 import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
 import com.dani.spring_boot_microservice_1_inmueble.model.Inmueble;
+import com.dani.spring_boot_microservice_1_inmueble.model.InmuebleReserva;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repositorio Spring Data JPA para la entidad {@link Inmueble}.
@@ -19,6 +31,12 @@ import java.util.List;
  * <p>
  * Además, define métodos de consulta personalizados para operaciones específicas
  * como buscar todos los inmuebles de un usuario o actualizar el estado de un inmueble.
+ * <p>
+ * Al extender {@link JpaSpecificationExecutor}, admite consultas dinámicas construidas
+ * con {@link InmuebleSpecifications}, usadas por la paginación por cursor del catálogo.
+ * <p>
+ * Los listados usan proyecciones {@link InmuebleResumen} en lugar de entidades completas
+ * (ver {@link InmuebleRepositoryCustom}).
  *
  * @see Inmueble La entidad gestionada por este repositorio.
  * @see JpaRepository La interfaz base de Spring Data JPA.
@@ -27,7 +45,8 @@ import java.util.List;
  * @since 2025-05-13 (Fecha de creación o última modificación significativa)
  */
 @Repository
-public interface InmuebleRepository extends JpaRepository<Inmueble, Long> {
+public interface InmuebleRepository extends JpaRepository<Inmueble, Long>, JpaSpecificationExecutor<Inmueble>,
+        InmuebleRepositoryCustom {
 
     /**
      * Busca y devuelve todos los inmuebles asociados a un ID de usuario específico.
@@ -43,23 +62,256 @@ public interface InmuebleRepository extends JpaRepository<Inmueble, Long> {
     List<Inmueble> findAllByUserId(Long userId);
 
     /**
-     * Actualiza el estado de un inmueble específico, identificado por su ID.
+     * Devuelve todos los inmuebles como proyecciones {@link InmuebleResumen}, más recientes primero.
      * <p>
-     * Esta es una operación de modificación directa en la base de datos, definida
-     * mediante una consulta JPQL con la anotación {@link Query}.
-     * La anotación {@link Modifying} es crucial para indicar a Spring Data JPA que
-     * esta consulta modifica datos.
+     * La expresión constructora ({@code select new}) hace que solo se lean las columnas de listado
+     * y que no se creen entidades gestionadas.
+     *
+     * @return Una {@link List} de {@link InmuebleResumen}.
+     */
+    @Query("""
+            select new com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleResumen(
+                i.id, i.userId, i.name, i.address, i.picture, i.price, i.creationDate, i.estado)
+            from Inmueble i
+            order by i.creationDate desc, i.id desc
+            """)
+    List<InmuebleResumen> findAllResumenBy();
+
+    /**
+     * Devuelve los inmuebles de un usuario como proyecciones {@link InmuebleResumen},
+     * más recientes primero.
+     *
+     * @param userId El ID del usuario propietario.
+     * @return Una {@link List} de {@link InmuebleResumen} del usuario.
+     */
+    @Query("""
+            select new com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleResumen(
+                i.id, i.userId, i.name, i.address, i.picture, i.price, i.creationDate, i.estado)
+            from Inmueble i
+            where i.userId = :userId
+            order by i.creationDate desc, i.id desc
+            """)
+    List<InmuebleResumen> findAllResumenByUserId(@Param("userId") Long userId);
+
+    /**
+     * Devuelve los inmuebles indicados que existen como proyecciones {@link InmuebleResumen}.
+     *
+     * @param inmuebleIds Los IDs a consultar.
+     * @return Una {@link List} de {@link InmuebleResumen}, solo para los IDs existentes y sin orden definido.
+     */
+    @Query("""
+            select new com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleResumen(
+                i.id, i.userId, i.name, i.address, i.picture, i.price, i.creationDate, i.estado)
+            from Inmueble i
+            where i.id in :inmuebleIds
+            """)
+    List<InmuebleResumen> findAllResumenByIdIn(@Param("inmuebleIds") Collection<Long> inmuebleIds);
+
+    /**
+     * Devuelve los inmuebles indicados que existen como proyecciones {@link InmueblePrecio}.
+     *
+     * @param inmuebleIds Los IDs a consultar.
+     * @return Una {@link List} de {@link InmueblePrecio}, solo para los IDs existentes y sin orden definido.
+     */
+    @Query("""
+            select new com.dani.spring_boot_microservice_1_inmueble.dto.InmueblePrecio(i.id, i.price, i.geohash, i.estado)
+            from Inmueble i
+            where i.id in :inmuebleIds
+            """)
+    List<InmueblePrecio> findAllPrecioByIdIn(@Param("inmuebleIds") Collection<Long> inmuebleIds);
+
+    /**
+     * Recorre el precio, la ubicación y el estado de todos los inmuebles con un cursor JDBC de solo avance,
+     * como {@link #streamAllBy()} pero sin crear entidades. Debe llamarse dentro de una transacción y el
+     * {@link Stream} debe cerrarse.
+     *
+     * @return Un {@link Stream} perezoso de {@link InmueblePrecio}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.dani.spring_boot_microservice_1_inmueble.dto.InmueblePrecio(i.id, i.price, i.geohash, i.estado) from Inmueble i")
+    Stream<InmueblePrecio> streamPrecioBy();
+
+    /**
+     * Versión masiva de {@link #transicionarEstado(Long, Collection, EstadoInmueble)}: asigna el mismo estado
+     * a los inmuebles indicados cuyo estado actual está entre {@code origenes}, con una única sentencia
+     * {@code UPDATE ... WHERE id IN (...) AND estado IN (...)}.
+     * <p>
+     * El método de servicio que llama a esta operación debe ser transaccional.
+     *
+     * @param inmuebleIds Los IDs de los inmuebles a actualizar.
+     * @param origenes    Estados desde los que se permite la transición
+     *                    (ver {@link EstadoInmueble#origenesHacia(EstadoInmueble)}).
+     * @param estado      El nuevo {@link EstadoInmueble}.
+     * @return El número de filas actualizadas.
+     */
+    @Modifying
+    @Query("update Inmueble i set i.estado = :estado, i.version = i.version + 1 "
+            + "where i.id in :inmuebleIds and i.estado in :origenes")
+    int updateInmueblesEstado(@Param("inmuebleIds") Collection<Long> inmuebleIds,
+                              @Param("origenes") Collection<EstadoInmueble> origenes,
+                              @Param("estado") EstadoInmueble estado);
+
+    /**
+     * Transición de estado atómica (compare-and-set): asigna {@code destino} solo si el estado actual
+     * del inmueble está entre {@code origenes}, e incrementa su versión.
      * <p>
-     * El método de servicio que llama a esta operación debe ser transaccional
-     * (anotado con {@link org.springframework.transaction.annotation.Transactional}).
+     * La comprobación y la escritura son una única sentencia {@code UPDATE ... WHERE}, así que
+     * PostgreSQL serializa las peticiones concurrentes sobre la misma fila: de dos compras simultáneas
+     * de un inmueble disponible, solo una actualiza la fila.
+     *
+     * @param inmuebleId El ID del inmueble.
+     * @param origenes   Estados desde los que se permite la transición
+     *                   (ver {@link EstadoInmueble#origenesHacia(EstadoInmueble)}).
+     * @param destino    El nuevo estado.
+     * @return {@code 1} si la transición se ha aplicado, {@code 0} si no.
+     */
+    @Modifying
+    @Query("update Inmueble i set i.estado = :destino, i.version = i.version + 1 "
+            + "where i.id = :inmuebleId and i.estado in :origenes")
+    int transicionarEstado(@Param("inmuebleId") Long inmuebleId,
+                           @Param("origenes") Collection<EstadoInmueble> origenes,
+                           @Param("destino") EstadoInmueble destino);
+
+    /**
+     * Igual que {@link #transicionarEstado(Long, Collection, EstadoInmueble)}, pero un inmueble con una
+     * reserva ({@link InmuebleReserva}) solo sale de {@code RESERVADO} si lo pide el titular de la reserva,
+     * y, si se indica {@code version}, exige además que sea la versión actual (bloqueo optimista sobre una
+     * lectura previa). Todo se comprueba en la misma sentencia, así que una reserva no puede cambiar de
+     * titular entre la comprobación y la escritura.
      *
-     * @param inmuebleId El ID del inmueble cuyo estado se va a actualizar.
-     * @param estado El nuevo {@link EstadoInmueble} que se asignará al inmueble.
-     * @see Modifying
-     * @see Query
-     * @see Param
+     * @param inmuebleId El ID del inmueble.
+     * @param origenes   Estados desde los que se permite la transición.
+     * @param destino    El nuevo estado.
+     * @param version    La versión que el cliente leyó, o {@code null} para no comprobarla.
+     * @param userId     El usuario que pide la transición, o {@code null} si no se conoce (entonces un
+     *                   inmueble con reserva no sale de {@code RESERVADO}).
+     * @return {@code 1} si la transición se ha aplicado, {@code 0} si no.
      */
     @Modifying
-    @Query("update Inmueble i set i.estado = :estado where i.id = :inmuebleId")
-    void updateInmuebleEstado(@Param("inmuebleId") Long inmuebleId, @Param("estado") EstadoInmueble estado);
-}
\ No newline at end of file
+    @Query("update Inmueble i set i.estado = :destino, i.version = i.version + 1 "
+            + "where i.id = :inmuebleId and i.estado in :origenes "
+            + "and (:version is null or i.version = :version) "
+            + "and (i.estado <> com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble.RESERVADO "
+            + "or not exists (select r.inmuebleId from InmuebleReserva r where r.inmuebleId = i.id "
+            + "and (:userId is null or r.userId <> :userId)))")
+    int transicionarEstadoComoTitular(@Param("inmuebleId") Long inmuebleId,
+                                      @Param("origenes") Collection<EstadoInmueble> origenes,
+                                      @Param("destino") EstadoInmueble destino,
+                                      @Param("version") Long version,
+                                      @Param("userId") Long userId);
+
+    /**
+     * Devuelve el ID, el propietario y el estado de los inmuebles indicados que existen, y bloquea sus
+     * filas ({@code FOR UPDATE}, en orden de ID) hasta el final de la transacción: el estado leído sigue
+     * siendo el actual cuando se actualiza.
+     *
+     * @param inmuebleIds Los IDs a consultar.
+     * @return Filas {@code [id, user_id, estado]}, solo para los IDs existentes.
+     */
+    @Query(value = "select id, user_id, estado from inmueble where id in (:inmuebleIds) order by id for update",
+            nativeQuery = true)
+    List<Object[]> findEstadosByIdInForUpdate(@Param("inmuebleIds") Collection<Long> inmuebleIds);
+
+    /**
+     * Calcula, para cada estado, el número de inmuebles y los agregados de precio.
+     *
+     * @return Una fila {@link EstadoAgregado} por cada estado con al menos un inmueble.
+     */
+    @Query("select new com.dani.spring_boot_microservice_1_inmueble.dto.EstadoAgregado("
+            + "i.estado, count(i), min(i.price), max(i.price), sum(i.price)) "
+            + "from Inmueble i group by i.estado")
+    List<EstadoAgregado> aggregateByEstado();
+
+    /**
+     * Igual que {@link #aggregateByEstado()}, pero restringido a los inmuebles de un propietario.
+     *
+     * @param userId El ID del propietario.
+     * @return Una fila {@link EstadoAgregado} por cada estado con al menos un inmueble del propietario.
+     */
+    @Query("select new com.dani.spring_boot_microservice_1_inmueble.dto.EstadoAgregado("
+            + "i.estado, count(i), min(i.price), max(i.price), sum(i.price)) "
+            + "from Inmueble i where i.userId = :userId group by i.estado")
+    List<EstadoAgregado> aggregateByEstadoForUser(@Param("userId") Long userId);
+
+    /**
+     * Cuenta el número de propietarios distintos con al menos un inmueble, en el catálogo o en el
+     * archivo de vendidos ({@code inmueble_archivo}).
+     *
+     * @return El número de propietarios distintos.
+     */
+    @Query(value = """
+            select count(*) from (
+                select user_id from inmueble where user_id is not null
+                union
+                select user_id from inmueble_archivo where user_id is not null
+            ) propietarios
+            """, nativeQuery = true)
+    long countDistinctUserId();
+
+    /**
+     * Recorre todos los inmuebles, ordenados por ID, mediante un cursor JDBC de solo avance.
+     * <p>
+     * El hint {@code fetch_size} hace que el driver de PostgreSQL traiga las filas en bloques
+     * en lugar de cargar el resultado completo en memoria; para ello la llamada debe realizarse
+     * dentro de una transacción (el driver solo usa cursores con autocommit desactivado).
+     * El hint {@code read_only} evita guardar instantáneas para el dirty-checking.
+     * <p>
+     * El {@link Stream} devuelto mantiene abierta la conexión y debe cerrarse
+     * (por ejemplo, con try-with-resources).
+     *
+     * @return Un {@link Stream} perezoso de todos los {@link Inmueble}.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select i from Inmueble i order by i.id")
+    Stream<Inmueble> streamAllBy();
+
+    /**
+     * Búsqueda de texto completo sobre el nombre y la dirección de los inmuebles.
+     * <p>
+     * Utiliza el índice GIN {@code idx_inmueble_busqueda} (ver {@code db/inmueble-schema.sql}),
+     * cuya expresión debe coincidir exactamente con la de esta consulta. El nombre tiene más peso
+     * (A) que la dirección (B) en la puntuación de {@code ts_rank}. El texto del usuario se
+     * interpreta con {@code websearch_to_tsquery}, que admite comillas, {@code OR} y {@code -}
+     * sin fallar ante una sintaxis inválida.
+     * <p>
+     * Devuelve un {@link Slice} para evitar la consulta {@code COUNT} de una paginación completa.
+     *
+     * @param texto    El texto a buscar.
+     * @param pageable La página solicitada (el orden lo fija la propia consulta).
+     * @return Un {@link Slice} de inmuebles ordenados por relevancia descendente.
+     */
+    @Query(value = """
+            SELECT i.* FROM inmueble i
+            WHERE (setweight(to_tsvector('spanish', coalesce(i.nombre, '')), 'A') ||
+                   setweight(to_tsvector('spanish', coalesce(i.direccion, '')), 'B'))
+                  @@ websearch_to_tsquery('spanish', :texto)
+            ORDER BY ts_rank(setweight(to_tsvector('spanish', coalesce(i.nombre, '')), 'A') ||
+                             setweight(to_tsvector('spanish', coalesce(i.direccion, '')), 'B'),
+                             websearch_to_tsquery('spanish', :texto)) DESC, i.id DESC
+            """, nativeQuery = true)
+    Slice<Inmueble> searchByText(@Param("texto") String texto, Pageable pageable);
+
+    /**
+     * Igual que {@link #searchByText}, pero solo devuelve el ID y la puntuación de los primeros resultados,
+     * para fusionar por relevancia las búsquedas de varios shards (ver {@code InmuebleServiceShardeado}).
+     *
+     * @param texto  El texto a buscar.
+     * @param limite Número máximo de resultados.
+     * @return Pares {@code [id, rango]} ordenados por relevancia descendente y después por ID descendente.
+     */
+    @Query(value = """
+            SELECT i.id, ts_rank(setweight(to_tsvector('spanish', coalesce(i.nombre, '')), 'A') ||
+                                 setweight(to_tsvector('spanish', coalesce(i.direccion, '')), 'B'),
+                                 websearch_to_tsquery('spanish', :texto)) AS rango
+            FROM inmueble i
+            WHERE (setweight(to_tsvector('spanish', coalesce(i.nombre, '')), 'A') ||
+                   setweight(to_tsvector('spanish', coalesce(i.direccion, '')), 'B'))
+                  @@ websearch_to_tsquery('spanish', :texto)
+            ORDER BY rango DESC, i.id DESC
+            LIMIT :limite
+            """, nativeQuery = true)
+    List<Object[]> searchRangoByText(@Param("texto") String texto, @Param("limite") int limite);
+}
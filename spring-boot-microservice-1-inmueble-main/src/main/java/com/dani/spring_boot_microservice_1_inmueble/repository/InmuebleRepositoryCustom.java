@@ -0,0 +1,48 @@
+package com.dani.spring_boot_microservice_1_inmueble.repository;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.CampoInmueble;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleResumen;
+import com.dani.spring_boot_microservice_1_inmueble.model.Inmueble;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fragmento de repositorio con consultas que Spring Data no puede derivar automáticamente.
+ * <p>
+ * Su implementación es {@link InmuebleRepositoryImpl}; Spring Data la combina con
+ * {@link InmuebleRepository} por convención de nombres.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public interface InmuebleRepositoryCustom {
+
+    /**
+     * Ejecuta una {@link Specification} devolviendo directamente proyecciones {@link InmuebleResumen}
+     * (mediante {@code CriteriaBuilder#construct}) en lugar de entidades gestionadas.
+     *
+     * @param spec  Los criterios de la consulta.
+     * @param sort  El orden de los resultados.
+     * @param limit Número máximo de filas a devolver.
+     * @return Una lista de {@link InmuebleResumen}.
+     */
+    List<InmuebleResumen> findResumenBy(Specification<Inmueble> spec, Sort sort, int limit);
+
+    /**
+     * Ejecuta una {@link Specification} seleccionando solo las columnas de los {@code campos} indicados
+     * (sparse fieldsets). Cada fila se devuelve como un mapa {@code nombre del campo -> valor}, en el
+     * orden de {@link CampoInmueble}, listo para serializarse sin propiedades adicionales.
+     *
+     * @param spec   Los criterios de la consulta.
+     * @param sort   El orden de los resultados.
+     * @param limit  Número máximo de filas a devolver; {@code 0} o menos para no limitar.
+     * @param campos Los campos a seleccionar (no vacío).
+     * @return Una lista de mapas, uno por fila.
+     */
+    List<Map<String, Object>> findCamposBy(Specification<Inmueble> spec, Sort sort, int limit, Set<CampoInmueble> campos);
+}
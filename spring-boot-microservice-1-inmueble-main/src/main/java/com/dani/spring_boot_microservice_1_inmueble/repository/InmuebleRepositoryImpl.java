@@ -0,0 +1,99 @@
+package com.dani.spring_boot_microservice_1_inmueble.repository;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.CampoInmueble;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleResumen;
+import com.dani.spring_boot_microservice_1_inmueble.model.Inmueble;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementación de {@link InmuebleRepositoryCustom} basada en la Criteria API de JPA.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class InmuebleRepositoryImpl implements InmuebleRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<InmuebleResumen> findResumenBy(Specification<Inmueble> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<InmuebleResumen> query = cb.createQuery(InmuebleResumen.class);
+        Root<Inmueble> root = query.from(Inmueble.class);
+
+        query.select(cb.construct(InmuebleResumen.class,
+                root.get("id"), root.get("userId"), root.get("name"), root.get("address"),
+                root.get("picture"), root.get("price"), root.get("creationDate"), root.get("estado")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Usa una consulta de {@link Tuple} con un alias por campo, por lo que la sentencia SQL
+     * solo incluye las columnas solicitadas.
+     */
+    @Override
+    public List<Map<String, Object>> findCamposBy(Specification<Inmueble> spec, Sort sort, int limit,
+                                                  Set<CampoInmueble> campos) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Inmueble> root = query.from(Inmueble.class);
+
+        List<Selection<?>> selecciones = new ArrayList<>(campos.size());
+        for (CampoInmueble campo : campos) {
+            selecciones.add(root.get(campo.nombre()).alias(campo.nombre()));
+        }
+        query.multiselect(selecciones);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        List<Tuple> tuplas = typedQuery.getResultList();
+        List<Map<String, Object>> filas = new ArrayList<>(tuplas.size());
+        for (Tuple tupla : tuplas) {
+            Map<String, Object> fila = new LinkedHashMap<>();
+            for (CampoInmueble campo : campos) {
+                fila.put(campo.nombre(), tupla.get(campo.nombre()));
+            }
+            filas.add(fila);
+        }
+        return filas;
+    }
+}
@@ -0,0 +1,35 @@
+package com.dani.spring_boot_microservice_1_inmueble.repository;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.InmuebleReserva;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositorio Spring Data JPA para las {@link InmuebleReserva}, indexadas por el ID del inmueble.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Repository
+public interface InmuebleReservaRepository extends JpaRepository<InmuebleReserva, Long> {
+
+    /**
+     * Renueva la reserva de un inmueble, solo si la tiene el usuario indicado.
+     * <p>
+     * El método de servicio que llama a esta operación debe ser transaccional.
+     *
+     * @param inmuebleId El ID del inmueble.
+     * @param userId     El ID del usuario que renueva.
+     * @param expira     La nueva caducidad.
+     * @return {@code 1} si se ha renovado, {@code 0} si no hay reserva o es de otro usuario.
+     */
+    @Modifying
+    @Query("update InmuebleReserva r set r.expira = :expira where r.inmuebleId = :inmuebleId and r.userId = :userId")
+    int renovar(@Param("inmuebleId") Long inmuebleId, @Param("userId") Long userId, @Param("expira") LocalDateTime expira);
+}
@@ -0,0 +1,134 @@
+package com.dani.spring_boot_microservice_1_inmueble.repository;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.CatalogoCursor;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleFiltro;
+import com.dani.spring_boot_microservice_1_inmueble.geo.GeoHash;
+import com.dani.spring_boot_microservice_1_inmueble.model.Inmueble;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Set;
+
+/**
+ * Fábrica de {@link Specification} para construir consultas dinámicas sobre {@link Inmueble}.
+ * <p>
+ * Permite combinar los filtros opcionales del catálogo con la condición de keyset
+ * de la paginación por cursor sin tener que declarar un método de repositorio por
+ * cada combinación posible de filtros.
+ *
+ * @see InmuebleRepository
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public final class InmuebleSpecifications {
+
+    /**
+     * Orden del catálogo: más recientes primero, con el ID como desempate.
+     * Debe coincidir con el índice {@code idx_inmueble_fecha_creacion_id} y con
+     * la condición de {@link #despuesDe(CatalogoCursor)}.
+     */
+    public static final Sort ORDEN_CATALOGO = Sort.by(Sort.Order.desc("creationDate"), Sort.Order.desc("id"));
+
+    private InmuebleSpecifications() {
+    }
+
+    /**
+     * Construye la especificación correspondiente a un {@link InmuebleFiltro}.
+     * Los criterios nulos del filtro se ignoran.
+     *
+     * @param filtro Los criterios de filtrado (puede ser {@code null}).
+     * @return Una {@link Specification} que combina todos los criterios presentes.
+     */
+    public static Specification<Inmueble> conFiltro(InmuebleFiltro filtro) {
+        Specification<Inmueble> spec = Specification.where(null);
+        if (filtro == null) {
+            return spec;
+        }
+        if (filtro.estado() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("estado"), filtro.estado()));
+        }
+        if (filtro.minPrice() != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), filtro.minPrice()));
+        }
+        if (filtro.maxPrice() != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), filtro.maxPrice()));
+        }
+        if (filtro.userId() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("userId"), filtro.userId()));
+        }
+        return spec;
+    }
+
+    /**
+     * Condición de keyset: inmuebles situados estrictamente después del cursor
+     * según {@link #ORDEN_CATALOGO}, es decir,
+     * {@code fecha_creacion < :fecha OR (fecha_creacion = :fecha AND id < :id)}.
+     *
+     * @param cursor La posición del último inmueble entregado; si es {@code null} no se restringe nada.
+     * @return La {@link Specification} de keyset.
+     */
+    public static Specification<Inmueble> despuesDe(CatalogoCursor cursor) {
+        if (cursor == null) {
+            return Specification.where(null);
+        }
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("creationDate"), cursor.creationDate()),
+                cb.and(
+                        cb.equal(root.get("creationDate"), cursor.creationDate()),
+                        cb.lessThan(root.get("id"), cursor.id())));
+    }
+
+    /**
+     * Inmuebles cuya ubicación está dentro de un rectángulo geográfico.
+     * <p>
+     * Combina un prefiltro por prefijos geohash (que aprovecha el índice {@code idx_inmueble_geohash})
+     * con la comparación exacta de latitud y longitud para descartar los puntos de las celdas
+     * de borde que quedan fuera del rectángulo.
+     *
+     * @param minLat Latitud mínima.
+     * @param minLon Longitud mínima.
+     * @param maxLat Latitud máxima.
+     * @param maxLon Longitud máxima.
+     * @return La {@link Specification} espacial.
+     */
+    public static Specification<Inmueble> dentroDe(double minLat, double minLon, double maxLat, double maxLon) {
+        Set<String> celdas = GeoHash.coveringCells(minLat, minLon, maxLat, maxLon);
+        return (root, query, cb) -> {
+            Predicate rectangulo = cb.and(
+                    cb.between(root.get("latitude"), minLat, maxLat),
+                    cb.between(root.get("longitude"), minLon, maxLon));
+            if (celdas.isEmpty()) {
+                return rectangulo;
+            }
+            Predicate prefijos = cb.or(celdas.stream()
+                    .map(celda -> cb.like(root.get("geohash"), celda + "%"))
+                    .toArray(Predicate[]::new));
+            return cb.and(prefijos, rectangulo);
+        };
+    }
+
+    /**
+     * Ordena los inmuebles de más cercano a más lejano a un punto, sin restringir ninguno.
+     * <p>
+     * Usa la distancia en una proyección equirectangular centrada en el punto (la longitud se escala
+     * por el coseno de su latitud), que la base de datos calcula sin funciones trigonométricas y que,
+     * para los radios de las búsquedas por proximidad, da el mismo orden que la distancia exacta salvo
+     * diferencias de metros. La consulta no debe llevar además un {@link Sort}, que reemplazaría este orden.
+     *
+     * @param latitude  Latitud del punto.
+     * @param longitude Longitud del punto.
+     * @return La {@link Specification} de ordenación.
+     */
+    public static Specification<Inmueble> ordenadosPorCercaniaA(double latitude, double longitude) {
+        double cosLat = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        return (root, query, cb) -> {
+            Expression<Double> dLat = cb.diff(root.<Double>get("latitude"), latitude);
+            Expression<Double> dLon = cb.prod(cb.diff(root.<Double>get("longitude"), longitude), cosLat);
+            query.orderBy(cb.asc(cb.sum(cb.prod(dLat, dLat), cb.prod(dLon, dLon))));
+            return null;
+        };
+    }
+}
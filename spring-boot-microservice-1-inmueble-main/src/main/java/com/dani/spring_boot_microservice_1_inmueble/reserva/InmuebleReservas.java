@@ -0,0 +1,244 @@
+package com.dani.spring_boot_microservice_1_inmueble.reserva;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmueblePropietario;
+import com.dani.spring_boot_microservice_1_inmueble.event.InmuebleEvent;
+import com.dani.spring_boot_microservice_1_inmueble.shard.EnrutadorShards;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caducidad de las reservas de inmuebles.
+ * <p>
+ * Cada reserva pendiente tiene un temporizador en una {@link RuedaTemporizadores} en memoria, de modo
+ * que no hace falta consultar periódicamente la tabla {@code inmueble_reserva}. Cada
+ * {@code inmueble.reservas.tick}, un único hilo avanza la rueda y libera las reservas vencidas por lotes,
+ * en el shard de cada inmueble (donde también se guarda su reserva):
+ * <ol>
+ * <li>un {@code UPDATE ... FROM inmueble_reserva} devuelve a {@code DISPONIBLE} los inmuebles del lote que
+ * siguen reservados y cuya reserva ha vencido según la base de datos;</li>
+ * <li>un {@code DELETE} borra esas reservas, y las que quedan del lote (renovadas desde otra instancia)
+ * se vuelven a programar con su nueva caducidad.</li>
+ * </ol>
+ * Cada inmueble liberado publica un {@link InmuebleEvent} de cambio de estado, en la misma transacción.
+ * <p>
+ * Al arrancar, la rueda se reconstruye con las reservas de todos los shards; las que vencieron
+ * mientras el servicio estaba parado se liberan en el primer tick. Después, cada instancia solo programa
+ * las reservas que crea o renueva ella misma, así que las de otra instancia que haya caído no vencerían
+ * nunca: para ellas, cada {@code inmueble.reservas.barrido} el mismo hilo busca en {@code inmueble_reserva}
+ * de cada shard (por su índice de {@code expira}) las reservas vencidas y las libera igual que la rueda. La liberación es
+ * idempotente, así que no importa qué instancia llegue antes.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Component
+@Slf4j
+public class InmuebleReservas {
+
+    private static final String SQL_LIBERAR = """
+            update inmueble i set estado = 'DISPONIBLE', version = i.version + 1
+            from inmueble_reserva r
+            where r.inmueble_id = i.id and r.inmueble_id = any(?) and r.expira <= ? and i.estado = 'RESERVADO'
+            returning i.id, i.user_id
+            """;
+
+    private static final String SQL_BORRAR = "delete from inmueble_reserva where inmueble_id = any(?) and expira <= ?";
+
+    private static final String SQL_RENOVADAS = "select inmueble_id, expira from inmueble_reserva where inmueble_id = any(?)";
+
+    private static final String SQL_PENDIENTES = "select inmueble_id, expira from inmueble_reserva";
+
+    private static final String SQL_VENCIDAS =
+            "select inmueble_id from inmueble_reserva where expira <= ? order by expira limit ?";
+
+    private static final int TAMANO_LOTE = 1000;
+
+    /**
+     * Espera antes de reintentar un lote cuya liberación ha fallado.
+     */
+    private static final Duration REINTENTO = Duration.ofSeconds(30);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate cursor;
+    private final EnrutadorShards enrutador;
+    private final TransactionTemplate escritura;
+    private final TransactionTemplate lectura;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RuedaTemporizadores<Long> rueda;
+    private final ScheduledExecutorService procesador;
+
+    public InmuebleReservas(JdbcTemplate jdbcTemplate,
+                            EnrutadorShards enrutador,
+                            PlatformTransactionManager transactionManager,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${inmueble.reservas.tick:1s}") Duration tick,
+                            @Value("${inmueble.reservas.barrido:1m}") Duration barrido) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cursor = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.cursor.setFetchSize(1000);
+        this.enrutador = enrutador;
+        this.escritura = new TransactionTemplate(transactionManager);
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.eventPublisher = eventPublisher;
+        long periodo = Math.max(10, tick.toMillis());
+        this.rueda = new RuedaTemporizadores<>(Duration.ofMillis(periodo), System.currentTimeMillis());
+        this.procesador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "inmueble-reservas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        procesador.scheduleWithFixedDelay(this::avanzar, periodo, periodo, TimeUnit.MILLISECONDS);
+        long periodoBarrido = Math.max(periodo, barrido.toMillis());
+        procesador.scheduleWithFixedDelay(this::barrer, periodoBarrido, periodoBarrido, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reconstruye la rueda con las reservas pendientes al terminar el arranque.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        procesador.execute(this::cargar);
+    }
+
+    /**
+     * Programa (o reprograma) la caducidad de una reserva tras el commit de la transacción en curso.
+     *
+     * @param inmuebleId El ID del inmueble reservado.
+     * @param expira     Caducidad de la reserva.
+     */
+    public void programar(Long inmuebleId, LocalDateTime expira) {
+        despuesDelCommit(() -> rueda.programar(inmuebleId, millis(expira)));
+    }
+
+    /**
+     * Cancela la caducidad de una reserva tras el commit de la transacción en curso.
+     *
+     * @param inmuebleId El ID del inmueble.
+     */
+    public void cancelar(Long inmuebleId) {
+        despuesDelCommit(() -> rueda.cancelar(inmuebleId));
+    }
+
+    @PreDestroy
+    void cerrar() {
+        procesador.shutdownNow();
+    }
+
+    private void despuesDelCommit(Runnable tarea) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            procesador.execute(tarea);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                procesador.execute(tarea);
+            }
+        });
+    }
+
+    private void cargar() {
+        enrutador.enCadaShard(shard -> {
+            try {
+                lectura.executeWithoutResult(status -> cursor.query(SQL_PENDIENTES,
+                        rs -> rueda.programar(rs.getLong(1), millis(rs.getTimestamp(2).toLocalDateTime()))));
+            } catch (RuntimeException e) {
+                log.error("No se pudieron cargar las reservas pendientes del shard {}: {}", shard, e.getMessage());
+            }
+        });
+        log.info("Rueda de reservas cargada: {} reservas pendientes.", rueda.size());
+    }
+
+    private void avanzar() {
+        List<Long> vencidas = rueda.avanzar(System.currentTimeMillis());
+        for (int desde = 0; desde < vencidas.size(); desde += TAMANO_LOTE) {
+            List<Long> lote = vencidas.subList(desde, Math.min(desde + TAMANO_LOTE, vencidas.size()));
+            enrutador.agrupar(lote).forEach((shard, suyos) -> {
+                try {
+                    int liberadas = enrutador.en(shard, () -> escritura.execute(status -> liberar(suyos)));
+                    log.info("Reservas caducadas: {} inmuebles liberados de {} vencimientos.", liberadas, suyos.size());
+                } catch (RuntimeException e) {
+                    log.warn("No se pudieron liberar {} reservas caducadas; se reintentará: {}", suyos.size(), e.getMessage());
+                    long reintento = System.currentTimeMillis() + REINTENTO.toMillis();
+                    suyos.forEach(id -> rueda.programar(id, reintento));
+                }
+            });
+        }
+    }
+
+    /**
+     * Libera las reservas vencidas que no están en la rueda (las de otras instancias), por lotes y shard a shard.
+     */
+    private void barrer() {
+        enrutador.enCadaShard(shard -> {
+            int liberadas = 0;
+            try {
+                List<Long> lote;
+                do {
+                    Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+                    lote = lectura.execute(status -> jdbcTemplate.queryForList(SQL_VENCIDAS, Long.class, ahora, TAMANO_LOTE));
+                    List<Long> vencidas = lote;
+                    if (!vencidas.isEmpty()) {
+                        liberadas += escritura.execute(status -> liberar(vencidas));
+                    }
+                } while (lote.size() == TAMANO_LOTE);
+            } catch (RuntimeException e) {
+                log.warn("No se pudo completar el barrido de reservas caducadas del shard {}; se reintentará: {}",
+                        shard, e.getMessage());
+            }
+            if (liberadas > 0) {
+                log.info("Barrido de reservas caducadas: {} inmuebles liberados en el shard {}.", liberadas, shard);
+            }
+        });
+    }
+
+    /**
+     * Libera un lote de reservas vencidas dentro de la transacción en curso.
+     *
+     * @return El número de inmuebles devueltos a {@code DISPONIBLE}.
+     */
+    private int liberar(List<Long> lote) {
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        PreparedStatementSetter loteYAhora = ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("bigint", lote.toArray()));
+            ps.setTimestamp(2, ahora);
+        };
+        List<InmueblePropietario> liberados = jdbcTemplate.query(SQL_LIBERAR, loteYAhora,
+                (rs, i) -> new InmueblePropietario(rs.getLong(1), rs.getObject(2, Long.class)));
+        jdbcTemplate.update(SQL_BORRAR, loteYAhora);
+        jdbcTemplate.query(SQL_RENOVADAS,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", lote.toArray())),
+                rs -> {
+                    rueda.programar(rs.getLong(1), millis(rs.getTimestamp(2).toLocalDateTime()));
+                });
+        liberados.forEach(inmueble -> eventPublisher.publishEvent(
+                new InmuebleEvent(InmuebleEvent.Tipo.ESTADO_ACTUALIZADO, inmueble.id(), inmueble.userId())));
+        return liberados.size();
+    }
+
+    private static long millis(LocalDateTime fecha) {
+        return fecha.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,185 @@
+package com.dani.spring_boot_microservice_1_inmueble.reserva;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rueda de temporizadores jerárquica (hierarchical timing wheel) en memoria.
+ * <p>
+ * El tiempo avanza en pasos de {@code tick}. Hay {@value #NIVELES} niveles de {@value #RANURAS} ranuras:
+ * el nivel 0 tiene una ranura por tick, y cada ranura del nivel {@code n} abarca una vuelta completa del
+ * nivel {@code n - 1}. Un temporizador se coloca en el nivel más bajo cuyo bloque actual contiene su
+ * vencimiento; cuando el tiempo alcanza una ranura de un nivel superior, sus temporizadores bajan
+ * ("cascada") a los niveles inferiores, hasta llegar al nivel 0 y vencer.
+ * <p>
+ * Programar y cancelar cuestan O(1) y avanzar un tick, O(1) más los temporizadores que vencen o bajan de
+ * nivel, con independencia de cuántos haya pendientes: cientos de miles de temporizadores no suponen más
+ * trabajo por tick que unos pocos, a diferencia de una cola de prioridad (O(log n)) o de consultar
+ * periódicamente la base de datos. La precisión es de un tick.
+ * <p>
+ * Cancelar solo marca el temporizador; se descarta al llegar a su ranura. La clase no es segura para
+ * varios hilos: está pensada para que la use un único hilo.
+ *
+ * @param <K> Tipo de la clave que identifica cada temporizador (a lo sumo uno por clave).
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class RuedaTemporizadores<K> {
+
+    /**
+     * Bits del índice de ranura en cada nivel.
+     */
+    private static final int BITS = 6;
+
+    /**
+     * Ranuras por nivel.
+     */
+    public static final int RANURAS = 1 << BITS;
+
+    /**
+     * Número de niveles: con ticks de un segundo, la rueda abarca más de 2000 años.
+     */
+    public static final int NIVELES = 6;
+
+    private static final int MASCARA = RANURAS - 1;
+
+    private static final class Temporizador<K> {
+        private final K clave;
+        private final long vence;
+        private boolean cancelado;
+
+        private Temporizador(K clave, long vence) {
+            this.clave = clave;
+            this.vence = vence;
+        }
+    }
+
+    private final long tickMillis;
+    @SuppressWarnings("unchecked")
+    private final List<Temporizador<K>>[][] ranuras = new List[NIVELES][RANURAS];
+    private final Map<K, Temporizador<K>> activos = new HashMap<>();
+    private final List<K> vencidos = new ArrayList<>();
+    private long actual;
+
+    /**
+     * @param tick        Duración de un tick (la precisión de la rueda).
+     * @param ahoraMillis Instante actual, en milisegundos.
+     */
+    public RuedaTemporizadores(Duration tick, long ahoraMillis) {
+        if (tick.toMillis() <= 0) {
+            throw new IllegalArgumentException("El tick debe ser de al menos un milisegundo.");
+        }
+        this.tickMillis = tick.toMillis();
+        this.actual = ahoraMillis / tickMillis;
+    }
+
+    /**
+     * Programa un temporizador. Si ya había uno con la misma clave, lo sustituye.
+     * Si el vencimiento ya ha pasado, vence en el siguiente {@link #avanzar}.
+     *
+     * @param clave        La clave del temporizador.
+     * @param venceMillis  Instante de vencimiento, en milisegundos.
+     * @throws IllegalArgumentException si el vencimiento está fuera del alcance de la rueda.
+     */
+    public void programar(K clave, long venceMillis) {
+        // Se redondea hacia arriba: un temporizador nunca vence antes de tiempo.
+        long vence = Math.floorDiv(venceMillis + tickMillis - 1, tickMillis);
+        if (vence > actual && vence >>> (BITS * NIVELES) != actual >>> (BITS * NIVELES)) {
+            throw new IllegalArgumentException("Vencimiento fuera del alcance de la rueda.");
+        }
+        cancelar(clave);
+        Temporizador<K> temporizador = new Temporizador<>(clave, vence);
+        activos.put(clave, temporizador);
+        colocar(temporizador);
+    }
+
+    /**
+     * Cancela un temporizador.
+     *
+     * @param clave La clave del temporizador.
+     * @return {@code true} si estaba pendiente.
+     */
+    public boolean cancelar(K clave) {
+        Temporizador<K> temporizador = activos.remove(clave);
+        if (temporizador == null) {
+            return false;
+        }
+        temporizador.cancelado = true;
+        return true;
+    }
+
+    /**
+     * Avanza la rueda hasta un instante y devuelve los temporizadores vencidos por el camino.
+     *
+     * @param ahoraMillis Instante actual, en milisegundos.
+     * @return Las claves de los temporizadores vencidos, sin orden definido.
+     */
+    public List<K> avanzar(long ahoraMillis) {
+        long destino = ahoraMillis / tickMillis;
+        while (actual < destino) {
+            actual++;
+            for (int nivel = NIVELES - 1; nivel > 0; nivel--) {
+                if ((actual & ((1L << (BITS * nivel)) - 1)) == 0) {
+                    cascada(nivel, (int) ((actual >>> (BITS * nivel)) & MASCARA));
+                }
+            }
+            List<Temporizador<K>> ranura = ranuras[0][(int) (actual & MASCARA)];
+            if (ranura != null) {
+                ranuras[0][(int) (actual & MASCARA)] = null;
+                ranura.forEach(this::vencer);
+            }
+        }
+        List<K> resultado = new ArrayList<>(vencidos);
+        vencidos.clear();
+        return resultado;
+    }
+
+    /**
+     * @return El número de temporizadores pendientes.
+     */
+    public int size() {
+        return activos.size();
+    }
+
+    private void colocar(Temporizador<K> temporizador) {
+        if (temporizador.vence <= actual) {
+            vencer(temporizador);
+            return;
+        }
+        int nivel = 0;
+        while ((temporizador.vence >>> (BITS * (nivel + 1))) != (actual >>> (BITS * (nivel + 1)))) {
+            nivel++;
+        }
+        int indice = (int) ((temporizador.vence >>> (BITS * nivel)) & MASCARA);
+        List<Temporizador<K>> ranura = ranuras[nivel][indice];
+        if (ranura == null) {
+            ranura = new ArrayList<>();
+            ranuras[nivel][indice] = ranura;
+        }
+        ranura.add(temporizador);
+    }
+
+    private void cascada(int nivel, int indice) {
+        List<Temporizador<K>> ranura = ranuras[nivel][indice];
+        if (ranura == null) {
+            return;
+        }
+        ranuras[nivel][indice] = null;
+        for (Temporizador<K> temporizador : ranura) {
+            if (!temporizador.cancelado) {
+                colocar(temporizador);
+            }
+        }
+    }
+
+    private void vencer(Temporizador<K> temporizador) {
+        if (!temporizador.cancelado) {
+            activos.remove(temporizador.clave);
+            vencidos.add(temporizador.clave);
+        }
+    }
+}
@@ -90,6 +90,8 @@ public class SecurityConfig {
      * <p>
      * Configura la seguridad para que todas las peticiones a {@code /api/**}
      * requieran autenticación y utilicen Autenticación Básica (HTTP Basic).
+     * Los endpoints de Actuator (métricas, cachés) también requieren autenticación,
+     * salvo {@code /actuator/health}.
      *
      * @param http El objeto {@link HttpSecurity} para configurar la seguridad web.
      * @return La cadena de filtros de seguridad configurada.
@@ -100,6 +102,8 @@ public class SecurityConfig {
         return http.csrf((csrf) -> csrf.disable())
                 .authorizeHttpRequests(authRequest ->
                         authRequest.requestMatchers("/api/**").authenticated()
+                                .requestMatchers("/actuator/health").permitAll()
+                                .requestMatchers("/actuator/**").authenticated()
                                 .anyRequest().permitAll()
                 )
                 .sessionManagement(session ->
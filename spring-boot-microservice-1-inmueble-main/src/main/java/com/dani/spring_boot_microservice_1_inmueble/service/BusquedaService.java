@@ -0,0 +1,64 @@
+package com.dani.spring_boot_microservice_1_inmueble.service;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.BusquedaGuardada;
+import com.dani.spring_boot_microservice_1_inmueble.model.InmuebleAlerta;
+
+import java.util.List;
+
+/**
+ * Interfaz que define el contrato de las búsquedas guardadas y de la bandeja de avisos
+ * de nuevos inmuebles que las cumplen.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public interface BusquedaService {
+
+    /**
+     * Guarda una nueva búsqueda del usuario. Desde ese momento, cada inmueble que se cree o actualice
+     * y la cumpla genera un aviso en su bandeja.
+     *
+     * @param busqueda        Los criterios de la búsqueda (se ignoran {@code id}, {@code userId} y la fecha).
+     * @param requestorUserId El ID del usuario que realiza la petición.
+     * @return La búsqueda guardada.
+     * @throws IllegalArgumentException si el rango de precio no es válido o el usuario ya tiene el máximo de búsquedas.
+     */
+    BusquedaGuardada guardarBusqueda(BusquedaGuardada busqueda, Long requestorUserId);
+
+    /**
+     * @param userId El ID del usuario.
+     * @return Las búsquedas guardadas del usuario, más recientes primero.
+     */
+    List<BusquedaGuardada> findBusquedasByUserId(Long userId);
+
+    /**
+     * Elimina una búsqueda guardada. Los avisos ya generados se conservan.
+     *
+     * @param busquedaId      El ID de la búsqueda.
+     * @param requestorUserId El ID del usuario que realiza la petición.
+     * @param requestorRoles  Los roles del usuario que realiza la petición.
+     * @return {@code true} si se ha eliminado, {@code false} si no existía.
+     * @throws SecurityException si el usuario no es el dueño de la búsqueda ni administrador.
+     */
+    boolean eliminarBusqueda(Long busquedaId, Long requestorUserId, List<String> requestorRoles);
+
+    /**
+     * Devuelve la bandeja de avisos de un usuario.
+     *
+     * @param userId       El ID del usuario.
+     * @param soloNoLeidas Si es {@code true}, solo los avisos no leídos.
+     * @param limit        Número máximo de avisos; se limita a un máximo razonable.
+     * @return Los avisos, más recientes primero.
+     */
+    List<InmuebleAlerta> findAlertas(Long userId, boolean soloNoLeidas, int limit);
+
+    /**
+     * Marca como leídos los avisos de un usuario hasta uno dado (inclusive).
+     *
+     * @param userId  El ID del usuario.
+     * @param hastaId El ID del aviso más reciente que ha visto el usuario.
+     * @return El número de avisos marcados.
+     */
+    int marcarAlertasLeidas(Long userId, Long hastaId);
+}
@@ -0,0 +1,100 @@
+package com.dani.spring_boot_microservice_1_inmueble.service;
+
+import com.dani.spring_boot_microservice_1_inmueble.alerta.InmuebleAlertas;
+import com.dani.spring_boot_microservice_1_inmueble.model.BusquedaGuardada;
+import com.dani.spring_boot_microservice_1_inmueble.model.InmuebleAlerta;
+import com.dani.spring_boot_microservice_1_inmueble.repository.BusquedaGuardadaRepository;
+import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleAlertaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Implementación de {@link BusquedaService}.
+ * <p>
+ * Las búsquedas se guardan en la base de datos y se registran en el percolador de
+ * {@link InmuebleAlertas} en cuanto se confirman (cada repositorio usa su propia transacción).
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BusquedaServiceImpl implements BusquedaService {
+
+    /**
+     * Número máximo de búsquedas guardadas por usuario.
+     */
+    private static final int MAX_BUSQUEDAS_POR_USUARIO = 50;
+
+    /**
+     * Número máximo de avisos devueltos en una consulta de la bandeja.
+     */
+    private static final int MAX_ALERTAS = 200;
+
+    private final BusquedaGuardadaRepository busquedaRepository;
+    private final InmuebleAlertaRepository alertaRepository;
+    private final InmuebleAlertas alertas;
+
+    @Override
+    public BusquedaGuardada guardarBusqueda(BusquedaGuardada busqueda, Long requestorUserId) {
+        if (busqueda.getPrecioMinimo() != null && busqueda.getPrecioMaximo() != null
+                && busqueda.getPrecioMinimo() > busqueda.getPrecioMaximo()) {
+            throw new IllegalArgumentException("El precio mínimo no puede ser mayor que el máximo.");
+        }
+        if (busquedaRepository.countByUserId(requestorUserId) >= MAX_BUSQUEDAS_POR_USUARIO) {
+            throw new IllegalArgumentException("Se admiten como máximo " + MAX_BUSQUEDAS_POR_USUARIO + " búsquedas por usuario.");
+        }
+        busqueda.setId(null);
+        busqueda.setUserId(requestorUserId);
+        busqueda.setTexto(busqueda.getTexto() == null || busqueda.getTexto().isBlank() ? null : busqueda.getTexto().trim());
+        busqueda.setFechaCreacion(LocalDateTime.now());
+        BusquedaGuardada guardada = busquedaRepository.save(busqueda);
+        alertas.registrar(guardada);
+        log.info("Búsqueda ID {} guardada por usuario ID: {}", guardada.getId(), requestorUserId);
+        return guardada;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BusquedaGuardada> findBusquedasByUserId(Long userId) {
+        return busquedaRepository.findAllByUserIdOrderByIdDesc(userId);
+    }
+
+    @Override
+    public boolean eliminarBusqueda(Long busquedaId, Long requestorUserId, List<String> requestorRoles) {
+        return busquedaRepository.findById(busquedaId)
+                .map(busqueda -> {
+                    if (!requestorRoles.contains("ROLE_ADMIN") && !busqueda.getUserId().equals(requestorUserId)) {
+                        log.warn("Acceso denegado. Usuario {} no tiene permiso para eliminar la búsqueda ID: {}", requestorUserId, busquedaId);
+                        throw new SecurityException("No tiene permiso para eliminar esta búsqueda.");
+                    }
+                    busquedaRepository.delete(busqueda);
+                    alertas.retirar(busquedaId);
+                    log.info("Búsqueda ID {} eliminada por usuario ID: {}", busquedaId, requestorUserId);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<InmuebleAlerta> findAlertas(Long userId, boolean soloNoLeidas, int limit) {
+        Limit max = Limit.of(Math.max(1, Math.min(limit, MAX_ALERTAS)));
+        return soloNoLeidas
+                ? alertaRepository.findByUserIdAndLeidaFalseOrderByIdDesc(userId, max)
+                : alertaRepository.findByUserIdOrderByIdDesc(userId, max);
+    }
+
+    @Override
+    public int marcarAlertasLeidas(Long userId, Long hastaId) {
+        return alertaRepository.marcarLeidas(userId, hastaId);
+    }
+}
@@ -0,0 +1,82 @@
+package com.dani.spring_boot_microservice_1_inmueble.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Separador mínimo de líneas CSV (RFC 4180) para la importación masiva.
+ * <p>
+ * Admite campos entre comillas dobles con comas y comillas escapadas ({@code ""}) en su interior.
+ * No admite saltos de línea dentro de un campo: cada línea del fichero es un registro.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+final class CsvLinea {
+
+    private CsvLinea() {
+    }
+
+    /**
+     * Divide una línea CSV en sus campos. Los campos no entrecomillados se devuelven sin
+     * espacios iniciales ni finales.
+     *
+     * @param linea La línea a dividir.
+     * @return Los campos de la línea, en orden.
+     * @throws IllegalArgumentException si hay unas comillas sin cerrar o texto tras unas comillas de cierre.
+     */
+    static List<String> split(String linea) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        int i = 0;
+        int n = linea.length();
+        while (true) {
+            while (i < n && linea.charAt(i) == ' ') {
+                i++;
+            }
+            if (i < n && linea.charAt(i) == '"') {
+                i++;
+                boolean cerrado = false;
+                while (i < n) {
+                    char c = linea.charAt(i++);
+                    if (c == '"') {
+                        if (i < n && linea.charAt(i) == '"') {
+                            actual.append('"');
+                            i++;
+                        } else {
+                            cerrado = true;
+                            break;
+                        }
+                    } else {
+                        actual.append(c);
+                    }
+                }
+                if (!cerrado) {
+                    throw new IllegalArgumentException("Comillas sin cerrar");
+                }
+                while (i < n && linea.charAt(i) == ' ') {
+                    i++;
+                }
+                if (i < n && linea.charAt(i) != ',') {
+                    throw new IllegalArgumentException("Texto inesperado tras un campo entrecomillado");
+                }
+                campos.add(actual.toString());
+            } else {
+                int coma = linea.indexOf(',', i);
+                int fin = coma < 0 ? n : coma;
+                campos.add(linea.substring(i, fin).strip());
+                i = fin;
+            }
+            actual.setLength(0);
+            if (i >= n) {
+                return campos;
+            }
+            i++; // salta la coma
+            if (i == n) {
+                campos.add("");
+                return campos;
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.dani.spring_boot_microservice_1_inmueble.service;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.FormatoImportacion;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleImportResult;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Interfaz que define el contrato para la importación masiva de inmuebles
+ * (por ejemplo, el alta inicial del catálogo de una agencia).
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public interface InmuebleImportService {
+
+    /**
+     * Importa todos los inmuebles contenidos en un fichero CSV o NDJSON.
+     * <p>
+     * El fichero se procesa en flujo, sin cargarlo completo en memoria. Cada fila se valida
+     * por separado: las inválidas se descartan y se informan en el resultado, y las válidas
+     * se insertan como nuevos inmuebles del usuario solicitante, con estado
+     * {@code DISPONIBLE} si no se indica otro.
+     *
+     * @param reader          El contenido del fichero.
+     * @param formato         El formato del fichero.
+     * @param requestorUserId El ID del usuario que realiza la importación (propietario de los inmuebles).
+     * @return Un {@link InmuebleImportResult} con el número de filas importadas y rechazadas.
+     * @throws IllegalArgumentException si la cabecera CSV no es válida.
+     * @throws IOException si falla la lectura del fichero.
+     */
+    InmuebleImportResult importInmuebles(Reader reader, FormatoImportacion formato, Long requestorUserId) throws IOException;
+}
@@ -0,0 +1,293 @@
+package com.dani.spring_boot_microservice_1_inmueble.service;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.FormatoImportacion;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleImportError;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleImportResult;
+import com.dani.spring_boot_microservice_1_inmueble.event.InmuebleEvent;
+import com.dani.spring_boot_microservice_1_inmueble.geo.GazetteerGeocoder;
+import com.dani.spring_boot_microservice_1_inmueble.geo.GeoPoint;
+import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
+import com.dani.spring_boot_microservice_1_inmueble.model.Inmueble;
+import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleBulkRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Implementación de {@link InmuebleImportService} basada en {@code COPY} de PostgreSQL.
+ * <p>
+ * El fichero se lee línea a línea y las filas válidas se acumulan en lotes de
+ * {@code inmueble.import.batch-size} elementos. Para cada lote se reservan los IDs necesarios
+ * de la secuencia (una llamada por cada bloque de IDs) y se envía un único {@code COPY}
+ * a través de {@link InmuebleBulkRepository}. Nada pasa por el contexto de persistencia de JPA.
+ * <p>
+ * Cada lote se inserta en su propia transacción, para no mantener abierta una sola durante todo el
+ * fichero ni acumular hasta el commit los eventos de todas las filas. Un fallo de la base de datos
+ * deshace solo el lote en curso y detiene la importación (los lotes anteriores quedan guardados),
+ * mientras que los errores de validación solo descartan la fila afectada.
+ * Por cada inmueble insertado se publica un {@link InmuebleEvent} de tipo
+ * {@link InmuebleEvent.Tipo#CREADO}, igual que en un alta individual.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Service
+@Slf4j
+public class InmuebleImportServiceImpl implements InmuebleImportService {
+
+    /**
+     * Número máximo de errores detallados en la respuesta.
+     */
+    private static final int MAX_ERRORES_REPORTADOS = 1000;
+
+    /**
+     * Longitud máxima de los campos de texto (columnas {@code varchar(255)}).
+     */
+    private static final int LONGITUD_MAXIMA_TEXTO = 255;
+
+    private static final List<String> CAMPOS = List.of(
+            "name", "address", "picture", "price", "latitude", "longitude", "estado");
+
+    private final InmuebleBulkRepository bulkRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GazetteerGeocoder geocoder;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate escritura;
+    private final int tamanoLote;
+
+    public InmuebleImportServiceImpl(InmuebleBulkRepository bulkRepository,
+                                     ApplicationEventPublisher eventPublisher,
+                                     GazetteerGeocoder geocoder,
+                                     ObjectMapper objectMapper,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${inmueble.import.batch-size:5000}") int tamanoLote) {
+        this.bulkRepository = bulkRepository;
+        this.eventPublisher = eventPublisher;
+        this.geocoder = geocoder;
+        this.objectMapper = objectMapper;
+        this.escritura = new TransactionTemplate(transactionManager);
+        this.tamanoLote = Math.max(1, tamanoLote);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InmuebleImportResult importInmuebles(Reader reader, FormatoImportacion formato, Long requestorUserId) throws IOException {
+        log.info("Iniciando importación {} para usuario ID: {}", formato, requestorUserId);
+        long inicio = System.nanoTime();
+        BufferedReader lineas = reader instanceof BufferedReader br ? br : new BufferedReader(reader, 64 * 1024);
+
+        List<String> cabecera = null;
+        if (formato == FormatoImportacion.CSV) {
+            String primera = lineas.readLine();
+            if (primera == null) {
+                return new InmuebleImportResult(0, 0, List.of());
+            }
+            cabecera = leerCabecera(primera);
+        }
+
+        LocalDateTime ahora = LocalDateTime.now();
+        List<Inmueble> lote = new ArrayList<>(tamanoLote);
+        List<InmuebleImportError> errores = new ArrayList<>();
+        long importados = 0;
+        long rechazados = 0;
+        long numeroLinea = cabecera == null ? 0 : 1;
+
+        String linea;
+        while ((linea = lineas.readLine()) != null) {
+            numeroLinea++;
+            if (linea.isBlank()) {
+                continue;
+            }
+            try {
+                Map<String, String> campos = cabecera != null ? camposCsv(cabecera, linea) : camposNdjson(linea);
+                lote.add(aInmueble(campos, requestorUserId, ahora));
+            } catch (IllegalArgumentException e) {
+                rechazados++;
+                if (errores.size() < MAX_ERRORES_REPORTADOS) {
+                    errores.add(new InmuebleImportError(numeroLinea, e.getMessage()));
+                }
+                continue;
+            }
+            if (lote.size() == tamanoLote) {
+                importados += cargarLote(lote);
+            }
+        }
+        importados += cargarLote(lote);
+
+        long ms = (System.nanoTime() - inicio) / 1_000_000;
+        log.info("Importación {} finalizada en {} ms: {} importados, {} rechazados.", formato, ms, importados, rechazados);
+        return new InmuebleImportResult(importados, rechazados, errores);
+    }
+
+    /**
+     * Asigna IDs al lote, lo inserta con {@code COPY} y publica los eventos de alta en una transacción
+     * propia, y lo vacía.
+     */
+    private long cargarLote(List<Inmueble> lote) {
+        if (lote.isEmpty()) {
+            return 0;
+        }
+        Long insertados = escritura.execute(status -> insertarLote(lote));
+        log.debug("Lote de importación cargado: {} inmuebles.", insertados);
+        lote.clear();
+        return insertados;
+    }
+
+    private long insertarLote(List<Inmueble> lote) {
+        List<Long> ids = bulkRepository.reservarIds(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            lote.get(i).setId(ids.get(i));
+        }
+        long insertados = bulkRepository.copiar(lote);
+        for (Inmueble inmueble : lote) {
+            eventPublisher.publishEvent(new InmuebleEvent(InmuebleEvent.Tipo.CREADO, inmueble.getId(), inmueble.getUserId()));
+        }
+        return insertados;
+    }
+
+    private static List<String> leerCabecera(String linea) {
+        if (!linea.isEmpty() && linea.charAt(0) == '\uFEFF') {
+            linea = linea.substring(1);
+        }
+        List<String> cabecera = CsvLinea.split(linea).stream()
+                .map(c -> c.strip().toLowerCase(Locale.ROOT))
+                .toList();
+        for (String obligatoria : List.of("name", "address", "price")) {
+            if (!cabecera.contains(obligatoria)) {
+                throw new IllegalArgumentException("La cabecera CSV debe incluir la columna '" + obligatoria + "'.");
+            }
+        }
+        return cabecera;
+    }
+
+    private static Map<String, String> camposCsv(List<String> cabecera, String linea) {
+        List<String> valores = CsvLinea.split(linea);
+        if (valores.size() != cabecera.size()) {
+            throw new IllegalArgumentException("Se esperaban " + cabecera.size() + " columnas y se encontraron " + valores.size() + ".");
+        }
+        Map<String, String> campos = new HashMap<>();
+        for (int i = 0; i < cabecera.size(); i++) {
+            campos.put(cabecera.get(i), valores.get(i));
+        }
+        return campos;
+    }
+
+    private Map<String, String> camposNdjson(String linea) {
+        JsonNode nodo;
+        try {
+            nodo = objectMapper.readTree(linea);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+        }
+        if (nodo == null || !nodo.isObject()) {
+            throw new IllegalArgumentException("Cada línea debe ser un objeto JSON.");
+        }
+        Map<String, String> campos = new HashMap<>();
+        for (String campo : CAMPOS) {
+            JsonNode valor = nodo.get(campo);
+            if (valor != null && !valor.isNull()) {
+                campos.put(campo, valor.asText());
+            }
+        }
+        return campos;
+    }
+
+    /**
+     * Valida los campos de una fila y construye el inmueble correspondiente.
+     *
+     * @throws IllegalArgumentException con un mensaje descriptivo si algún campo no es válido.
+     */
+    private Inmueble aInmueble(Map<String, String> campos, Long userId, LocalDateTime creationDate) {
+        Inmueble inmueble = new Inmueble();
+        inmueble.setName(texto(campos, "name", true));
+        inmueble.setAddress(texto(campos, "address", true));
+        inmueble.setPicture(texto(campos, "picture", false));
+
+        Double price = numero(campos, "price");
+        if (price == null) {
+            throw new IllegalArgumentException("El campo 'price' es obligatorio.");
+        }
+        if (price <= 0) {
+            throw new IllegalArgumentException("El campo 'price' debe ser un número positivo.");
+        }
+        inmueble.setPrice(price);
+
+        Double latitude = numero(campos, "latitude");
+        Double longitude = numero(campos, "longitude");
+        if ((latitude == null) != (longitude == null)) {
+            throw new IllegalArgumentException("Los campos 'latitude' y 'longitude' deben indicarse juntos.");
+        }
+        if (latitude != null) {
+            GeoPoint punto = new GeoPoint(latitude, longitude);
+            inmueble.setLatitude(punto.latitude());
+            inmueble.setLongitude(punto.longitude());
+        } else {
+            geocoder.geocode(inmueble.getAddress()).ifPresent(punto -> {
+                inmueble.setLatitude(punto.latitude());
+                inmueble.setLongitude(punto.longitude());
+            });
+        }
+
+        String estado = texto(campos, "estado", false);
+        try {
+            inmueble.setEstado(estado == null ? EstadoInmueble.DISPONIBLE : EstadoInmueble.valueOf(estado.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Estado desconocido: '" + estado + "'.");
+        }
+
+        inmueble.setUserId(userId);
+        inmueble.setCreationDate(creationDate);
+        return inmueble;
+    }
+
+    private static String texto(Map<String, String> campos, String campo, boolean obligatorio) {
+        String valor = campos.get(campo);
+        valor = valor == null ? null : valor.strip();
+        if (valor == null || valor.isEmpty()) {
+            if (obligatorio) {
+                throw new IllegalArgumentException("El campo '" + campo + "' es obligatorio.");
+            }
+            return null;
+        }
+        if (valor.length() > LONGITUD_MAXIMA_TEXTO) {
+            throw new IllegalArgumentException("El campo '" + campo + "' supera los " + LONGITUD_MAXIMA_TEXTO + " caracteres.");
+        }
+        return valor;
+    }
+
+    private static Double numero(Map<String, String> campos, String campo) {
+        String valor = campos.get(campo);
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        double numero;
+        try {
+            numero = Double.parseDouble(valor.strip());
+        } catch (NumberFormatException e) {
+            numero = Double.NaN;
+        }
+        if (!Double.isFinite(numero)) {
+            throw new IllegalArgumentException("El campo '" + campo + "' no es un número válido: '" + valor + "'.");
+        }
+        return numero;
+    }
+}
@@ -0,0 +1,51 @@
+package com.dani.spring_boot_microservice_1_inmueble.service;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.FormatoImportacion;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleImportResult;
+import com.dani.spring_boot_microservice_1_inmueble.shard.Shards;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * {@link InmuebleImportService} repartido entre shards (ver {@code shard.ShardConfig}), activo solo si se
+ * define {@code inmueble.shards.urls}.
+ * <p>
+ * Todos los inmuebles importados pertenecen al solicitante, así que la importación completa se ejecuta
+ * en su shard, el mismo en el que {@link InmuebleServiceShardeado} busca sus inmuebles. Como
+ * {@link InmuebleImportServiceImpl} reserva los IDs de la secuencia a través de la conexión del shard,
+ * salen del rango de ese shard y cualquier operación posterior por ID lo encuentra.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "inmueble.shards.urls")
+public class InmuebleImportServiceShardeado implements InmuebleImportService {
+
+    private final InmuebleImportService delegado;
+    private final Shards shards;
+
+    public InmuebleImportServiceShardeado(@Qualifier("inmuebleImportServiceImpl") InmuebleImportService delegado,
+                                          Shards shards) {
+        this.delegado = delegado;
+        this.shards = shards;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Se ejecuta en el shard del solicitante.
+     */
+    @Override
+    public InmuebleImportResult importInmuebles(Reader reader, FormatoImportacion formato, Long requestorUserId) throws IOException {
+        return shards.en(shards.deUsuario(requestorUserId),
+                () -> delegado.importInmuebles(reader, formato, requestorUserId));
+    }
+}
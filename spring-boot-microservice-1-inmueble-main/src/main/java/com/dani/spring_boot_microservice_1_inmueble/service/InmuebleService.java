@@ -1,10 +1,23 @@
 package com.dani.spring_boot_microservice_1_inmueble.service;
 
+import com.dani.spring_boot_microservice_1_inmueble.dto.CampoInmueble;
+import com.dani.spring_boot_microservice_1_inmueble.dto.EstadoCambio;
+import com.dani.spring_boot_microservice_1_inmueble.dto.EstadoCambioResultado;
+import com.dani.spring_boot_microservice_1_inmueble.dto.EstadoTransicion;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleFiltro;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmueblePage;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleStats;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleResumen;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleSearchResult;
 import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
 import com.dani.spring_boot_microservice_1_inmueble.model.Inmueble;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Interfaz que define el contrato para las operaciones de negocio
@@ -19,6 +32,11 @@ import java.util.Optional;
  */
 public interface InmuebleService {
 
+    /**
+     * Número máximo de IDs distintos admitidos en una búsqueda por lote ({@link #findAllById(Collection)}).
+     */
+    int MAX_IDS_LOTE = 500;
+
     /**
      * Guarda un nuevo inmueble o actualiza uno existente.
      * <p>
@@ -32,8 +50,13 @@ public interface InmuebleService {
      * @param requestorUserId El ID del usuario que realiza la petición.
      * @param requestorRoles La lista de roles del usuario que realiza la petición.
      * @return El objeto {@link Inmueble} guardado o actualizado.
+     * Si el cuerpo incluye {@code version}, la actualización solo se aplica si coincide con la
+     * versión actual del inmueble (bloqueo optimista).
+     *
      * @throws SecurityException si el usuario no tiene permisos para actualizar el inmueble.
      * @throws IllegalArgumentException si se intenta actualizar un inmueble que no existe.
+     * @throws org.springframework.dao.OptimisticLockingFailureException si el inmueble ha cambiado
+     * desde que el cliente leyó la versión indicada.
      */
     Inmueble saveInmueble(Inmueble inmueble, Long requestorUserId, List<String> requestorRoles);
 
@@ -51,21 +74,70 @@ public interface InmuebleService {
     void deleteInmueble(Long inmuebleId, Long requestorUserId, List<String> requestorRoles);
 
     /**
-     * Devuelve una lista de todos los inmuebles registrados en el sistema.
+     * Devuelve una lista de todos los inmuebles registrados en el sistema,
+     * como proyecciones de listado.
      *
-     * @return Una {@link List} de todos los objetos {@link Inmueble}.
+     * @return Una {@link List} de {@link InmuebleResumen}, más recientes primero.
      */
-    List<Inmueble> findAllInmuebles();
+    List<InmuebleResumen> findAllInmuebles();
 
     /**
-     * Actualiza el estado de un inmueble específico.
-     * Este método es típicamente llamado por otros servicios (ej. `compra-service`)
-     * para cambiar el estado de un inmueble a "VENDIDO" después de una compra.
+     * Igual que {@link #findAllInmuebles()}, pero leyendo y devolviendo solo los campos indicados
+     * (sparse fieldsets).
+     *
+     * @param campos Los campos solicitados (ver {@link CampoInmueble#parse(String)}).
+     * @return Un mapa {@code campo -> valor} por inmueble, más recientes primero.
+     */
+    List<Map<String, Object>> findAllInmuebles(Set<CampoInmueble> campos);
+
+    /**
+     * Actualiza el estado de un inmueble específico, siempre que la transición esté permitida desde
+     * su estado actual (ver {@link EstadoInmueble#puedeTransicionarA}).
+     * <p>
+     * Es una operación administrativa: no comprueba la versión ni el titular de una reserva, y si se
+     * aplica descarta la reserva que tuviera el inmueble. Las compras usan
+     * {@link #transicionarEstado(Long, EstadoInmueble, Long, Long)}.
      *
      * @param inmuebleId El ID del inmueble a actualizar.
      * @param estado El nuevo {@link EstadoInmueble} a asignar.
+     * @return Una {@link EstadoTransicion} con el resultado, o vacío si el inmueble no existe.
      */
-    void updateInmuebleEstado(Long inmuebleId, EstadoInmueble estado);
+    Optional<EstadoTransicion> updateInmuebleEstado(Long inmuebleId, EstadoInmueble estado);
+
+    /**
+     * Aplica muchos cambios de estado en una sola operación.
+     * <p>
+     * Los cambios se procesan en lotes, cada uno en su propia transacción; dentro de un lote se
+     * ejecuta una única sentencia {@code UPDATE} por cada estado de destino. Como en
+     * {@link #updateInmuebleEstado(Long, EstadoInmueble)}, solo se aplican las transiciones permitidas desde
+     * el estado actual; las demás se informan como {@link EstadoCambioResultado.Resultado#NO_PERMITIDO}.
+     * Si un mismo inmueble aparece varias veces, solo se aplica su último cambio. El fallo de un lote no
+     * afecta a los demás.
+     *
+     * @param cambios Los cambios solicitados.
+     * @return Un {@link EstadoCambioResultado} por cada cambio, en el mismo orden que la entrada.
+     * @throws IllegalArgumentException si se solicitan más cambios de los permitidos por petición.
+     */
+    List<EstadoCambioResultado> updateInmueblesEstado(List<EstadoCambio> cambios);
+
+    /**
+     * Cambia el estado de un inmueble solo si la máquina de estados lo permite desde su estado actual
+     * (ver {@link EstadoInmueble#puedeTransicionarA(EstadoInmueble)}), como una operación atómica.
+     * <p>
+     * A diferencia de {@link #updateInmuebleEstado(Long, EstadoInmueble)}, dos peticiones concurrentes
+     * (por ejemplo, dos compras del mismo inmueble) no pueden ganar ambas: exactamente una obtiene
+     * {@code aplicada = true}. Un inmueble reservado (ver {@link ReservaService}) es exclusivo del titular
+     * de la reserva: solo él puede sacarlo de {@code RESERVADO}, por ejemplo para comprarlo.
+     *
+     * @param inmuebleId      El ID del inmueble.
+     * @param destino         El estado al que se quiere pasar.
+     * @param versionEsperada Si no es {@code null}, la transición exige además que la versión actual
+     *                        del inmueble sea esta.
+     * @param requestorUserId El usuario que pide la transición (el comprador, en una compra), o {@code null}.
+     * @return Una {@link EstadoTransicion} con el resultado, o vacío si el inmueble no existe.
+     */
+    Optional<EstadoTransicion> transicionarEstado(Long inmuebleId, EstadoInmueble destino, Long versionEsperada,
+                                                  Long requestorUserId);
 
     /**
      * Busca un inmueble por su ID.
@@ -76,11 +148,134 @@ public interface InmuebleService {
      */
     Optional<Inmueble> findById(Long inmuebleId);
 
+    /**
+     * Busca varios inmuebles por su ID con una sola consulta, en lugar de una llamada a
+     * {@link #findById(Long)} por inmueble.
+     *
+     * @param inmuebleIds Los IDs a buscar; los repetidos se ignoran.
+     * @return Los inmuebles encontrados, en el orden de {@code inmuebleIds}; los que no existen se omiten.
+     * @throws IllegalArgumentException si se piden más de {@value #MAX_IDS_LOTE} IDs distintos.
+     */
+    List<Inmueble> findAllById(Collection<Long> inmuebleIds);
+
+    /**
+     * Busca un inmueble por su ID leyendo y devolviendo solo los campos indicados.
+     *
+     * @param inmuebleId El ID del inmueble a buscar.
+     * @param campos     Los campos solicitados.
+     * @return Un mapa {@code campo -> valor}, o un {@link Optional} vacío si no existe.
+     */
+    Optional<Map<String, Object>> findById(Long inmuebleId, Set<CampoInmueble> campos);
+
     /**
      * Devuelve todos los inmuebles pertenecientes a un usuario específico.
      *
      * @param userId El ID del usuario cuyos inmuebles se desean recuperar.
-     * @return Una {@link List} de objetos {@link Inmueble} del usuario.
+     * @return Una {@link List} de {@link InmuebleResumen} del usuario, más recientes primero.
+     */
+    List<InmuebleResumen> findAllByUserId(Long userId);
+
+    /**
+     * Igual que {@link #findAllByUserId(Long)}, pero leyendo y devolviendo solo los campos indicados.
+     *
+     * @param userId El ID del propietario.
+     * @param campos Los campos solicitados.
+     * @return Un mapa {@code campo -> valor} por inmueble, más recientes primero.
+     */
+    List<Map<String, Object>> findAllByUserId(Long userId, Set<CampoInmueble> campos);
+
+    /**
+     * Devuelve una página del catálogo usando paginación por cursor (keyset).
+     * <p>
+     * Los inmuebles se ordenan por fecha de creación descendente (y por ID como desempate).
+     * Cada página continúa estrictamente después del cursor recibido, por lo que el coste
+     * de obtenerla es independiente del tamaño total de la tabla.
+     *
+     * @param filtro Criterios opcionales de filtrado (estado, rango de precio, propietario).
+     * @param cursor Token devuelto en la página anterior, o {@code null} para la primera página.
+     * @param size   Número de elementos solicitados; se limita a un máximo razonable.
+     * @return Una {@link InmueblePage} de {@link InmuebleResumen} y el cursor de la siguiente página.
+     * @throws IllegalArgumentException si el cursor no es válido.
+     */
+    InmueblePage<InmuebleResumen> findInmueblesPage(InmuebleFiltro filtro, String cursor, int size);
+
+    /**
+     * Igual que {@link #findInmueblesPage(InmuebleFiltro, String, int)}, pero leyendo y devolviendo
+     * solo los campos indicados.
+     *
+     * @param filtro Criterios opcionales de filtrado.
+     * @param cursor Token de la página anterior, o {@code null} para la primera página.
+     * @param size   Número de elementos solicitados.
+     * @param campos Los campos solicitados.
+     * @return Una {@link InmueblePage} de mapas {@code campo -> valor}.
+     * @throws IllegalArgumentException si el cursor no es válido.
+     */
+    InmueblePage<Map<String, Object>> findInmueblesPage(InmuebleFiltro filtro, String cursor, int size,
+                                                        Set<CampoInmueble> campos);
+
+    /**
+     * Recorre todo el catálogo de inmuebles, uno a uno, sin materializarlo en memoria.
+     * <p>
+     * Pensado para exportaciones masivas: cada inmueble se entrega al {@code consumer}
+     * y se libera inmediatamente, por lo que el consumo de memoria es constante
+     * independientemente del tamaño del catálogo.
+     *
+     * @param consumer Acción a ejecutar para cada {@link Inmueble}, en orden de ID.
+     * @return El número de inmuebles recorridos.
+     */
+    long forEachInmueble(Consumer<Inmueble> consumer);
+
+    /**
+     * Busca inmuebles cuyo nombre o dirección coincidan con un texto libre,
+     * ordenados por relevancia.
+     *
+     * @param texto El texto de búsqueda introducido por el usuario.
+     * @param page  Número de página (empezando en 0).
+     * @param size  Tamaño de página; se limita a un máximo razonable.
+     * @return Un {@link InmuebleSearchResult} con los inmuebles de la página solicitada.
+     * @throws IllegalArgumentException si el texto de búsqueda está vacío.
+     */
+    InmuebleSearchResult<Inmueble> searchInmuebles(String texto, int page, int size);
+
+    /**
+     * Devuelve los inmuebles situados dentro de un rectángulo geográfico.
+     *
+     * @param minLat Latitud mínima.
+     * @param minLon Longitud mínima.
+     * @param maxLat Latitud máxima.
+     * @param maxLon Longitud máxima.
+     * @param limit  Número máximo de resultados; se limita a un máximo razonable.
+     * @return Los inmuebles dentro del rectángulo, más recientes primero.
+     * @throws IllegalArgumentException si el rectángulo no es válido o cruza el antimeridiano.
+     */
+    List<Inmueble> findWithinBoundingBox(double minLat, double minLon, double maxLat, double maxLon, int limit);
+
+    /**
+     * Devuelve los inmuebles situados a menos de una distancia de un punto,
+     * ordenados de más cercano a más lejano.
+     *
+     * @param latitude  Latitud del centro.
+     * @param longitude Longitud del centro.
+     * @param radiusKm  Radio de búsqueda en kilómetros.
+     * @param limit     Número máximo de resultados; se limita a un máximo razonable.
+     * @return Los inmuebles dentro del radio, ordenados por distancia.
+     * @throws IllegalArgumentException si las coordenadas o el radio no son válidos.
+     */
+    List<Inmueble> findNear(double latitude, double longitude, double radiusKm, int limit);
+
+    /**
+     * Devuelve las estadísticas globales del catálogo: total de inmuebles, desglose por estado,
+     * agregados de precio y número de propietarios.
+     *
+     * @return Las {@link InmuebleStats} globales.
+     */
+    InmuebleStats getEstadisticas();
+
+    /**
+     * Devuelve las estadísticas de los inmuebles de un propietario.
+     *
+     * @param userId El ID del propietario.
+     * @return Las {@link InmuebleStats} del propietario (con total 0 si no tiene inmuebles).
      */
-    List<Inmueble> findAllByUserId(Long userId);
-}
\ No newline at end of file
+    InmuebleStats getEstadisticasDeUsuario(Long userId);
+}
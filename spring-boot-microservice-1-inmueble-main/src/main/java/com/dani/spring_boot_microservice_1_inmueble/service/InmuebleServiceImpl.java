@@ -1,16 +1,61 @@
 package com.dani.spring_boot_microservice_1_inmueble.service;
 
+import com.dani.spring_boot_microservice_1_inmueble.cache.InmuebleCacheConfig;
+import com.dani.spring_boot_microservice_1_inmueble.dto.CampoInmueble;
+import com.dani.spring_boot_microservice_1_inmueble.dto.CatalogoCursor;
+import com.dani.spring_boot_microservice_1_inmueble.dto.EstadoAgregado;
+import com.dani.spring_boot_microservice_1_inmueble.dto.EstadoCambio;
+import com.dani.spring_boot_microservice_1_inmueble.dto.EstadoCambioResultado;
+import com.dani.spring_boot_microservice_1_inmueble.dto.EstadoTransicion;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleFiltro;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmueblePage;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleResumen;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleSearchResult;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleStats;
+import com.dani.spring_boot_microservice_1_inmueble.event.InmuebleEvent;
+import com.dani.spring_boot_microservice_1_inmueble.geo.GazetteerGeocoder;
+import com.dani.spring_boot_microservice_1_inmueble.geo.GeoPoint;
 import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
 import com.dani.spring_boot_microservice_1_inmueble.model.Inmueble;
+import com.dani.spring_boot_microservice_1_inmueble.model.InmuebleArchivado;
+import com.dani.spring_boot_microservice_1_inmueble.precio.PrecioHistorial;
+import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleArchivadoRepository;
 import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleRepository;
+import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleReservaRepository;
+import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleSpecifications;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Implementación concreta de la interfaz {@link InmuebleService}.
@@ -18,6 +63,9 @@ import java.util.Optional;
  * Contiene la lógica de negocio para la gestión de inmuebles, incluyendo
  * la lógica de permisos para la creación, actualización y eliminación,
  * la cual se basa en el ID y los roles del usuario que realiza la petición.
+ * <p>
+ * Cada escritura publica un {@link InmuebleEvent} para que los componentes dependientes
+ * (como la caché de lecturas) reaccionen una vez confirmada la transacción.
  *
  * @author Daniel Núñez Rojas (danidev fullstack software)
  * @version 1.1
@@ -28,7 +76,54 @@ import java.util.Optional;
 @Slf4j
 public class InmuebleServiceImpl implements InmuebleService {
 
+    /**
+     * Tamaño máximo de página permitido en la paginación por cursor.
+     */
+    static final int TAMANO_PAGINA_MAXIMO = 100;
+
+    /**
+     * Radio máximo admitido en las búsquedas por proximidad, en kilómetros.
+     */
+    private static final double RADIO_MAXIMO_KM = 100;
+
+    /**
+     * Número máximo de candidatos leídos de la base de datos en una búsqueda por proximidad,
+     * antes del filtrado exacto por distancia. Como llegan ordenados por cercanía, el límite solo
+     * descarta los más lejanos.
+     */
+    private static final int MAX_CANDIDATOS_PROXIMIDAD = 5000;
+
+    /**
+     * Kilómetros por grado de latitud (aproximación esférica).
+     */
+    private static final double KM_POR_GRADO = 111.32;
+
+    /**
+     * Número máximo de cambios admitidos en una actualización masiva de estado.
+     */
+    static final int MAX_CAMBIOS_ESTADO = 10_000;
+
+    /**
+     * Número de cambios de estado aplicados en cada transacción de una actualización masiva.
+     */
+    private static final int TAMANO_LOTE_ESTADO = 500;
+
+    /**
+     * Orden del catálogo ({@link InmuebleSpecifications#ORDEN_CATALOGO}) para filas de campos.
+     */
+    private static final Comparator<Map<String, Object>> ORDEN_CAMPOS = Comparator
+            .comparing((Map<String, Object> fila) -> (LocalDateTime) fila.get(CampoInmueble.CREATION_DATE.nombre()))
+            .thenComparing(fila -> (Long) fila.get(CampoInmueble.ID.nombre()))
+            .reversed();
+
     private final InmuebleRepository inmuebleRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GazetteerGeocoder geocoder;
+    private final PlatformTransactionManager transactionManager;
+    private final PrecioHistorial precioHistorial;
+    private final InmuebleReservaRepository reservaRepository;
+    private final InmuebleArchivadoRepository archivoRepository;
 
     /**
      * {@inheritDoc}
@@ -39,6 +134,17 @@ public class InmuebleServiceImpl implements InmuebleService {
      * solicitante coincida con el {@code userId} del inmueble existente.
      * Para creaciones, asigna valores por defecto como la fecha de creación, el ID del
      * usuario solicitante y el estado "DISPONIBLE".
+     * <p>
+     * Si el inmueble no trae coordenadas, se obtienen de la dirección mediante el
+     * {@link GazetteerGeocoder}. En una actualización sin coordenadas, se conservan las
+     * existentes salvo que haya cambiado la dirección.
+     * <p>
+     * La versión indicada en el cuerpo se compara con la del inmueble cargado. Si otra escritura se
+     * confirma entre la lectura y el {@code flush}, es Hibernate quien detecta el conflicto gracias
+     * a la columna {@code version}.
+     * <p>
+     * Si una actualización cambia el precio, el cambio se añade al histórico de precios
+     * ({@link PrecioHistorial}) en la misma transacción.
      */
     @Override
     @Transactional
@@ -51,11 +157,32 @@ public class InmuebleServiceImpl implements InmuebleService {
                         // Lógica de permisos para actualización
                         if (requestorRoles.contains("ROLE_ADMIN") || existingInmueble.getUserId().equals(requestorUserId)) {
                             log.info("Permiso concedido. Actualizando inmueble ID: {}", existingInmueble.getId());
+                            if (inmueble.getVersion() != null && !inmueble.getVersion().equals(existingInmueble.getVersion())) {
+                                log.warn("Conflicto de versión en inmueble ID {}: esperada {}, actual {}",
+                                        existingInmueble.getId(), inmueble.getVersion(), existingInmueble.getVersion());
+                                throw new ObjectOptimisticLockingFailureException(Inmueble.class, existingInmueble.getId());
+                            }
+                            boolean addressChanged = !Objects.equals(existingInmueble.getAddress(), inmueble.getAddress());
+                            Double precioAnterior = existingInmueble.getPrice();
                             existingInmueble.setName(inmueble.getName());
                             existingInmueble.setAddress(inmueble.getAddress());
                             existingInmueble.setPicture(inmueble.getPicture());
                             existingInmueble.setPrice(inmueble.getPrice());
-                            return inmuebleRepository.save(existingInmueble);
+                            if (inmueble.getLatitude() != null && inmueble.getLongitude() != null) {
+                                existingInmueble.setLatitude(inmueble.getLatitude());
+                                existingInmueble.setLongitude(inmueble.getLongitude());
+                            } else if (addressChanged || existingInmueble.getLatitude() == null) {
+                                existingInmueble.setLatitude(null);
+                                existingInmueble.setLongitude(null);
+                                geocodificar(existingInmueble);
+                            }
+                            Inmueble updated = inmuebleRepository.save(existingInmueble);
+                            if (updated.getPrice() != null && !updated.getPrice().equals(precioAnterior)) {
+                                precioHistorial.registrar(updated.getId(), updated.getCreationDate(), precioAnterior,
+                                        LocalDateTime.now(), updated.getPrice());
+                            }
+                            eventPublisher.publishEvent(new InmuebleEvent(InmuebleEvent.Tipo.ACTUALIZADO, updated.getId(), updated.getUserId()));
+                            return updated;
                         } else {
                             log.warn("Acceso denegado. Usuario {} no tiene permiso para actualizar inmueble ID: {}", requestorUserId, existingInmueble.getId());
                             throw new SecurityException("No tiene permiso para actualizar este inmueble.");
@@ -67,7 +194,12 @@ public class InmuebleServiceImpl implements InmuebleService {
             inmueble.setCreationDate(LocalDateTime.now());
             inmueble.setUserId(requestorUserId);
             inmueble.setEstado(EstadoInmueble.DISPONIBLE);
-            return inmuebleRepository.save(inmueble);
+            if (inmueble.getLatitude() == null || inmueble.getLongitude() == null) {
+                geocodificar(inmueble);
+            }
+            Inmueble created = inmuebleRepository.save(inmueble);
+            eventPublisher.publishEvent(new InmuebleEvent(InmuebleEvent.Tipo.CREADO, created.getId(), created.getUserId()));
+            return created;
         }
     }
 
@@ -77,7 +209,11 @@ public class InmuebleServiceImpl implements InmuebleService {
      * Esta implementación primero busca el inmueble por su ID. Si lo encuentra,
      * verifica que el rol del solicitante sea "ROLE_ADMIN" o que el ID del solicitante
      * coincida con el {@code userId} del inmueble antes de proceder con la eliminación.
-     * Si no se encuentra el inmueble, la operación finaliza silenciosamente.
+     * Si no está en el catálogo, se busca en el archivo de vendidos ({@link InmuebleArchivado}) con los
+     * mismos permisos. Si tampoco está allí, la operación finaliza silenciosamente.
+     * <p>
+     * En ambos casos se elimina también, en la misma transacción, el histórico de precios del inmueble
+     * ({@link PrecioHistorial}).
      */
     @Override
     @Transactional
@@ -89,53 +225,572 @@ public class InmuebleServiceImpl implements InmuebleService {
                     if (requestorRoles.contains("ROLE_ADMIN") || inmueble.getUserId().equals(requestorUserId)) {
                         log.info("Permiso concedido. Eliminando inmueble ID: {}", inmuebleId);
                         inmuebleRepository.delete(inmueble);
+                        reservaRepository.deleteAllByIdInBatch(List.of(inmuebleId));
+                        precioHistorial.eliminar(inmuebleId);
+                        eventPublisher.publishEvent(new InmuebleEvent(InmuebleEvent.Tipo.ELIMINADO, inmuebleId, inmueble.getUserId()));
                     } else {
                         log.warn("Acceso denegado. Usuario {} no tiene permiso para eliminar inmueble ID: {}", requestorUserId, inmuebleId);
                         throw new SecurityException("No tiene permiso para eliminar este inmueble.");
                     }
-                }, () -> {
-                    log.warn("Intento de eliminar un inmueble no existente con ID: {}", inmuebleId);
-                });
+                }, () -> archivoRepository.findById(inmuebleId).ifPresentOrElse(archivado -> {
+                    if (requestorRoles.contains("ROLE_ADMIN") || archivado.getUserId().equals(requestorUserId)) {
+                        log.info("Permiso concedido. Eliminando inmueble archivado ID: {}", inmuebleId);
+                        archivoRepository.delete(archivado);
+                        precioHistorial.eliminar(inmuebleId);
+                        eventPublisher.publishEvent(new InmuebleEvent(InmuebleEvent.Tipo.ELIMINADO, inmuebleId, archivado.getUserId()));
+                    } else {
+                        log.warn("Acceso denegado. Usuario {} no tiene permiso para eliminar inmueble ID: {}", requestorUserId, inmuebleId);
+                        throw new SecurityException("No tiene permiso para eliminar este inmueble.");
+                    }
+                }, () -> log.warn("Intento de eliminar un inmueble no existente con ID: {}", inmuebleId)));
     }
 
     /**
      * {@inheritDoc}
-     * Esta implementación es de solo lectura.
+     * Esta implementación es de solo lectura y usa una proyección constructora,
+     * sin hidratar entidades.
      */
     @Override
     @Transactional(readOnly = true)
-    public List<Inmueble> findAllInmuebles() {
-        return inmuebleRepository.findAll();
+    public List<InmuebleResumen> findAllInmuebles() {
+        return inmuebleRepository.findAllResumenBy();
     }
 
     /**
      * {@inheritDoc}
-     * Esta implementación es una operación de escritura y debe ser transaccional.
+     * Esta implementación es de solo lectura y solo selecciona las columnas solicitadas.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllInmuebles(Set<CampoInmueble> campos) {
+        return inmuebleRepository.findCamposBy(Specification.where(null), InmuebleSpecifications.ORDEN_CATALOGO, 0, campos);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Esta implementación es una operación de escritura y debe ser transaccional: un único
+     * {@code UPDATE ... WHERE id = ? AND estado IN (origenes)}, como {@link #transicionarEstado}.
      */
     @Override
     @Transactional
-    public void updateInmuebleEstado(Long inmuebleId, EstadoInmueble estado) {
+    public Optional<EstadoTransicion> updateInmuebleEstado(Long inmuebleId, EstadoInmueble estado) {
         log.info("Actualizando estado del inmueble ID: {} a {}", inmuebleId, estado);
-        inmuebleRepository.updateInmuebleEstado(inmuebleId, estado);
+        Set<EstadoInmueble> origenes = EstadoInmueble.origenesHacia(estado);
+        boolean aplicada = !origenes.isEmpty()
+                && inmuebleRepository.transicionarEstado(inmuebleId, origenes, estado) == 1;
+        return resultadoTransicion(inmuebleId, estado, aplicada, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Esta implementación elimina primero los duplicados (conservando la última aparición) y reparte
+     * los cambios en lotes de {@value #TAMANO_LOTE_ESTADO}. Cada lote se ejecuta con un
+     * {@link TransactionTemplate}: una consulta que bloquea los inmuebles que existen y lee su estado
+     * actual (y su propietario, para invalidar solo su caché), y un
+     * {@code UPDATE ... WHERE id IN (...) AND estado IN (origenes)} por estado de destino.
+     */
+    @Override
+    public List<EstadoCambioResultado> updateInmueblesEstado(List<EstadoCambio> cambios) {
+        if (cambios.size() > MAX_CAMBIOS_ESTADO) {
+            throw new IllegalArgumentException("Se admiten como máximo " + MAX_CAMBIOS_ESTADO + " cambios por petición.");
+        }
+        log.info("Actualización masiva de estado: {} cambios solicitados.", cambios.size());
+        EstadoCambioResultado.Resultado[] resultados = new EstadoCambioResultado.Resultado[cambios.size()];
+
+        Map<Long, Integer> ultimaAparicion = new LinkedHashMap<>();
+        for (int i = 0; i < cambios.size(); i++) {
+            EstadoCambio cambio = cambios.get(i);
+            if (cambio == null || cambio.inmuebleId() == null || cambio.estado() == null) {
+                resultados[i] = EstadoCambioResultado.Resultado.INVALIDO;
+                continue;
+            }
+            Integer anterior = ultimaAparicion.put(cambio.inmuebleId(), i);
+            if (anterior != null) {
+                resultados[anterior] = EstadoCambioResultado.Resultado.DUPLICADO;
+            }
+        }
+
+        List<Integer> pendientes = new ArrayList<>(ultimaAparicion.values());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int desde = 0; desde < pendientes.size(); desde += TAMANO_LOTE_ESTADO) {
+            List<Integer> lote = pendientes.subList(desde, Math.min(desde + TAMANO_LOTE_ESTADO, pendientes.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> aplicarLoteEstado(cambios, lote, resultados));
+            } catch (RuntimeException e) {
+                log.error("Falló un lote de {} cambios de estado: {}", lote.size(), e.getMessage());
+                lote.forEach(i -> resultados[i] = EstadoCambioResultado.Resultado.ERROR);
+            }
+        }
+
+        List<EstadoCambioResultado> respuesta = new ArrayList<>(cambios.size());
+        for (int i = 0; i < cambios.size(); i++) {
+            EstadoCambio cambio = cambios.get(i);
+            respuesta.add(new EstadoCambioResultado(
+                    cambio == null ? null : cambio.inmuebleId(),
+                    cambio == null ? null : cambio.estado(),
+                    resultados[i]));
+        }
+        return respuesta;
     }
 
     /**
      * {@inheritDoc}
-     * Esta implementación es de solo lectura.
+     * <p>
+     * Esta implementación ejecuta un único {@code UPDATE ... WHERE id = ? AND estado IN (origenes)}
+     * (con la versión y el titular de la reserva en la misma condición), por lo que la comprobación y la
+     * escritura son atómicas sin bloqueos explícitos. Después lee el estado resultante para informar al cliente.
+     * <p>
+     * Si la transición se aplica, se descarta la reserva con caducidad que pudiera tener el inmueble
+     * (ver {@link ReservaService}): su estado ya no depende de ella.
+     */
+    @Override
+    @Transactional
+    public Optional<EstadoTransicion> transicionarEstado(Long inmuebleId, EstadoInmueble destino, Long versionEsperada,
+                                                         Long requestorUserId) {
+        Set<EstadoInmueble> origenes = EstadoInmueble.origenesHacia(destino);
+        boolean aplicada = !origenes.isEmpty() && inmuebleRepository.transicionarEstadoComoTitular(
+                inmuebleId, origenes, destino, versionEsperada, requestorUserId) == 1;
+        return resultadoTransicion(inmuebleId, destino, aplicada, requestorUserId);
+    }
+
+    /**
+     * Completa una transición de estado ya intentada: si se ha aplicado, descarta la reserva del inmueble
+     * y publica el evento con su propietario; en cualquier caso, lee el estado resultante.
+     */
+    private Optional<EstadoTransicion> resultadoTransicion(Long inmuebleId, EstadoInmueble destino, boolean aplicada,
+                                                           Long requestorUserId) {
+        if (aplicada) {
+            reservaRepository.deleteAllByIdInBatch(List.of(inmuebleId));
+        }
+
+        return inmuebleRepository.findById(inmuebleId).map(actual -> {
+            if (aplicada) {
+                log.info("Transición de inmueble ID {} a {} aplicada (versión {}).", inmuebleId, destino, actual.getVersion());
+                eventPublisher.publishEvent(new InmuebleEvent(InmuebleEvent.Tipo.ESTADO_ACTUALIZADO, inmuebleId, actual.getUserId()));
+            } else {
+                log.info("Transición de inmueble ID {} a {} rechazada para usuario ID {}: estado actual {}, versión {}.",
+                        inmuebleId, destino, requestorUserId, actual.getEstado(), actual.getVersion());
+            }
+            return new EstadoTransicion(inmuebleId, destino, actual.getEstado(), actual.getVersion(), aplicada);
+        });
+    }
+
+    /**
+     * Aplica un lote de cambios de estado dentro de la transacción en curso.
+     *
+     * @param cambios    Todos los cambios de la petición.
+     * @param lote       Índices (dentro de {@code cambios}) de los cambios de este lote, sin duplicados.
+     * @param resultados Array donde se anota el resultado de cada cambio.
+     */
+    private void aplicarLoteEstado(List<EstadoCambio> cambios, List<Integer> lote,
+                                   EstadoCambioResultado.Resultado[] resultados) {
+        List<Long> ids = lote.stream().map(i -> cambios.get(i).inmuebleId()).toList();
+        Map<Long, Long> propietarios = new HashMap<>();
+        Map<Long, EstadoInmueble> actuales = new HashMap<>();
+        for (Object[] fila : inmuebleRepository.findEstadosByIdInForUpdate(ids)) {
+            Long id = ((Number) fila[0]).longValue();
+            propietarios.put(id, fila[1] == null ? null : ((Number) fila[1]).longValue());
+            actuales.put(id, EstadoInmueble.valueOf((String) fila[2]));
+        }
+
+        Map<EstadoInmueble, List<Long>> porEstado = new EnumMap<>(EstadoInmueble.class);
+        for (int i : lote) {
+            EstadoCambio cambio = cambios.get(i);
+            EstadoInmueble actual = actuales.get(cambio.inmuebleId());
+            if (actual == null) {
+                resultados[i] = EstadoCambioResultado.Resultado.NO_ENCONTRADO;
+            } else if (!actual.puedeTransicionarA(cambio.estado())) {
+                resultados[i] = EstadoCambioResultado.Resultado.NO_PERMITIDO;
+            } else {
+                porEstado.computeIfAbsent(cambio.estado(), e -> new ArrayList<>()).add(cambio.inmuebleId());
+                resultados[i] = EstadoCambioResultado.Resultado.ACTUALIZADO;
+            }
+        }
+        porEstado.forEach((estado, idsEstado) -> {
+            // Las filas están bloqueadas, así que la condición de origen ya se ha comprobado arriba.
+            int actualizados = inmuebleRepository.updateInmueblesEstado(idsEstado, EstadoInmueble.origenesHacia(estado), estado);
+            reservaRepository.deleteAllByIdInBatch(idsEstado);
+            log.debug("Estado {} asignado a {} inmuebles.", estado, actualizados);
+            idsEstado.forEach(id -> eventPublisher.publishEvent(
+                    new InmuebleEvent(InmuebleEvent.Tipo.ESTADO_ACTUALIZADO, id, propietarios.get(id))));
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * Esta implementación es de solo lectura y su resultado se cachea por ID
+     * en {@link InmuebleCacheConfig#CACHE_INMUEBLES}. Si el inmueble no está en el catálogo,
+     * se busca en el archivo de vendidos ({@link InmuebleArchivado}).
      */
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(InmuebleCacheConfig.CACHE_INMUEBLES)
     public Optional<Inmueble> findById(Long inmuebleId) {
-        return inmuebleRepository.findById(inmuebleId);
+        return inmuebleRepository.findById(inmuebleId)
+                .or(() -> archivoRepository.findById(inmuebleId).map(InmuebleArchivado::aInmueble));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Esta implementación es de solo lectura: una consulta {@code IN} sobre el catálogo y, solo si falta
+     * alguno, otra sobre el archivo de vendidos ({@link InmuebleArchivado}).
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Inmueble> findAllById(Collection<Long> inmuebleIds) {
+        Set<Long> ids = idsLote(inmuebleIds);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Inmueble> encontrados = new HashMap<>();
+        inmuebleRepository.findAllById(ids).forEach(i -> encontrados.put(i.getId(), i));
+        if (encontrados.size() < ids.size()) {
+            List<Long> ausentes = ids.stream().filter(id -> !encontrados.containsKey(id)).toList();
+            archivoRepository.findAllById(ausentes).forEach(a -> encontrados.put(a.getId(), a.aInmueble()));
+        }
+        return enOrden(ids, encontrados);
+    }
+
+    /**
+     * Devuelve los elementos encontrados en el orden de los IDs pedidos, omitiendo los que faltan.
+     */
+    static <T> List<T> enOrden(Collection<Long> ids, Map<Long, T> encontrados) {
+        return ids.stream().map(encontrados::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Quita los IDs repetidos y nulos de una búsqueda por lote, conservando el orden.
+     *
+     * @throws IllegalArgumentException si quedan más de {@value #MAX_IDS_LOTE}.
+     */
+    static Set<Long> idsLote(Collection<Long> inmuebleIds) {
+        Set<Long> ids = new LinkedHashSet<>(inmuebleIds);
+        ids.remove(null);
+        if (ids.size() > MAX_IDS_LOTE) {
+            throw new IllegalArgumentException("Se admiten como máximo " + MAX_IDS_LOTE + " IDs por petición.");
+        }
+        return ids;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Esta implementación es de solo lectura y solo selecciona las columnas solicitadas. Si el inmueble
+     * no está en el catálogo, se busca en el archivo de vendidos ({@link InmuebleArchivado}).
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> findById(Long inmuebleId, Set<CampoInmueble> campos) {
+        Specification<Inmueble> porId = (root, query, cb) -> cb.equal(root.get("id"), inmuebleId);
+        return inmuebleRepository.findCamposBy(porId, Sort.unsorted(), 1, campos).stream().findFirst()
+                .or(() -> archivoRepository.findById(inmuebleId).map(a -> campos(a.aInmueble(), campos)));
+    }
+
+    /**
+     * Extrae de un inmueble los campos indicados, con los mismos nombres que
+     * {@link InmuebleRepository#findCamposBy}.
+     */
+    private static Map<String, Object> campos(Inmueble inmueble, Set<CampoInmueble> campos) {
+        Map<String, Object> fila = new LinkedHashMap<>();
+        for (CampoInmueble campo : campos) {
+            fila.put(campo.nombre(), switch (campo) {
+                case ID -> inmueble.getId();
+                case USER_ID -> inmueble.getUserId();
+                case NAME -> inmueble.getName();
+                case ADDRESS -> inmueble.getAddress();
+                case PICTURE -> inmueble.getPicture();
+                case PRICE -> inmueble.getPrice();
+                case CREATION_DATE -> inmueble.getCreationDate();
+                case ESTADO -> inmueble.getEstado();
+                case LATITUDE -> inmueble.getLatitude();
+                case LONGITUDE -> inmueble.getLongitude();
+                case VERSION -> inmueble.getVersion();
+            });
+        }
+        return fila;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Esta implementación es de solo lectura, usa una proyección constructora sin hidratar
+     * entidades y su resultado se cachea por ID de usuario
+     * en {@link InmuebleCacheConfig#CACHE_INMUEBLES_POR_USUARIO}. Incluye los vendidos archivados
+     * ({@link InmuebleArchivado}), intercalados en el mismo orden.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(InmuebleCacheConfig.CACHE_INMUEBLES_POR_USUARIO)
+    public List<InmuebleResumen> findAllByUserId(Long userId) {
+        List<InmuebleResumen> inmuebles = inmuebleRepository.findAllResumenByUserId(userId);
+        List<InmuebleResumen> archivados = archivoRepository.findAllResumenByUserId(userId);
+        if (archivados.isEmpty()) {
+            return inmuebles;
+        }
+        List<InmuebleResumen> todos = new ArrayList<>(inmuebles);
+        todos.addAll(archivados);
+        todos.sort(Comparator.comparing(InmuebleResumen::creationDate).thenComparing(InmuebleResumen::id).reversed());
+        return todos;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Esta implementación es de solo lectura y solo selecciona las columnas solicitadas. Incluye los
+     * vendidos archivados; para intercalarlos selecciona además {@code id} y {@code creationDate}, y
+     * los retira de la respuesta si no se han solicitado.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllByUserId(Long userId, Set<CampoInmueble> campos) {
+        Specification<Inmueble> delUsuario = InmuebleSpecifications.conFiltro(new InmuebleFiltro(null, null, null, userId));
+        List<InmuebleArchivado> archivados = archivoRepository.findAllByUserIdOrderByCreationDateDescIdDesc(userId);
+        if (archivados.isEmpty()) {
+            return inmuebleRepository.findCamposBy(delUsuario, InmuebleSpecifications.ORDEN_CATALOGO, 0, campos);
+        }
+        Set<CampoInmueble> consulta = EnumSet.copyOf(campos);
+        consulta.add(CampoInmueble.ID);
+        consulta.add(CampoInmueble.CREATION_DATE);
+        List<Map<String, Object>> filas = new ArrayList<>(
+                inmuebleRepository.findCamposBy(delUsuario, InmuebleSpecifications.ORDEN_CATALOGO, 0, consulta));
+        archivados.forEach(archivado -> filas.add(campos(archivado.aInmueble(), consulta)));
+        filas.sort(ORDEN_CAMPOS);
+        for (CampoInmueble campo : List.of(CampoInmueble.ID, CampoInmueble.CREATION_DATE)) {
+            if (!campos.contains(campo)) {
+                filas.forEach(fila -> fila.remove(campo.nombre()));
+            }
+        }
+        return filas;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Esta implementación solicita {@code size + 1} filas para saber si existe una página
+     * siguiente sin necesidad de una consulta {@code COUNT}, y devuelve proyecciones
+     * {@link InmuebleResumen} sin hidratar entidades. Es de solo lectura.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public InmueblePage<InmuebleResumen> findInmueblesPage(InmuebleFiltro filtro, String cursor, int size) {
+        return paginar(filtro, cursor, size,
+                (spec, limit) -> inmuebleRepository.findResumenBy(spec, InmuebleSpecifications.ORDEN_CATALOGO, limit),
+                ultimo -> new CatalogoCursor(ultimo.creationDate(), ultimo.id()));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Esta implementación selecciona además {@code creationDate} (necesaria para el cursor) y la
+     * retira de la respuesta si no se ha solicitado. Es de solo lectura.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public InmueblePage<Map<String, Object>> findInmueblesPage(InmuebleFiltro filtro, String cursor, int size,
+                                                               Set<CampoInmueble> campos) {
+        Set<CampoInmueble> consulta = EnumSet.copyOf(campos);
+        consulta.add(CampoInmueble.CREATION_DATE);
+        InmueblePage<Map<String, Object>> pagina = paginar(filtro, cursor, size,
+                (spec, limit) -> inmuebleRepository.findCamposBy(spec, InmuebleSpecifications.ORDEN_CATALOGO, limit, consulta),
+                ultimo -> new CatalogoCursor((LocalDateTime) ultimo.get(CampoInmueble.CREATION_DATE.nombre()),
+                        (Long) ultimo.get(CampoInmueble.ID.nombre())));
+        if (!campos.contains(CampoInmueble.CREATION_DATE)) {
+            pagina.items().forEach(fila -> fila.remove(CampoInmueble.CREATION_DATE.nombre()));
+        }
+        return pagina;
+    }
+
+    /**
+     * Lógica común de la paginación por cursor: solicita {@code size + 1} filas para saber si existe
+     * una página siguiente sin necesidad de una consulta {@code COUNT}.
+     *
+     * @param filtro   Criterios de filtrado.
+     * @param cursor   Token de la página anterior, o {@code null}.
+     * @param size     Tamaño de página solicitado.
+     * @param consulta Ejecuta la consulta para una especificación y un límite de filas.
+     * @param posicion Obtiene la posición (cursor) de una fila.
+     */
+    private <T> InmueblePage<T> paginar(InmuebleFiltro filtro, String cursor, int size,
+                                        BiFunction<Specification<Inmueble>, Integer, List<T>> consulta,
+                                        Function<T, CatalogoCursor> posicion) {
+        int pageSize = Math.max(1, Math.min(size, TAMANO_PAGINA_MAXIMO));
+        CatalogoCursor desde = (cursor == null || cursor.isBlank()) ? null : CatalogoCursor.decode(cursor);
+
+        List<T> rows = consulta.apply(
+                InmuebleSpecifications.conFiltro(filtro).and(InmuebleSpecifications.despuesDe(desde)), pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<T> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? posicion.apply(items.get(items.size() - 1)).encode() : null;
+        log.debug("Página de catálogo: {} inmuebles, hasMore={}", items.size(), hasMore);
+        return new InmueblePage<>(items, nextCursor, hasMore);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Esta implementación usa {@link InmuebleRepository#streamAllBy()} (cursor JDBC de solo avance)
+     * y desasocia cada entidad del contexto de persistencia después de entregarla, para que este
+     * no crezca con cada fila leída. Es de solo lectura.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long forEachInmueble(Consumer<Inmueble> consumer) {
+        long count = 0;
+        try (Stream<Inmueble> inmuebles = inmuebleRepository.streamAllBy()) {
+            for (Inmueble inmueble : (Iterable<Inmueble>) inmuebles::iterator) {
+                consumer.accept(inmueble);
+                entityManager.detach(inmueble);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Esta implementación delega en el índice de texto completo de PostgreSQL
+     * ({@link InmuebleRepository#searchByText(String, org.springframework.data.domain.Pageable)}).
+     * Es de solo lectura.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public InmuebleSearchResult<Inmueble> searchInmuebles(String texto, int page, int size) {
+        if (texto == null || texto.isBlank()) {
+            throw new IllegalArgumentException("El texto de búsqueda no puede estar vacío.");
+        }
+        int pageSize = Math.max(1, Math.min(size, TAMANO_PAGINA_MAXIMO));
+        int pageNumber = Math.max(0, page);
+        Slice<Inmueble> slice = inmuebleRepository.searchByText(texto.trim(), PageRequest.of(pageNumber, pageSize));
+        log.debug("Búsqueda '{}' página {}: {} resultados, hasNext={}", texto, pageNumber, slice.getNumberOfElements(), slice.hasNext());
+        return new InmuebleSearchResult<>(slice.getContent(), pageNumber, pageSize, slice.hasNext());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Esta implementación es de solo lectura. Ver {@link InmuebleSpecifications#dentroDe}.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Inmueble> findWithinBoundingBox(double minLat, double minLon, double maxLat, double maxLon, int limit) {
+        GeoPoint min = new GeoPoint(minLat, minLon);
+        GeoPoint max = new GeoPoint(maxLat, maxLon);
+        if (min.latitude() > max.latitude() || min.longitude() > max.longitude()) {
+            throw new IllegalArgumentException("Rectángulo inválido: los mínimos deben ser menores que los máximos.");
+        }
+        int maxResults = Math.max(1, Math.min(limit, TAMANO_PAGINA_MAXIMO));
+        return inmuebleRepository.findBy(
+                InmuebleSpecifications.dentroDe(min.latitude(), min.longitude(), max.latitude(), max.longitude()),
+                query -> query.sortBy(InmuebleSpecifications.ORDEN_CATALOGO).limit(maxResults).all());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Esta implementación calcula el rectángulo que circunscribe el círculo, obtiene los candidatos
+     * mediante el índice geohash, ordenados por una distancia aproximada para que el límite de
+     * candidatos descarte los más lejanos, y después filtra y ordena por la distancia exacta (haversine).
+     * Es de solo lectura.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Inmueble> findNear(double latitude, double longitude, double radiusKm, int limit) {
+        GeoPoint centro = new GeoPoint(latitude, longitude);
+        if (radiusKm <= 0 || radiusKm > RADIO_MAXIMO_KM) {
+            throw new IllegalArgumentException("El radio debe estar entre 0 y " + RADIO_MAXIMO_KM + " km.");
+        }
+        double dLat = radiusKm / KM_POR_GRADO;
+        double cosLat = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        double dLon = Math.min(radiusKm / (KM_POR_GRADO * cosLat), 180);
+
+        List<Inmueble> candidatos = inmuebleRepository.findBy(
+                InmuebleSpecifications.dentroDe(
+                        Math.max(-90, latitude - dLat), Math.max(-180, longitude - dLon),
+                        Math.min(90, latitude + dLat), Math.min(180, longitude + dLon))
+                        .and(InmuebleSpecifications.ordenadosPorCercaniaA(latitude, longitude)),
+                query -> query.limit(MAX_CANDIDATOS_PROXIMIDAD).all());
+
+        int maxResults = Math.max(1, Math.min(limit, TAMANO_PAGINA_MAXIMO));
+        return candidatos.stream()
+                .filter(i -> centro.distanceKm(i.getLatitude(), i.getLongitude()) <= radiusKm)
+                .sorted(Comparator.comparingDouble(i -> centro.distanceKm(i.getLatitude(), i.getLongitude())))
+                .limit(maxResults)
+                .toList();
     }
 
     /**
      * {@inheritDoc}
-     * Esta implementación es de solo lectura.
+     * <p>
+     * Esta implementación usa una consulta {@code GROUP BY estado} sobre el catálogo y otra sobre el
+     * archivo de vendidos, y un recuento de propietarios distintos de ambos.
+     * El resultado se cachea como instantánea de vida corta en
+     * {@link InmuebleCacheConfig#CACHE_ESTADISTICAS}. Es de solo lectura.
      */
     @Override
     @Transactional(readOnly = true)
-    public List<Inmueble> findAllByUserId(Long userId) {
-        return inmuebleRepository.findAllByUserId(userId);
+    @Cacheable(InmuebleCacheConfig.CACHE_ESTADISTICAS)
+    public InmuebleStats getEstadisticas() {
+        List<EstadoAgregado> agregados = new ArrayList<>(inmuebleRepository.aggregateByEstado());
+        agregados.addAll(archivoRepository.aggregateByEstado());
+        return toStats(null, agregados, inmuebleRepository.countDistinctUserId());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Esta implementación usa una consulta {@code GROUP BY estado} filtrada por propietario sobre el
+     * catálogo y otra sobre el archivo de vendidos. El resultado se cachea por ID de usuario en {@link InmuebleCacheConfig#CACHE_ESTADISTICAS_POR_USUARIO}
+     * y se invalida con cada escritura sobre los inmuebles del usuario. Es de solo lectura.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(InmuebleCacheConfig.CACHE_ESTADISTICAS_POR_USUARIO)
+    public InmuebleStats getEstadisticasDeUsuario(Long userId) {
+        List<EstadoAgregado> agregados = new ArrayList<>(inmuebleRepository.aggregateByEstadoForUser(userId));
+        agregados.addAll(archivoRepository.aggregateByEstadoForUser(userId));
+        return toStats(userId, agregados, null);
+    }
+
+    /**
+     * Combina los agregados por estado en unas {@link InmuebleStats}. Admite varios agregados del
+     * mismo estado (uno por shard, ver {@link InmuebleServiceShardeado}).
+     */
+    static InmuebleStats toStats(Long userId, List<EstadoAgregado> agregados, Long propietarios) {
+        Map<EstadoInmueble, Long> porEstado = new EnumMap<>(EstadoInmueble.class);
+        for (EstadoInmueble estado : EstadoInmueble.values()) {
+            porEstado.put(estado, 0L);
+        }
+        long total = 0;
+        double suma = 0;
+        Double minimo = null;
+        Double maximo = null;
+        for (EstadoAgregado agregado : agregados) {
+            if (agregado.estado() != null) {
+                porEstado.merge(agregado.estado(), agregado.total(), Long::sum);
+            }
+            total += agregado.total();
+            suma += agregado.precioSuma() != null ? agregado.precioSuma() : 0;
+            if (agregado.precioMinimo() != null && (minimo == null || agregado.precioMinimo() < minimo)) {
+                minimo = agregado.precioMinimo();
+            }
+            if (agregado.precioMaximo() != null && (maximo == null || agregado.precioMaximo() > maximo)) {
+                maximo = agregado.precioMaximo();
+            }
+        }
+        Double medio = total > 0 ? suma / total : null;
+        return new InmuebleStats(userId, total, porEstado, minimo, maximo, medio, propietarios, LocalDateTime.now());
+    }
+
+    /**
+     * Asigna al inmueble las coordenadas obtenidas a partir de su dirección, si el
+     * nomenclátor local la reconoce.
+     *
+     * @param inmueble El inmueble a geocodificar.
+     */
+    private void geocodificar(Inmueble inmueble) {
+        geocoder.geocode(inmueble.getAddress()).ifPresentOrElse(punto -> {
+            inmueble.setLatitude(punto.latitude());
+            inmueble.setLongitude(punto.longitude());
+        }, () -> log.debug("No se pudo geocodificar la dirección: {}", inmueble.getAddress()));
     }
-}
\ No newline at end of file
+}
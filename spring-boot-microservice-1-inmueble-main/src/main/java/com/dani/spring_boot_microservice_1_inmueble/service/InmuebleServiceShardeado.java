@@ -0,0 +1,395 @@
+package com.dani.spring_boot_microservice_1_inmueble.service;
+
+import com.dani.spring_boot_microservice_1_inmueble.cache.InmuebleCacheConfig;
+import com.dani.spring_boot_microservice_1_inmueble.dto.CampoInmueble;
+import com.dani.spring_boot_microservice_1_inmueble.dto.CatalogoCursor;
+import com.dani.spring_boot_microservice_1_inmueble.dto.EstadoAgregado;
+import com.dani.spring_boot_microservice_1_inmueble.dto.EstadoCambio;
+import com.dani.spring_boot_microservice_1_inmueble.dto.EstadoCambioResultado;
+import com.dani.spring_boot_microservice_1_inmueble.dto.EstadoTransicion;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleFiltro;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmueblePage;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleResumen;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleSearchResult;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleStats;
+import com.dani.spring_boot_microservice_1_inmueble.geo.GeoPoint;
+import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
+import com.dani.spring_boot_microservice_1_inmueble.model.Inmueble;
+import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleArchivadoRepository;
+import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleRepository;
+import com.dani.spring_boot_microservice_1_inmueble.shard.FusionOrdenada;
+import com.dani.spring_boot_microservice_1_inmueble.shard.Shards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * {@link InmuebleService} repartido entre shards (ver {@code shard.ShardConfig}), activo solo si se
+ * define {@code inmueble.shards.urls}.
+ * <p>
+ * Delega en {@link InmuebleServiceImpl}, que sigue aplicando permisos, transacciones, eventos y cachés
+ * dentro de cada shard:
+ * <ul>
+ * <li>las operaciones de un propietario (altas, {@code findAllByUserId}, sus estadísticas, listados
+ * filtrados por {@code userId}) van al shard de su {@code userId};</li>
+ * <li>las de un inmueble concreto (lectura, actualización, borrado, cambios de estado) van al shard que
+ * generó su ID; un ID que ningún shard ha podido generar se resuelve en el shard 0, donde no existe;</li>
+ * <li>las globales se lanzan en paralelo en todos los shards y sus resultados, ya ordenados, se fusionan
+ * ({@link FusionOrdenada}). La paginación por cursor pide a cada shard una página completa después del
+ * mismo cursor, y la búsqueda de texto fusiona por puntuación antes de cargar solo la página pedida.</li>
+ * </ul>
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "inmueble.shards.urls")
+@Slf4j
+public class InmuebleServiceShardeado implements InmuebleService {
+
+    /**
+     * Número máximo de resultados que la búsqueda de texto recorre para servir una página
+     * ({@code (page + 1) * size}).
+     */
+    private static final int MAX_RESULTADOS_BUSQUEDA = 10_000;
+
+    private static final Comparator<InmuebleResumen> ORDEN_RESUMEN =
+            Comparator.comparing(InmuebleResumen::creationDate).thenComparing(InmuebleResumen::id).reversed();
+
+    private static final Comparator<Inmueble> ORDEN_INMUEBLE =
+            Comparator.comparing(Inmueble::getCreationDate).thenComparing(Inmueble::getId).reversed();
+
+    private static final Comparator<Map<String, Object>> ORDEN_CAMPOS = Comparator
+            .comparing((Map<String, Object> fila) -> (LocalDateTime) fila.get(CampoInmueble.CREATION_DATE.nombre()))
+            .thenComparing(fila -> (Long) fila.get(CampoInmueble.ID.nombre()))
+            .reversed();
+
+    /**
+     * Resultado de la búsqueda de texto en un shard, antes de cargar el inmueble.
+     */
+    private record Coincidencia(int shard, long id, double rango) {
+    }
+
+    private static final Comparator<Coincidencia> ORDEN_COINCIDENCIA = Comparator
+            .comparingDouble(Coincidencia::rango).thenComparingLong(Coincidencia::id).reversed();
+
+    private final InmuebleService delegado;
+    private final Shards shards;
+    private final InmuebleRepository inmuebleRepository;
+    private final InmuebleArchivadoRepository archivoRepository;
+    private final TransactionTemplate lectura;
+
+    public InmuebleServiceShardeado(@Qualifier("inmuebleServiceImpl") InmuebleService delegado,
+                                    Shards shards,
+                                    InmuebleRepository inmuebleRepository,
+                                    InmuebleArchivadoRepository archivoRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.delegado = delegado;
+        this.shards = shards;
+        this.inmuebleRepository = inmuebleRepository;
+        this.archivoRepository = archivoRepository;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        log.info("Inmuebles repartidos entre {} shards.", shards.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Un alta va al shard del solicitante, que pasa a ser su propietario; una actualización, al del ID.
+     */
+    @Override
+    public Inmueble saveInmueble(Inmueble inmueble, Long requestorUserId, List<String> requestorRoles) {
+        int shard = inmueble.getId() == null ? shards.deUsuario(requestorUserId) : shardDeId(inmueble.getId());
+        return shards.en(shard, () -> delegado.saveInmueble(inmueble, requestorUserId, requestorRoles));
+    }
+
+    @Override
+    public void deleteInmueble(Long inmuebleId, Long requestorUserId, List<String> requestorRoles) {
+        shards.en(shardDeId(inmuebleId), () -> {
+            delegado.deleteInmueble(inmuebleId, requestorUserId, requestorRoles);
+            return null;
+        });
+    }
+
+    @Override
+    public List<InmuebleResumen> findAllInmuebles() {
+        return FusionOrdenada.fusionar(shards.enTodos(s -> delegado.findAllInmuebles()), ORDEN_RESUMEN, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllInmuebles(Set<CampoInmueble> campos) {
+        Set<CampoInmueble> consulta = conOrden(campos);
+        List<Map<String, Object>> filas = FusionOrdenada.fusionar(
+                shards.enTodos(s -> delegado.findAllInmuebles(consulta)), ORDEN_CAMPOS, Integer.MAX_VALUE);
+        return sinCamposDeOrden(filas, campos);
+    }
+
+    @Override
+    public Optional<EstadoTransicion> updateInmuebleEstado(Long inmuebleId, EstadoInmueble estado) {
+        return shards.en(shardDeId(inmuebleId), () -> delegado.updateInmuebleEstado(inmuebleId, estado));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Los cambios se reparten por shard y cada shard los aplica en paralelo; los duplicados siempre caen
+     * en el mismo shard. Los cambios inválidos se resuelven en el shard 0.
+     */
+    @Override
+    public List<EstadoCambioResultado> updateInmueblesEstado(List<EstadoCambio> cambios) {
+        if (cambios.size() > InmuebleServiceImpl.MAX_CAMBIOS_ESTADO) {
+            throw new IllegalArgumentException("Se admiten como máximo " + InmuebleServiceImpl.MAX_CAMBIOS_ESTADO
+                    + " cambios por petición.");
+        }
+        List<List<Integer>> indices = new ArrayList<>(shards.size());
+        for (int s = 0; s < shards.size(); s++) {
+            indices.add(new ArrayList<>());
+        }
+        for (int i = 0; i < cambios.size(); i++) {
+            EstadoCambio cambio = cambios.get(i);
+            indices.get(cambio == null ? 0 : shardDeId(cambio.inmuebleId())).add(i);
+        }
+        List<List<EstadoCambioResultado>> porShard = shards.enTodos(s -> indices.get(s).isEmpty()
+                ? List.of()
+                : delegado.updateInmueblesEstado(indices.get(s).stream().map(cambios::get).toList()));
+
+        EstadoCambioResultado[] resultados = new EstadoCambioResultado[cambios.size()];
+        for (int s = 0; s < shards.size(); s++) {
+            for (int j = 0; j < indices.get(s).size(); j++) {
+                resultados[indices.get(s).get(j)] = porShard.get(s).get(j);
+            }
+        }
+        return List.of(resultados);
+    }
+
+    @Override
+    public Optional<EstadoTransicion> transicionarEstado(Long inmuebleId, EstadoInmueble destino,
+                                                         Long versionEsperada, Long requestorUserId) {
+        return shards.en(shardDeId(inmuebleId),
+                () -> delegado.transicionarEstado(inmuebleId, destino, versionEsperada, requestorUserId));
+    }
+
+    @Override
+    public Optional<Inmueble> findById(Long inmuebleId) {
+        return shards.en(shardDeId(inmuebleId), () -> delegado.findById(inmuebleId));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Los IDs se reparten por shard y cada shard resuelve los suyos con una consulta, en paralelo.
+     */
+    @Override
+    public List<Inmueble> findAllById(Collection<Long> inmuebleIds) {
+        Set<Long> ids = InmuebleServiceImpl.idsLote(inmuebleIds);
+        List<List<Long>> porShard = new ArrayList<>(shards.size());
+        for (int s = 0; s < shards.size(); s++) {
+            porShard.add(new ArrayList<>());
+        }
+        ids.forEach(id -> porShard.get(shardDeId(id)).add(id));
+        Map<Long, Inmueble> encontrados = new HashMap<>();
+        shards.enTodos(s -> porShard.get(s).isEmpty() ? List.<Inmueble>of() : delegado.findAllById(porShard.get(s)))
+                .forEach(inmuebles -> inmuebles.forEach(i -> encontrados.put(i.getId(), i)));
+        return InmuebleServiceImpl.enOrden(ids, encontrados);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findById(Long inmuebleId, Set<CampoInmueble> campos) {
+        return shards.en(shardDeId(inmuebleId), () -> delegado.findById(inmuebleId, campos));
+    }
+
+    @Override
+    public List<InmuebleResumen> findAllByUserId(Long userId) {
+        return shards.en(shards.deUsuario(userId), () -> delegado.findAllByUserId(userId));
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllByUserId(Long userId, Set<CampoInmueble> campos) {
+        return shards.en(shards.deUsuario(userId), () -> delegado.findAllByUserId(userId, campos));
+    }
+
+    @Override
+    public InmueblePage<InmuebleResumen> findInmueblesPage(InmuebleFiltro filtro, String cursor, int size) {
+        if (filtro.userId() != null) {
+            return shards.en(shards.deUsuario(filtro.userId()), () -> delegado.findInmueblesPage(filtro, cursor, size));
+        }
+        return fusionarPaginas(shards.enTodos(s -> delegado.findInmueblesPage(filtro, cursor, size)), size,
+                ORDEN_RESUMEN, ultimo -> new CatalogoCursor(ultimo.creationDate(), ultimo.id()));
+    }
+
+    @Override
+    public InmueblePage<Map<String, Object>> findInmueblesPage(InmuebleFiltro filtro, String cursor, int size,
+                                                               Set<CampoInmueble> campos) {
+        if (filtro.userId() != null) {
+            return shards.en(shards.deUsuario(filtro.userId()),
+                    () -> delegado.findInmueblesPage(filtro, cursor, size, campos));
+        }
+        Set<CampoInmueble> consulta = conOrden(campos);
+        InmueblePage<Map<String, Object>> pagina = fusionarPaginas(
+                shards.enTodos(s -> delegado.findInmueblesPage(filtro, cursor, size, consulta)), size, ORDEN_CAMPOS,
+                ultimo -> new CatalogoCursor((LocalDateTime) ultimo.get(CampoInmueble.CREATION_DATE.nombre()),
+                        (Long) ultimo.get(CampoInmueble.ID.nombre())));
+        return new InmueblePage<>(sinCamposDeOrden(pagina.items(), campos), pagina.nextCursor(), pagina.hasMore());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Recorre los shards de uno en uno, en el hilo del llamante.
+     */
+    @Override
+    public long forEachInmueble(Consumer<Inmueble> consumer) {
+        long total = 0;
+        for (int s = 0; s < shards.size(); s++) {
+            total += shards.en(s, () -> delegado.forEachInmueble(consumer));
+        }
+        return total;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Cada shard devuelve el ID y la puntuación de sus {@code (page + 1) * size + 1} mejores resultados;
+     * se fusionan por puntuación y solo se cargan los inmuebles de la página pedida.
+     *
+     * @throws IllegalArgumentException también si {@code (page + 1) * size} supera {@value #MAX_RESULTADOS_BUSQUEDA}.
+     */
+    @Override
+    public InmuebleSearchResult<Inmueble> searchInmuebles(String texto, int page, int size) {
+        if (texto == null || texto.isBlank()) {
+            throw new IllegalArgumentException("El texto de búsqueda no puede estar vacío.");
+        }
+        int pageSize = tamanoPagina(size);
+        int pageNumber = Math.max(0, page);
+        long recorridos = (pageNumber + 1L) * pageSize;
+        if (recorridos > MAX_RESULTADOS_BUSQUEDA) {
+            throw new IllegalArgumentException("La búsqueda solo admite los primeros " + MAX_RESULTADOS_BUSQUEDA + " resultados.");
+        }
+        String consulta = texto.trim();
+        int limite = (int) recorridos + 1;
+        List<Coincidencia> coincidencias = FusionOrdenada.fusionar(shards.enTodos(s -> lectura.execute(status ->
+                inmuebleRepository.searchRangoByText(consulta, limite).stream()
+                        .map(fila -> new Coincidencia(s, ((Number) fila[0]).longValue(), ((Number) fila[1]).doubleValue()))
+                        .toList())), ORDEN_COINCIDENCIA, limite);
+
+        int desde = Math.min(pageNumber * pageSize, coincidencias.size());
+        List<Coincidencia> pagina = coincidencias.subList(desde, Math.min(desde + pageSize, coincidencias.size()));
+        Map<Integer, List<Long>> idsPorShard = new HashMap<>();
+        pagina.forEach(c -> idsPorShard.computeIfAbsent(c.shard(), s -> new ArrayList<>()).add(c.id()));
+        Map<Long, Inmueble> porId = new HashMap<>();
+        idsPorShard.forEach((s, ids) -> shards.en(s, () -> lectura.execute(status -> inmuebleRepository.findAllById(ids)))
+                .forEach(inmueble -> porId.put(inmueble.getId(), inmueble)));
+
+        List<Inmueble> items = pagina.stream().map(c -> porId.get(c.id())).filter(Objects::nonNull).toList();
+        return new InmuebleSearchResult<>(items, pageNumber, pageSize, coincidencias.size() > recorridos);
+    }
+
+    @Override
+    public List<Inmueble> findWithinBoundingBox(double minLat, double minLon, double maxLat, double maxLon, int limit) {
+        return FusionOrdenada.fusionar(
+                shards.enTodos(s -> delegado.findWithinBoundingBox(minLat, minLon, maxLat, maxLon, limit)),
+                ORDEN_INMUEBLE, tamanoPagina(limit));
+    }
+
+    @Override
+    public List<Inmueble> findNear(double latitude, double longitude, double radiusKm, int limit) {
+        List<List<Inmueble>> porShard = shards.enTodos(s -> delegado.findNear(latitude, longitude, radiusKm, limit));
+        GeoPoint centro = new GeoPoint(latitude, longitude);
+        return FusionOrdenada.fusionar(porShard,
+                Comparator.comparingDouble(i -> centro.distanceKm(i.getLatitude(), i.getLongitude())), tamanoPagina(limit));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Suma los agregados por estado de todos los shards, incluidos sus archivos de vendidos. Los
+     * propietarios también se suman: cada uno vive en un único shard. La instantánea combinada se cachea en {@link InmuebleCacheConfig#CACHE_ESTADISTICAS}.
+     */
+    @Override
+    @Cacheable(InmuebleCacheConfig.CACHE_ESTADISTICAS)
+    public InmuebleStats getEstadisticas() {
+        record Parcial(List<EstadoAgregado> agregados, long propietarios) {
+        }
+        List<Parcial> parciales = shards.enTodos(s -> lectura.execute(status -> {
+            List<EstadoAgregado> agregados = new ArrayList<>(inmuebleRepository.aggregateByEstado());
+            agregados.addAll(archivoRepository.aggregateByEstado());
+            return new Parcial(agregados, inmuebleRepository.countDistinctUserId());
+        }));
+        List<EstadoAgregado> agregados = new ArrayList<>();
+        long propietarios = 0;
+        for (Parcial parcial : parciales) {
+            agregados.addAll(parcial.agregados());
+            propietarios += parcial.propietarios();
+        }
+        return InmuebleServiceImpl.toStats(null, agregados, propietarios);
+    }
+
+    @Override
+    public InmuebleStats getEstadisticasDeUsuario(Long userId) {
+        return shards.en(shards.deUsuario(userId), () -> delegado.getEstadisticasDeUsuario(userId));
+    }
+
+    /**
+     * Fusiona las páginas que cada shard ha servido después del mismo cursor. Cada shard aporta sus
+     * primeras filas, así que las primeras del conjunto están entre ellas.
+     */
+    private <T> InmueblePage<T> fusionarPaginas(List<InmueblePage<T>> paginas, int size, Comparator<? super T> orden,
+                                                Function<T, CatalogoCursor> posicion) {
+        int pageSize = tamanoPagina(size);
+        List<List<T>> items = paginas.stream().map(InmueblePage::items).toList();
+        List<T> fusion = FusionOrdenada.fusionar(items, orden, pageSize + 1);
+        boolean hasMore = fusion.size() > pageSize || paginas.stream().anyMatch(InmueblePage::hasMore);
+        List<T> pagina = fusion.size() > pageSize ? fusion.subList(0, pageSize) : fusion;
+        String nextCursor = hasMore && !pagina.isEmpty() ? posicion.apply(pagina.get(pagina.size() - 1)).encode() : null;
+        return new InmueblePage<>(pagina, nextCursor, hasMore);
+    }
+
+    private int shardDeId(Long inmuebleId) {
+        return Math.max(0, shards.deId(inmuebleId));
+    }
+
+    private static int tamanoPagina(int size) {
+        return Math.max(1, Math.min(size, InmuebleServiceImpl.TAMANO_PAGINA_MAXIMO));
+    }
+
+    /**
+     * Añade a los campos pedidos los que fijan el orden del catálogo, necesarios para fusionar.
+     */
+    private static Set<CampoInmueble> conOrden(Set<CampoInmueble> campos) {
+        Set<CampoInmueble> consulta = EnumSet.copyOf(campos);
+        consulta.add(CampoInmueble.ID);
+        consulta.add(CampoInmueble.CREATION_DATE);
+        return consulta;
+    }
+
+    private static List<Map<String, Object>> sinCamposDeOrden(List<Map<String, Object>> filas, Set<CampoInmueble> campos) {
+        for (CampoInmueble campo : List.of(CampoInmueble.ID, CampoInmueble.CREATION_DATE)) {
+            if (!campos.contains(campo)) {
+                filas.forEach(fila -> fila.remove(campo.nombre()));
+            }
+        }
+        return filas;
+    }
+}
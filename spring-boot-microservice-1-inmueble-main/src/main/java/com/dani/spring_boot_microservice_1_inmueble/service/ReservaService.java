@@ -0,0 +1,49 @@
+package com.dani.spring_boot_microservice_1_inmueble.service;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.ReservaResultado;
+import com.dani.spring_boot_microservice_1_inmueble.model.InmuebleReserva;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interfaz que define el contrato de las reservas con caducidad de inmuebles.
+ * <p>
+ * Reservar lleva un inmueble de {@code DISPONIBLE} a {@code RESERVADO} durante un tiempo limitado;
+ * si no se compra ni se renueva antes, vuelve automáticamente a {@code DISPONIBLE}.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public interface ReservaService {
+
+    /**
+     * Reserva un inmueble disponible o, si ya lo tiene reservado el mismo usuario, renueva su reserva.
+     * De varias peticiones concurrentes sobre el mismo inmueble disponible solo una gana.
+     *
+     * @param inmuebleId      El ID del inmueble.
+     * @param requestorUserId El ID del usuario que reserva.
+     * @param minutos         Duración de la reserva en minutos, o {@code null} para la duración por defecto.
+     * @return Un {@link Optional} con el {@link ReservaResultado}, o vacío si el inmueble no existe.
+     * @throws IllegalArgumentException si la duración está fuera de los límites permitidos.
+     */
+    Optional<ReservaResultado> reservar(Long inmuebleId, Long requestorUserId, Integer minutos);
+
+    /**
+     * @param inmuebleId El ID del inmueble.
+     * @return Un {@link Optional} con la reserva vigente del inmueble, o vacío si no tiene.
+     */
+    Optional<InmuebleReserva> findReserva(Long inmuebleId);
+
+    /**
+     * Cancela la reserva de un inmueble y lo devuelve a {@code DISPONIBLE}.
+     *
+     * @param inmuebleId      El ID del inmueble.
+     * @param requestorUserId El ID del usuario que realiza la petición.
+     * @param requestorRoles  Los roles del usuario que realiza la petición.
+     * @return {@code true} si se ha cancelado, {@code false} si el inmueble no tenía reserva.
+     * @throws SecurityException si el usuario no tiene la reserva ni es administrador.
+     */
+    boolean cancelarReserva(Long inmuebleId, Long requestorUserId, List<String> requestorRoles);
+}
@@ -0,0 +1,128 @@
+package com.dani.spring_boot_microservice_1_inmueble.service;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.ReservaResultado;
+import com.dani.spring_boot_microservice_1_inmueble.event.InmuebleEvent;
+import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
+import com.dani.spring_boot_microservice_1_inmueble.model.Inmueble;
+import com.dani.spring_boot_microservice_1_inmueble.model.InmuebleReserva;
+import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleRepository;
+import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleReservaRepository;
+import com.dani.spring_boot_microservice_1_inmueble.reserva.InmuebleReservas;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementación de {@link ReservaService}.
+ * <p>
+ * La reserva usa la misma transición atómica que {@code POST /api/inmueble/{inmuebleId}/transicion}
+ * y, en la misma transacción, guarda la {@link InmuebleReserva} con su caducidad. Una vez confirmada,
+ * la caducidad se programa en {@link InmuebleReservas}.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Service
+@Slf4j
+public class ReservaServiceImpl implements ReservaService {
+
+    /**
+     * Duración mínima de una reserva.
+     */
+    private static final Duration TTL_MINIMO = Duration.ofMinutes(1);
+
+    private final InmuebleRepository inmuebleRepository;
+    private final InmuebleReservaRepository reservaRepository;
+    private final InmuebleReservas reservas;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration ttlPorDefecto;
+    private final Duration ttlMaximo;
+
+    public ReservaServiceImpl(InmuebleRepository inmuebleRepository,
+                              InmuebleReservaRepository reservaRepository,
+                              InmuebleReservas reservas,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${inmueble.reservas.ttl:15m}") Duration ttlPorDefecto,
+                              @Value("${inmueble.reservas.ttl-maximo:7d}") Duration ttlMaximo) {
+        this.inmuebleRepository = inmuebleRepository;
+        this.reservaRepository = reservaRepository;
+        this.reservas = reservas;
+        this.eventPublisher = eventPublisher;
+        this.ttlPorDefecto = ttlPorDefecto;
+        this.ttlMaximo = ttlMaximo;
+    }
+
+    @Override
+    @Transactional
+    public Optional<ReservaResultado> reservar(Long inmuebleId, Long requestorUserId, Integer minutos) {
+        Duration ttl = minutos == null ? ttlPorDefecto : Duration.ofMinutes(minutos);
+        if (ttl.compareTo(TTL_MINIMO) < 0 || ttl.compareTo(ttlMaximo) > 0) {
+            throw new IllegalArgumentException("La reserva debe durar entre " + TTL_MINIMO.toMinutes()
+                    + " y " + ttlMaximo.toMinutes() + " minutos.");
+        }
+        LocalDateTime ahora = LocalDateTime.now();
+        LocalDateTime expira = ahora.plus(ttl);
+
+        boolean nueva = inmuebleRepository.transicionarEstado(inmuebleId,
+                EnumSet.of(EstadoInmueble.DISPONIBLE), EstadoInmueble.RESERVADO) == 1;
+        boolean aplicada = nueva || reservaRepository.renovar(inmuebleId, requestorUserId, expira) == 1;
+
+        return inmuebleRepository.findById(inmuebleId).map(actual -> {
+            if (nueva) {
+                InmuebleReserva reserva = new InmuebleReserva();
+                reserva.setInmuebleId(inmuebleId);
+                reserva.setUserId(requestorUserId);
+                reserva.setFecha(ahora);
+                reserva.setExpira(expira);
+                reservaRepository.save(reserva);
+                eventPublisher.publishEvent(new InmuebleEvent(InmuebleEvent.Tipo.ESTADO_ACTUALIZADO, inmuebleId, actual.getUserId()));
+            }
+            if (aplicada) {
+                reservas.programar(inmuebleId, expira);
+                log.info("Inmueble ID {} reservado por usuario ID {} hasta {} ({}).",
+                        inmuebleId, requestorUserId, expira, nueva ? "nueva" : "renovada");
+            } else {
+                log.info("Reserva del inmueble ID {} rechazada para usuario ID {}: estado actual {}.",
+                        inmuebleId, requestorUserId, actual.getEstado());
+            }
+            return new ReservaResultado(inmuebleId, actual.getEstado(), aplicada ? expira : null, aplicada);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<InmuebleReserva> findReserva(Long inmuebleId) {
+        return reservaRepository.findById(inmuebleId);
+    }
+
+    @Override
+    @Transactional
+    public boolean cancelarReserva(Long inmuebleId, Long requestorUserId, List<String> requestorRoles) {
+        return reservaRepository.findById(inmuebleId)
+                .map(reserva -> {
+                    if (!requestorRoles.contains("ROLE_ADMIN") && !reserva.getUserId().equals(requestorUserId)) {
+                        log.warn("Acceso denegado. Usuario {} no tiene permiso para cancelar la reserva del inmueble ID: {}", requestorUserId, inmuebleId);
+                        throw new SecurityException("No tiene permiso para cancelar esta reserva.");
+                    }
+                    reservaRepository.delete(reserva);
+                    if (inmuebleRepository.transicionarEstado(inmuebleId,
+                            EnumSet.of(EstadoInmueble.RESERVADO), EstadoInmueble.DISPONIBLE) == 1) {
+                        Long propietario = inmuebleRepository.findById(inmuebleId).map(Inmueble::getUserId).orElse(null);
+                        eventPublisher.publishEvent(new InmuebleEvent(InmuebleEvent.Tipo.ESTADO_ACTUALIZADO, inmuebleId, propietario));
+                    }
+                    reservas.cancelar(inmuebleId);
+                    log.info("Reserva del inmueble ID {} cancelada por usuario ID {}.", inmuebleId, requestorUserId);
+                    return true;
+                })
+                .orElse(false);
+    }
+}
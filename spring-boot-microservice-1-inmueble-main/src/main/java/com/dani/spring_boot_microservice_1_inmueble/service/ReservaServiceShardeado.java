@@ -0,0 +1,59 @@
+package com.dani.spring_boot_microservice_1_inmueble.service;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.ReservaResultado;
+import com.dani.spring_boot_microservice_1_inmueble.model.InmuebleReserva;
+import com.dani.spring_boot_microservice_1_inmueble.shard.Shards;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link ReservaService} repartido entre shards (ver {@code shard.ShardConfig}), activo solo si se
+ * define {@code inmueble.shards.urls}.
+ * <p>
+ * La reserva de un inmueble se guarda en su mismo shard, así que cada operación se ejecuta entera en el
+ * shard que generó el ID, igual que las de un inmueble concreto en {@link InmuebleServiceShardeado}.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "inmueble.shards.urls")
+public class ReservaServiceShardeado implements ReservaService {
+
+    private final ReservaService delegado;
+    private final Shards shards;
+
+    public ReservaServiceShardeado(@Qualifier("reservaServiceImpl") ReservaService delegado, Shards shards) {
+        this.delegado = delegado;
+        this.shards = shards;
+    }
+
+    @Override
+    public Optional<ReservaResultado> reservar(Long inmuebleId, Long requestorUserId, Integer minutos) {
+        return shards.en(shardDeId(inmuebleId), () -> delegado.reservar(inmuebleId, requestorUserId, minutos));
+    }
+
+    @Override
+    public Optional<InmuebleReserva> findReserva(Long inmuebleId) {
+        return shards.en(shardDeId(inmuebleId), () -> delegado.findReserva(inmuebleId));
+    }
+
+    @Override
+    public boolean cancelarReserva(Long inmuebleId, Long requestorUserId, List<String> requestorRoles) {
+        return shards.en(shardDeId(inmuebleId), () -> delegado.cancelarReserva(inmuebleId, requestorUserId, requestorRoles));
+    }
+
+    /**
+     * Un ID que ningún shard ha podido generar se busca en el shard 0, donde no existe.
+     */
+    private int shardDeId(Long inmuebleId) {
+        return Math.max(0, shards.deId(inmuebleId));
+    }
+}
@@ -0,0 +1,55 @@
+package com.dani.spring_boot_microservice_1_inmueble.shard;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Bloques de IDs de inmueble en memoria, uno por shard.
+ * <p>
+ * Cada {@code nextval} de la secuencia de un shard devuelve el extremo superior de un bloque de
+ * {@code tamano} IDs (el mismo esquema {@code pooled} que {@code repository.InmuebleBulkRepository}), que
+ * se reparten sin volver a consultarla. Los bloques se guardan por shard porque cada uno sale del rango
+ * de IDs de su shard ({@link ClaveShard}): un ID tomado del bloque de otro shard llevaría después las
+ * operaciones por ID al shard equivocado.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+final class BloquesId {
+
+    private final int tamano;
+    private final Map<Integer, Bloque> bloques = new ConcurrentHashMap<>();
+
+    /**
+     * @param tamano El incremento de la secuencia (ver {@code Inmueble#TAMANO_BLOQUE_ID}).
+     */
+    BloquesId(int tamano) {
+        this.tamano = tamano;
+    }
+
+    /**
+     * Devuelve el siguiente ID de un shard, pidiendo un bloque nuevo a su secuencia si se ha agotado.
+     *
+     * @param shard   El shard.
+     * @param nextval Llamada a {@code nextval} sobre la secuencia de ese mismo shard.
+     * @return El ID.
+     */
+    long siguiente(int shard, LongSupplier nextval) {
+        return bloques.computeIfAbsent(shard, s -> new Bloque()).siguiente(nextval);
+    }
+
+    private final class Bloque {
+        private long siguiente = 1;
+        private long ultimo;
+
+        private synchronized long siguiente(LongSupplier nextval) {
+            if (siguiente > ultimo) {
+                ultimo = nextval.getAsLong();
+                siguiente = Math.max(1, ultimo - tamano + 1);
+            }
+            return siguiente++;
+        }
+    }
+}
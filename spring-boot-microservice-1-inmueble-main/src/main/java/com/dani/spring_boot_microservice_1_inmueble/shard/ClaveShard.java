@@ -0,0 +1,77 @@
+package com.dani.spring_boot_microservice_1_inmueble.shard;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.Inmueble;
+
+/**
+ * Reparto de inmuebles entre shards.
+ * <p>
+ * Todos los inmuebles de un propietario viven en el mismo shard, elegido por un hash de su
+ * {@code userId}. Los IDs siguen siendo únicos en todo el sistema porque la secuencia
+ * {@link Inmueble#SECUENCIA_ID} de cada shard reparte IDs de un rango propio de {@link #RANGO_ID}
+ * valores: el shard {@code k} usa {@code (k·RANGO_ID, (k+1)·RANGO_ID]}. Así, el shard de un inmueble
+ * se deduce de su ID sin ninguna tabla de correspondencias, y el shard 0 conserva los IDs existentes.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public final class ClaveShard {
+
+    /**
+     * IDs reservados a cada shard (2^48, suficiente para 32.768 shards dentro de un {@code bigint}).
+     */
+    public static final long RANGO_ID = 1L << 48;
+
+    private ClaveShard() {
+    }
+
+    /**
+     * Devuelve el shard de un propietario.
+     *
+     * @param userId El ID del propietario ({@code null} va al shard 0).
+     * @param shards El número de shards.
+     * @return El índice del shard, en {@code [0, shards)}.
+     */
+    public static int deUsuario(Long userId, int shards) {
+        if (userId == null) {
+            return 0;
+        }
+        return (int) Math.floorMod(mezclar(userId), (long) shards);
+    }
+
+    /**
+     * Devuelve el shard que generó un ID de inmueble.
+     *
+     * @param id El ID del inmueble.
+     * @return El índice del shard, o {@code -1} si el ID no es válido.
+     */
+    public static int deId(Long id) {
+        if (id == null || id <= 0) {
+            return -1;
+        }
+        return (int) ((id - 1) / RANGO_ID);
+    }
+
+    /**
+     * Valor con el que debe empezar la secuencia de un shard para que su primer bloque
+     * ({@link BloquesId}, ver {@link Inmueble#TAMANO_BLOQUE_ID}) empiece en el primer ID de su rango.
+     *
+     * @param shard El índice del shard.
+     * @return El primer valor que debe devolver {@code nextval}.
+     */
+    public static long inicioSecuencia(int shard) {
+        return shard * RANGO_ID + Inmueble.TAMANO_BLOQUE_ID;
+    }
+
+    /**
+     * Finalizador de MurmurHash3: reparte uniformemente IDs de usuario consecutivos.
+     */
+    static long mezclar(long valor) {
+        valor ^= valor >>> 33;
+        valor *= 0xff51afd7ed558ccdL;
+        valor ^= valor >>> 33;
+        valor *= 0xc4ceb9fe1a85ec53L;
+        valor ^= valor >>> 33;
+        return valor;
+    }
+}
@@ -0,0 +1,119 @@
+package com.dani.spring_boot_microservice_1_inmueble.shard;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Ejecución por shard para los componentes que trabajan con inmuebles fuera de {@code InmuebleService}
+ * (reservas, avisos, visitas, índices en memoria). Con shards ({@link Shards}) lleva cada tarea al shard
+ * de sus inmuebles; sin ellos, la ejecuta tal cual, como si todo estuviera en el shard 0.
+ * <p>
+ * Como {@link Shards#en}, no puede cambiar de shard dentro de una transacción: las tareas deben abrir
+ * sus propias transacciones. Tras el commit de una transacción sí puede usarse con los inmuebles que
+ * esa transacción modificó, porque están todos en su shard.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Component
+public class EnrutadorShards {
+
+    private final ObjectProvider<Shards> shards;
+
+    public EnrutadorShards(ObjectProvider<Shards> shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * Ejecuta una tarea en un shard.
+     *
+     * @param shard El shard (sin shards, se ignora).
+     * @param tarea La tarea.
+     * @return El resultado de la tarea.
+     */
+    public <T, E extends Exception> T en(int shard, Shards.Tarea<T, E> tarea) throws E {
+        Shards repartidos = shards.getIfAvailable();
+        return repartidos == null ? tarea.ejecutar() : repartidos.en(shard, tarea);
+    }
+
+    /**
+     * Ejecuta una tarea en el shard de un inmueble.
+     *
+     * @param inmuebleId El ID del inmueble (uno que ningún shard ha generado va al shard 0).
+     * @param tarea      La tarea.
+     * @return El resultado de la tarea.
+     */
+    public <T, E extends Exception> T enShardDe(Long inmuebleId, Shards.Tarea<T, E> tarea) throws E {
+        Shards repartidos = shards.getIfAvailable();
+        return repartidos == null ? tarea.ejecutar() : repartidos.en(Math.max(0, repartidos.deId(inmuebleId)), tarea);
+    }
+
+    /**
+     * Ejecuta una tarea en cada shard, uno detrás de otro y en el hilo actual.
+     *
+     * @param tarea La tarea, que recibe el índice de shard.
+     */
+    public void enCadaShard(IntConsumer tarea) {
+        Shards repartidos = shards.getIfAvailable();
+        int total = repartidos == null ? 1 : repartidos.size();
+        for (int shard = 0; shard < total; shard++) {
+            int s = shard;
+            en(s, () -> {
+                tarea.accept(s);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Agrupa IDs de inmueble por shard.
+     *
+     * @param ids Los IDs.
+     * @return Los IDs de cada shard, en orden de shard y conservando su orden relativo.
+     */
+    public Map<Integer, List<Long>> agrupar(Collection<Long> ids) {
+        Shards repartidos = shards.getIfAvailable();
+        Map<Integer, List<Long>> grupos = new TreeMap<>();
+        for (Long id : ids) {
+            int shard = repartidos == null ? 0 : Math.max(0, repartidos.deId(id));
+            grupos.computeIfAbsent(shard, s -> new ArrayList<>()).add(id);
+        }
+        return grupos;
+    }
+
+    /**
+     * Ejecuta una tarea en cada shard con los IDs de inmueble que le corresponden.
+     *
+     * @param ids   Los IDs.
+     * @param tarea La tarea, que recibe los IDs del shard en el que se ejecuta.
+     */
+    public void porShard(Collection<Long> ids, Consumer<List<Long>> tarea) {
+        agrupar(ids).forEach((shard, suyos) -> en(shard, () -> {
+            tarea.accept(suyos);
+            return null;
+        }));
+    }
+
+    /**
+     * Lee inmuebles por ID, cada uno en su shard.
+     *
+     * @param ids     Los IDs.
+     * @param lectura La lectura, que recibe los IDs del shard en el que se ejecuta.
+     * @return Lo leído en todos los shards, en orden de shard.
+     */
+    public <T> List<T> leerPorShard(Collection<Long> ids, Function<List<Long>, List<T>> lectura) {
+        List<T> resultado = new ArrayList<>();
+        agrupar(ids).forEach((shard, suyos) -> resultado.addAll(en(shard, () -> lectura.apply(suyos))));
+        return resultado;
+    }
+}
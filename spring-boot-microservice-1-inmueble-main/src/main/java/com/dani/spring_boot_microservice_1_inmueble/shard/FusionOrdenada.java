@@ -0,0 +1,57 @@
+package com.dani.spring_boot_microservice_1_inmueble.shard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Fusión de los resultados ya ordenados de varios shards en una sola lista ordenada.
+ * <p>
+ * Mezcla de {@code k} vías con un montículo de las cabezas de cada lista: {@code O(n log k)} y,
+ * con límite, se detiene en cuanto lo alcanza sin recorrer el resto.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public final class FusionOrdenada {
+
+    private FusionOrdenada() {
+    }
+
+    /**
+     * Fusiona listas ordenadas.
+     *
+     * @param listas Las listas, cada una ya ordenada según {@code orden}.
+     * @param orden  El orden común.
+     * @param limite Número máximo de elementos del resultado ({@code Integer.MAX_VALUE} para todos).
+     * @return Los primeros {@code limite} elementos de todas las listas, en orden. Los empates conservan
+     * el orden de las listas.
+     */
+    public static <T> List<T> fusionar(List<? extends List<? extends T>> listas, Comparator<? super T> orden, int limite) {
+        int total = 0;
+        for (List<? extends T> lista : listas) {
+            total += lista.size();
+        }
+        List<T> resultado = new ArrayList<>(Math.min(total, limite));
+        PriorityQueue<int[]> cabezas = new PriorityQueue<>(Math.max(1, listas.size()), (a, b) -> {
+            int c = orden.compare(listas.get(a[0]).get(a[1]), listas.get(b[0]).get(b[1]));
+            return c != 0 ? c : Integer.compare(a[0], b[0]);
+        });
+        for (int i = 0; i < listas.size(); i++) {
+            if (!listas.get(i).isEmpty()) {
+                cabezas.add(new int[]{i, 0});
+            }
+        }
+        while (!cabezas.isEmpty() && resultado.size() < limite) {
+            int[] cabeza = cabezas.poll();
+            List<? extends T> lista = listas.get(cabeza[0]);
+            resultado.add(lista.get(cabeza[1]));
+            if (++cabeza[1] < lista.size()) {
+                cabezas.add(cabeza);
+            }
+        }
+        return resultado;
+    }
+}
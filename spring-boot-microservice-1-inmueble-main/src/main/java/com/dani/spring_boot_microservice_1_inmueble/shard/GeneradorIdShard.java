@@ -0,0 +1,48 @@
+package com.dani.spring_boot_microservice_1_inmueble.shard;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.Inmueble;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Objects;
+
+/**
+ * Generador de IDs de inmueble por bloques de {@link Inmueble#TAMANO_BLOQUE_ID}, con un bloque en
+ * memoria por shard ({@link BloquesId}).
+ * <p>
+ * Sustituye al optimizador {@code pooled} de Hibernate, que guarda un único bloque para toda la
+ * fábrica de sesiones: con varios shards, los inmuebles de un shard recibirían IDs del rango de otro.
+ * El shard es el fijado en el hilo ({@link Shards#en}), que es también el de la conexión de la sesión,
+ * así que {@code nextval} se ejecuta sobre la secuencia de ese shard. Sin shards, todo va al shard 0
+ * y se comporta como el optimizador {@code pooled}.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class GeneradorIdShard implements IdentifierGenerator {
+
+    private static final String SQL_NEXTVAL = "select nextval('" + Inmueble.SECUENCIA_ID + "')";
+
+    private final BloquesId bloques = new BloquesId(Inmueble.TAMANO_BLOQUE_ID);
+
+    /**
+     * Hibernate crea el generador a partir de la anotación {@link IdPorShard}, que no tiene atributos.
+     */
+    public GeneradorIdShard(IdPorShard config) {
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        int shard = Objects.requireNonNullElse(ShardDataSource.actual(), 0);
+        return bloques.siguiente(shard, () -> session.doReturningWork(conexion -> {
+            try (PreparedStatement ps = conexion.prepareStatement(SQL_NEXTVAL);
+                 ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }));
+    }
+}
@@ -0,0 +1,22 @@
+package com.dani.spring_boot_microservice_1_inmueble.shard;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Genera el ID de inmueble con {@link GeneradorIdShard}: por bloques de la secuencia
+ * {@code Inmueble#SECUENCIA_ID} del shard en el que se guarda.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@IdGeneratorType(GeneradorIdShard.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface IdPorShard {
+}
@@ -0,0 +1,105 @@
+package com.dani.spring_boot_microservice_1_inmueble.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reparto de los inmuebles entre varias bases de datos, activo solo si se define {@code inmueble.shards.urls}.
+ * <p>
+ * El shard 0 es {@code spring.datasource.url} (con sus datos actuales) y cada URL de
+ * {@code inmueble.shards.urls} añade un shard más. Cada propietario vive en un shard según el hash de su
+ * {@code userId} ({@link ClaveShard}); {@code service.InmuebleServiceShardeado} lleva a un solo shard las
+ * operaciones de un propietario o de un ID y reparte las globales entre todos, y
+ * {@code service.InmuebleImportServiceShardeado} importa en el shard del solicitante.
+ * <p>
+ * El número de shards no puede cambiar sin redistribuir los inmuebles, y no se combina con las réplicas
+ * de lectura ({@code inmueble.replicas.urls}). Fuera de {@code InmuebleService}:
+ * <ul>
+ * <li>el registro de cambios vive solo en el shard 0, y los demás shards escriben allí sus entradas
+ * ({@code feed.InmuebleCambioLog});</li>
+ * <li>el histórico de precios se guarda en el shard de cada inmueble, y la tendencia los agrega todos
+ * ({@code precio.PrecioHistorial});</li>
+ * <li>las reservas ({@code service.ReservaServiceShardeado}) y las visitas se guardan en el shard de cada
+ * inmueble, y los avisos, las sugerencias, los inmuebles similares y la distribución de precios leen cada
+ * inmueble de su shard y construyen sus índices recorriendo todos ({@link EnrutadorShards}); las búsquedas
+ * guardadas y sus avisos viven en el shard 0.</li>
+ * </ul>
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Configuration
+@ConditionalOnProperty(name = "inmueble.shards.urls")
+public class ShardConfig {
+
+    /**
+     * Crea un pool por shard y prepara los shards adicionales.
+     *
+     * @param properties  Propiedades {@code spring.datasource.*} (shard 0 y credenciales por defecto).
+     * @param environment Entorno, para enlazar las propiedades de cada pool.
+     * @param urls        URLs JDBC de los shards adicionales ({@code inmueble.shards.urls}, separadas por comas).
+     * @param esquema     Script de esquema que se ejecuta en cada shard adicional.
+     * @return Los shards; Spring cierra sus pools al parar.
+     */
+    @Bean
+    public Shards shards(DataSourceProperties properties,
+                         Environment environment,
+                         @Value("${inmueble.shards.urls}") List<String> urls,
+                         @Value("classpath:db/inmueble-schema.sql") Resource esquema) {
+        if (environment.containsProperty("inmueble.replicas.urls")) {
+            throw new IllegalStateException("inmueble.shards.urls e inmueble.replicas.urls no pueden usarse a la vez.");
+        }
+        Binder binder = Binder.get(environment);
+        List<HikariDataSource> pools = new ArrayList<>();
+        pools.add(pool(properties, properties.determineUrl(), 0, binder));
+        for (String url : urls) {
+            if (!url.isBlank()) {
+                HikariDataSource pool = pool(properties, url.trim(), pools.size(), binder);
+                binder.bind("inmueble.shards.hikari", Bindable.ofInstance(pool));
+                pools.add(pool);
+            }
+        }
+        if (pools.size() < 2) {
+            throw new IllegalStateException("inmueble.shards.urls no contiene ninguna URL.");
+        }
+        Shards shards = new Shards(pools);
+        shards.preparar(esquema);
+        return shards;
+    }
+
+    /**
+     * {@link DataSource} que usan JPA, los {@code JdbcTemplate} y la inicialización del esquema.
+     *
+     * @param shards Los shards.
+     * @return El enrutador entre shards.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(Shards shards) {
+        return shards.getDataSource();
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, String url, int shard, Binder binder) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName("inmueble-shard-" + shard);
+        return pool;
+    }
+}
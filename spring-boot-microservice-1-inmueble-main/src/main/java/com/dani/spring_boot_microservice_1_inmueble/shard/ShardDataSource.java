@@ -0,0 +1,43 @@
+package com.dani.spring_boot_microservice_1_inmueble.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * {@link javax.sql.DataSource} que entrega conexiones del shard fijado en el hilo actual
+ * (ver {@link Shards#en}), o del shard 0 si no hay ninguno.
+ * <p>
+ * La conexión de una transacción se obtiene al empezarla, así que el shard debe fijarse antes.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class ShardDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Integer> ACTUAL = new ThreadLocal<>();
+
+    /**
+     * @return El shard fijado en el hilo actual, o {@code null}.
+     */
+    static Integer actual() {
+        return ACTUAL.get();
+    }
+
+    /**
+     * Fija el shard del hilo actual.
+     *
+     * @param shard El shard, o {@code null} para volver al shard 0.
+     */
+    static void fijar(Integer shard) {
+        if (shard == null) {
+            ACTUAL.remove();
+        } else {
+            ACTUAL.set(shard);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ACTUAL.get();
+    }
+}
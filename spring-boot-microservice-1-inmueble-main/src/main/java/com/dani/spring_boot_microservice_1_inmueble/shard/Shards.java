@@ -0,0 +1,191 @@
+package com.dani.spring_boot_microservice_1_inmueble.shard;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.Inmueble;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Shards de inmuebles: sus pools, el {@link ShardDataSource} que los reparte y la ejecución de
+ * tareas en uno o en todos ellos.
+ * <p>
+ * {@link #en} fija el shard en el hilo actual mientras dura la tarea; {@link #enTodos} ejecuta la tarea
+ * en paralelo, un hilo por shard, y devuelve los resultados en orden de shard. Las transacciones deben
+ * empezar dentro de la tarea, nunca antes (ver {@link ShardDataSource}).
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Slf4j
+public class Shards implements AutoCloseable {
+
+    /**
+     * Tarea ejecutada en un shard, que puede lanzar una excepción comprobada.
+     */
+    @FunctionalInterface
+    public interface Tarea<T, E extends Exception> {
+        T ejecutar() throws E;
+    }
+
+    private static final String SQL_INICIO_SECUENCIA =
+            "select setval('" + Inmueble.SECUENCIA_ID + "', ?, false) from " + Inmueble.SECUENCIA_ID + " where last_value < ?";
+
+    private final List<HikariDataSource> pools;
+    private final ShardDataSource dataSource;
+    private final ExecutorService ejecutor;
+
+    /**
+     * @param pools Los pools de cada shard; el primero es el shard 0.
+     */
+    public Shards(List<HikariDataSource> pools) {
+        this.pools = List.copyOf(pools);
+        Map<Object, Object> destinos = new HashMap<>();
+        for (int i = 0; i < this.pools.size(); i++) {
+            destinos.put(i, this.pools.get(i));
+        }
+        this.dataSource = new ShardDataSource();
+        this.dataSource.setTargetDataSources(destinos);
+        this.dataSource.setDefaultTargetDataSource(this.pools.get(0));
+        this.dataSource.setLenientFallback(false);
+        this.dataSource.afterPropertiesSet();
+        AtomicInteger hilos = new AtomicInteger();
+        this.ejecutor = Executors.newFixedThreadPool(this.pools.size(), r -> {
+            Thread hilo = new Thread(r, "inmueble-shards-" + hilos.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Prepara los shards distintos del 0 (el 0 lo prepara {@code spring.sql.init}): ejecuta el script de
+     * esquema y lleva la secuencia de IDs al comienzo de su rango (ver {@link ClaveShard}).
+     * Las tablas deben existir ya en cada shard.
+     *
+     * @param esquema El script idempotente de {@code db/inmueble-schema.sql}.
+     */
+    public void preparar(Resource esquema) {
+        for (int shard = 1; shard < pools.size(); shard++) {
+            new ResourceDatabasePopulator(esquema).execute(pools.get(shard));
+            long inicio = ClaveShard.inicioSecuencia(shard);
+            new JdbcTemplate(pools.get(shard)).queryForList(SQL_INICIO_SECUENCIA, inicio, inicio - Inmueble.TAMANO_BLOQUE_ID);
+        }
+        log.info("{} shards de inmuebles preparados.", pools.size());
+    }
+
+    /**
+     * @return El {@link DataSource} que reparte las conexiones según el shard del hilo.
+     */
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * @param shard El shard.
+     * @return El pool del shard, sin enrutar: sus conexiones no dependen del shard fijado en el hilo.
+     */
+    public DataSource getDataSource(int shard) {
+        return pools.get(shard);
+    }
+
+    /**
+     * @return El shard fijado en el hilo actual (0 si no hay ninguno).
+     */
+    public int actual() {
+        return Objects.requireNonNullElse(ShardDataSource.actual(), 0);
+    }
+
+    /**
+     * @return El número de shards.
+     */
+    public int size() {
+        return pools.size();
+    }
+
+    /**
+     * @param userId El ID del propietario.
+     * @return Su shard.
+     */
+    public int deUsuario(Long userId) {
+        return ClaveShard.deUsuario(userId, pools.size());
+    }
+
+    /**
+     * @param id El ID de un inmueble.
+     * @return Su shard, o {@code -1} si ningún shard ha podido generarlo.
+     */
+    public int deId(Long id) {
+        int shard = ClaveShard.deId(id);
+        return shard < pools.size() ? shard : -1;
+    }
+
+    /**
+     * Ejecuta una tarea en un shard.
+     *
+     * @param shard El shard.
+     * @param tarea La tarea, que debe abrir sus propias transacciones.
+     * @return El resultado de la tarea.
+     * @throws IllegalStateException si ya hay una transacción en curso en otro shard.
+     */
+    public <T, E extends Exception> T en(int shard, Tarea<T, E> tarea) throws E {
+        Integer anterior = ShardDataSource.actual();
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && Objects.requireNonNullElse(anterior, 0) != shard) {
+            throw new IllegalStateException("No se puede cambiar de shard dentro de una transacción.");
+        }
+        ShardDataSource.fijar(shard);
+        try {
+            return tarea.ejecutar();
+        } finally {
+            ShardDataSource.fijar(anterior);
+        }
+    }
+
+    /**
+     * Ejecuta una tarea en todos los shards en paralelo.
+     *
+     * @param tarea La tarea, que recibe el índice de shard y debe abrir sus propias transacciones.
+     * @return Los resultados, en orden de shard.
+     */
+    public <T> List<T> enTodos(IntFunction<T> tarea) {
+        List<CompletableFuture<T>> futuros = new ArrayList<>(pools.size());
+        for (int shard = 0; shard < pools.size(); shard++) {
+            int s = shard;
+            futuros.add(CompletableFuture.supplyAsync(() -> en(s, () -> tarea.apply(s)), ejecutor));
+        }
+        List<T> resultados = new ArrayList<>(futuros.size());
+        try {
+            for (CompletableFuture<T> futuro : futuros) {
+                resultados.add(futuro.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+        return resultados;
+    }
+
+    @Override
+    public void close() {
+        ejecutor.shutdownNow();
+        pools.forEach(HikariDataSource::close);
+    }
+}
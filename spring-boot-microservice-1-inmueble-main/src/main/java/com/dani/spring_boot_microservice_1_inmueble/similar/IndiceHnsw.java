@@ -0,0 +1,413 @@
+package com.dani.spring_boot_microservice_1_inmueble.similar;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Índice aproximado de vecinos más cercanos (HNSW, <i>Hierarchical Navigable Small World</i>) en memoria,
+ * con distancia euclídea.
+ * <p>
+ * Cada vector es un nodo de un grafo por capas: todos están en la capa 0 y cada capa superior contiene
+ * una fracción exponencialmente menor de ellos. Una búsqueda baja de forma voraz desde la capa más alta
+ * hasta la 0, donde explora los {@code ef} candidatos más prometedores; así visita unos cientos de nodos
+ * aunque el índice tenga millones, a cambio de que el resultado sea aproximado.
+ * <p>
+ * Las inserciones son incrementales. Eliminar o sustituir un vector solo lo marca como borrado (sigue
+ * sirviendo de paso en el grafo, pero no aparece en los resultados); cuando hay más borrados que vivos,
+ * el grafo se reconstruye con los vivos. Las escrituras están serializadas y las búsquedas se ejecutan
+ * en paralelo entre sí.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class IndiceHnsw {
+
+    /**
+     * Resultado de una búsqueda.
+     *
+     * @param id        ID del vector.
+     * @param distancia Distancia euclídea a la consulta.
+     */
+    public record Vecino(long id, double distancia) {
+    }
+
+    /**
+     * Borrados que se toleran sin reconstruir, aunque superen a los vivos.
+     */
+    static final int MIN_BORRADOS_RECONSTRUCCION = 1000;
+
+    private static final int M = 16;
+    private static final int EF_CONSTRUCCION = 64;
+    private static final int EF_BUSQUEDA = 64;
+
+    private record Candidato(int nodo, double distancia) {
+    }
+
+    private static final Comparator<Candidato> MAS_CERCANO_PRIMERO = Comparator.comparingDouble(Candidato::distancia);
+
+    private static final class Nodo {
+        private final long id;
+        private final float[] vector;
+        /** Vecinos por capa; {@code cuentas[l]} indica cuántas posiciones de {@code vecinos[l]} están ocupadas. */
+        private final int[][] vecinos;
+        private final int[] cuentas;
+        private boolean borrado;
+
+        private Nodo(long id, float[] vector, int nivel, int m) {
+            this.id = id;
+            this.vector = vector;
+            this.vecinos = new int[nivel + 1][];
+            this.cuentas = new int[nivel + 1];
+            for (int l = 0; l <= nivel; l++) {
+                vecinos[l] = new int[l == 0 ? 2 * m : m];
+            }
+        }
+
+        private int nivel() {
+            return vecinos.length - 1;
+        }
+    }
+
+    private final int dimension;
+    private final int m;
+    private final int efConstruccion;
+    private final double factorNivel;
+    private final Random azar;
+    private final ReadWriteLock bloqueo = new ReentrantReadWriteLock();
+
+    private List<Nodo> nodos = new ArrayList<>();
+    private Map<Long, Integer> posiciones = new HashMap<>();
+    private int entrada = -1;
+    private int borrados;
+
+    /**
+     * @param dimension Número de componentes de los vectores.
+     */
+    public IndiceHnsw(int dimension) {
+        this(dimension, M, EF_CONSTRUCCION, new Random().nextLong());
+    }
+
+    /**
+     * @param dimension      Número de componentes de los vectores.
+     * @param m              Vecinos por nodo en las capas superiores (el doble en la capa 0).
+     * @param efConstruccion Candidatos explorados al insertar.
+     * @param semilla        Semilla del sorteo de niveles.
+     */
+    IndiceHnsw(int dimension, int m, int efConstruccion, long semilla) {
+        if (dimension < 1 || m < 2 || efConstruccion < m) {
+            throw new IllegalArgumentException("Parámetros de HNSW no válidos.");
+        }
+        this.dimension = dimension;
+        this.m = m;
+        this.efConstruccion = efConstruccion;
+        this.factorNivel = 1 / Math.log(m);
+        this.azar = new Random(semilla);
+    }
+
+    /**
+     * Añade un vector o sustituye el anterior con el mismo ID.
+     *
+     * @param id     El ID.
+     * @param vector El vector, que no debe modificarse después.
+     */
+    public void guardar(long id, float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("El vector debe tener " + dimension + " componentes.");
+        }
+        bloqueo.writeLock().lock();
+        try {
+            borrar(id);
+            insertar(id, vector);
+            reconstruirSiHaceFalta();
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita un vector, si existe.
+     *
+     * @param id El ID.
+     */
+    public void eliminar(long id) {
+        bloqueo.writeLock().lock();
+        try {
+            borrar(id);
+            reconstruirSiHaceFalta();
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param id El ID.
+     * @return Si el índice contiene un vector con ese ID.
+     */
+    public boolean contiene(long id) {
+        bloqueo.readLock().lock();
+        try {
+            return posiciones.containsKey(id);
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return El número de vectores (sin contar los borrados).
+     */
+    public int size() {
+        bloqueo.readLock().lock();
+        try {
+            return posiciones.size();
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los vectores más cercanos a una consulta.
+     *
+     * @param consulta  El vector de consulta.
+     * @param k         Número máximo de resultados.
+     * @param admitido  Filtro de IDs; los rechazados no cuentan para {@code k}.
+     * @return Hasta {@code k} vecinos admitidos, del más cercano al más lejano. Puede devolver menos si el
+     * filtro rechaza muchos de los candidatos explorados.
+     */
+    public List<Vecino> buscar(float[] consulta, int k, LongPredicate admitido) {
+        if (consulta.length != dimension) {
+            throw new IllegalArgumentException("El vector debe tener " + dimension + " componentes.");
+        }
+        if (k < 1) {
+            return List.of();
+        }
+        bloqueo.readLock().lock();
+        try {
+            if (entrada < 0) {
+                return List.of();
+            }
+            Nodo inicio = nodos.get(entrada);
+            int actual = entrada;
+            for (int l = inicio.nivel(); l > 0; l--) {
+                actual = voraz(consulta, actual, l);
+            }
+            List<Candidato> candidatos = buscarCapa(consulta, List.of(candidato(consulta, actual)), Math.max(EF_BUSQUEDA, 2 * k), 0);
+            List<Vecino> vecinos = new ArrayList<>(k);
+            for (Candidato c : candidatos) {
+                Nodo nodo = nodos.get(c.nodo());
+                if (!nodo.borrado && admitido.test(nodo.id)) {
+                    vecinos.add(new Vecino(nodo.id, Math.sqrt(c.distancia())));
+                    if (vecinos.size() == k) {
+                        break;
+                    }
+                }
+            }
+            return vecinos;
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Distancia euclídea al cuadrado.
+     */
+    static double distancia(float[] a, float[] b) {
+        double suma = 0;
+        for (int i = 0; i < a.length; i++) {
+            double d = a[i] - b[i];
+            suma += d * d;
+        }
+        return suma;
+    }
+
+    private void insertar(long id, float[] vector) {
+        int nivel = (int) Math.min(-Math.log(1 - azar.nextDouble()) * factorNivel, 16);
+        int nuevo = nodos.size();
+        Nodo nodo = new Nodo(id, vector, nivel, m);
+        nodos.add(nodo);
+        posiciones.put(id, nuevo);
+        if (entrada < 0) {
+            entrada = nuevo;
+            return;
+        }
+        int nivelMaximo = nodos.get(entrada).nivel();
+        int actual = entrada;
+        for (int l = nivelMaximo; l > nivel; l--) {
+            actual = voraz(vector, actual, l);
+        }
+        List<Candidato> puntos = List.of(candidato(vector, actual));
+        for (int l = Math.min(nivel, nivelMaximo); l >= 0; l--) {
+            List<Candidato> candidatos = buscarCapa(vector, puntos, efConstruccion, l);
+            List<Candidato> elegidos = seleccionar(candidatos, nodo.vecinos[l].length);
+            for (Candidato elegido : elegidos) {
+                nodo.vecinos[l][nodo.cuentas[l]++] = elegido.nodo();
+                conectar(elegido.nodo(), nuevo, elegido.distancia(), l);
+            }
+            puntos = candidatos;
+        }
+        if (nivel > nivelMaximo) {
+            entrada = nuevo;
+        }
+    }
+
+    private void borrar(long id) {
+        Integer posicion = posiciones.remove(id);
+        if (posicion != null) {
+            nodos.get(posicion).borrado = true;
+            borrados++;
+        }
+    }
+
+    private void reconstruirSiHaceFalta() {
+        if (borrados <= Math.max(MIN_BORRADOS_RECONSTRUCCION, posiciones.size())) {
+            return;
+        }
+        List<Nodo> anteriores = nodos;
+        nodos = new ArrayList<>(posiciones.size());
+        posiciones = new HashMap<>();
+        entrada = -1;
+        borrados = 0;
+        for (Nodo nodo : anteriores) {
+            if (!nodo.borrado) {
+                insertar(nodo.id, nodo.vector);
+            }
+        }
+    }
+
+    /**
+     * Añade {@code nuevo} a los vecinos de {@code nodo} en la capa {@code l}; si ya tiene el máximo,
+     * sustituye al vecino más lejano, siempre que {@code nuevo} esté más cerca. Volver a aplicar
+     * {@link #seleccionar} aquí costaría {@code O(M²)} distancias por vecino y multiplicaría el tiempo de
+     * inserción sin mejorar apreciablemente los resultados.
+     */
+    private void conectar(int nodo, int nuevo, double distancia, int l) {
+        Nodo n = nodos.get(nodo);
+        int[] vecinos = n.vecinos[l];
+        if (n.cuentas[l] < vecinos.length) {
+            vecinos[n.cuentas[l]++] = nuevo;
+            return;
+        }
+        int lejano = -1;
+        double maxima = distancia;
+        for (int i = 0; i < vecinos.length; i++) {
+            double d = distancia(n.vector, nodos.get(vecinos[i]).vector);
+            if (d > maxima) {
+                maxima = d;
+                lejano = i;
+            }
+        }
+        if (lejano >= 0) {
+            vecinos[lejano] = nuevo;
+        }
+    }
+
+    /**
+     * Heurística de selección de vecinos: un candidato se descarta si está más cerca de un vecino ya
+     * elegido que del propio nodo, para repartir las conexiones en varias direcciones. Si quedan huecos,
+     * se rellenan con los descartados más cercanos.
+     *
+     * @param candidatos Candidatos ordenados del más cercano al más lejano.
+     */
+    private List<Candidato> seleccionar(List<Candidato> candidatos, int maximo) {
+        List<Candidato> elegidos = new ArrayList<>(maximo);
+        List<Candidato> descartados = new ArrayList<>();
+        for (Candidato c : candidatos) {
+            if (elegidos.size() == maximo) {
+                break;
+            }
+            float[] vector = nodos.get(c.nodo()).vector;
+            boolean diverso = true;
+            for (Candidato e : elegidos) {
+                if (distancia(vector, nodos.get(e.nodo()).vector) < c.distancia()) {
+                    diverso = false;
+                    break;
+                }
+            }
+            (diverso ? elegidos : descartados).add(c);
+        }
+        for (int i = 0; i < descartados.size() && elegidos.size() < maximo; i++) {
+            elegidos.add(descartados.get(i));
+        }
+        return elegidos;
+    }
+
+    /**
+     * Avanza de vecino en vecino mientras se acerque a la consulta.
+     */
+    private int voraz(float[] consulta, int inicio, int l) {
+        int actual = inicio;
+        double mejor = distancia(consulta, nodos.get(actual).vector);
+        boolean mejorado = true;
+        while (mejorado) {
+            mejorado = false;
+            Nodo nodo = nodos.get(actual);
+            for (int i = 0; i < nodo.cuentas[l]; i++) {
+                int vecino = nodo.vecinos[l][i];
+                double d = distancia(consulta, nodos.get(vecino).vector);
+                if (d < mejor) {
+                    mejor = d;
+                    actual = vecino;
+                    mejorado = true;
+                }
+            }
+        }
+        return actual;
+    }
+
+    /**
+     * Búsqueda en anchura guiada dentro de una capa.
+     *
+     * @return Los {@code ef} nodos más cercanos encontrados, del más cercano al más lejano.
+     */
+    private List<Candidato> buscarCapa(float[] consulta, List<Candidato> puntos, int ef, int l) {
+        BitSet visitados = new BitSet(nodos.size());
+        PriorityQueue<Candidato> pendientes = new PriorityQueue<>(MAS_CERCANO_PRIMERO);
+        PriorityQueue<Candidato> mejores = new PriorityQueue<>(MAS_CERCANO_PRIMERO.reversed());
+        for (Candidato punto : puntos) {
+            visitados.set(punto.nodo());
+            pendientes.add(punto);
+            mejores.add(punto);
+        }
+        while (mejores.size() > ef) {
+            mejores.poll();
+        }
+        while (!pendientes.isEmpty()) {
+            Candidato c = pendientes.poll();
+            if (mejores.size() >= ef && c.distancia() > mejores.peek().distancia()) {
+                break;
+            }
+            Nodo nodo = nodos.get(c.nodo());
+            for (int i = 0; i < nodo.cuentas[l]; i++) {
+                int vecino = nodo.vecinos[l][i];
+                if (visitados.get(vecino)) {
+                    continue;
+                }
+                visitados.set(vecino);
+                Candidato v = candidato(consulta, vecino);
+                if (mejores.size() < ef || v.distancia() < mejores.peek().distancia()) {
+                    pendientes.add(v);
+                    mejores.add(v);
+                    if (mejores.size() > ef) {
+                        mejores.poll();
+                    }
+                }
+            }
+        }
+        List<Candidato> resultado = new ArrayList<>(mejores);
+        resultado.sort(MAS_CERCANO_PRIMERO);
+        return resultado;
+    }
+
+    private Candidato candidato(float[] consulta, int nodo) {
+        return new Candidato(nodo, distancia(consulta, nodos.get(nodo).vector));
+    }
+}
@@ -0,0 +1,170 @@
+package com.dani.spring_boot_microservice_1_inmueble.similar;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleResumen;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleSimilar;
+import com.dani.spring_boot_microservice_1_inmueble.event.ColectorInmuebles;
+import com.dani.spring_boot_microservice_1_inmueble.event.ConstruccionIndice;
+import com.dani.spring_boot_microservice_1_inmueble.event.OyenteInmuebles;
+import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
+import com.dani.spring_boot_microservice_1_inmueble.model.Inmueble;
+import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleRepository;
+import com.dani.spring_boot_microservice_1_inmueble.shard.EnrutadorShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Inmuebles parecidos a uno dado ({@code GET /api/inmueble/{inmuebleId}/similar}).
+ * <p>
+ * Cada inmueble se reduce a un {@link VectorInmueble} (precio, ubicación y palabras del nombre y la
+ * dirección) y los {@link EstadoInmueble#DISPONIBLE} se guardan en un {@link IndiceHnsw}, de modo que una
+ * consulta explora unos cientos de vectores en memoria en lugar de comparar con todo el catálogo en SQL.
+ * Solo los inmuebles resultantes se leen de la base de datos, en una única consulta por ID en cada shard.
+ * <p>
+ * Se mantiene igual que el autocompletado ({@code suggest.InmuebleSugerencias}): se construye al
+ * arrancar y relee los IDs que le entrega {@link ColectorInmuebles} tras cada commit; un inmueble que ya
+ * no existe (eliminado o archivado) se quita del índice, y uno que deja de estar disponible deja de recomendarse,
+ * aunque se pueden seguir pidiendo sus parecidos.
+ * <p>
+ * Cada instancia del servicio mantiene su propio índice y solo ve los cambios hechos a través de ella.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Component
+@Slf4j
+public class InmuebleSimilares implements OyenteInmuebles {
+
+    /**
+     * Número máximo de inmuebles devueltos por {@link #similares(Long, int)}.
+     */
+    public static final int MAX_SIMILARES = 50;
+
+    private static final int TAMANO_LOTE = 1000;
+
+    private final InmuebleRepository inmuebleRepository;
+    private final EnrutadorShards enrutador;
+    private final TransactionTemplate lectura;
+    private final IndiceHnsw indice = new IndiceHnsw(VectorInmueble.DIMENSION);
+    /** Vector de cada inmueble del catálogo, disponible o no: es el punto de partida de la consulta. */
+    private final Map<Long, float[]> vectores = new ConcurrentHashMap<>();
+    private final ConstruccionIndice construccion = new ConstruccionIndice();
+
+    public InmuebleSimilares(InmuebleRepository inmuebleRepository, EnrutadorShards enrutador,
+                             PlatformTransactionManager transactionManager) {
+        this.inmuebleRepository = inmuebleRepository;
+        this.enrutador = enrutador;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        // Tras el commit, los recursos de la transacción original siguen ligados al hilo.
+        this.lectura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Devuelve los inmuebles disponibles más parecidos a uno dado.
+     *
+     * @param inmuebleId El ID del inmueble.
+     * @param limite     Número máximo de inmuebles; se limita a {@value #MAX_SIMILARES}.
+     * @return Los inmuebles, del más al menos parecido; vacío si el inmueble no está en el índice (no
+     * existe o aún se está construyendo).
+     */
+    public List<InmuebleSimilar> similares(Long inmuebleId, int limite) {
+        float[] vector = vectores.get(inmuebleId);
+        if (vector == null) {
+            return List.of();
+        }
+        int k = Math.min(Math.max(limite, 1), MAX_SIMILARES);
+        List<IndiceHnsw.Vecino> vecinos = indice.buscar(vector, k, id -> id != inmuebleId);
+        if (vecinos.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = vecinos.stream().map(IndiceHnsw.Vecino::id).toList();
+        Map<Long, InmuebleResumen> inmuebles = enrutador.leerPorShard(ids,
+                        suyos -> lectura.execute(status -> inmuebleRepository.findAllResumenByIdIn(suyos)))
+                .stream().collect(Collectors.toMap(InmuebleResumen::id, Function.identity()));
+        List<InmuebleSimilar> similares = new ArrayList<>(vecinos.size());
+        for (IndiceHnsw.Vecino vecino : vecinos) {
+            InmuebleResumen inmueble = inmuebles.get(vecino.id());
+            if (inmueble != null && inmueble.estado() == EstadoInmueble.DISPONIBLE) {
+                similares.add(new InmuebleSimilar(inmueble, vecino.distancia()));
+            }
+        }
+        return similares;
+    }
+
+    /**
+     * Construye el índice con el catálogo completo al terminar el arranque.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void construir() {
+        long inicio = System.nanoTime();
+        enrutador.enCadaShard(shard -> lectura.executeWithoutResult(status -> {
+            try (Stream<Inmueble> inmuebles = inmuebleRepository.streamAllBy()) {
+                inmuebles.forEach(this::guardar);
+            }
+        }));
+        aplicar(construccion.terminar());
+        log.info("Índice de inmuebles similares construido: {} inmuebles ({} disponibles) en {} ms.",
+                vectores.size(), indice.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Relee los inmuebles modificados, o los aplaza si el índice aún se está construyendo.
+     *
+     * @param ids Los IDs modificados.
+     */
+    @Override
+    public void inmueblesConfirmados(Set<Long> ids) {
+        if (construccion.aplicarAhora(ids)) {
+            aplicar(ids);
+        }
+    }
+
+    /**
+     * Relee de su shard los inmuebles indicados y actualiza el índice.
+     */
+    private void aplicar(Set<Long> ids) {
+        enrutador.porShard(ids, lista -> {
+            for (int desde = 0; desde < lista.size(); desde += TAMANO_LOTE) {
+                List<Long> lote = lista.subList(desde, Math.min(desde + TAMANO_LOTE, lista.size()));
+                List<Inmueble> existentes = lectura.execute(status -> inmuebleRepository.findAllById(lote));
+                Set<Long> eliminados = new HashSet<>(lote);
+                for (Inmueble inmueble : existentes) {
+                    guardar(inmueble);
+                    eliminados.remove(inmueble.getId());
+                }
+                for (Long id : eliminados) {
+                    vectores.remove(id);
+                    indice.eliminar(id);
+                }
+            }
+        });
+        log.debug("Índice de inmuebles similares actualizado para {} inmuebles.", ids.size());
+    }
+
+    private void guardar(Inmueble inmueble) {
+        float[] vector = VectorInmueble.de(inmueble.getPrice(), inmueble.getLatitude(), inmueble.getLongitude(),
+                inmueble.getName(), inmueble.getAddress());
+        vectores.put(inmueble.getId(), vector);
+        if (inmueble.getEstado() == EstadoInmueble.DISPONIBLE) {
+            indice.guardar(inmueble.getId(), vector);
+        } else {
+            indice.eliminar(inmueble.getId());
+        }
+    }
+}
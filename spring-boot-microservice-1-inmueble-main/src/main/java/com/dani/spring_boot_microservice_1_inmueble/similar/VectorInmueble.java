@@ -0,0 +1,106 @@
+package com.dani.spring_boot_microservice_1_inmueble.similar;
+
+import com.dani.spring_boot_microservice_1_inmueble.suggest.IndicePrefijos;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Vector de características de un inmueble para buscar inmuebles parecidos con {@link IndiceHnsw}.
+ * <p>
+ * Los componentes están escalados para que la distancia euclídea tenga sentido en conjunto:
+ * <ul>
+ * <li>precio: logaritmo en base 2, así que duplicar el precio aleja una unidad;</li>
+ * <li>ubicación: punto sobre la esfera terrestre en unidades de {@value #KM_POR_UNIDAD} km;</li>
+ * <li>texto: las palabras normalizadas del nombre y la dirección ({@link IndicePrefijos#palabras}),
+ * repartidas por hash en {@value #DIMENSION_TEXTO} componentes y con norma 1, de modo que dos textos sin
+ * palabras en común quedan a unas 1,4 unidades.</li>
+ * </ul>
+ * Un inmueble sin precio o sin ubicación tiene ceros en esos componentes: solo se parece a otros a los
+ * que les falta el mismo dato.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public final class VectorInmueble {
+
+    /**
+     * Componentes dedicados al texto.
+     */
+    public static final int DIMENSION_TEXTO = 32;
+
+    /**
+     * Componentes del vector: precio, ubicación (3) y texto.
+     */
+    public static final int DIMENSION = 1 + 3 + DIMENSION_TEXTO;
+
+    /**
+     * Kilómetros que equivalen a una unidad de distancia.
+     */
+    static final double KM_POR_UNIDAD = 10;
+
+    /**
+     * Palabras más cortas que esto (artículos, preposiciones) no se tienen en cuenta.
+     */
+    static final int LONGITUD_MINIMA_PALABRA = 3;
+
+    private static final double RADIO_TIERRA_KM = 6371.0;
+
+    private VectorInmueble() {
+    }
+
+    /**
+     * Calcula el vector de un inmueble.
+     *
+     * @param precio    Precio, o {@code null}.
+     * @param latitud   Latitud, o {@code null}.
+     * @param longitud  Longitud, o {@code null}.
+     * @param nombre    Nombre, o {@code null}.
+     * @param direccion Dirección, o {@code null}.
+     * @return Un vector de {@value #DIMENSION} componentes.
+     */
+    public static float[] de(Double precio, Double latitud, Double longitud, String nombre, String direccion) {
+        float[] vector = new float[DIMENSION];
+        if (precio != null && precio > 0) {
+            vector[0] = (float) (Math.log1p(precio) / Math.log(2));
+        }
+        if (latitud != null && longitud != null) {
+            double lat = Math.toRadians(latitud);
+            double lon = Math.toRadians(longitud);
+            double radio = RADIO_TIERRA_KM / KM_POR_UNIDAD;
+            vector[1] = (float) (radio * Math.cos(lat) * Math.cos(lon));
+            vector[2] = (float) (radio * Math.cos(lat) * Math.sin(lon));
+            vector[3] = (float) (radio * Math.sin(lat));
+        }
+        Set<String> palabras = new LinkedHashSet<>(IndicePrefijos.palabras(nombre));
+        palabras.addAll(IndicePrefijos.palabras(direccion));
+        double norma = 0;
+        for (String palabra : palabras) {
+            if (palabra.length() < LONGITUD_MINIMA_PALABRA) {
+                continue;
+            }
+            int hash = mezclar(palabra.hashCode());
+            int i = 4 + Math.floorMod(hash, DIMENSION_TEXTO);
+            float anterior = vector[i];
+            // El signo, tomado de otro bit del hash, hace que las colisiones se compensen en lugar de sumarse.
+            vector[i] += (hash & 0x8000_0000) == 0 ? 1 : -1;
+            norma += vector[i] * vector[i] - anterior * anterior;
+        }
+        if (norma > 0) {
+            float escala = (float) (1 / Math.sqrt(norma));
+            for (int i = 4; i < DIMENSION; i++) {
+                vector[i] *= escala;
+            }
+        }
+        return vector;
+    }
+
+    private static int mezclar(int h) {
+        h ^= h >>> 16;
+        h *= 0x85eb_ca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2_ae35;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,314 @@
+package com.dani.spring_boot_microservice_1_inmueble.suggest;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de prefijos (trie) en memoria sobre las palabras normalizadas del nombre y la dirección
+ * de los inmuebles, para el autocompletado.
+ * <p>
+ * Cada nodo del trie guarda, ya ordenados, los {@value #MAX_RESULTADOS} inmuebles más recientes de
+ * todo su subárbol. Así, una consulta de una sola palabra solo recorre tantos nodos como letras tiene
+ * el prefijo y devuelve directamente esa lista, sin importar cuántos inmuebles coincidan.
+ * <p>
+ * Las escrituras ({@link #guardar}, {@link #eliminar}) están serializadas y recalculan la lista de cada
+ * nodo del camino de abajo arriba, combinando las listas de sus hijos con los inmuebles cuya palabra
+ * termina en ese nodo. Las lecturas no toman ningún bloqueo: las listas son inmutables y se sustituyen
+ * de forma atómica.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class IndicePrefijos {
+
+    /**
+     * Número máximo de resultados de una consulta (y tamaño de la lista guardada en cada nodo).
+     */
+    public static final int MAX_RESULTADOS = 20;
+
+    /**
+     * Número máximo de inmuebles que se examinan uno a uno en una consulta de varias palabras.
+     * Por encima, solo se filtran los más recientes del prefijo más selectivo.
+     */
+    static final int LIMITE_EXHAUSTIVO = 10_000;
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Inmueble indexado.
+     *
+     * @param id       ID del inmueble.
+     * @param name     Nombre, tal como se devuelve en las sugerencias.
+     * @param address  Dirección, tal como se devuelve en las sugerencias.
+     * @param recencia Clave de orden (mayor es más reciente), normalmente la fecha de creación en milisegundos.
+     * @param palabras Palabras normalizadas del nombre y la dirección.
+     */
+    public record Documento(long id, String name, String address, long recencia, List<String> palabras) {
+    }
+
+    private record Entrada(long id, long recencia) {
+    }
+
+    private static final Comparator<Entrada> MAS_RECIENTE_PRIMERO =
+            Comparator.comparingLong(Entrada::recencia).thenComparingLong(Entrada::id).reversed();
+
+    private static final class Nodo {
+        /** Hijos por carácter; se crea con el primer hijo. */
+        private volatile Map<Character, Nodo> hijos;
+        /** Inmuebles con una palabra que termina exactamente en este nodo; se crea con el primero. */
+        private NavigableSet<Entrada> propios;
+        /** Los más recientes del subárbol, sin repetidos. */
+        private volatile List<Entrada> recientes = List.of();
+        /** Número de pares (palabra, inmueble) en el subárbol. */
+        private volatile int cuenta;
+    }
+
+    private final Nodo raiz = new Nodo();
+    private final Map<Long, Documento> documentos = new ConcurrentHashMap<>();
+
+    /**
+     * Normaliza un texto en palabras: minúsculas, sin tildes ni diéresis y separado por cualquier
+     * carácter que no sea letra o dígito.
+     *
+     * @param texto El texto, o {@code null}.
+     * @return Las palabras distintas, en orden de aparición.
+     */
+    public static List<String> palabras(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        String normalizado = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        Set<String> palabras = new LinkedHashSet<>();
+        for (String palabra : SEPARADORES.split(normalizado)) {
+            if (!palabra.isEmpty()) {
+                palabras.add(palabra);
+            }
+        }
+        return List.copyOf(palabras);
+    }
+
+    /**
+     * Añade un inmueble o sustituye su versión anterior.
+     *
+     * @param id       ID del inmueble.
+     * @param name     Nombre.
+     * @param address  Dirección.
+     * @param recencia Clave de orden (mayor es más reciente).
+     */
+    public synchronized void guardar(long id, String name, String address, long recencia) {
+        eliminar(id);
+        Set<String> palabras = new LinkedHashSet<>(palabras(name));
+        palabras.addAll(palabras(address));
+        Documento documento = new Documento(id, name, address, recencia, List.copyOf(palabras));
+        Entrada entrada = new Entrada(id, recencia);
+        for (String palabra : documento.palabras()) {
+            insertar(palabra, entrada);
+        }
+        documentos.put(id, documento);
+    }
+
+    /**
+     * Quita un inmueble del índice, si estaba.
+     *
+     * @param id ID del inmueble.
+     */
+    public synchronized void eliminar(long id) {
+        Documento anterior = documentos.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        Entrada entrada = new Entrada(id, anterior.recencia());
+        for (String palabra : anterior.palabras()) {
+            quitar(palabra, entrada);
+        }
+    }
+
+    /**
+     * Busca los inmuebles más recientes cuyo nombre o dirección contienen, para cada palabra de la
+     * consulta, alguna palabra que empieza por ella.
+     *
+     * @param consulta El texto escrito por el usuario (por ejemplo, {@code "casa pla"}).
+     * @param limite   Número máximo de resultados; se limita a {@value #MAX_RESULTADOS}.
+     * @return Los inmuebles encontrados, más recientes primero.
+     */
+    public List<Documento> buscar(String consulta, int limite) {
+        List<String> prefijos = palabras(consulta);
+        int max = Math.max(1, Math.min(limite, MAX_RESULTADOS));
+        if (prefijos.isEmpty()) {
+            return List.of();
+        }
+        Nodo masSelectivo = null;
+        for (String prefijo : prefijos) {
+            Nodo nodo = buscarNodo(prefijo);
+            if (nodo == null || nodo.cuenta == 0) {
+                return List.of();
+            }
+            if (masSelectivo == null || nodo.cuenta < masSelectivo.cuenta) {
+                masSelectivo = nodo;
+            }
+        }
+
+        List<Entrada> candidatos;
+        if (prefijos.size() == 1 || masSelectivo.cuenta > LIMITE_EXHAUSTIVO) {
+            candidatos = masSelectivo.recientes;
+        } else {
+            candidatos = new ArrayList<>(new HashSet<>(recoger(masSelectivo, new ArrayList<>())));
+            candidatos.sort(MAS_RECIENTE_PRIMERO);
+        }
+
+        List<Documento> resultado = new ArrayList<>(max);
+        for (Entrada entrada : candidatos) {
+            Documento documento = documentos.get(entrada.id());
+            if (documento != null && coincide(documento, prefijos)) {
+                resultado.add(documento);
+                if (resultado.size() == max) {
+                    break;
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * @return El número de inmuebles indexados.
+     */
+    public int size() {
+        return documentos.size();
+    }
+
+    private static boolean coincide(Documento documento, List<String> prefijos) {
+        for (String prefijo : prefijos) {
+            boolean encontrado = false;
+            for (String palabra : documento.palabras()) {
+                if (palabra.startsWith(prefijo)) {
+                    encontrado = true;
+                    break;
+                }
+            }
+            if (!encontrado) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Nodo buscarNodo(String prefijo) {
+        Nodo nodo = raiz;
+        for (int i = 0; i < prefijo.length() && nodo != null; i++) {
+            Map<Character, Nodo> hijos = nodo.hijos;
+            nodo = hijos == null ? null : hijos.get(prefijo.charAt(i));
+        }
+        return nodo;
+    }
+
+    private void insertar(String palabra, Entrada entrada) {
+        List<Nodo> camino = new ArrayList<>(palabra.length() + 1);
+        Nodo nodo = raiz;
+        camino.add(nodo);
+        for (int i = 0; i < palabra.length(); i++) {
+            if (nodo.hijos == null) {
+                nodo.hijos = new ConcurrentHashMap<>(4);
+            }
+            nodo = nodo.hijos.computeIfAbsent(palabra.charAt(i), c -> new Nodo());
+            camino.add(nodo);
+        }
+        if (nodo.propios == null) {
+            nodo.propios = new ConcurrentSkipListSet<>(MAS_RECIENTE_PRIMERO);
+        }
+        if (!nodo.propios.add(entrada)) {
+            return;
+        }
+        for (int i = camino.size() - 1; i >= 0; i--) {
+            Nodo actual = camino.get(i);
+            actual.cuenta++;
+            recalcular(actual);
+        }
+    }
+
+    private void quitar(String palabra, Entrada entrada) {
+        List<Nodo> camino = new ArrayList<>(palabra.length() + 1);
+        Nodo nodo = raiz;
+        camino.add(nodo);
+        for (int i = 0; i < palabra.length(); i++) {
+            nodo = nodo.hijos == null ? null : nodo.hijos.get(palabra.charAt(i));
+            if (nodo == null) {
+                return;
+            }
+            camino.add(nodo);
+        }
+        if (nodo.propios == null || !nodo.propios.remove(entrada)) {
+            return;
+        }
+        for (int i = camino.size() - 1; i >= 0; i--) {
+            Nodo actual = camino.get(i);
+            actual.cuenta--;
+            if (actual.cuenta == 0 && i > 0) {
+                camino.get(i - 1).hijos.remove(palabra.charAt(i - 1));
+            } else {
+                recalcular(actual);
+            }
+        }
+    }
+
+    /**
+     * Recalcula los más recientes de un nodo a partir de sus propios inmuebles y de las listas
+     * (ya calculadas) de sus hijos. Es exacto porque cada hijo guarda sus {@value #MAX_RESULTADOS}
+     * más recientes.
+     */
+    private static void recalcular(Nodo nodo) {
+        List<Entrada> candidatos = new ArrayList<>();
+        if (nodo.propios != null) {
+            for (Entrada entrada : nodo.propios) {
+                candidatos.add(entrada);
+                if (candidatos.size() == MAX_RESULTADOS) {
+                    break;
+                }
+            }
+        }
+        Map<Character, Nodo> hijos = nodo.hijos;
+        if (hijos != null) {
+            for (Nodo hijo : hijos.values()) {
+                candidatos.addAll(hijo.recientes);
+            }
+        }
+        candidatos.sort(MAS_RECIENTE_PRIMERO);
+        List<Entrada> recientes = new ArrayList<>(Math.min(candidatos.size(), MAX_RESULTADOS));
+        Set<Long> vistos = new HashSet<>();
+        for (Entrada entrada : candidatos) {
+            if (vistos.add(entrada.id())) {
+                recientes.add(entrada);
+                if (recientes.size() == MAX_RESULTADOS) {
+                    break;
+                }
+            }
+        }
+        nodo.recientes = List.copyOf(recientes);
+    }
+
+    private static List<Entrada> recoger(Nodo nodo, List<Entrada> destino) {
+        if (nodo.propios != null) {
+            destino.addAll(nodo.propios);
+        }
+        Map<Character, Nodo> hijos = nodo.hijos;
+        if (hijos != null) {
+            for (Nodo hijo : hijos.values()) {
+                recoger(hijo, destino);
+            }
+        }
+        return destino;
+    }
+}
@@ -0,0 +1,145 @@
+package com.dani.spring_boot_microservice_1_inmueble.suggest;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleResumen;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleSugerencia;
+import com.dani.spring_boot_microservice_1_inmueble.event.ColectorInmuebles;
+import com.dani.spring_boot_microservice_1_inmueble.event.ConstruccionIndice;
+import com.dani.spring_boot_microservice_1_inmueble.event.InmuebleEvent;
+import com.dani.spring_boot_microservice_1_inmueble.event.OyenteInmuebles;
+import com.dani.spring_boot_microservice_1_inmueble.model.Inmueble;
+import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleRepository;
+import com.dani.spring_boot_microservice_1_inmueble.shard.EnrutadorShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Autocompletado de nombres y direcciones de inmuebles ({@code GET /api/inmueble/suggest}).
+ * <p>
+ * Mantiene un {@link IndicePrefijos} en memoria para que las consultas que se lanzan mientras el usuario
+ * escribe no lleguen a la base de datos. El índice:
+ * <ul>
+ * <li>se construye al arrancar, recorriendo el catálogo de cada shard con
+ * {@link InmuebleRepository#streamAllBy()};</li>
+ * <li>se actualiza con los {@link InmuebleEvent} que publican las escrituras de {@code InmuebleServiceImpl}
+ * (y la importación masiva), que {@link ColectorInmuebles} le entrega tras cada commit. Los IDs
+ * modificados en una transacción se releen en bloque de su shard: un inmueble que ya no existe
+ * se quita del índice. Los cambios de estado se ignoran porque no afectan al nombre ni a la
+ * dirección.</li>
+ * </ul>
+ * Los cambios confirmados mientras se construye el índice se vuelven a aplicar al terminar, para que
+ * una lectura antigua del recorrido inicial no prevalezca sobre ellos.
+ * <p>
+ * Cada instancia del servicio mantiene su propio índice y solo ve los cambios hechos a través de ella.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Component
+@Slf4j
+public class InmuebleSugerencias implements OyenteInmuebles {
+
+    private static final int TAMANO_LOTE = 1000;
+
+    private final InmuebleRepository inmuebleRepository;
+    private final EnrutadorShards enrutador;
+    private final TransactionTemplate lectura;
+    private final IndicePrefijos indice = new IndicePrefijos();
+    private final ConstruccionIndice construccion = new ConstruccionIndice();
+
+    public InmuebleSugerencias(InmuebleRepository inmuebleRepository, EnrutadorShards enrutador,
+                               PlatformTransactionManager transactionManager) {
+        this.inmuebleRepository = inmuebleRepository;
+        this.enrutador = enrutador;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        // Tras el commit, los recursos de la transacción original siguen ligados al hilo.
+        this.lectura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Devuelve las sugerencias para lo que el usuario ha escrito hasta el momento.
+     *
+     * @param prefijo El texto escrito; cada palabra se trata como un prefijo.
+     * @param limite  Número máximo de sugerencias; se limita a {@value IndicePrefijos#MAX_RESULTADOS}.
+     * @return Los inmuebles que coinciden, más recientes primero (vacío mientras se construye el índice).
+     */
+    public List<InmuebleSugerencia> sugerir(String prefijo, int limite) {
+        return indice.buscar(prefijo, limite).stream()
+                .map(d -> new InmuebleSugerencia(d.id(), d.name(), d.address()))
+                .toList();
+    }
+
+    /**
+     * Construye el índice con el catálogo completo al terminar el arranque.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void construir() {
+        long inicio = System.nanoTime();
+        enrutador.enCadaShard(shard -> lectura.executeWithoutResult(status -> {
+            try (Stream<Inmueble> inmuebles = inmuebleRepository.streamAllBy()) {
+                inmuebles.forEach(i -> indice.guardar(i.getId(), i.getName(), i.getAddress(), recencia(i.getCreationDate())));
+            }
+        }));
+        aplicar(construccion.terminar());
+        log.info("Índice de autocompletado construido: {} inmuebles en {} ms.",
+                indice.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Los cambios de estado no afectan al índice.
+     */
+    @Override
+    public boolean acepta(InmuebleEvent.Tipo tipo) {
+        return tipo != InmuebleEvent.Tipo.ESTADO_ACTUALIZADO;
+    }
+
+    /**
+     * Relee los inmuebles modificados, o los aplaza si el índice aún se está construyendo.
+     *
+     * @param ids Los IDs modificados.
+     */
+    @Override
+    public void inmueblesConfirmados(Set<Long> ids) {
+        if (construccion.aplicarAhora(ids)) {
+            aplicar(ids);
+        }
+    }
+
+    /**
+     * Relee de su shard los inmuebles indicados y actualiza el índice.
+     */
+    private void aplicar(Set<Long> ids) {
+        enrutador.porShard(ids, lista -> {
+            for (int desde = 0; desde < lista.size(); desde += TAMANO_LOTE) {
+                List<Long> lote = lista.subList(desde, Math.min(desde + TAMANO_LOTE, lista.size()));
+                List<InmuebleResumen> existentes = lectura.execute(status -> inmuebleRepository.findAllResumenByIdIn(lote));
+                Set<Long> eliminados = new HashSet<>(lote);
+                for (InmuebleResumen resumen : existentes) {
+                    indice.guardar(resumen.id(), resumen.name(), resumen.address(), recencia(resumen.creationDate()));
+                    eliminados.remove(resumen.id());
+                }
+                eliminados.forEach(indice::eliminar);
+            }
+        });
+        log.debug("Índice de autocompletado actualizado para {} inmuebles.", ids.size());
+    }
+
+    private static long recencia(LocalDateTime creationDate) {
+        return creationDate == null ? 0L : creationDate.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
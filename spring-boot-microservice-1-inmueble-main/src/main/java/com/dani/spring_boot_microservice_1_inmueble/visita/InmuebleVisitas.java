@@ -0,0 +1,219 @@
+package com.dani.spring_boot_microservice_1_inmueble.visita;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmueblePopular;
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleResumen;
+import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleRepository;
+import com.dani.spring_boot_microservice_1_inmueble.shard.EnrutadorShards;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Contadores de visitas a las fichas de inmuebles y ranking de tendencias.
+ * <p>
+ * Registrar una visita solo incrementa un {@link LongAdder} en memoria (repartido en celdas por hilo,
+ * sin contención entre peticiones). Cada {@code inmueble.visitas.intervalo}, un único hilo:
+ * <ol>
+ * <li>sustituye el mapa de contadores por uno vacío y vacía el anterior;</li>
+ * <li>suma lo acumulado en la tabla {@code inmueble_visita} con un {@code INSERT ... ON CONFLICT DO UPDATE}
+ * por lotes JDBC en el shard de cada inmueble (en orden de ID, para que dos instancias no se bloqueen
+ * mutuamente);</li>
+ * <li>actualiza un resumen {@link SpaceSaving} con las visitas del intervalo, atenuando antes las anteriores
+ * para que su peso se reduzca a la mitad cada {@code inmueble.visitas.vida-media}, y publica su top.</li>
+ * </ol>
+ * Así, mil visitas a un inmueble entre dos volcados cuestan una sola fila del lote. Si el volcado de un shard
+ * falla, sus visitas se guardan para el siguiente intento. Al parar el servicio se vuelca lo pendiente.
+ * <p>
+ * El ranking se calcula con las visitas que recibe cada instancia; con el tráfico repartido por el balanceador,
+ * todas ven aproximadamente el mismo.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Component
+@Slf4j
+public class InmuebleVisitas {
+
+    /**
+     * Número máximo de inmuebles devueltos por {@link #populares(int)}.
+     */
+    public static final int MAX_POPULARES = 100;
+
+    /**
+     * Claves vigiladas por el resumen de tendencias; bastante más que {@link #MAX_POPULARES}
+     * para que el top sea prácticamente exacto.
+     */
+    private static final int CAPACIDAD_TENDENCIAS = 2000;
+
+    private static final String SQL_UPSERT = """
+            insert into inmueble_visita (inmueble_id, visitas, actualizado) values (?, ?, ?)
+            on conflict (inmueble_id) do update
+            set visitas = inmueble_visita.visitas + excluded.visitas, actualizado = excluded.actualizado
+            """;
+
+    private static final String SQL_TOTAL = "select visitas from inmueble_visita where inmueble_id = ?";
+
+    private static final int TAMANO_LOTE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InmuebleRepository inmuebleRepository;
+    private final EnrutadorShards enrutador;
+    private final TransactionTemplate lectura;
+    private final ScheduledExecutorService procesador;
+    private final SpaceSaving tendencias = new SpaceSaving(CAPACIDAD_TENDENCIAS);
+    private final double atenuacion;
+    private volatile ConcurrentHashMap<Long, LongAdder> contadores = new ConcurrentHashMap<>();
+    /**
+     * Mapa sustituido en el volcado anterior, que se vuelve a vaciar por si algún hilo incrementó
+     * uno de sus contadores justo después de la sustitución.
+     */
+    private ConcurrentHashMap<Long, LongAdder> retirados = new ConcurrentHashMap<>();
+    /**
+     * Visitas de volcados fallidos, pendientes de escribir (ya incluidas en el ranking).
+     */
+    private Map<Long, Long> reintentos = new TreeMap<>();
+    private volatile List<SpaceSaving.Entrada> ranking = List.of();
+
+    public InmuebleVisitas(JdbcTemplate jdbcTemplate,
+                           InmuebleRepository inmuebleRepository,
+                           EnrutadorShards enrutador,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${inmueble.visitas.intervalo:10s}") Duration intervalo,
+                           @Value("${inmueble.visitas.vida-media:6h}") Duration vidaMedia) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.inmuebleRepository = inmuebleRepository;
+        this.enrutador = enrutador;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        long periodo = Math.max(1000, intervalo.toMillis());
+        this.atenuacion = Math.pow(0.5, (double) periodo / Math.max(periodo, vidaMedia.toMillis()));
+        this.procesador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "inmueble-visitas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        procesador.scheduleWithFixedDelay(this::volcar, periodo, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registra una visita a la ficha de un inmueble.
+     *
+     * @param inmuebleId El ID del inmueble.
+     */
+    public void registrar(Long inmuebleId) {
+        ConcurrentHashMap<Long, LongAdder> actuales = contadores;
+        LongAdder contador = actuales.get(inmuebleId);
+        if (contador == null) {
+            contador = actuales.computeIfAbsent(inmuebleId, id -> new LongAdder());
+        }
+        contador.increment();
+    }
+
+    /**
+     * Devuelve el total de visitas de un inmueble, incluidas las aún no volcadas por esta instancia.
+     *
+     * @param inmuebleId El ID del inmueble.
+     * @return El número de visitas.
+     */
+    public long total(Long inmuebleId) {
+        List<Long> volcadas = enrutador.enShardDe(inmuebleId,
+                () -> jdbcTemplate.queryForList(SQL_TOTAL, Long.class, inmuebleId));
+        LongAdder pendientes = contadores.get(inmuebleId);
+        return (volcadas.isEmpty() ? 0 : volcadas.get(0)) + (pendientes == null ? 0 : pendientes.sum());
+    }
+
+    /**
+     * Devuelve los inmuebles con más visitas recientes.
+     *
+     * @param limit Número máximo de inmuebles (se limita a {@value #MAX_POPULARES}).
+     * @return Los inmuebles, de mayor a menor puntuación; los eliminados se omiten.
+     */
+    public List<InmueblePopular> populares(int limit) {
+        List<SpaceSaving.Entrada> top = ranking;
+        top = top.subList(0, Math.min(Math.max(limit, 1), Math.min(MAX_POPULARES, top.size())));
+        if (top.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = top.stream().map(SpaceSaving.Entrada::clave).toList();
+        Map<Long, InmuebleResumen> inmuebles = enrutador.leerPorShard(ids,
+                        suyos -> lectura.execute(status -> inmuebleRepository.findAllResumenByIdIn(suyos)))
+                .stream().collect(Collectors.toMap(InmuebleResumen::id, Function.identity()));
+        List<InmueblePopular> populares = new ArrayList<>(top.size());
+        for (SpaceSaving.Entrada entrada : top) {
+            InmuebleResumen inmueble = inmuebles.get(entrada.clave());
+            if (inmueble != null) {
+                populares.add(new InmueblePopular(inmueble, entrada.peso()));
+            }
+        }
+        return populares;
+    }
+
+    @PreDestroy
+    void cerrar() {
+        procesador.shutdownNow();
+        volcar();
+    }
+
+    private synchronized void volcar() {
+        ConcurrentHashMap<Long, LongAdder> actuales = contadores;
+        contadores = new ConcurrentHashMap<>();
+        Map<Long, Long> visitas = new TreeMap<>();
+        vaciar(retirados, visitas);
+        vaciar(actuales, visitas);
+        retirados = actuales;
+
+        tendencias.escalar(atenuacion);
+        visitas.forEach(tendencias::sumar);
+        ranking = tendencias.top(MAX_POPULARES);
+        reintentos.forEach((id, n) -> visitas.merge(id, n, Long::sum));
+        reintentos = new TreeMap<>();
+        if (visitas.isEmpty()) {
+            return;
+        }
+
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        enrutador.agrupar(visitas.keySet()).forEach((shard, ids) -> {
+            try {
+                enrutador.en(shard, () -> jdbcTemplate.batchUpdate(SQL_UPSERT, ids, TAMANO_LOTE, (ps, id) -> {
+                    ps.setLong(1, id);
+                    ps.setLong(2, visitas.get(id));
+                    ps.setTimestamp(3, ahora);
+                }));
+                log.debug("Volcadas las visitas de {} inmuebles en el shard {}.", ids.size(), shard);
+            } catch (RuntimeException e) {
+                log.warn("No se pudieron volcar las visitas de {} inmuebles en el shard {}; se reintentará: {}",
+                        ids.size(), shard, e.getMessage());
+                ids.forEach(id -> reintentos.put(id, visitas.get(id)));
+            }
+        });
+    }
+
+    private static void vaciar(Map<Long, LongAdder> origen, Map<Long, Long> destino) {
+        origen.forEach((id, contador) -> {
+            long n = contador.sumThenReset();
+            if (n > 0) {
+                destino.merge(id, n, Long::sum);
+            }
+        });
+    }
+}
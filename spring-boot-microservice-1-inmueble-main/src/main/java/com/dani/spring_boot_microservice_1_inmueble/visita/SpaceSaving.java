@@ -0,0 +1,164 @@
+package com.dani.spring_boot_microservice_1_inmueble.visita;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resumen Space-Saving (Metwally et al.) para mantener los elementos más frecuentes de un flujo
+ * con memoria acotada.
+ * <p>
+ * Se vigilan como mucho {@code capacidad} claves. Cuando llega una clave nueva y no queda sitio, sustituye
+ * a la de menor peso y hereda ese peso como error máximo. Así, el peso de cada clave vigilada sobrestima
+ * el real en como mucho {@link Entrada#error()}, y cualquier clave cuyo peso real supere el mínimo del
+ * resumen está garantizada entre las vigiladas. Con una capacidad bastante mayor que el top-K que se
+ * consulta, el ranking de las primeras posiciones es prácticamente exacto.
+ * <p>
+ * Las claves se guardan en un montículo binario de mínimos indexado, así que sumar cuesta O(log capacidad).
+ * {@link #escalar} multiplica todos los pesos por un factor (por ejemplo, para que las visitas antiguas
+ * pierdan importancia) sin alterar el orden.
+ * <p>
+ * La clase no es segura para varios hilos.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class SpaceSaving {
+
+    /**
+     * Clave vigilada por el resumen.
+     *
+     * @param clave La clave.
+     * @param peso  Peso estimado (cota superior del real).
+     * @param error Sobrestimación máxima del peso.
+     */
+    public record Entrada(long clave, double peso, double error) {
+    }
+
+    private final long[] claves;
+    private final double[] pesos;
+    private final double[] errores;
+    private final Map<Long, Integer> posiciones;
+    private int size;
+
+    /**
+     * @param capacidad Número máximo de claves vigiladas.
+     */
+    public SpaceSaving(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva.");
+        }
+        this.claves = new long[capacidad];
+        this.pesos = new double[capacidad];
+        this.errores = new double[capacidad];
+        this.posiciones = new HashMap<>(capacidad * 2);
+    }
+
+    /**
+     * Suma un peso a una clave.
+     *
+     * @param clave La clave.
+     * @param peso  El peso a sumar (positivo).
+     */
+    public void sumar(long clave, double peso) {
+        Integer posicion = posiciones.get(clave);
+        if (posicion != null) {
+            pesos[posicion] += peso;
+            bajar(posicion);
+        } else if (size < claves.length) {
+            colocar(size, clave, peso, 0);
+            posiciones.put(clave, size);
+            size++;
+            subir(size - 1);
+        } else {
+            posiciones.remove(claves[0]);
+            double minimo = pesos[0];
+            colocar(0, clave, minimo + peso, minimo);
+            posiciones.put(clave, 0);
+            bajar(0);
+        }
+    }
+
+    /**
+     * Multiplica todos los pesos (y sus errores) por un factor.
+     *
+     * @param factor Factor positivo.
+     */
+    public void escalar(double factor) {
+        for (int i = 0; i < size; i++) {
+            pesos[i] *= factor;
+            errores[i] *= factor;
+        }
+    }
+
+    /**
+     * Devuelve las claves de mayor peso.
+     *
+     * @param k Número máximo de claves.
+     * @return Las claves, de mayor a menor peso.
+     */
+    public List<Entrada> top(int k) {
+        List<Entrada> entradas = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entradas.add(new Entrada(claves[i], pesos[i], errores[i]));
+        }
+        entradas.sort(Comparator.comparingDouble(Entrada::peso).reversed().thenComparingLong(Entrada::clave));
+        return entradas.subList(0, Math.min(Math.max(k, 0), entradas.size()));
+    }
+
+    /**
+     * @return El número de claves vigiladas.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void colocar(int i, long clave, double peso, double error) {
+        claves[i] = clave;
+        pesos[i] = peso;
+        errores[i] = error;
+    }
+
+    private void subir(int i) {
+        while (i > 0) {
+            int padre = (i - 1) / 2;
+            if (pesos[padre] <= pesos[i]) {
+                return;
+            }
+            intercambiar(i, padre);
+            i = padre;
+        }
+    }
+
+    private void bajar(int i) {
+        while (true) {
+            int menor = i;
+            int izquierdo = 2 * i + 1;
+            int derecho = izquierdo + 1;
+            if (izquierdo < size && pesos[izquierdo] < pesos[menor]) {
+                menor = izquierdo;
+            }
+            if (derecho < size && pesos[derecho] < pesos[menor]) {
+                menor = derecho;
+            }
+            if (menor == i) {
+                return;
+            }
+            intercambiar(i, menor);
+            i = menor;
+        }
+    }
+
+    private void intercambiar(int a, int b) {
+        long clave = claves[a];
+        double peso = pesos[a];
+        double error = errores[a];
+        colocar(a, claves[b], pesos[b], errores[b]);
+        colocar(b, clave, peso, error);
+        posiciones.put(claves[a], a);
+        posiciones.put(claves[b], b);
+    }
+}
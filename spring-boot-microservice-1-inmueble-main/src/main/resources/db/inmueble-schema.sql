@@ -0,0 +1,37 @@
+-- =====================================================================
+-- Objetos de esquema de inmueble-service que Hibernate no puede generar
+-- a partir de las entidades (índices de expresión, GIN, etc.).
+--
+-- Se ejecuta en cada arranque mediante spring.sql.init (ver application.properties)
+-- después de la inicialización de JPA, por lo que todas las sentencias deben ser
+-- idempotentes (IF NOT EXISTS).
+-- =====================================================================
+
+-- Búsqueda de texto completo sobre nombre y dirección (ver InmuebleRepository#searchByText).
+-- La expresión debe coincidir exactamente con la utilizada en la consulta para que
+-- PostgreSQL pueda usar el índice.
+CREATE INDEX IF NOT EXISTS idx_inmueble_busqueda ON inmueble USING GIN (
+    (setweight(to_tsvector('spanish', coalesce(nombre, '')), 'A') ||
+     setweight(to_tsvector('spanish', coalesce(direccion, '')), 'B'))
+);
+
+-- Índice espacial por geohash (ver GeoHash e InmuebleSpecifications#dentroDe).
+-- text_pattern_ops permite que los predicados LIKE 'prefijo%' usen el índice
+-- con independencia de la collation de la base de datos.
+CREATE INDEX IF NOT EXISTS idx_inmueble_geohash ON inmueble (geohash text_pattern_ops);
+
+-- Inmuebles vendidos pendientes de archivar (ver InmuebleArchivador): el índice parcial solo
+-- contiene esas filas, que el traslado vacía, así que se mantiene pequeño.
+CREATE INDEX IF NOT EXISTS idx_inmueble_vendido ON inmueble (id) WHERE estado = 'VENDIDO';
+
+-- IDs por bloques (ver Inmueble#TAMANO_BLOQUE_ID): cada nextval reserva 50 IDs, que
+-- Hibernate y la importación masiva (InmuebleBulkRepository) reparten sin volver a
+-- consultar la secuencia. En bases creadas con la antigua columna IDENTITY la secuencia
+-- ya existe con INCREMENT BY 1 y se ajusta aquí. El valor actual se conserva, por lo que
+-- los nuevos bloques empiezan siempre por encima de los IDs existentes.
+ALTER SEQUENCE IF EXISTS inmueble_id_seq INCREMENT BY 50;
+
+-- Bloqueo optimista (ver Inmueble#version). Las filas anteriores a la columna reciben la
+-- versión 0, y el valor por defecto cubre inserciones que no pasan por Hibernate.
+UPDATE inmueble SET version = 0 WHERE version IS NULL;
+ALTER TABLE inmueble ALTER COLUMN version SET DEFAULT 0;
@@ -0,0 +1,88 @@
+package com.dani.spring_boot_microservice_1_inmueble.alerta;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PercoladorTest {
+
+    @Test
+    void banda_deberiaAgruparLosPreciosPorPotenciasDeDos() {
+        assertEquals(0, Percolador.banda(null));
+        assertEquals(0, Percolador.banda(0.5));
+        assertEquals(1, Percolador.banda(1.0));
+        assertEquals(2, Percolador.banda(3.0));
+        assertEquals(17, Percolador.banda(100_000.0));
+        assertEquals(63, Percolador.banda(Double.MAX_VALUE));
+    }
+
+    @Test
+    void percolar_deberiaAplicarEstadoYRangoDePrecio() {
+        Percolador percolador = new Percolador();
+        percolador.guardar(Percolador.consulta(1, 10, EstadoInmueble.DISPONIBLE, 100_000.0, 200_000.0, null));
+        percolador.guardar(Percolador.consulta(2, 10, null, null, 150_000.0, null));
+        percolador.guardar(Percolador.consulta(3, 20, null, 300_000.0, null, null));
+
+        assertEquals(List.of(1L, 2L), ids(percolador.percolar(EstadoInmueble.DISPONIBLE, 120_000.0, "Piso", "Calle")));
+        assertEquals(List.of(2L), ids(percolador.percolar(EstadoInmueble.RESERVADO, 120_000.0, "Piso", "Calle")));
+        assertEquals(List.of(1L), ids(percolador.percolar(EstadoInmueble.DISPONIBLE, 200_000.0, "Piso", "Calle")));
+        assertEquals(List.of(3L), ids(percolador.percolar(EstadoInmueble.VENDIDO, 5_000_000.0, "Piso", "Calle")));
+    }
+
+    @Test
+    void percolar_conTextoDeberiaExigirTodasLasPalabras() {
+        Percolador percolador = new Percolador();
+        percolador.guardar(Percolador.consulta(1, 10, null, null, null, "Ático Málaga"));
+        percolador.guardar(Percolador.consulta(2, 10, null, null, 100_000.0, "malaga"));
+
+        assertEquals(List.of(1L, 2L), ids(percolador.percolar(EstadoInmueble.DISPONIBLE, 90_000.0, "Atico luminoso", "Calle Larios, Málaga")));
+        assertEquals(List.of(1L), ids(percolador.percolar(EstadoInmueble.DISPONIBLE, 150_000.0, "Atico luminoso", "Calle Larios, Málaga")));
+        assertEquals(List.of(2L), ids(percolador.percolar(EstadoInmueble.DISPONIBLE, 90_000.0, "Piso", "Malaga")));
+        assertEquals(List.of(), ids(percolador.percolar(EstadoInmueble.DISPONIBLE, 90_000.0, "Atico", "Sevilla")));
+    }
+
+    @Test
+    void guardarEliminarYReemplazar_deberianMantenerElIndiceAlDia() {
+        Percolador percolador = new Percolador();
+        percolador.guardar(Percolador.consulta(1, 10, null, null, 100.0, null));
+        percolador.guardar(Percolador.consulta(1, 10, null, 1_000.0, null, "casa"));
+        assertEquals(1, percolador.size());
+        assertEquals(List.of(), ids(percolador.percolar(EstadoInmueble.DISPONIBLE, 50.0, "Casa", "")));
+        assertEquals(List.of(1L), ids(percolador.percolar(EstadoInmueble.DISPONIBLE, 5_000.0, "Casa", "")));
+
+        percolador.eliminar(1);
+        assertEquals(0, percolador.size());
+        assertEquals(List.of(), ids(percolador.percolar(EstadoInmueble.DISPONIBLE, 5_000.0, "Casa", "")));
+
+        percolador.reemplazar(List.of(Percolador.consulta(7, 10, null, null, null, null)));
+        assertEquals(List.of(7L), ids(percolador.percolar(EstadoInmueble.VENDIDO, 5_000.0, "Casa", "")));
+    }
+
+    @Test
+    void reemplazar_trasIniciarRecargaDeberiaConservarLosCambiosHechosMientrasTanto() {
+        Percolador percolador = new Percolador();
+        percolador.guardar(Percolador.consulta(1, 10, null, null, null, null));
+        percolador.guardar(Percolador.consulta(2, 10, null, null, null, null));
+
+        percolador.iniciarRecarga();
+        List<Percolador.Consulta> leidas = List.of(
+                Percolador.consulta(1, 10, null, null, null, null),
+                Percolador.consulta(2, 10, null, null, null, null));
+        percolador.guardar(Percolador.consulta(3, 10, null, null, null, null));
+        percolador.eliminar(2);
+        percolador.reemplazar(leidas);
+
+        assertEquals(2, percolador.size());
+        assertEquals(List.of(1L, 3L), ids(percolador.percolar(EstadoInmueble.DISPONIBLE, 5_000.0, "Casa", "")));
+
+        percolador.reemplazar(List.of(Percolador.consulta(1, 10, null, null, null, null)));
+        assertEquals(List.of(1L), ids(percolador.percolar(EstadoInmueble.DISPONIBLE, 5_000.0, "Casa", "")));
+    }
+
+    private static List<Long> ids(List<Percolador.Consulta> consultas) {
+        return consultas.stream().map(Percolador.Consulta::id).sorted().toList();
+    }
+}
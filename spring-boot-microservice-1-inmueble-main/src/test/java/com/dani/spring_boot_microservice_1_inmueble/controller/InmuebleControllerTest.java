@@ -0,0 +1,126 @@
+package com.dani.spring_boot_microservice_1_inmueble.controller;
+
+import com.dani.spring_boot_microservice_1_inmueble.cache.CatalogoVersion;
+import com.dani.spring_boot_microservice_1_inmueble.event.InmuebleEvent;
+import com.dani.spring_boot_microservice_1_inmueble.feed.InmuebleCambioFeed;
+import com.dani.spring_boot_microservice_1_inmueble.imagen.ImagenStorage;
+import com.dani.spring_boot_microservice_1_inmueble.model.Inmueble;
+import com.dani.spring_boot_microservice_1_inmueble.precio.DistribucionPrecios;
+import com.dani.spring_boot_microservice_1_inmueble.precio.PrecioHistorial;
+import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleCambioRepository;
+import com.dani.spring_boot_microservice_1_inmueble.service.InmuebleImportService;
+import com.dani.spring_boot_microservice_1_inmueble.service.InmuebleService;
+import com.dani.spring_boot_microservice_1_inmueble.similar.InmuebleSimilares;
+import com.dani.spring_boot_microservice_1_inmueble.suggest.InmuebleSugerencias;
+import com.dani.spring_boot_microservice_1_inmueble.visita.InmuebleVisitas;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class InmuebleControllerTest {
+
+    private final InmuebleService inmuebleService = mock(InmuebleService.class);
+    private final InmuebleCambioRepository cambioRepository = mock(InmuebleCambioRepository.class);
+    private final InmuebleVisitas visitas = mock(InmuebleVisitas.class);
+
+    @Test
+    void getInmuebleById_deberiaResponder304HastaQueUnaEscrituraCambieLaVersion() throws Exception {
+        CatalogoVersion catalogoVersion = new CatalogoVersion(cambioRepository, Duration.ofHours(1));
+        MockMvc mockMvc = mockMvc(catalogoVersion);
+        when(cambioRepository.findUltimoSeq()).thenReturn(41L);
+        when(inmuebleService.findById(7L)).thenReturn(Optional.of(inmueble(7L)));
+
+        String etag = mockMvc.perform(get("/api/inmueble/7"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/inmueble/7").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        when(cambioRepository.findUltimoSeq()).thenReturn(42L);
+        catalogoVersion.onInmuebleEvent(new InmuebleEvent(InmuebleEvent.Tipo.ACTUALIZADO, 7L, 1L));
+
+        String nuevo = mockMvc.perform(get("/api/inmueble/7").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, nuevo);
+    }
+
+    @Test
+    void getInmuebleById_deberiaVerLasEscriturasDeOtraInstanciaAlCaducarLaVersion() throws Exception {
+        MockMvc mockMvc = mockMvc(new CatalogoVersion(cambioRepository, Duration.ZERO));
+        when(cambioRepository.findUltimoSeq()).thenReturn(41L);
+        when(inmuebleService.findById(7L)).thenReturn(Optional.of(inmueble(7L)));
+
+        String etag = mockMvc.perform(get("/api/inmueble/7"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        when(cambioRepository.findUltimoSeq()).thenReturn(42L);
+
+        mockMvc.perform(get("/api/inmueble/7").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getInmuebleById_conLaVersionActualNoDeberiaResponder304SiElInmuebleNoExiste() throws Exception {
+        CatalogoVersion catalogoVersion = new CatalogoVersion(cambioRepository, Duration.ofHours(1));
+        MockMvc mockMvc = mockMvc(catalogoVersion);
+        when(cambioRepository.findUltimoSeq()).thenReturn(41L);
+        when(inmuebleService.findById(8L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/inmueble/8").header(HttpHeaders.IF_NONE_MATCH, catalogoVersion.etag()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getInmuebleById_noDeberiaContarVisitasDeInmueblesInexistentes() throws Exception {
+        CatalogoVersion catalogoVersion = new CatalogoVersion(cambioRepository, Duration.ofHours(1));
+        MockMvc mockMvc = mockMvc(catalogoVersion);
+        when(cambioRepository.findUltimoSeq()).thenReturn(41L);
+        when(inmuebleService.findById(8L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/inmueble/8")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/inmueble/8").header(HttpHeaders.IF_NONE_MATCH, catalogoVersion.etag()))
+                .andExpect(status().isNotFound());
+
+        verify(visitas, never()).registrar(anyLong());
+    }
+
+    @Test
+    void getInmuebleById_deberiaContarUnaVisitaPorCada200O304() throws Exception {
+        MockMvc mockMvc = mockMvc(new CatalogoVersion(cambioRepository, Duration.ofHours(1)));
+        when(cambioRepository.findUltimoSeq()).thenReturn(41L);
+        when(inmuebleService.findById(7L)).thenReturn(Optional.of(inmueble(7L)));
+
+        String etag = mockMvc.perform(get("/api/inmueble/7"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/inmueble/7").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        verify(visitas, times(2)).registrar(7L);
+    }
+
+    private MockMvc mockMvc(CatalogoVersion catalogoVersion) {
+        InmuebleController controller = new InmuebleController(inmuebleService, mock(InmuebleImportService.class),
+                catalogoVersion, mock(InmuebleCambioFeed.class), mock(ImagenStorage.class), mock(InmuebleSugerencias.class),
+                mock(PrecioHistorial.class), mock(DistribucionPrecios.class), visitas, mock(InmuebleSimilares.class),
+                new ObjectMapper());
+        return MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    private static Inmueble inmueble(Long id) {
+        Inmueble inmueble = new Inmueble();
+        inmueble.setId(id);
+        return inmueble;
+    }
+}
@@ -0,0 +1,89 @@
+package com.dani.spring_boot_microservice_1_inmueble.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SelectorReplicasTest {
+
+    @Test
+    void elegir_sinComprobacionesDeberiaIrAlPrimario() {
+        SelectorReplicas selector = new SelectorReplicas(2, Duration.ofSeconds(5));
+        assertEquals(-1, selector.elegir());
+        assertTrue(Double.isNaN(selector.lag(0)));
+    }
+
+    @Test
+    void elegir_deberiaRepartirEntreLasReplicasDentroDelLag() {
+        SelectorReplicas selector = new SelectorReplicas(3, Duration.ofSeconds(5));
+        selector.actualizar(0, 0.2);
+        selector.actualizar(1, 12.0);
+        selector.actualizar(2, 5.0);
+
+        Set<Integer> elegidas = new HashSet<>();
+        for (int i = 0; i < 6; i++) {
+            elegidas.add(selector.elegir());
+        }
+        assertEquals(Set.of(0, 2), elegidas);
+    }
+
+    @Test
+    void actualizar_deberiaIndicarLosCambiosDeDisponibilidad() {
+        SelectorReplicas selector = new SelectorReplicas(1, Duration.ofSeconds(1));
+        assertTrue(selector.actualizar(0, 0.0));
+        assertFalse(selector.actualizar(0, 0.5));
+        assertTrue(selector.actualizar(0, 3.0));
+        assertEquals(-1, selector.elegir());
+        assertTrue(selector.actualizar(0, -0.1));
+        assertEquals(0.0, selector.lag(0));
+        assertEquals(0, selector.elegir());
+    }
+
+    @Test
+    void marcarCaida_deberiaRetirarLaReplicaHastaLaSiguienteComprobacion() {
+        SelectorReplicas selector = new SelectorReplicas(2, Duration.ofSeconds(5));
+        selector.actualizar(0, 0.0);
+        selector.actualizar(1, 0.0);
+
+        assertTrue(selector.marcarCaida(1));
+        assertFalse(selector.marcarCaida(1));
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, selector.elegir());
+        }
+        selector.actualizar(1, 1.0);
+        assertTrue(selector.disponible(1));
+    }
+
+    @Test
+    void alcanza_deberiaExigirQueLaReplicaHayaReproducidoLaEscritura() {
+        SelectorReplicas selector = new SelectorReplicas(2, Duration.ofSeconds(5));
+        long escrito = SelectorReplicas.lsn("16/B374D848");
+        assertTrue(selector.alcanza(0, 0));
+        assertFalse(selector.alcanza(0, escrito));
+
+        selector.registrarReproducido(0, SelectorReplicas.lsn("16/B374D847"));
+        assertFalse(selector.alcanza(0, escrito));
+        selector.registrarReproducido(0, SelectorReplicas.lsn("17/0"));
+        selector.registrarReproducido(0, SelectorReplicas.lsn("16/0"));
+        assertTrue(selector.alcanza(0, escrito));
+        assertFalse(selector.alcanza(1, escrito));
+    }
+
+    @Test
+    void lsn_deberiaOrdenarLasPosicionesDelWal() {
+        assertEquals(0x16B374D848L, SelectorReplicas.lsn("16/B374D848"));
+        assertTrue(SelectorReplicas.lsn("0/FFFFFFFF") < SelectorReplicas.lsn("1/0"));
+        assertEquals(Long.MAX_VALUE, SelectorReplicas.lsn(null));
+        assertThrows(IllegalArgumentException.class, () -> SelectorReplicas.lsn("16B374D848"));
+        assertThrows(IllegalArgumentException.class, () -> SelectorReplicas.lsn("16/"));
+    }
+
+    @Test
+    void constructor_sinReplicasDeberiaFallar() {
+        assertThrows(IllegalArgumentException.class, () -> new SelectorReplicas(0, Duration.ofSeconds(5)));
+    }
+}
@@ -0,0 +1,24 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CampoInmuebleTest {
+
+    @Test
+    void parse_deberiaIncluirSiempreElIdYRespetarElOrdenDeDeclaracion() {
+        Set<CampoInmueble> campos = CampoInmueble.parse(" estado, PRICE,,name ");
+
+        assertEquals(List.of(CampoInmueble.ID, CampoInmueble.NAME, CampoInmueble.PRICE, CampoInmueble.ESTADO),
+                List.copyOf(campos));
+    }
+
+    @Test
+    void parse_cuandoElCampoNoExiste_deberiaLanzarIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> CampoInmueble.parse("name,geohash"));
+    }
+}
@@ -0,0 +1,25 @@
+package com.dani.spring_boot_microservice_1_inmueble.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogoCursorTest {
+
+    @Test
+    void decode_cuandoTokenGeneradoPorEncode_deberiaRecuperarLaMismaPosicion() {
+        CatalogoCursor original = new CatalogoCursor(LocalDateTime.of(2025, 5, 13, 10, 30, 15, 123456000), 42L);
+
+        CatalogoCursor decodificado = CatalogoCursor.decode(original.encode());
+
+        assertEquals(original, decodificado, "El cursor decodificado debería ser igual al original");
+    }
+
+    @Test
+    void decode_cuandoTokenEsInvalido_deberiaLanzarIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> CatalogoCursor.decode("no-es-un-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> CatalogoCursor.decode("%%%"));
+    }
+}
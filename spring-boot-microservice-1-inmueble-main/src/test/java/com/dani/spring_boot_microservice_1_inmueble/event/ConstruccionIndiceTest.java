@@ -0,0 +1,29 @@
+package com.dani.spring_boot_microservice_1_inmueble.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConstruccionIndiceTest {
+
+    @Test
+    void aplicarAhora_duranteLaConstruccionDeberiaAplazarHastaTerminar() {
+        ConstruccionIndice construccion = new ConstruccionIndice();
+
+        assertFalse(construccion.aplicarAhora(Set.of(1L, 2L)));
+        assertFalse(construccion.aplicarAhora(Set.of(2L, 3L)));
+
+        assertEquals(Set.of(1L, 2L, 3L), construccion.terminar());
+    }
+
+    @Test
+    void aplicarAhora_trasTerminarDeberiaAplicarAlMomento() {
+        ConstruccionIndice construccion = new ConstruccionIndice();
+        construccion.terminar();
+
+        assertTrue(construccion.aplicarAhora(Set.of(1L)));
+        assertEquals(Set.of(), construccion.terminar());
+    }
+}
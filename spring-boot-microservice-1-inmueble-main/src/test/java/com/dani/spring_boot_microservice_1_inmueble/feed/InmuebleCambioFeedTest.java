@@ -0,0 +1,74 @@
+package com.dani.spring_boot_microservice_1_inmueble.feed;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.InmuebleCambioLote;
+import com.dani.spring_boot_microservice_1_inmueble.event.InmuebleEvent;
+import com.dani.spring_boot_microservice_1_inmueble.model.InmuebleCambio;
+import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleCambioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InmuebleCambioFeedTest {
+
+    private final InmuebleCambioRepository cambioRepository = mock(InmuebleCambioRepository.class);
+
+    @Test
+    void despachar_deberiaLeerElRegistroUnaVezYRepartirloEntreLasEsperas() throws Exception {
+        AtomicBoolean hayCambios = new AtomicBoolean();
+        AtomicInteger lecturas = new AtomicInteger();
+        when(cambioRepository.findPrimerSeq()).thenReturn(1L);
+        when(cambioRepository.findBySeqGreaterThanOrderBySeqAsc(anyLong(), any())).thenAnswer(invocacion -> {
+            if (!hayCambios.get()) {
+                return List.of();
+            }
+            lecturas.incrementAndGet();
+            long since = invocacion.getArgument(0);
+            return Stream.of(cambio(2L), cambio(3L), cambio(4L)).filter(c -> c.getSeq() > since).toList();
+        });
+        InmuebleCambioFeed feed = new InmuebleCambioFeed(cambioRepository, Duration.ofHours(1), Duration.ofDays(7),
+                Duration.ofMinutes(5), Duration.ofSeconds(10));
+        try {
+            DeferredResult<InmuebleCambioLote> desde1 = feed.esperar(1L, 1, Duration.ofSeconds(30));
+            DeferredResult<InmuebleCambioLote> desde3 = feed.esperar(3L, 100, Duration.ofSeconds(30));
+
+            hayCambios.set(true);
+            feed.onInmuebleEvent(new InmuebleEvent(InmuebleEvent.Tipo.CREADO, 4L, 1L));
+
+            assertEquals(List.of(2L), seqs(resultado(desde1)));
+            assertEquals(List.of(4L), seqs(resultado(desde3)));
+            assertEquals(1, lecturas.get());
+        } finally {
+            feed.cerrar();
+        }
+    }
+
+    private static InmuebleCambioLote resultado(DeferredResult<InmuebleCambioLote> resultado) throws InterruptedException {
+        long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!resultado.hasResult() && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertTrue(resultado.hasResult());
+        return (InmuebleCambioLote) resultado.getResult();
+    }
+
+    private static List<Long> seqs(InmuebleCambioLote lote) {
+        return lote.cambios().stream().map(InmuebleCambio::getSeq).toList();
+    }
+
+    private static InmuebleCambio cambio(Long seq) {
+        InmuebleCambio cambio = new InmuebleCambio();
+        cambio.setSeq(seq);
+        return cambio;
+    }
+}
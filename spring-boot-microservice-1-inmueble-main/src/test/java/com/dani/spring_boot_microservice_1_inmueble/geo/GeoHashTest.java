@@ -0,0 +1,33 @@
+package com.dani.spring_boot_microservice_1_inmueble.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoHashTest {
+
+    @Test
+    void encode_cuandoCoordenadasConocidas_deberiaGenerarGeohashDeReferencia() {
+        assertEquals("u4pruydqqvj", GeoHash.encode(57.64911, 10.40744, 11));
+        assertTrue(GeoHash.encode(-33.4489, -70.6693, 9).startsWith(GeoHash.encode(-33.4489, -70.6693, 4)),
+                "Un geohash más corto debería ser prefijo del más largo");
+    }
+
+    @Test
+    void coveringCells_cuandoPuntoDentroDelRectangulo_deberiaEstarCubiertoPorAlgunPrefijo() {
+        double minLat = -33.50, minLon = -70.70, maxLat = -33.40, maxLon = -70.55;
+        Set<String> celdas = GeoHash.coveringCells(minLat, minLon, maxLat, maxLon);
+
+        assertFalse(celdas.isEmpty(), "Un rectángulo pequeño debería cubrirse con prefijos");
+        assertTrue(celdas.size() <= GeoHash.MAX_CELDAS_COBERTURA, "No se deberían generar más celdas que el máximo");
+        for (double lat = minLat; lat <= maxLat; lat += 0.01) {
+            for (double lon = minLon; lon <= maxLon; lon += 0.01) {
+                String hash = GeoHash.encode(lat, lon, GeoHash.PRECISION_ALMACENADA);
+                assertTrue(celdas.stream().anyMatch(hash::startsWith),
+                        "El punto (" + lat + ", " + lon + ") debería estar cubierto");
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.dani.spring_boot_microservice_1_inmueble.imagen;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.ImagenSubida;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImagenStorageTest {
+
+    @TempDir
+    Path directorio;
+
+    private ImagenStorage storage;
+
+    @AfterEach
+    void detener() {
+        if (storage != null) {
+            storage.detener();
+        }
+    }
+
+    @Test
+    void guardar_deberiaDireccionarPorContenidoYDeduplicar() throws IOException {
+        storage = new ImagenStorage(directorio, List.of(160), 1, 10);
+        byte[] png = png(400, 200);
+
+        ImagenSubida primera = storage.guardar(new ByteArrayInputStream(png));
+        ImagenSubida segunda = storage.guardar(new ByteArrayInputStream(png));
+
+        assertEquals(primera.hash(), segunda.hash());
+        assertEquals(64, primera.hash().length());
+        assertEquals("image/png", primera.contentType());
+        assertEquals(png.length, primera.bytes());
+        assertTrue(storage.resolver(primera.hash(), null).isPresent());
+        assertTrue(storage.resolver("no-es-un-hash", null).isEmpty());
+    }
+
+    @Test
+    void guardar_deberiaRechazarContenidoQueNoEsImagen() throws IOException {
+        storage = new ImagenStorage(directorio, List.of(160), 1, 10);
+        assertThrows(IllegalArgumentException.class,
+                () -> storage.guardar(new ByteArrayInputStream("hola".getBytes())));
+    }
+
+    @Test
+    void resolver_deberiaServirLaMiniaturaUnaVezGenerada() throws IOException {
+        storage = new ImagenStorage(directorio, List.of(160, 320), 1, 10);
+        String hash = storage.guardar(new ByteArrayInputStream(png(1000, 500))).hash();
+
+        storage.generarMiniaturas(hash);
+
+        Imagen miniatura = storage.resolver(hash, 200).orElseThrow();
+        assertEquals("\"" + hash + "-320\"", miniatura.etag());
+        assertEquals("image/jpeg", miniatura.contentType());
+        assertTrue(miniatura.inmutable());
+        BufferedImage leida = ImageIO.read(miniatura.fichero().toFile());
+        assertEquals(320, leida.getWidth());
+        assertEquals(160, leida.getHeight());
+        assertEquals("\"" + hash + "\"", storage.resolver(hash, 2000).orElseThrow().etag());
+    }
+
+    @Test
+    void elegirAncho_deberiaElegirLaMenorMiniaturaSuficiente() {
+        List<Integer> anchos = List.of(160, 320, 640);
+        assertEquals(160, ImagenStorage.elegirAncho(anchos, 100));
+        assertEquals(320, ImagenStorage.elegirAncho(anchos, 320));
+        assertNull(ImagenStorage.elegirAncho(anchos, 641));
+        assertNull(ImagenStorage.elegirAncho(anchos, null));
+    }
+
+    private static byte[] png(int ancho, int alto) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_ARGB), "png", out);
+        return out.toByteArray();
+    }
+}
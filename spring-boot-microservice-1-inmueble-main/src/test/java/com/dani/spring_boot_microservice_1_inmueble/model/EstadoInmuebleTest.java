@@ -0,0 +1,28 @@
+package com.dani.spring_boot_microservice_1_inmueble.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EstadoInmuebleTest {
+
+    @Test
+    void puedeTransicionarA_deberiaSeguirDisponibleReservadoVendido() {
+        assertTrue(EstadoInmueble.DISPONIBLE.puedeTransicionarA(EstadoInmueble.RESERVADO));
+        assertTrue(EstadoInmueble.RESERVADO.puedeTransicionarA(EstadoInmueble.VENDIDO));
+        assertTrue(EstadoInmueble.RESERVADO.puedeTransicionarA(EstadoInmueble.DISPONIBLE));
+        assertFalse(EstadoInmueble.DISPONIBLE.puedeTransicionarA(EstadoInmueble.DISPONIBLE));
+        for (EstadoInmueble destino : EstadoInmueble.values()) {
+            assertFalse(EstadoInmueble.VENDIDO.puedeTransicionarA(destino));
+        }
+    }
+
+    @Test
+    void origenesHacia_deberiaDevolverLosEstadosDesdeLosQueSePuedeLlegar() {
+        assertEquals(Set.of(EstadoInmueble.DISPONIBLE, EstadoInmueble.RESERVADO), EstadoInmueble.origenesHacia(EstadoInmueble.VENDIDO));
+        assertEquals(Set.of(EstadoInmueble.DISPONIBLE), EstadoInmueble.origenesHacia(EstadoInmueble.RESERVADO));
+        assertEquals(Set.of(EstadoInmueble.RESERVADO), EstadoInmueble.origenesHacia(EstadoInmueble.DISPONIBLE));
+    }
+}
@@ -0,0 +1,55 @@
+package com.dani.spring_boot_microservice_1_inmueble.precio;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeriePreciosTest {
+
+    @Test
+    void zigzag_deberiaSerReversibleYDarValoresPequenosALosNegativos() {
+        assertEquals(0, SeriePrecios.zigzag(0));
+        assertEquals(1, SeriePrecios.zigzag(-1));
+        assertEquals(2, SeriePrecios.zigzag(1));
+        for (long valor : new long[]{0, 1, -1, 123_456_789L, -987_654_321L, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertEquals(valor, SeriePrecios.unzigzag(SeriePrecios.zigzag(valor)));
+        }
+    }
+
+    @Test
+    void decodificar_deberiaRecuperarLaSerieCodificadaPorDiferencias() {
+        long[] segundos = {1_760_000_000L, 1_760_086_400L, 1_762_000_000L, 1_762_000_001L};
+        long[] centimos = {25_000_000L, 24_500_000L, 26_000_050L, 1L};
+        ByteArrayOutputStream bloque = new ByteArrayOutputStream();
+        bloque.writeBytes(SeriePrecios.codificar(segundos[0], centimos[0]));
+        for (int i = 1; i < segundos.length; i++) {
+            bloque.writeBytes(SeriePrecios.codificar(segundos[i] - segundos[i - 1], centimos[i] - centimos[i - 1]));
+        }
+
+        long[] t = new long[4];
+        long[] c = new long[4];
+        SeriePrecios.decodificar(bloque.toByteArray(), 4, t, c);
+        assertArrayEquals(segundos, t);
+        assertArrayEquals(centimos, c);
+    }
+
+    @Test
+    void codificar_deberiaOcuparPocosBytesParaUnCambioTipico() {
+        assertTrue(SeriePrecios.codificar(86_400L * 7, -500_000L).length <= 7);
+    }
+
+    @Test
+    void decodificar_deberiaRechazarUnBloqueTruncado() {
+        byte[] punto = SeriePrecios.codificar(1_760_000_000L, 25_000_000L);
+        assertThrows(IllegalArgumentException.class,
+                () -> SeriePrecios.decodificar(punto, 2, new long[2], new long[2]));
+    }
+
+    @Test
+    void centimos_deberiaRedondearAlCentimo() {
+        assertEquals(12_345_678L, SeriePrecios.centimos(123_456.78));
+        assertEquals(10L, SeriePrecios.centimos(0.099));
+    }
+}
@@ -0,0 +1,98 @@
+package com.dani.spring_boot_microservice_1_inmueble.precio;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SketchPreciosTest {
+
+    private static void assertRelativo(double esperado, Double real) {
+        assertNotNull(real);
+        assertEquals(esperado, real, esperado * SketchPrecios.ERROR_RELATIVO + 1e-9);
+    }
+
+    @Test
+    void cuantil_deberiaRespetarElErrorRelativo() {
+        Random random = new Random(3);
+        SketchPrecios sketch = new SketchPrecios();
+        double[] precios = new double[100_000];
+        for (int i = 0; i < precios.length; i++) {
+            precios[i] = Math.exp(11 + 1.5 * random.nextGaussian());
+            sketch.agregar(precios[i]);
+        }
+        Arrays.sort(precios);
+
+        assertEquals(precios.length, sketch.total());
+        for (double q : new double[]{0, 0.1, 0.5, 0.9, 0.99, 1}) {
+            assertRelativo(precios[(int) Math.floor(q * (precios.length - 1))], sketch.cuantil(q));
+        }
+    }
+
+    @Test
+    void quitar_deberiaDejarElResumenComoSiNoSeHubieraAgregado() {
+        SketchPrecios sketch = new SketchPrecios();
+        sketch.agregar(100_000);
+        sketch.agregar(200_000);
+        sketch.agregar(900_000);
+        sketch.quitar(900_000);
+
+        assertEquals(2, sketch.total());
+        assertRelativo(200_000, sketch.cuantil(1));
+        assertThrows(IllegalStateException.class, () -> sketch.quitar(900_000));
+
+        sketch.quitar(100_000);
+        sketch.quitar(200_000);
+        assertEquals(0, sketch.total());
+        assertNull(sketch.cuantil(0.5));
+        assertNull(sketch.histograma(10));
+    }
+
+    @Test
+    void fusionar_deberiaEquivalerAContarTodoEnUnSoloResumen() {
+        SketchPrecios a = new SketchPrecios();
+        SketchPrecios b = new SketchPrecios();
+        SketchPrecios todos = new SketchPrecios();
+        for (int i = 1; i <= 1000; i++) {
+            (i % 2 == 0 ? a : b).agregar(i * 1000.0);
+            todos.agregar(i * 1000.0);
+        }
+        a.fusionar(b);
+
+        assertEquals(todos.total(), a.total());
+        for (double q : new double[]{0, 0.5, 0.9, 1}) {
+            assertEquals(todos.cuantil(q), a.cuantil(q));
+        }
+    }
+
+    @Test
+    void cuantil_deberiaContarLosPreciosCeroAparte() {
+        SketchPrecios sketch = new SketchPrecios();
+        sketch.agregar(0);
+        sketch.agregar(0);
+        sketch.agregar(50_000);
+
+        assertEquals(0.0, sketch.cuantil(0.5));
+        assertRelativo(50_000, sketch.cuantil(1));
+        assertThrows(IllegalArgumentException.class, () -> sketch.cuantil(1.5));
+    }
+
+    @Test
+    void histograma_deberiaRepartirTodosLosPrecios() {
+        SketchPrecios sketch = new SketchPrecios();
+        for (int i = 0; i < 100; i++) {
+            sketch.agregar(100_000 + i * 1000);
+        }
+        sketch.agregar(1_000_000);
+
+        SketchPrecios.Histograma histograma = sketch.histograma(9);
+        assertEquals(10, histograma.limites().length);
+        assertEquals(101, Arrays.stream(histograma.recuentos()).sum());
+        assertEquals(100, histograma.recuentos()[0] + histograma.recuentos()[1]);
+        assertEquals(1, histograma.recuentos()[8]);
+        assertRelativo(100_000, histograma.limites()[0]);
+        assertRelativo(1_000_000, histograma.limites()[9]);
+    }
+}
@@ -0,0 +1,87 @@
+package com.dani.spring_boot_microservice_1_inmueble.reserva;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuedaTemporizadoresTest {
+
+    private static final long INICIO = 1_760_000_000_000L;
+
+    @Test
+    void avanzar_deberiaVencerCadaTemporizadorEnSuTick() {
+        RuedaTemporizadores<String> rueda = new RuedaTemporizadores<>(Duration.ofSeconds(1), INICIO);
+        rueda.programar("a", INICIO + 1_500);
+        rueda.programar("b", INICIO + 90_000);
+        rueda.programar("c", INICIO + Duration.ofDays(3).toMillis());
+        assertEquals(3, rueda.size());
+
+        assertEquals(List.of(), rueda.avanzar(INICIO + 1_999));
+        assertEquals(List.of("a"), rueda.avanzar(INICIO + 2_000));
+        assertEquals(List.of(), rueda.avanzar(INICIO + 89_999));
+        assertEquals(List.of("b"), rueda.avanzar(INICIO + 90_000));
+        assertEquals(List.of(), rueda.avanzar(INICIO + Duration.ofDays(3).toMillis() - 1));
+        assertEquals(List.of("c"), rueda.avanzar(INICIO + Duration.ofDays(3).toMillis()));
+        assertEquals(0, rueda.size());
+    }
+
+    @Test
+    void programar_deberiaSustituirYCancelar() {
+        RuedaTemporizadores<Long> rueda = new RuedaTemporizadores<>(Duration.ofSeconds(1), INICIO);
+        rueda.programar(1L, INICIO + 10_000);
+        rueda.programar(1L, INICIO + 20_000);
+        rueda.programar(2L, INICIO + 10_000);
+        assertTrue(rueda.cancelar(2L));
+        assertFalse(rueda.cancelar(2L));
+
+        assertEquals(List.of(), rueda.avanzar(INICIO + 15_000));
+        assertEquals(List.of(1L), rueda.avanzar(INICIO + 25_000));
+    }
+
+    @Test
+    void programar_conVencimientoPasadoDeberiaVencerAlAvanzar() {
+        RuedaTemporizadores<Long> rueda = new RuedaTemporizadores<>(Duration.ofSeconds(1), INICIO);
+        rueda.programar(7L, INICIO - 60_000);
+        assertEquals(List.of(7L), rueda.avanzar(INICIO));
+    }
+
+    @Test
+    void avanzar_deberiaCoincidirConUnaReferenciaConMuchosTemporizadores() {
+        Random random = new Random(42);
+        RuedaTemporizadores<Integer> rueda = new RuedaTemporizadores<>(Duration.ofMillis(100), INICIO);
+        Map<Integer, Long> referencia = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            long vence = INICIO + (long) (random.nextDouble() * Duration.ofDays(2).toMillis());
+            rueda.programar(i, vence);
+            referencia.put(i, vence);
+        }
+        for (int i = 0; i < 100_000; i += 7) {
+            rueda.cancelar(i);
+            referencia.remove(i);
+        }
+
+        long ahora = INICIO;
+        int vencidos = 0;
+        while (ahora < INICIO + Duration.ofDays(2).toMillis() + 1_000) {
+            ahora += random.nextInt(600_000);
+            List<Integer> lote = new ArrayList<>(rueda.avanzar(ahora));
+            for (Integer clave : lote) {
+                long vence = referencia.remove(clave);
+                assertTrue(vence <= ahora, "vencido antes de tiempo");
+            }
+            final long limite = ahora;
+            assertTrue(referencia.values().stream().noneMatch(v -> v <= limite - 100), "vencido tarde");
+            vencidos += lote.size();
+        }
+        assertTrue(referencia.isEmpty());
+        assertEquals(0, rueda.size());
+        assertTrue(vencidos > 80_000);
+    }
+}
@@ -0,0 +1,23 @@
+package com.dani.spring_boot_microservice_1_inmueble.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvLineaTest {
+
+    @Test
+    void split_cuandoHayCamposEntrecomillados_deberiaRespetarComasYComillasEscapadas() {
+        List<String> campos = CsvLinea.split("Casa \"Vista\", \"Calle 1, Santiago\" ,\"Dice \"\"hola\"\"\",1500.5,");
+
+        assertEquals(List.of("Casa \"Vista\"", "Calle 1, Santiago", "Dice \"hola\"", "1500.5", ""), campos);
+    }
+
+    @Test
+    void split_cuandoLasComillasNoSeCierran_deberiaLanzarIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> CsvLinea.split("\"sin cerrar,1"));
+        assertThrows(IllegalArgumentException.class, () -> CsvLinea.split("\"a\"b,1"));
+    }
+}
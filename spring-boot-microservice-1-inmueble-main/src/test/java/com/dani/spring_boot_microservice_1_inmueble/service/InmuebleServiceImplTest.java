@@ -0,0 +1,117 @@
+package com.dani.spring_boot_microservice_1_inmueble.service;
+
+import com.dani.spring_boot_microservice_1_inmueble.dto.EstadoCambio;
+import com.dani.spring_boot_microservice_1_inmueble.dto.EstadoCambioResultado;
+import com.dani.spring_boot_microservice_1_inmueble.geo.GazetteerGeocoder;
+import com.dani.spring_boot_microservice_1_inmueble.model.EstadoInmueble;
+import com.dani.spring_boot_microservice_1_inmueble.model.Inmueble;
+import com.dani.spring_boot_microservice_1_inmueble.model.InmuebleArchivado;
+import com.dani.spring_boot_microservice_1_inmueble.precio.PrecioHistorial;
+import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleArchivadoRepository;
+import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleRepository;
+import com.dani.spring_boot_microservice_1_inmueble.repository.InmuebleReservaRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InmuebleServiceImplTest {
+
+    private final InmuebleRepository inmuebleRepository = mock(InmuebleRepository.class);
+    private final PrecioHistorial precioHistorial = mock(PrecioHistorial.class);
+    private final InmuebleArchivadoRepository archivoRepository = mock(InmuebleArchivadoRepository.class);
+    private final InmuebleServiceImpl service = new InmuebleServiceImpl(inmuebleRepository, mock(EntityManager.class),
+            mock(ApplicationEventPublisher.class), mock(GazetteerGeocoder.class), mock(PlatformTransactionManager.class),
+            precioHistorial, mock(InmuebleReservaRepository.class), archivoRepository);
+
+    @Test
+    void idsLote_deberiaQuitarRepetidosYNulosConservandoElOrden() {
+        assertEquals(List.of(3L, 1L, 2L), List.copyOf(InmuebleServiceImpl.idsLote(Arrays.asList(3L, 1L, null, 3L, 2L, 1L))));
+        assertTrue(InmuebleServiceImpl.idsLote(Arrays.asList(null, null)).isEmpty());
+    }
+
+    @Test
+    void idsLote_deberiaAdmitirHastaElMaximoDeIdsDistintos() {
+        List<Long> maximo = new ArrayList<>(LongStream.rangeClosed(1, InmuebleService.MAX_IDS_LOTE).boxed().toList());
+        maximo.add(1L);
+        maximo.add(null);
+        assertEquals(InmuebleService.MAX_IDS_LOTE, InmuebleServiceImpl.idsLote(maximo).size());
+
+        maximo.add(InmuebleService.MAX_IDS_LOTE + 1L);
+        assertThrows(IllegalArgumentException.class, () -> InmuebleServiceImpl.idsLote(maximo));
+    }
+
+    @Test
+    void enOrden_deberiaSeguirElOrdenPedidoYOmitirLosQueFaltan() {
+        Map<Long, Inmueble> encontrados = Map.of(1L, inmueble(1L), 2L, inmueble(2L), 4L, inmueble(4L));
+
+        List<Inmueble> inmuebles = InmuebleServiceImpl.enOrden(List.of(4L, 3L, 1L, 2L), encontrados);
+
+        assertEquals(List.of(4L, 1L, 2L), inmuebles.stream().map(Inmueble::getId).toList());
+    }
+
+    @Test
+    void updateInmueblesEstado_deberiaInformarDeLasTransicionesNoPermitidas() {
+        List<Object[]> actuales = List.of(new Object[]{1L, 10L, "DISPONIBLE"}, new Object[]{2L, 20L, "VENDIDO"});
+        when(inmuebleRepository.findEstadosByIdInForUpdate(any())).thenReturn(actuales);
+        when(inmuebleRepository.updateInmueblesEstado(any(), any(), any())).thenReturn(1);
+
+        List<EstadoCambioResultado> resultados = service.updateInmueblesEstado(List.of(
+                new EstadoCambio(1L, EstadoInmueble.VENDIDO),
+                new EstadoCambio(2L, EstadoInmueble.DISPONIBLE),
+                new EstadoCambio(3L, EstadoInmueble.VENDIDO)));
+
+        assertEquals(List.of(EstadoCambioResultado.Resultado.ACTUALIZADO, EstadoCambioResultado.Resultado.NO_PERMITIDO,
+                EstadoCambioResultado.Resultado.NO_ENCONTRADO), resultados.stream().map(EstadoCambioResultado::resultado).toList());
+        verify(inmuebleRepository).updateInmueblesEstado(List.of(1L), EstadoInmueble.origenesHacia(EstadoInmueble.VENDIDO),
+                EstadoInmueble.VENDIDO);
+        verify(inmuebleRepository, never()).updateInmueblesEstado(any(), any(), eq(EstadoInmueble.DISPONIBLE));
+    }
+
+    @Test
+    void deleteInmueble_deberiaEliminarElHistoricoDePreciosDelCatalogoYDelArchivo() {
+        Inmueble catalogo = inmueble(1L);
+        catalogo.setUserId(10L);
+        InmuebleArchivado archivado = new InmuebleArchivado();
+        archivado.setId(2L);
+        archivado.setUserId(10L);
+        when(inmuebleRepository.findById(1L)).thenReturn(Optional.of(catalogo));
+        when(inmuebleRepository.findById(2L)).thenReturn(Optional.empty());
+        when(archivoRepository.findById(2L)).thenReturn(Optional.of(archivado));
+
+        service.deleteInmueble(1L, 10L, List.of("ROLE_USER"));
+        service.deleteInmueble(2L, 10L, List.of("ROLE_USER"));
+
+        verify(inmuebleRepository).delete(catalogo);
+        verify(precioHistorial).eliminar(1L);
+        verify(archivoRepository).delete(archivado);
+        verify(precioHistorial).eliminar(2L);
+    }
+
+    @Test
+    void deleteInmueble_sinPermisoNoDeberiaEliminarElHistorico() {
+        Inmueble catalogo = inmueble(1L);
+        catalogo.setUserId(10L);
+        when(inmuebleRepository.findById(1L)).thenReturn(Optional.of(catalogo));
+
+        assertThrows(SecurityException.class, () -> service.deleteInmueble(1L, 99L, List.of("ROLE_USER")));
+
+        verify(precioHistorial, never()).eliminar(anyLong());
+    }
+
+    private static Inmueble inmueble(Long id) {
+        Inmueble inmueble = new Inmueble();
+        inmueble.setId(id);
+        return inmueble;
+    }
+}
@@ -0,0 +1,52 @@
+package com.dani.spring_boot_microservice_1_inmueble.shard;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.Inmueble;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloquesIdTest {
+
+    @Test
+    void siguiente_alternandoShardsDeberiaDarIdsDelRangoDeCadaShard() {
+        BloquesId bloques = new BloquesId(Inmueble.TAMANO_BLOQUE_ID);
+        LongSupplier[] secuencias = {secuencia(1), secuencia(ClaveShard.inicioSecuencia(1))};
+        Set<Long> generados = new HashSet<>();
+
+        try (Shards shards = new Shards(List.of(new HikariDataSource(), new HikariDataSource()))) {
+            for (int i = 0; i < 3 * Inmueble.TAMANO_BLOQUE_ID; i++) {
+                int shard = i % 2;
+                long id = bloques.siguiente(shard, secuencias[shard]);
+                assertEquals(shard, shards.deId(id), "ID " + id + " generado en el shard " + shard);
+                assertTrue(generados.add(id), "ID repetido: " + id);
+            }
+        }
+    }
+
+    @Test
+    void siguiente_deberiaPedirUnBloqueNuevoSoloAlAgotarElAnterior() {
+        BloquesId bloques = new BloquesId(3);
+        AtomicLong llamadas = new AtomicLong();
+        LongSupplier secuencia = () -> 3 * llamadas.incrementAndGet();
+
+        for (long esperado = 1; esperado <= 7; esperado++) {
+            assertEquals(esperado, bloques.siguiente(0, secuencia));
+        }
+        assertEquals(3, llamadas.get());
+    }
+
+    /**
+     * Secuencia con incremento {@link Inmueble#TAMANO_BLOQUE_ID} cuyo primer {@code nextval} es {@code inicio}.
+     */
+    private static LongSupplier secuencia(long inicio) {
+        AtomicLong siguiente = new AtomicLong(inicio);
+        return () -> siguiente.getAndAdd(Inmueble.TAMANO_BLOQUE_ID);
+    }
+}
@@ -0,0 +1,47 @@
+package com.dani.spring_boot_microservice_1_inmueble.shard;
+
+import com.dani.spring_boot_microservice_1_inmueble.model.Inmueble;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClaveShardTest {
+
+    @Test
+    void deUsuario_deberiaSerEstableYRepartirUniformemente() {
+        int shards = 4;
+        int[] usuarios = new int[shards];
+        for (long userId = 1; userId <= 40_000; userId++) {
+            int shard = ClaveShard.deUsuario(userId, shards);
+            assertEquals(shard, ClaveShard.deUsuario(userId, shards));
+            usuarios[shard]++;
+        }
+        for (int total : usuarios) {
+            assertTrue(total > 9_000 && total < 11_000, "Reparto desigual: " + total);
+        }
+        assertEquals(0, ClaveShard.deUsuario(null, shards));
+        assertEquals(0, ClaveShard.deUsuario(123L, 1));
+    }
+
+    @Test
+    void deId_deberiaDevolverElShardQueGeneroElId() {
+        assertEquals(0, ClaveShard.deId(1L));
+        assertEquals(0, ClaveShard.deId(ClaveShard.RANGO_ID));
+        assertEquals(1, ClaveShard.deId(ClaveShard.RANGO_ID + 1));
+        assertEquals(3, ClaveShard.deId(3 * ClaveShard.RANGO_ID + 42));
+        assertEquals(-1, ClaveShard.deId(0L));
+        assertEquals(-1, ClaveShard.deId(-5L));
+        assertEquals(-1, ClaveShard.deId(null));
+    }
+
+    @Test
+    void inicioSecuencia_deberiaAlinearElPrimerBloqueConElRangoDelShard() {
+        for (int shard = 0; shard < 5; shard++) {
+            long inicio = ClaveShard.inicioSecuencia(shard);
+            long primerId = inicio - Inmueble.TAMANO_BLOQUE_ID + 1;
+            assertEquals(shard * ClaveShard.RANGO_ID + 1, primerId);
+            assertEquals(shard, ClaveShard.deId(primerId));
+            assertEquals(shard, ClaveShard.deId(inicio));
+        }
+    }
+}
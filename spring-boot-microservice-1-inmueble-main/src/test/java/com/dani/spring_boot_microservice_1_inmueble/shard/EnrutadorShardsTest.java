@@ -0,0 +1,85 @@
+package com.dani.spring_boot_microservice_1_inmueble.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrutadorShardsTest {
+
+    private static final long SHARD_1 = ClaveShard.inicioSecuencia(1);
+
+    @Test
+    void agrupar_deberiaRepartirLosIdsPorShardConservandoSuOrden() {
+        try (Shards shards = dosShards()) {
+            EnrutadorShards enrutador = enrutador(shards);
+
+            Map<Integer, List<Long>> grupos = enrutador.agrupar(List.of(SHARD_1 + 5, 3L, SHARD_1 + 1, 7L));
+
+            assertEquals(Map.of(0, List.of(3L, 7L), 1, List.of(SHARD_1 + 5, SHARD_1 + 1)), grupos);
+        }
+    }
+
+    @Test
+    void agrupar_conIdDeUnShardInexistenteDeberiaUsarElShard0() {
+        try (Shards shards = dosShards()) {
+            long fueraDeRango = ClaveShard.inicioSecuencia(5);
+
+            assertEquals(Map.of(0, List.of(fueraDeRango)), enrutador(shards).agrupar(List.of(fueraDeRango)));
+        }
+    }
+
+    @Test
+    void agrupar_sinShardsDeberiaDejarTodoEnElShard0() {
+        EnrutadorShards enrutador = enrutador(null);
+
+        assertEquals(Map.of(0, List.of(SHARD_1, 1L)), enrutador.agrupar(List.of(SHARD_1, 1L)));
+    }
+
+    @Test
+    void porShard_deberiaEjecutarCadaGrupoEnSuShard() {
+        try (Shards shards = dosShards()) {
+            List<String> ejecuciones = new ArrayList<>();
+
+            enrutador(shards).porShard(List.of(SHARD_1, 2L),
+                    ids -> ejecuciones.add(ShardDataSource.actual() + ":" + ids));
+
+            assertEquals(List.of("0:[2]", "1:[" + SHARD_1 + "]"), ejecuciones);
+            assertNull(ShardDataSource.actual());
+        }
+    }
+
+    @Test
+    void enCadaShard_deberiaRecorrerTodosLosShards() {
+        try (Shards shards = dosShards()) {
+            List<Integer> recorridos = new ArrayList<>();
+
+            enrutador(shards).enCadaShard(shard -> {
+                assertEquals(shard, ShardDataSource.actual());
+                recorridos.add(shard);
+            });
+
+            assertEquals(List.of(0, 1), recorridos);
+        }
+        List<Integer> sinShards = new ArrayList<>();
+        enrutador(null).enCadaShard(sinShards::add);
+        assertEquals(List.of(0), sinShards);
+    }
+
+    private static Shards dosShards() {
+        return new Shards(List.of(new HikariDataSource(), new HikariDataSource()));
+    }
+
+    private static EnrutadorShards enrutador(Shards shards) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        if (shards != null) {
+            beans.addBean("shards", shards);
+        }
+        return new EnrutadorShards(beans.getBeanProvider(Shards.class));
+    }
+}
@@ -0,0 +1,43 @@
+package com.dani.spring_boot_microservice_1_inmueble.shard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FusionOrdenadaTest {
+
+    @Test
+    void fusionar_deberiaProducirElMismoOrdenQueOrdenarTodo() {
+        Random random = new Random(7);
+        List<List<Integer>> listas = new ArrayList<>();
+        List<Integer> todos = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            List<Integer> lista = new ArrayList<>();
+            for (int j = random.nextInt(50); j > 0; j--) {
+                lista.add(random.nextInt(1000));
+            }
+            lista.sort(Comparator.reverseOrder());
+            listas.add(lista);
+            todos.addAll(lista);
+        }
+        todos.sort(Comparator.reverseOrder());
+
+        assertEquals(todos, FusionOrdenada.fusionar(listas, Comparator.reverseOrder(), Integer.MAX_VALUE));
+        assertEquals(todos.subList(0, 10), FusionOrdenada.fusionar(listas, Comparator.reverseOrder(), 10));
+    }
+
+    @Test
+    void fusionar_conListasVaciasOEmpatesDeberiaRespetarElOrdenDeLasListas() {
+        List<List<String>> listas = List.of(List.of(), List.of("b1", "c1"), List.of("a2", "b2"), List.of());
+        Comparator<String> porLetra = Comparator.comparing(s -> s.charAt(0));
+
+        assertEquals(List.of("a2", "b1", "b2", "c1"), FusionOrdenada.fusionar(listas, porLetra, Integer.MAX_VALUE));
+        assertEquals(List.of(), FusionOrdenada.fusionar(List.<List<String>>of(), porLetra, 5));
+        assertEquals(List.of(), FusionOrdenada.fusionar(listas, porLetra, 0));
+    }
+}
@@ -0,0 +1,116 @@
+package com.dani.spring_boot_microservice_1_inmueble.similar;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceHnswTest {
+
+    @Test
+    void buscar_deberiaDevolverLosMasCercanosEnOrden() {
+        IndiceHnsw indice = new IndiceHnsw(2, 4, 8, 1);
+        for (int i = 0; i < 10; i++) {
+            indice.guardar(i, new float[]{i, 0});
+        }
+
+        List<IndiceHnsw.Vecino> vecinos = indice.buscar(new float[]{3.2f, 0}, 3, id -> true);
+        assertEquals(List.of(3L, 4L, 2L), vecinos.stream().map(IndiceHnsw.Vecino::id).toList());
+        assertEquals(0.2, vecinos.get(0).distancia(), 1e-6);
+    }
+
+    @Test
+    void buscar_deberiaAplicarElFiltro() {
+        IndiceHnsw indice = new IndiceHnsw(2, 4, 8, 1);
+        for (int i = 0; i < 10; i++) {
+            indice.guardar(i, new float[]{i, 0});
+        }
+
+        List<IndiceHnsw.Vecino> vecinos = indice.buscar(new float[]{3, 0}, 2, id -> id != 3);
+        assertEquals(Set.of(2L, 4L), vecinos.stream().map(IndiceHnsw.Vecino::id).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void guardar_conElMismoIdDeberiaSustituirElVector() {
+        IndiceHnsw indice = new IndiceHnsw(2, 4, 8, 1);
+        indice.guardar(1, new float[]{0, 0});
+        indice.guardar(2, new float[]{10, 0});
+        indice.guardar(1, new float[]{11, 0});
+
+        assertEquals(2, indice.size());
+        List<IndiceHnsw.Vecino> vecinos = indice.buscar(new float[]{0, 0}, 5, id -> true);
+        assertEquals(List.of(2L, 1L), vecinos.stream().map(IndiceHnsw.Vecino::id).toList());
+    }
+
+    @Test
+    void eliminar_deberiaQuitarloDeLosResultados() {
+        IndiceHnsw indice = new IndiceHnsw(2, 4, 8, 1);
+        indice.guardar(1, new float[]{0, 0});
+        indice.guardar(2, new float[]{1, 0});
+        indice.eliminar(1);
+
+        assertFalse(indice.contiene(1));
+        assertEquals(List.of(2L), indice.buscar(new float[]{0, 0}, 5, id -> true).stream().map(IndiceHnsw.Vecino::id).toList());
+    }
+
+    @Test
+    void buscar_deberiaTenerBuenaExhaustividadTrasMuchosBorrados() {
+        Random random = new Random(11);
+        int dimension = 8;
+        int total = 2000;
+        float[][] vectores = new float[total][dimension];
+        IndiceHnsw indice = new IndiceHnsw(dimension);
+        for (int i = 0; i < total; i++) {
+            for (int d = 0; d < dimension; d++) {
+                vectores[i][d] = (float) random.nextGaussian();
+            }
+            indice.guardar(i, vectores[i]);
+        }
+        // Borra más de la mitad para forzar la reconstrucción del grafo.
+        Set<Long> vivos = new HashSet<>();
+        for (int i = 0; i < total; i++) {
+            if (i % 3 == 0) {
+                vivos.add((long) i);
+            } else {
+                indice.eliminar(i);
+            }
+        }
+        assertEquals(vivos.size(), indice.size());
+
+        int aciertos = 0;
+        int consultas = 100;
+        for (int c = 0; c < consultas; c++) {
+            float[] consulta = vectores[random.nextInt(total)];
+            Set<Long> exactos = vivos.stream()
+                    .sorted(Comparator.comparingDouble(id -> IndiceHnsw.distancia(consulta, vectores[id.intValue()])))
+                    .limit(10)
+                    .collect(Collectors.toSet());
+            aciertos += (int) indice.buscar(consulta, 10, id -> true).stream()
+                    .filter(v -> exactos.contains(v.id()))
+                    .count();
+        }
+        assertTrue(aciertos >= 0.9 * consultas * 10, "Exhaustividad insuficiente: " + aciertos);
+    }
+
+    @Test
+    void buscar_enUnIndiceVacioDeberiaDevolverVacio() {
+        IndiceHnsw indice = new IndiceHnsw(3);
+        assertTrue(indice.buscar(new float[3], 5, id -> true).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> indice.buscar(new float[2], 5, id -> true));
+    }
+
+    @Test
+    void guardar_sinBorradosNoDeberiaReconstruir() {
+        IndiceHnsw indice = new IndiceHnsw(1, 4, 8, 1);
+        IntStream.range(0, 100).forEach(i -> indice.guardar(i, new float[]{i}));
+        assertEquals(100, indice.size());
+        assertEquals(99L, indice.buscar(new float[]{1000}, 1, id -> true).get(0).id());
+    }
+}
@@ -0,0 +1,51 @@
+package com.dani.spring_boot_microservice_1_inmueble.similar;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorInmuebleTest {
+
+    private static double distancia(float[] a, float[] b) {
+        return Math.sqrt(IndiceHnsw.distancia(a, b));
+    }
+
+    @Test
+    void de_duplicarElPrecioDeberiaAlejarUnaUnidad() {
+        float[] a = VectorInmueble.de(100_000.0, null, null, null, null);
+        float[] b = VectorInmueble.de(200_000.0, null, null, null, null);
+        assertEquals(1.0, distancia(a, b), 1e-3);
+    }
+
+    @Test
+    void de_laUbicacionDeberiaEscalarseEnKilometros() {
+        // Un grado de latitud son unos 111 km.
+        float[] a = VectorInmueble.de(null, 40.0, -3.7, null, null);
+        float[] b = VectorInmueble.de(null, 41.0, -3.7, null, null);
+        assertEquals(111.2 / VectorInmueble.KM_POR_UNIDAD, distancia(a, b), 0.05);
+    }
+
+    @Test
+    void de_deberiaNormalizarElTexto() {
+        float[] a = VectorInmueble.de(null, null, null, "Ático en Chamberí", "Calle de Goya");
+        float[] b = VectorInmueble.de(null, null, null, "atico EN chamberi", "calle goya");
+        float[] c = VectorInmueble.de(null, null, null, "Chalet con piscina", "Pozuelo");
+        assertEquals(0.0, distancia(a, b), 1e-6);
+        assertTrue(distancia(a, c) > 1.0);
+
+        double norma = 0;
+        for (int i = 4; i < VectorInmueble.DIMENSION; i++) {
+            norma += a[i] * a[i];
+        }
+        assertEquals(1.0, norma, 1e-5);
+    }
+
+    @Test
+    void de_sinDatosDeberiaSerElVectorNulo() {
+        float[] vector = VectorInmueble.de(null, null, null, "", null);
+        assertEquals(VectorInmueble.DIMENSION, vector.length);
+        for (float componente : vector) {
+            assertEquals(0f, componente);
+        }
+    }
+}
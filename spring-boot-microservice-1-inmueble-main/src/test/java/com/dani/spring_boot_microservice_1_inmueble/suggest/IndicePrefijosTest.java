@@ -0,0 +1,62 @@
+package com.dani.spring_boot_microservice_1_inmueble.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndicePrefijosTest {
+
+    @Test
+    void palabras_deberiaNormalizarMayusculasTildesYSeparadores() {
+        assertEquals(List.of("avenida", "espana", "12", "piso", "3b"), IndicePrefijos.palabras("Avenida España, 12 - Piso 3B"));
+        assertEquals(List.of(), IndicePrefijos.palabras("  "));
+    }
+
+    @Test
+    void buscar_deberiaDevolverLosMasRecientesQueEmpiezanPorElPrefijo() {
+        IndicePrefijos indice = new IndicePrefijos();
+        indice.guardar(1, "Casa en la playa", "Calle Sol 1", 100);
+        indice.guardar(2, "Casona rural", "Camino Real", 300);
+        indice.guardar(3, "Piso céntrico", "Calle Mayor", 200);
+
+        assertEquals(List.of(2L, 1L), ids(indice.buscar("cas", 10)));
+        assertEquals(List.of(2L, 3L, 1L), ids(indice.buscar("CA", 10)));
+        assertEquals(List.of(2L), ids(indice.buscar("ca", 1)));
+        assertEquals(List.of(3L), ids(indice.buscar("centr", 10)));
+        assertEquals(List.of(), ids(indice.buscar("chalet", 10)));
+    }
+
+    @Test
+    void buscar_conVariasPalabrasDeberiaExigirTodas() {
+        IndicePrefijos indice = new IndicePrefijos();
+        indice.guardar(1, "Casa en la playa", "Calle Sol 1", 100);
+        indice.guardar(2, "Casa de campo", "Camino Real", 300);
+
+        assertEquals(List.of(1L), ids(indice.buscar("casa pla", 10)));
+        assertEquals(List.of(2L, 1L), ids(indice.buscar("casa ca", 10)));
+    }
+
+    @Test
+    void guardarYEliminar_deberianMantenerElIndiceAlDia() {
+        IndicePrefijos indice = new IndicePrefijos();
+        for (long id = 1; id <= 50; id++) {
+            indice.guardar(id, "Casa " + id, "Calle " + id, id);
+        }
+        assertEquals(IndicePrefijos.MAX_RESULTADOS, indice.buscar("casa", 100).size());
+        assertEquals(50L, indice.buscar("casa", 1).get(0).id());
+
+        indice.eliminar(50);
+        assertEquals(49L, indice.buscar("casa", 1).get(0).id());
+
+        indice.guardar(49, "Chalet", "Calle 49", 49);
+        assertEquals(48L, indice.buscar("casa", 1).get(0).id());
+        assertEquals(List.of(49L), ids(indice.buscar("chal", 10)));
+        assertEquals(49, indice.size());
+    }
+
+    private static List<Long> ids(List<IndicePrefijos.Documento> documentos) {
+        return documentos.stream().map(IndicePrefijos.Documento::id).toList();
+    }
+}
@@ -0,0 +1,76 @@
+package com.dani.spring_boot_microservice_1_inmueble.visita;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingTest {
+
+    @Test
+    void top_sinDesbordarDeberiaSerExacto() {
+        SpaceSaving resumen = new SpaceSaving(10);
+        resumen.sumar(1, 5);
+        resumen.sumar(2, 1);
+        resumen.sumar(3, 3);
+        resumen.sumar(2, 6);
+
+        List<SpaceSaving.Entrada> top = resumen.top(2);
+        assertEquals(List.of(2L, 1L), top.stream().map(SpaceSaving.Entrada::clave).toList());
+        assertEquals(7.0, top.get(0).peso());
+        assertEquals(0.0, top.get(0).error());
+        assertEquals(3, resumen.size());
+    }
+
+    @Test
+    void sumar_alDesbordarDeberiaSustituirLaClaveMinima() {
+        SpaceSaving resumen = new SpaceSaving(2);
+        resumen.sumar(1, 10);
+        resumen.sumar(2, 1);
+        resumen.sumar(3, 2);
+
+        assertEquals(2, resumen.size());
+        List<SpaceSaving.Entrada> top = resumen.top(5);
+        assertEquals(new SpaceSaving.Entrada(1, 10, 0), top.get(0));
+        assertEquals(new SpaceSaving.Entrada(3, 3, 1), top.get(1));
+    }
+
+    @Test
+    void escalar_deberiaConservarElOrden() {
+        SpaceSaving resumen = new SpaceSaving(4);
+        resumen.sumar(1, 8);
+        resumen.sumar(2, 4);
+        resumen.escalar(0.5);
+        resumen.sumar(2, 3);
+
+        List<SpaceSaving.Entrada> top = resumen.top(2);
+        assertEquals(List.of(2L, 1L), top.stream().map(SpaceSaving.Entrada::clave).toList());
+        assertEquals(5.0, top.get(0).peso());
+    }
+
+    @Test
+    void top_deberiaEncontrarLosFrecuentesDeUnaDistribucionSesgada() {
+        Random random = new Random(7);
+        SpaceSaving resumen = new SpaceSaving(200);
+        Map<Long, Integer> reales = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            // Zipf aproximada: la clave k aparece con probabilidad proporcional a 1/k.
+            long clave = (long) Math.floor(Math.exp(random.nextDouble() * Math.log(100_000)));
+            resumen.sumar(clave, 1);
+            reales.merge(clave, 1, Integer::sum);
+        }
+        List<Long> esperado = reales.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed())
+                .limit(5).map(Map.Entry::getKey).toList();
+        List<SpaceSaving.Entrada> top = resumen.top(5);
+        assertEquals(esperado, top.stream().map(SpaceSaving.Entrada::clave).toList());
+        for (SpaceSaving.Entrada entrada : top) {
+            int real = reales.get(entrada.clave());
+            assertTrue(entrada.peso() >= real && entrada.peso() - entrada.error() <= real);
+        }
+    }
+}
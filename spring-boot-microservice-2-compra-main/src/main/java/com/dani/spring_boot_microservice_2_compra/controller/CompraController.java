@@ -33,11 +33,16 @@ public class CompraController {
      *
      * @param compra El objeto {@link Compra} con los datos de la nueva compra,
      * recibido en el cuerpo de la petición.
-     * @return Un {@link ResponseEntity} con la compra guardada y el estado HTTP 201 (Created).
+     * @return Un {@link ResponseEntity} con la compra guardada y el estado HTTP 201 (Created),
+     * o 409 (Conflict) si el inmueble ya no está disponible.
      */
     @PostMapping
     public ResponseEntity<Compra> saveCompra(@RequestBody Compra compra) {
-        return new ResponseEntity<>(compraService.saveCompra(compra), HttpStatus.CREATED);
+        try {
+            return new ResponseEntity<>(compraService.saveCompra(compra), HttpStatus.CREATED);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
 
     /**
@@ -2,6 +2,7 @@ package com.dani.spring_boot_microservice_2_compra.request;
 
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
@@ -34,12 +35,29 @@ public interface InmuebleServiceRequest {
      * Llama al endpoint {@code PUT /api/inmueble/{inmuebleId}/estado} del servicio de inmuebles
      * para actualizar el estado de un inmueble específico.
      * <p>
-     * Este método se utiliza típicamente después de una compra exitosa para marcar
-     * el inmueble como "VENDIDO".
+     * Es una operación administrativa: solo aplica transiciones permitidas desde el estado actual
+     * (si no, el servicio responde 409 y Feign lanza {@link feign.FeignException.Conflict}), pero no
+     * comprueba el titular de una reserva. Las compras usan {@link #transicionarEstado}.
      *
      * @param inmuebleId El ID del inmueble cuyo estado se va a actualizar.
      * @param estado El nuevo estado a asignar al inmueble (ej. "VENDIDO").
      */
     @PutMapping("/api/inmueble/{inmuebleId}/estado")
     void updateInmuebleEstado(@PathVariable("inmuebleId") Long inmuebleId, @RequestParam("estado") String estado);
+
+    /**
+     * Llama al endpoint {@code POST /api/inmueble/{inmuebleId}/transicion} del servicio de inmuebles,
+     * que cambia el estado solo si la transición está permitida desde el estado actual, de forma atómica.
+     * <p>
+     * Si otra petición ya ha llevado el inmueble a un estado incompatible (por ejemplo, otra compra
+     * lo ha marcado como vendido), o el inmueble está reservado por un usuario distinto de {@code userId},
+     * el servicio responde 409 y Feign lanza {@link feign.FeignException.Conflict}.
+     *
+     * @param inmuebleId El ID del inmueble.
+     * @param estado El estado de destino (ej. "VENDIDO").
+     * @param userId El usuario que realiza la compra.
+     */
+    @PostMapping("/api/inmueble/{inmuebleId}/transicion")
+    void transicionarEstado(@PathVariable("inmuebleId") Long inmuebleId, @RequestParam("estado") String estado,
+                            @RequestParam("userId") Long userId);
 }
\ No newline at end of file
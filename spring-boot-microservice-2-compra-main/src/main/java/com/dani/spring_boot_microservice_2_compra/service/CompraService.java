@@ -23,6 +23,8 @@ public interface CompraService {
      *
      * @param compra El objeto {@link Compra} a guardar. Se espera que el ID sea nulo.
      * @return El objeto {@link Compra} guardado, ahora con el ID y la fecha de compra asignados.
+     * @throws IllegalStateException si el inmueble ya no está disponible (por ejemplo, otra compra
+     * concurrente lo ha marcado como vendido); en ese caso la compra no se registra.
      */
     Compra saveCompra(Compra compra);
 
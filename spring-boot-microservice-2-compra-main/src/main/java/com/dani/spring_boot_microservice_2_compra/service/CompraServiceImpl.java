@@ -3,10 +3,12 @@ package com.dani.spring_boot_microservice_2_compra.service;
 import com.dani.spring_boot_microservice_2_compra.model.Compra;
 import com.dani.spring_boot_microservice_2_compra.repository.CompraRepository;
 import com.dani.spring_boot_microservice_2_compra.request.InmuebleServiceRequest;
+import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -43,11 +45,14 @@ public class CompraServiceImpl implements CompraService {
      * Esta implementación primero asigna la fecha y hora actual a la compra,
      * luego la guarda en la base de datos a través del {@link CompraRepository}.
      * <p>
-     * Después de guardar la compra exitosamente, realiza una llamada síncrona a través
-     * del cliente Feign {@link InmuebleServiceRequest} para actualizar el estado del
-     * inmueble correspondiente, marcándolo como vendido.
+     * Después de guardar la compra, realiza una llamada síncrona a través del cliente Feign
+     * {@link InmuebleServiceRequest} que marca el inmueble como vendido mediante una transición
+     * atómica en nombre del comprador. Si el inmueble ya no admite esa transición (otra compra ha ganado,
+     * o está reservado por otro usuario), se lanza una excepción y la transacción local deshace la compra,
+     * de modo que un inmueble no se vende dos veces ni a quien no tiene su reserva.
      */
     @Override
+    @Transactional
     public Compra saveCompra(Compra compra) {
         compra.setPurchaseDate(LocalDateTime.now());
         compraRepository.save(compra);
@@ -55,8 +60,12 @@ public class CompraServiceImpl implements CompraService {
 
         log.info("Procediendo a actualizar el estado del inmueble ID: {} a {}", compra.getInmuebleId(), ESTADO_VENDIDO);
         try {
-            inmuebleServiceRequest.updateInmuebleEstado(compra.getInmuebleId(), ESTADO_VENDIDO);
+            inmuebleServiceRequest.transicionarEstado(compra.getInmuebleId(), ESTADO_VENDIDO, compra.getUserId());
             log.info("Estado del inmueble ID: {} actualizado exitosamente a {}", compra.getInmuebleId(), ESTADO_VENDIDO);
+        } catch (FeignException.Conflict e) {
+            log.warn("El inmueble ID: {} ya no está disponible para el usuario ID: {}. Se cancela la compra.",
+                    compra.getInmuebleId(), compra.getUserId());
+            throw new IllegalStateException("El inmueble " + compra.getInmuebleId() + " ya no está disponible para la compra.", e);
         } catch (Exception e) {
             // En un sistema de producción, aquí se debería manejar la excepción de forma más robusta.
             // Por ejemplo, usando un patrón de reintentos, publicando un evento en una cola de mensajes
@@ -3,6 +3,7 @@ package com.dani.spring_boot_microservice_3_api_gateway.controller;
 import com.dani.spring_boot_microservice_3_api_gateway.dto.CompraDto;
 import com.dani.spring_boot_microservice_3_api_gateway.request.CompraServiceRequest;
 import com.dani.spring_boot_microservice_3_api_gateway.security.UserPrincipal;
+import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -77,6 +78,9 @@ public class CompraController {
             CompraDto compraGuardada = compraServiceRequest.saveCompra(compraParaEnviar);
             log.info("Compra registrada exitosamente: {}", compraGuardada);
             redirectAttributes.addFlashAttribute("mensajeExitoCompra", "¡Inmueble '" + compraGuardada.title() + "' comprado exitosamente!");
+        } catch (FeignException.Conflict e) {
+            log.warn("Compra rechazada: el inmueble ID {} ya no está disponible.", inmuebleId);
+            redirectAttributes.addFlashAttribute("mensajeErrorCompra", "Lo sentimos, este inmueble ya no está disponible.");
         } catch (Exception e) {
             log.error("Error al procesar la compra para el inmueble ID {} por usuario ID {}: {}",
                     inmuebleId, principal.getId(), e.getMessage(), e);
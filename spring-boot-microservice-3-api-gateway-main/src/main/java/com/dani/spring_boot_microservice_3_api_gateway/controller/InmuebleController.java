@@ -1,12 +1,33 @@
 package com.dani.spring_boot_microservice_3_api_gateway.controller;
 
+import com.dani.spring_boot_microservice_3_api_gateway.dto.BusquedaGuardadaDto;
+import com.dani.spring_boot_microservice_3_api_gateway.dto.ImagenSubidaDto;
+import com.dani.spring_boot_microservice_3_api_gateway.dto.InmuebleAlertaDto;
 import com.dani.spring_boot_microservice_3_api_gateway.dto.InmuebleDto;
+import com.dani.spring_boot_microservice_3_api_gateway.dto.InmueblePageDto;
+import com.dani.spring_boot_microservice_3_api_gateway.dto.InmueblePopularDto;
+import com.dani.spring_boot_microservice_3_api_gateway.dto.InmuebleSearchResultDto;
+import com.dani.spring_boot_microservice_3_api_gateway.dto.InmuebleSimilarDto;
+import com.dani.spring_boot_microservice_3_api_gateway.dto.InmuebleSugerenciaDto;
+import com.dani.spring_boot_microservice_3_api_gateway.dto.ReservaResultadoDto;
 import com.dani.spring_boot_microservice_3_api_gateway.request.InmuebleServiceRequest;
+import com.dani.spring_boot_microservice_3_api_gateway.service.InmuebleCatalogoService;
+import feign.FeignException;
+import feign.Response;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -26,6 +47,7 @@ import java.util.List;
 public class InmuebleController {
 
     private final InmuebleServiceRequest inmuebleServiceRequest;
+    private final InmuebleCatalogoService inmuebleCatalogoService;
 
     /**
      * Endpoint para guardar o actualizar un inmueble.
@@ -55,13 +77,239 @@ public class InmuebleController {
 
     /**
      * Endpoint para obtener todos los inmuebles.
-     * Delega la llamada al endpoint GET del {@code inmueble-service}.
+     * Delega la llamada al endpoint GET del {@code inmueble-service} mediante una petición
+     * condicional ({@link InmuebleCatalogoService}): si el catálogo no ha cambiado, se reutiliza
+     * la copia local.
      *
      * @return Un {@link ResponseEntity} con una lista de todos los inmuebles y estado OK.
      */
     @GetMapping()
     public ResponseEntity<List<InmuebleDto>> getAllInmuebles() {
-        List<InmuebleDto> inmuebles = inmuebleServiceRequest.getAllInmuebles();
+        List<InmuebleDto> inmuebles = inmuebleCatalogoService.getAllInmuebles();
         return ResponseEntity.ok(inmuebles);
     }
-}
\ No newline at end of file
+
+    /**
+     * Endpoint para obtener una página del catálogo mediante paginación por cursor.
+     * Delega la llamada al endpoint {@code GET /api/inmueble/page} del {@code inmueble-service}.
+     *
+     * @param cursor   Token de la página anterior (opcional).
+     * @param size     Número de elementos por página (opcional).
+     * @param estado   Filtro por estado (opcional).
+     * @param minPrice Precio mínimo (opcional).
+     * @param maxPrice Precio máximo (opcional).
+     * @param userId   Filtro por propietario (opcional).
+     * @param fields   Campos a devolver, separados por comas (opcional).
+     * @return Un {@link ResponseEntity} con la página de inmuebles y estado OK.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<InmueblePageDto> getInmueblesPage(@RequestParam(value = "cursor", required = false) String cursor,
+                                                            @RequestParam(value = "size", required = false) Integer size,
+                                                            @RequestParam(value = "estado", required = false) String estado,
+                                                            @RequestParam(value = "minPrice", required = false) Double minPrice,
+                                                            @RequestParam(value = "maxPrice", required = false) Double maxPrice,
+                                                            @RequestParam(value = "userId", required = false) Long userId,
+                                                            @RequestParam(value = "fields", required = false) String fields) {
+        return ResponseEntity.ok(inmuebleServiceRequest.getInmueblesPage(cursor, size, estado, minPrice, maxPrice, userId, fields));
+    }
+
+    /**
+     * Endpoint de búsqueda de texto completo sobre nombre y dirección.
+     * Delega la llamada al endpoint {@code GET /api/inmueble/search} del {@code inmueble-service}.
+     *
+     * @param q    El texto a buscar.
+     * @param page Número de página (opcional, empezando en 0).
+     * @param size Número de elementos por página (opcional).
+     * @return Un {@link ResponseEntity} con los resultados ordenados por relevancia y estado OK.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<InmuebleSearchResultDto> searchInmuebles(@RequestParam("q") String q,
+                                                                   @RequestParam(value = "page", required = false) Integer page,
+                                                                   @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(inmuebleServiceRequest.searchInmuebles(q, page, size));
+    }
+
+    /**
+     * Endpoint de autocompletado para la caja de búsqueda del catálogo.
+     * Delega la llamada al endpoint {@code GET /api/inmueble/suggest} del {@code inmueble-service}.
+     *
+     * @param prefix El texto escrito hasta el momento.
+     * @param limit  Número máximo de sugerencias (opcional).
+     * @return Un {@link ResponseEntity} con las sugerencias y estado OK.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<InmuebleSugerenciaDto>> suggest(@RequestParam("prefix") String prefix,
+                                                               @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(inmuebleServiceRequest.suggest(prefix, limit));
+    }
+
+    /**
+     * Endpoint con los inmuebles más visitados recientemente, para la portada del catálogo.
+     * Delega la llamada al endpoint {@code GET /api/inmueble/trending} del {@code inmueble-service}.
+     *
+     * @param limit Número máximo de inmuebles (opcional).
+     * @return Un {@link ResponseEntity} con los inmuebles, de mayor a menor puntuación, y estado OK.
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<List<InmueblePopularDto>> getPopulares(@RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(inmuebleServiceRequest.getPopulares(limit));
+    }
+
+    /**
+     * Endpoint con los inmuebles disponibles más parecidos a uno dado, para la ficha del inmueble.
+     * Delega la llamada al endpoint {@code GET /api/inmueble/{inmuebleId}/similar} del {@code inmueble-service}.
+     *
+     * @param inmuebleId El ID del inmueble.
+     * @param limit      Número máximo de inmuebles (opcional).
+     * @return Un {@link ResponseEntity} con los inmuebles, del más al menos parecido, y estado OK.
+     */
+    @GetMapping("/{inmuebleId}/similar")
+    public ResponseEntity<List<InmuebleSimilarDto>> getSimilares(@PathVariable("inmuebleId") Long inmuebleId,
+                                                                 @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(inmuebleServiceRequest.getSimilares(inmuebleId, limit));
+    }
+
+    /**
+     * Endpoint para guardar una búsqueda del usuario autenticado y recibir avisos de los nuevos
+     * inmuebles que la cumplan.
+     * Delega la llamada al endpoint {@code POST /api/inmueble/busquedas} del {@code inmueble-service}.
+     *
+     * @param busqueda Los criterios de la búsqueda.
+     * @return Un {@link ResponseEntity} con la búsqueda guardada y estado CREATED.
+     */
+    @PostMapping("/busquedas")
+    public ResponseEntity<BusquedaGuardadaDto> guardarBusqueda(@RequestBody BusquedaGuardadaDto busqueda) {
+        return new ResponseEntity<>(inmuebleServiceRequest.guardarBusqueda(busqueda), HttpStatus.CREATED);
+    }
+
+    /**
+     * Endpoint con las búsquedas guardadas del usuario autenticado.
+     *
+     * @return Un {@link ResponseEntity} con las búsquedas y estado OK.
+     */
+    @GetMapping("/busquedas")
+    public ResponseEntity<List<BusquedaGuardadaDto>> getBusquedas() {
+        return ResponseEntity.ok(inmuebleServiceRequest.getBusquedas());
+    }
+
+    /**
+     * Endpoint para eliminar una búsqueda guardada del usuario autenticado.
+     *
+     * @param busquedaId El ID de la búsqueda.
+     * @return Un {@link ResponseEntity} con estado NO_CONTENT.
+     */
+    @DeleteMapping("/busquedas/{busquedaId}")
+    public ResponseEntity<Void> eliminarBusqueda(@PathVariable("busquedaId") Long busquedaId) {
+        inmuebleServiceRequest.eliminarBusqueda(busquedaId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Endpoint con la bandeja de avisos del usuario autenticado.
+     * Delega la llamada al endpoint {@code GET /api/inmueble/alertas} del {@code inmueble-service}.
+     *
+     * @param soloNoLeidas Si es {@code true}, solo los avisos no leídos (opcional).
+     * @param limit        Número máximo de avisos (opcional).
+     * @return Un {@link ResponseEntity} con los avisos, más recientes primero, y estado OK.
+     */
+    @GetMapping("/alertas")
+    public ResponseEntity<List<InmuebleAlertaDto>> getAlertas(@RequestParam(value = "soloNoLeidas", required = false) Boolean soloNoLeidas,
+                                                              @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(inmuebleServiceRequest.getAlertas(soloNoLeidas, limit));
+    }
+
+    /**
+     * Endpoint para marcar como leídos los avisos del usuario autenticado hasta uno dado (inclusive).
+     *
+     * @param hastaId El ID del aviso más reciente visto.
+     * @return Un {@link ResponseEntity} con el número de avisos marcados y estado OK.
+     */
+    @PutMapping("/alertas/leidas")
+    public ResponseEntity<Integer> marcarAlertasLeidas(@RequestParam("hastaId") Long hastaId) {
+        return ResponseEntity.ok(inmuebleServiceRequest.marcarAlertasLeidas(hastaId));
+    }
+
+    /**
+     * Endpoint para reservar un inmueble (o renovar la reserva) a nombre del usuario autenticado.
+     * Delega la llamada al endpoint {@code POST /api/inmueble/{inmuebleId}/reserva} del {@code inmueble-service}.
+     *
+     * @param inmuebleId El ID del inmueble.
+     * @param minutos    Duración de la reserva en minutos (opcional).
+     * @return Un {@link ResponseEntity} con el resultado y estado OK, o CONFLICT si el inmueble no está disponible.
+     */
+    @PostMapping("/{inmuebleId}/reserva")
+    public ResponseEntity<ReservaResultadoDto> reservar(@PathVariable("inmuebleId") Long inmuebleId,
+                                                        @RequestParam(value = "minutos", required = false) Integer minutos) {
+        try {
+            return ResponseEntity.ok(inmuebleServiceRequest.reservar(inmuebleId, minutos));
+        } catch (FeignException.Conflict e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * Endpoint para cancelar la reserva de un inmueble del usuario autenticado.
+     *
+     * @param inmuebleId El ID del inmueble.
+     * @return Un {@link ResponseEntity} con estado NO_CONTENT.
+     */
+    @DeleteMapping("/{inmuebleId}/reserva")
+    public ResponseEntity<Void> cancelarReserva(@PathVariable("inmuebleId") Long inmuebleId) {
+        inmuebleServiceRequest.cancelarReserva(inmuebleId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Endpoint para subir una foto de inmueble.
+     * Delega la llamada al endpoint {@code POST /api/inmueble/imagenes} del {@code inmueble-service}.
+     *
+     * @param file La imagen, en la parte {@code file} de la petición multipart.
+     * @return Un {@link ResponseEntity} con el {@link ImagenSubidaDto} y estado CREATED; su URL pública
+     * (la que debe guardarse en {@code picture}) va en la cabecera {@code Location}.
+     */
+    @PostMapping(value = "/imagenes", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImagenSubidaDto> subirImagen(@RequestPart("file") MultipartFile file) {
+        ImagenSubidaDto subida = inmuebleServiceRequest.subirImagen(file);
+        return ResponseEntity.created(URI.create(InmuebleServiceRequest.urlImagen(subida.hash()))).body(subida);
+    }
+
+    /**
+     * Endpoint público para descargar una foto o una de sus miniaturas ({@code ?size=}).
+     * <p>
+     * Reenvía en streaming la respuesta del {@code inmueble-service}, sin cargar la imagen en memoria,
+     * junto con sus cabeceras de caché ({@code ETag}, {@code Cache-Control}), y propaga
+     * {@code If-None-Match} para que el navegador reciba {@code 304 Not Modified} cuando ya la tiene.
+     *
+     * @param hash        El SHA-256 de la imagen.
+     * @param size        Ancho deseado en píxeles (opcional).
+     * @param ifNoneMatch Cabecera {@code If-None-Match} del navegador.
+     * @param response    La respuesta HTTP sobre la que se copia la imagen.
+     * @throws IOException si falla la copia del cuerpo (por ejemplo, si el navegador cierra la conexión).
+     */
+    @GetMapping("/imagenes/{hash}")
+    public void getImagen(@PathVariable("hash") String hash,
+                          @RequestParam(value = "size", required = false) Integer size,
+                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                          HttpServletResponse response) throws IOException {
+        try (Response origen = inmuebleServiceRequest.getImagen(hash, size, ifNoneMatch)) {
+            if (origen == null) {
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                return;
+            }
+            response.setStatus(origen.status());
+            for (String cabecera : List.of(HttpHeaders.ETAG, HttpHeaders.CACHE_CONTROL,
+                    HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH)) {
+                Collection<String> valores = origen.headers().get(cabecera);
+                if (valores != null && !valores.isEmpty()) {
+                    response.setHeader(cabecera, valores.iterator().next());
+                }
+            }
+            if (origen.status() == HttpStatus.OK.value() && origen.body() != null) {
+                try (InputStream in = origen.body().asInputStream()) {
+                    OutputStream out = response.getOutputStream();
+                    in.transferTo(out);
+                }
+            }
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.dani.spring_boot_microservice_3_api_gateway.controller.ui;
 
+import com.dani.spring_boot_microservice_3_api_gateway.dto.InmueblePageDto;
+import com.dani.spring_boot_microservice_3_api_gateway.dto.InmuebleSearchResultDto;
 import com.dani.spring_boot_microservice_3_api_gateway.request.InmuebleServiceRequest;
+import com.dani.spring_boot_microservice_3_api_gateway.service.InmuebleCatalogoService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
@@ -8,6 +11,7 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 /**
  * Controlador para la interfaz de usuario (UI) del catálogo público de inmuebles.
@@ -22,18 +26,51 @@ import org.springframework.web.bind.annotation.RequestMapping;
 @Slf4j
 public class CatalogoUIController {
 
+    /**
+     * Número de inmuebles mostrados por página del catálogo.
+     */
+    private static final int TAMANO_PAGINA_CATALOGO = 20;
+
     private final InmuebleServiceRequest inmuebleServiceRequest;
+    private final InmuebleCatalogoService inmuebleCatalogoService;
 
     /**
-     * Muestra la página principal del catálogo con la lista de todos los inmuebles.
+     * Muestra una página del catálogo de inmuebles.
+     * <p>
+     * Sin texto de búsqueda, utiliza la paginación por cursor del {@code inmueble-service},
+     * de modo que solo se transfieren los inmuebles de la página visible; el cursor de la
+     * página siguiente se expone a la vista como {@code nextCursor}.
+     * <p>
+     * Con texto de búsqueda ({@code q}), muestra los resultados de la búsqueda de texto completo
+     * ordenados por relevancia, paginados por número de página ({@code searchPage}).
      *
+     * @param cursor Token de la página a mostrar; se omite para la primera página.
+     * @param q Texto de búsqueda opcional sobre nombre y dirección.
+     * @param page Número de página de resultados de búsqueda (empezando en 0).
      * @param model El objeto {@link Model} para pasar la lista de inmuebles a la vista.
      * @return El nombre de la vista Thymeleaf ({@code "catalogo/vista-catalogo"}).
      */
     @GetMapping
-    public String mostrarCatalogo(Model model) {
+    public String mostrarCatalogo(@RequestParam(value = "cursor", required = false) String cursor,
+                                  @RequestParam(value = "q", required = false) String q,
+                                  @RequestParam(value = "page", defaultValue = "0") int page,
+                                  Model model) {
+        boolean isSearch = q != null && !q.isBlank();
+        model.addAttribute("q", isSearch ? q.trim() : null);
         try {
-            model.addAttribute("inmuebles", inmuebleServiceRequest.getAllInmuebles());
+            if (isSearch) {
+                InmuebleSearchResultDto result = inmuebleServiceRequest.searchInmuebles(q.trim(), page, TAMANO_PAGINA_CATALOGO);
+                model.addAttribute("inmuebles", result.items());
+                model.addAttribute("searchPage", result.page());
+                model.addAttribute("searchHasMore", result.hasMore());
+                model.addAttribute("isFirstPage", result.page() == 0);
+            } else {
+                InmueblePageDto catalogPage = inmuebleServiceRequest.getInmueblesPage(
+                        cursor, TAMANO_PAGINA_CATALOGO, null, null, null, null, InmuebleServiceRequest.CAMPOS_CATALOGO);
+                model.addAttribute("inmuebles", catalogPage.items());
+                model.addAttribute("nextCursor", catalogPage.nextCursor());
+                model.addAttribute("isFirstPage", cursor == null || cursor.isBlank());
+            }
         } catch (Exception e) {
             log.error("Error al cargar el catálogo de inmuebles: {}", e.getMessage());
             model.addAttribute("error", "No se pudo cargar el catálogo de inmuebles en este momento.");
@@ -51,7 +88,7 @@ public class CatalogoUIController {
     @GetMapping("/detalle/{id}")
     public String verDetalleInmueble(@PathVariable("id") Long inmuebleId, Model model) {
         try {
-            model.addAttribute("inmueble", inmuebleServiceRequest.getInmuebleById(inmuebleId));
+            model.addAttribute("inmueble", inmuebleCatalogoService.getInmuebleById(inmuebleId));
         } catch (Exception e) {
             log.error("Error al obtener detalle del inmueble ID {}: {}", inmuebleId, e.getMessage());
             return "redirect:/ui/catalogo?error=notfound";
@@ -1,5 +1,6 @@
 package com.dani.spring_boot_microservice_3_api_gateway.controller.ui;
 
+import com.dani.spring_boot_microservice_3_api_gateway.dto.InmuebleStatsDto;
 import com.dani.spring_boot_microservice_3_api_gateway.model.Role;
 import com.dani.spring_boot_microservice_3_api_gateway.request.InmuebleServiceRequest;
 import com.dani.spring_boot_microservice_3_api_gateway.security.UserPrincipal;
@@ -35,7 +36,8 @@ public class DashboardController {
      * Prepara y muestra la página del dashboard.
      * <p>
      * Carga estadísticas diferentes en el modelo dependiendo de si el usuario
-     * es un administrador o un usuario estándar.
+     * es un administrador o un usuario estándar. Los conteos de inmuebles se obtienen del
+     * endpoint de estadísticas del {@code inmueble-service}, sin descargar los listados.
      *
      * @param model El objeto {@link Model} para pasar datos a la vista.
      * @param principal El principal del usuario autenticado.
@@ -49,9 +51,11 @@ public class DashboardController {
         if (principal.getUser().getRole() == Role.ADMIN) {
             // Cargar datos para el dashboard de Administrador
             try {
-                model.addAttribute("totalInmuebles", inmuebleServiceRequest.getAllInmuebles().size());
+                InmuebleStatsDto estadisticas = inmuebleServiceRequest.getEstadisticas();
+                model.addAttribute("totalInmuebles", estadisticas != null ? estadisticas.total() : "N/A");
+                model.addAttribute("estadisticasInmuebles", estadisticas);
             } catch (Exception e) {
-                log.error("Error al obtener el conteo total de inmuebles: {}", e.getMessage());
+                log.error("Error al obtener las estadísticas de inmuebles: {}", e.getMessage());
                 model.addAttribute("totalInmuebles", "N/A");
             }
             try {
@@ -64,10 +68,11 @@ public class DashboardController {
 
         // Cargar datos para las estadísticas personales del usuario (sea admin o no)
         try {
-            model.addAttribute("misInmuebles", inmuebleServiceRequest.getAllInmueblesByUserId(principal.getId()).size());
+            InmuebleStatsDto misEstadisticas = inmuebleServiceRequest.getEstadisticasDeUsuario(principal.getId());
+            model.addAttribute("misInmueblesPublicados", misEstadisticas != null ? misEstadisticas.total() : "N/A");
         } catch (Exception e) {
             log.error("Error al obtener el conteo de inmuebles para el usuario {}: {}", principal.getUsername(), e.getMessage());
-            model.addAttribute("misInmuebles", "N/A");
+            model.addAttribute("misInmueblesPublicados", "N/A");
         }
 
         return "dashboard";
@@ -1,9 +1,11 @@
 package com.dani.spring_boot_microservice_3_api_gateway.controller.ui;
 
+import com.dani.spring_boot_microservice_3_api_gateway.dto.ImagenSubidaDto;
 import com.dani.spring_boot_microservice_3_api_gateway.dto.InmuebleDto;
 import com.dani.spring_boot_microservice_3_api_gateway.model.Role;
 import com.dani.spring_boot_microservice_3_api_gateway.model.User;
 import com.dani.spring_boot_microservice_3_api_gateway.request.InmuebleServiceRequest;
+import com.dani.spring_boot_microservice_3_api_gateway.service.InmuebleCatalogoService;
 import com.dani.spring_boot_microservice_3_api_gateway.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +13,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 
@@ -31,6 +34,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 public class InmuebleUIController {
 
     private final InmuebleServiceRequest inmuebleServiceRequest;
+    private final InmuebleCatalogoService inmuebleCatalogoService;
 
     /**
      * Muestra la página principal de gestión de inmuebles.
@@ -54,10 +58,10 @@ public class InmuebleUIController {
         try {
             if (isAdmin) {
                 log.info("Admin {} solicitando lista de todos los inmuebles.", principal.getUsername());
-                model.addAttribute("inmuebles", inmuebleServiceRequest.getAllInmuebles());
+                model.addAttribute("inmuebles", inmuebleCatalogoService.getListadoInmuebles());
             } else {
                 log.info("Usuario {} solicitando lista de sus inmuebles.", principal.getUsername());
-                model.addAttribute("inmuebles", inmuebleServiceRequest.getAllInmueblesByUserId(user.getId()));
+                model.addAttribute("inmuebles", inmuebleServiceRequest.getAllInmueblesByUserId(user.getId(), InmuebleServiceRequest.CAMPOS_LISTADO));
             }
         } catch (Exception e) {
             log.error("Error al obtener la lista de inmuebles para el usuario {}: {}", principal.getUsername(), e.getMessage());
@@ -70,12 +74,13 @@ public class InmuebleUIController {
     /**
      * Muestra el formulario para crear un nuevo inmueble.
      *
-     * @param model El objeto {@link Model} para pasar un nuevo {@link InmuebleDto} vacío al formulario.
+     * @param model El objeto {@link Model} para pasar un nuevo {@link InmuebleDto} vacío al formulario
+     * (atributo {@code inmueble}).
      * @return El nombre de la vista Thymeleaf del formulario ({@code "inmuebles/form-inmueble"}).
      */
     @GetMapping("/add")
     public String showFormInmueble(Model model) {
-        model.addAttribute("inmuebleDto", new InmuebleDto(null, null, null, null, null, 0.0, null, null));
+        model.addAttribute("inmueble", new InmuebleDto(null, null, null, null, null, 0.0, null, null));
         model.addAttribute("isEditMode", false);
         return "inmuebles/form-inmueble";
     }
@@ -85,6 +90,8 @@ public class InmuebleUIController {
      *
      * @param inmuebleDto El objeto {@link InmuebleDto} con los datos del formulario,
      * mapeado con {@link ModelAttribute}.
+     * @param foto Foto opcional subida desde el formulario; si se envía, se sube al {@code inmueble-service}
+     * y su URL sustituye a la del campo {@code picture}.
      * @param principal El {@link UserPrincipal} del usuario autenticado.
      * @param redirectAttributes Utilizado para pasar mensajes (de éxito o error) a la vista
      * después de la redirección.
@@ -92,10 +99,18 @@ public class InmuebleUIController {
      */
     @PostMapping("/save")
     public String saveOrUpdateInmueble(@ModelAttribute InmuebleDto inmuebleDto,
+                                       @RequestParam(value = "foto", required = false) MultipartFile foto,
                                        @AuthenticationPrincipal UserPrincipal principal,
                                        RedirectAttributes redirectAttributes) {
         log.info("Intento de guardar/actualizar inmueble: {}", inmuebleDto.name());
         try {
+            if (foto != null && !foto.isEmpty()) {
+                ImagenSubidaDto subida = inmuebleServiceRequest.subirImagen(foto);
+                log.info("Foto {} subida para el inmueble '{}'.", subida.hash(), inmuebleDto.name());
+                inmuebleDto = new InmuebleDto(inmuebleDto.id(), inmuebleDto.userId(), inmuebleDto.name(),
+                        inmuebleDto.address(), InmuebleServiceRequest.urlImagen(subida.hash()), inmuebleDto.price(),
+                        inmuebleDto.creationDate(), inmuebleDto.estado());
+            }
             inmuebleServiceRequest.saveInmueble(inmuebleDto);
             String message = (inmuebleDto.id() == null) ? "Inmueble guardado exitosamente." : "Inmueble actualizado exitosamente.";
             redirectAttributes.addFlashAttribute("successMessage", message);
@@ -118,8 +133,8 @@ public class InmuebleUIController {
     public String editInmueble(@PathVariable("id") Long inmuebleId, Model model) {
         log.info("Solicitando edición para inmueble ID: {}", inmuebleId);
         try {
-            InmuebleDto inmuebleDto = inmuebleServiceRequest.getInmuebleById(inmuebleId);
-            model.addAttribute("inmuebleDto", inmuebleDto);
+            InmuebleDto inmuebleDto = inmuebleCatalogoService.getInmuebleById(inmuebleId);
+            model.addAttribute("inmueble", inmuebleDto);
             model.addAttribute("isEditMode", true);
             return "inmuebles/form-inmueble";
         } catch (Exception e) {
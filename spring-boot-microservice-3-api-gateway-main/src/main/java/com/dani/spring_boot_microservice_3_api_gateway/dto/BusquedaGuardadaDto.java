@@ -0,0 +1,32 @@
+package com.dani.spring_boot_microservice_3_api_gateway.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) con una búsqueda guardada del {@code inmueble-service}
+ * ({@code /api/inmueble/busquedas}). Todos los criterios son opcionales.
+ *
+ * @param id            ID de la búsqueda ({@code null} al crearla).
+ * @param userId        ID del usuario (lo asigna el servicio a partir de {@code X-User-ID}).
+ * @param nombre        Nombre descriptivo de la búsqueda.
+ * @param estado        Estado exigido (ej. "DISPONIBLE").
+ * @param precioMinimo  Precio mínimo (inclusive).
+ * @param precioMaximo  Precio máximo (inclusive).
+ * @param texto         Palabras que deben aparecer en el nombre o la dirección.
+ * @param fechaCreacion Momento en que se guardó.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record BusquedaGuardadaDto(
+        Long id,
+        Long userId,
+        String nombre,
+        String estado,
+        Double precioMinimo,
+        Double precioMaximo,
+        String texto,
+        LocalDateTime fechaCreacion
+) {
+}
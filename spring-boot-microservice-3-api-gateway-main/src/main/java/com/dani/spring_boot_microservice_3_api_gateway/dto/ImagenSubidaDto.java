@@ -0,0 +1,23 @@
+package com.dani.spring_boot_microservice_3_api_gateway.dto;
+
+/**
+ * Data Transfer Object (DTO) con el resultado de subir una foto al {@code inmueble-service}
+ * ({@code POST /api/inmueble/imagenes}).
+ *
+ * @param hash        SHA-256 del contenido, que identifica la imagen.
+ * @param contentType Tipo MIME detectado.
+ * @param bytes       Tamaño del original en bytes.
+ * @param url         Ruta de la imagen en el {@code inmueble-service} (no accesible desde el navegador;
+ *                    usar {@code InmuebleServiceRequest#urlImagen(String)}).
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record ImagenSubidaDto(
+        String hash,
+        String contentType,
+        long bytes,
+        String url
+) {
+}
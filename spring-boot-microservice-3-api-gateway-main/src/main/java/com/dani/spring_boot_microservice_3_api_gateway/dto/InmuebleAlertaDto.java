@@ -0,0 +1,32 @@
+package com.dani.spring_boot_microservice_3_api_gateway.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) con un aviso de la bandeja del usuario en el {@code inmueble-service}
+ * ({@code GET /api/inmueble/alertas}): un inmueble que cumple una de sus búsquedas guardadas.
+ *
+ * @param id         ID del aviso.
+ * @param userId     ID del usuario destinatario.
+ * @param busquedaId ID de la búsqueda cumplida.
+ * @param inmuebleId ID del inmueble.
+ * @param nombre     Nombre del inmueble en el momento del aviso.
+ * @param precio     Precio del inmueble en el momento del aviso.
+ * @param fecha      Momento del aviso.
+ * @param leida      Si el usuario ya lo ha visto.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record InmuebleAlertaDto(
+        Long id,
+        Long userId,
+        Long busquedaId,
+        Long inmuebleId,
+        String nombre,
+        Double precio,
+        LocalDateTime fecha,
+        boolean leida
+) {
+}
@@ -0,0 +1,25 @@
+package com.dani.spring_boot_microservice_3_api_gateway.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) que representa una página del catálogo de inmuebles
+ * obtenida mediante paginación por cursor desde el {@code inmueble-service}.
+ * <p>
+ * El {@code nextCursor} es un token opaco: el API Gateway no lo interpreta, solo lo
+ * reenvía al servicio para solicitar la página siguiente.
+ *
+ * @param items      Los inmuebles de la página actual.
+ * @param nextCursor Token para solicitar la siguiente página; {@code null} si no hay más.
+ * @param hasMore    {@code true} si existen más inmuebles después de esta página.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record InmueblePageDto(
+        List<InmuebleDto> items,
+        String nextCursor,
+        boolean hasMore
+) {
+}
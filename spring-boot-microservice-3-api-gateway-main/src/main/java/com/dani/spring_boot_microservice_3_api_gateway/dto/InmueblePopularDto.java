@@ -0,0 +1,18 @@
+package com.dani.spring_boot_microservice_3_api_gateway.dto;
+
+/**
+ * Data Transfer Object (DTO) con un inmueble del ranking de tendencias del {@code inmueble-service}
+ * ({@code GET /api/inmueble/trending}).
+ *
+ * @param inmueble   Los datos del inmueble.
+ * @param puntuacion Visitas recientes estimadas, con las más antiguas atenuadas.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record InmueblePopularDto(
+        InmuebleDto inmueble,
+        double puntuacion
+) {
+}
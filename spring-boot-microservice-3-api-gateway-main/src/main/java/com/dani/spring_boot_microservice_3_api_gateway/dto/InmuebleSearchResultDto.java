@@ -0,0 +1,24 @@
+package com.dani.spring_boot_microservice_3_api_gateway.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) que representa una página de resultados de la búsqueda
+ * de texto completo del {@code inmueble-service}, ordenada por relevancia.
+ *
+ * @param items   Los inmuebles de la página, de mayor a menor relevancia.
+ * @param page    Número de página devuelto (empezando en 0).
+ * @param size    Tamaño de página aplicado por el servicio.
+ * @param hasMore {@code true} si existen más resultados en la página siguiente.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record InmuebleSearchResultDto(
+        List<InmuebleDto> items,
+        int page,
+        int size,
+        boolean hasMore
+) {
+}
@@ -0,0 +1,18 @@
+package com.dani.spring_boot_microservice_3_api_gateway.dto;
+
+/**
+ * Data Transfer Object (DTO) con un inmueble parecido a otro del {@code inmueble-service}
+ * ({@code GET /api/inmueble/{inmuebleId}/similar}).
+ *
+ * @param inmueble  Los datos del inmueble.
+ * @param distancia Distancia entre ambos inmuebles (menor es más parecido).
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record InmuebleSimilarDto(
+        InmuebleDto inmueble,
+        double distancia
+) {
+}
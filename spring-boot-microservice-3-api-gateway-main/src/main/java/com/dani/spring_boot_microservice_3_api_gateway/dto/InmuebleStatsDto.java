@@ -0,0 +1,35 @@
+package com.dani.spring_boot_microservice_3_api_gateway.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) con las estadísticas agregadas de inmuebles calculadas por el
+ * {@code inmueble-service} (globales o de un propietario).
+ * <p>
+ * Los estados se reciben como texto, igual que en {@link InmuebleDto}.
+ *
+ * @param userId       El propietario al que se refieren, o {@code null} si son globales.
+ * @param total        Número total de inmuebles.
+ * @param porEstado    Número de inmuebles por estado.
+ * @param precioMinimo Precio mínimo, o {@code null} si no hay inmuebles.
+ * @param precioMaximo Precio máximo, o {@code null} si no hay inmuebles.
+ * @param precioMedio  Precio medio, o {@code null} si no hay inmuebles.
+ * @param propietarios Número de propietarios distintos (solo en las estadísticas globales).
+ * @param generadoEn   Momento en que el servicio calculó la instantánea.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record InmuebleStatsDto(
+        Long userId,
+        long total,
+        Map<String, Long> porEstado,
+        Double precioMinimo,
+        Double precioMaximo,
+        Double precioMedio,
+        Long propietarios,
+        LocalDateTime generadoEn
+) {
+}
@@ -0,0 +1,20 @@
+package com.dani.spring_boot_microservice_3_api_gateway.dto;
+
+/**
+ * Data Transfer Object (DTO) con una sugerencia de autocompletado del {@code inmueble-service}
+ * ({@code GET /api/inmueble/suggest}).
+ *
+ * @param id      ID del inmueble.
+ * @param name    Nombre del inmueble.
+ * @param address Dirección del inmueble.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record InmuebleSugerenciaDto(
+        Long id,
+        String name,
+        String address
+) {
+}
@@ -0,0 +1,24 @@
+package com.dani.spring_boot_microservice_3_api_gateway.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) con el resultado de una reserva del {@code inmueble-service}
+ * ({@code POST /api/inmueble/{inmuebleId}/reserva}).
+ *
+ * @param inmuebleId El ID del inmueble.
+ * @param estado     El estado del inmueble tras la operación (ej. "RESERVADO").
+ * @param expira     Caducidad de la reserva, si se ha aplicado.
+ * @param aplicada   {@code true} si el usuario tiene ahora la reserva.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public record ReservaResultadoDto(
+        Long inmuebleId,
+        String estado,
+        LocalDateTime expira,
+        boolean aplicada
+) {
+}
@@ -1,10 +1,25 @@
 package com.dani.spring_boot_microservice_3_api_gateway.request;
 
+import com.dani.spring_boot_microservice_3_api_gateway.dto.BusquedaGuardadaDto;
+import com.dani.spring_boot_microservice_3_api_gateway.dto.ImagenSubidaDto;
+import com.dani.spring_boot_microservice_3_api_gateway.dto.InmuebleAlertaDto;
 import com.dani.spring_boot_microservice_3_api_gateway.dto.InmuebleDto;
+import com.dani.spring_boot_microservice_3_api_gateway.dto.InmueblePageDto;
+import com.dani.spring_boot_microservice_3_api_gateway.dto.InmueblePopularDto;
+import com.dani.spring_boot_microservice_3_api_gateway.dto.InmuebleSearchResultDto;
+import com.dani.spring_boot_microservice_3_api_gateway.dto.InmuebleSimilarDto;
+import com.dani.spring_boot_microservice_3_api_gateway.dto.InmuebleStatsDto;
+import com.dani.spring_boot_microservice_3_api_gateway.dto.InmuebleSugerenciaDto;
+import com.dani.spring_boot_microservice_3_api_gateway.dto.ReservaResultadoDto;
+import feign.Response;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -42,6 +57,32 @@ import java.util.List;
 )
 public interface InmuebleServiceRequest {
 
+    /**
+     * Campos ({@code fields=}) que necesita la tabla del catálogo público ({@code catalogo/vista-catalogo}).
+     */
+    String CAMPOS_CATALOGO = "id,name,address,picture,price,estado,userId";
+
+    /**
+     * Campos ({@code fields=}) que necesita la tabla de gestión de inmuebles ({@code inmuebles/lista-inmuebles}).
+     */
+    String CAMPOS_LISTADO = "id,name,address,price,estado,creationDate";
+
+    /**
+     * Ruta pública del API Gateway desde la que el navegador descarga las fotos subidas
+     * (ver {@code InmuebleController#getImagen}).
+     */
+    String RUTA_IMAGENES = "/gateway/inmueble/imagenes/";
+
+    /**
+     * Devuelve la URL pública de una foto subida, que es la que se guarda en {@code picture}.
+     *
+     * @param hash El SHA-256 de la imagen.
+     * @return La URL relativa de la imagen en el API Gateway.
+     */
+    static String urlImagen(String hash) {
+        return RUTA_IMAGENES + hash;
+    }
+
     /**
      * Llama al endpoint {@code POST /api/inmueble} del servicio de inmuebles para
      * guardar un nuevo inmueble o actualizar uno existente.
@@ -110,15 +151,426 @@ public interface InmuebleServiceRequest {
     @GetMapping("/{inmuebleId}")
     InmuebleDto getInmuebleById(@PathVariable("inmuebleId") Long inmuebleId); //
 
+    /**
+     * Llama al endpoint {@code POST /api/inmueble/batch} del servicio de inmuebles para recuperar
+     * varios inmuebles con una sola petición, en lugar de una llamada a {@link #getInmuebleById(Long)}
+     * por inmueble (por ejemplo, para completar los {@code inmuebleId} de una lista de compras).
+     *
+     * @param inmuebleIds Los IDs de los inmuebles (como máximo 500 distintos).
+     * @return Los inmuebles encontrados, en el orden de los IDs; los que no existen se omiten.
+     * @throws feign.FeignException.BadRequest si se piden demasiados IDs.
+     */
+    @PostMapping("/batch")
+    List<InmuebleDto> getInmueblesByIds(@RequestBody Collection<Long> inmuebleIds);
+
     /**
      * Llama al endpoint {@code GET /api/inmueble/user/{userId}} del servicio de inmuebles
      * para obtener todos los inmuebles asociados a un ID de usuario específico.
      *
      * @param userId El ID del usuario cuyos inmuebles se desean recuperar.
-     * @return Una lista de {@link InmuebleDto} representando los inmuebles del usuario.
-     * Puede devolver una lista vacía si el usuario no tiene inmuebles.
+     * @param fields Campos a devolver, separados por comas (ej. {@link #CAMPOS_LISTADO}); {@code null} para todos.
+     * @return Una lista de {@link InmuebleDto} representando los inmuebles del usuario (los campos no
+     * solicitados quedan a {@code null}). Puede devolver una lista vacía si el usuario no tiene inmuebles.
      */
     @GetMapping("/user/{userId}")
-    List<InmuebleDto> getAllInmueblesByUserId(@PathVariable("userId") Long userId); //
+    List<InmuebleDto> getAllInmueblesByUserId(@PathVariable("userId") Long userId,
+                                              @RequestParam(value = "fields", required = false) String fields); //
+
+    /**
+     * Llama al endpoint {@code GET /api/inmueble/page} del servicio de inmuebles para
+     * obtener una página del catálogo mediante paginación por cursor (keyset).
+     * <p>
+     * Es la alternativa a {@link #getAllInmuebles()} para cualquier pantalla de listado:
+     * nunca transfiere la tabla completa. Todos los parámetros son opcionales.
+     * Comparte el Circuit Breaker "inmuebleServiceCircuitBreaker" con el listado completo.
+     *
+     * @param cursor   Token {@code nextCursor} de la página anterior, o {@code null} para la primera página.
+     * @param size     Número de elementos por página.
+     * @param estado   Filtra por estado del inmueble (ej. "DISPONIBLE").
+     * @param minPrice Precio mínimo (inclusive).
+     * @param maxPrice Precio máximo (inclusive).
+     * @param userId   Filtra por propietario.
+     * @param fields   Campos a devolver, separados por comas (ej. {@link #CAMPOS_CATALOGO}); {@code null} para todos.
+     * @return Un {@link InmueblePageDto} con los inmuebles de la página y el cursor siguiente.
+     */
+    @GetMapping("/page")
+    @CircuitBreaker(name = "inmuebleServiceCircuitBreaker", fallbackMethod = "fallbackGetInmueblesPage")
+    InmueblePageDto getInmueblesPage(@RequestParam(value = "cursor", required = false) String cursor,
+                                     @RequestParam(value = "size", required = false) Integer size,
+                                     @RequestParam(value = "estado", required = false) String estado,
+                                     @RequestParam(value = "minPrice", required = false) Double minPrice,
+                                     @RequestParam(value = "maxPrice", required = false) Double maxPrice,
+                                     @RequestParam(value = "userId", required = false) Long userId,
+                                     @RequestParam(value = "fields", required = false) String fields);
+
+    /**
+     * Método de fallback para {@link #getInmueblesPage(String, Integer, String, Double, Double, Long, String)}.
+     * Devuelve una página vacía sin cursor siguiente.
+     *
+     * @param cursor   Cursor de la petición original.
+     * @param size     Tamaño de la petición original.
+     * @param estado   Filtro de estado de la petición original.
+     * @param minPrice Precio mínimo de la petición original.
+     * @param maxPrice Precio máximo de la petición original.
+     * @param userId   Propietario de la petición original.
+     * @param fields   Campos de la petición original.
+     * @param throwable La excepción que causó la activación del fallback.
+     * @return Un {@link InmueblePageDto} vacío como respuesta de contingencia.
+     */
+    default InmueblePageDto fallbackGetInmueblesPage(String cursor, Integer size, String estado, Double minPrice,
+                                                     Double maxPrice, Long userId, String fields, Throwable throwable) {
+        System.err.println("Fallback para InmuebleServiceRequest.getInmueblesPage() activado. Causa: " + (throwable != null ? throwable.getMessage() : "Desconocida"));
+        return new InmueblePageDto(Collections.emptyList(), null, false);
+    }
+
+    /**
+     * Llama al endpoint {@code GET /api/inmueble/search} del servicio de inmuebles para
+     * realizar una búsqueda de texto completo sobre el nombre y la dirección.
+     *
+     * @param q    El texto a buscar.
+     * @param page Número de página (empezando en 0).
+     * @param size Número de elementos por página.
+     * @return Un {@link InmuebleSearchResultDto} con los inmuebles ordenados por relevancia.
+     */
+    @GetMapping("/search")
+    @CircuitBreaker(name = "inmuebleServiceCircuitBreaker", fallbackMethod = "fallbackSearchInmuebles")
+    InmuebleSearchResultDto searchInmuebles(@RequestParam("q") String q,
+                                            @RequestParam(value = "page", required = false) Integer page,
+                                            @RequestParam(value = "size", required = false) Integer size);
+
+    /**
+     * Método de fallback para {@link #searchInmuebles(String, Integer, Integer)}.
+     * Devuelve un resultado vacío.
+     *
+     * @param q    Texto de la petición original.
+     * @param page Página de la petición original.
+     * @param size Tamaño de la petición original.
+     * @param throwable La excepción que causó la activación del fallback.
+     * @return Un {@link InmuebleSearchResultDto} vacío como respuesta de contingencia.
+     */
+    default InmuebleSearchResultDto fallbackSearchInmuebles(String q, Integer page, Integer size, Throwable throwable) {
+        System.err.println("Fallback para InmuebleServiceRequest.searchInmuebles() activado. Causa: " + (throwable != null ? throwable.getMessage() : "Desconocida"));
+        return new InmuebleSearchResultDto(Collections.emptyList(), page != null ? page : 0, size != null ? size : 0, false);
+    }
+
+    /**
+     * Llama al endpoint {@code GET /api/inmueble/suggest} del servicio de inmuebles para obtener
+     * sugerencias de autocompletado mientras el usuario escribe.
+     *
+     * @param prefix El texto escrito hasta el momento.
+     * @param limit  Número máximo de sugerencias.
+     * @return Las sugerencias, más recientes primero.
+     */
+    @GetMapping("/suggest")
+    @CircuitBreaker(name = "inmuebleServiceCircuitBreaker", fallbackMethod = "fallbackSuggest")
+    List<InmuebleSugerenciaDto> suggest(@RequestParam("prefix") String prefix,
+                                        @RequestParam(value = "limit", required = false) Integer limit);
+
+    /**
+     * Método de fallback para {@link #suggest(String, Integer)}.
+     * Devuelve una lista vacía: la caja de búsqueda sigue funcionando sin sugerencias.
+     *
+     * @param prefix Texto de la petición original.
+     * @param limit  Límite de la petición original.
+     * @param throwable La excepción que causó la activación del fallback.
+     * @return Una lista vacía.
+     */
+    default List<InmuebleSugerenciaDto> fallbackSuggest(String prefix, Integer limit, Throwable throwable) {
+        System.err.println("Fallback para InmuebleServiceRequest.suggest() activado. Causa: " + (throwable != null ? throwable.getMessage() : "Desconocida"));
+        return Collections.emptyList();
+    }
+
+    /**
+     * Llama al endpoint {@code GET /api/inmueble/trending} del servicio de inmuebles para obtener
+     * los inmuebles más visitados recientemente.
+     *
+     * @param limit Número máximo de inmuebles.
+     * @return Los inmuebles, de mayor a menor puntuación.
+     */
+    @GetMapping("/trending")
+    @CircuitBreaker(name = "inmuebleServiceCircuitBreaker", fallbackMethod = "fallbackGetPopulares")
+    List<InmueblePopularDto> getPopulares(@RequestParam(value = "limit", required = false) Integer limit);
+
+    /**
+     * Método de fallback para {@link #getPopulares(Integer)}.
+     * Devuelve una lista vacía: la portada se muestra sin la sección de tendencias.
+     *
+     * @param limit Límite de la petición original.
+     * @param throwable La excepción que causó la activación del fallback.
+     * @return Una lista vacía.
+     */
+    default List<InmueblePopularDto> fallbackGetPopulares(Integer limit, Throwable throwable) {
+        System.err.println("Fallback para InmuebleServiceRequest.getPopulares() activado. Causa: " + (throwable != null ? throwable.getMessage() : "Desconocida"));
+        return Collections.emptyList();
+    }
+
+    /**
+     * Llama al endpoint {@code GET /api/inmueble/{inmuebleId}/similar} del servicio de inmuebles para
+     * obtener los inmuebles disponibles más parecidos a uno dado.
+     *
+     * @param inmuebleId El ID del inmueble.
+     * @param limit      Número máximo de inmuebles.
+     * @return Los inmuebles, del más al menos parecido (vacía si el inmueble no existe).
+     */
+    @GetMapping("/{inmuebleId}/similar")
+    @CircuitBreaker(name = "inmuebleServiceCircuitBreaker", fallbackMethod = "fallbackGetSimilares")
+    List<InmuebleSimilarDto> getSimilares(@PathVariable("inmuebleId") Long inmuebleId,
+                                          @RequestParam(value = "limit", required = false) Integer limit);
+
+    /**
+     * Método de fallback para {@link #getSimilares(Long, Integer)}.
+     * Devuelve una lista vacía: la ficha del inmueble se muestra sin la sección de similares.
+     *
+     * @param inmuebleId ID de la petición original.
+     * @param limit      Límite de la petición original.
+     * @param throwable  La excepción que causó la activación del fallback.
+     * @return Una lista vacía.
+     */
+    default List<InmuebleSimilarDto> fallbackGetSimilares(Long inmuebleId, Integer limit, Throwable throwable) {
+        System.err.println("Fallback para InmuebleServiceRequest.getSimilares() activado. Causa: " + (throwable != null ? throwable.getMessage() : "Desconocida"));
+        return Collections.emptyList();
+    }
+
+    /**
+     * Llama al endpoint {@code POST /api/inmueble/busquedas} del servicio de inmuebles para guardar
+     * una búsqueda del usuario autenticado (propagado en {@code X-User-ID}).
+     *
+     * @param busqueda Los criterios de la búsqueda.
+     * @return La búsqueda guardada.
+     * @throws feign.FeignException.BadRequest si los criterios no son válidos o se ha alcanzado el máximo.
+     */
+    @PostMapping("/busquedas")
+    BusquedaGuardadaDto guardarBusqueda(@RequestBody BusquedaGuardadaDto busqueda);
+
+    /**
+     * Llama al endpoint {@code GET /api/inmueble/busquedas} del servicio de inmuebles para obtener
+     * las búsquedas guardadas del usuario autenticado.
+     *
+     * @return Las búsquedas, más recientes primero.
+     */
+    @GetMapping("/busquedas")
+    List<BusquedaGuardadaDto> getBusquedas();
+
+    /**
+     * Llama al endpoint {@code DELETE /api/inmueble/busquedas/{busquedaId}} del servicio de inmuebles.
+     *
+     * @param busquedaId El ID de la búsqueda a eliminar.
+     * @throws feign.FeignException.NotFound si no existe.
+     * @throws feign.FeignException.Forbidden si no pertenece al usuario.
+     */
+    @DeleteMapping("/busquedas/{busquedaId}")
+    void eliminarBusqueda(@PathVariable("busquedaId") Long busquedaId);
+
+    /**
+     * Llama al endpoint {@code GET /api/inmueble/alertas} del servicio de inmuebles para obtener la
+     * bandeja de avisos del usuario autenticado.
+     *
+     * @param soloNoLeidas Si es {@code true}, solo los avisos no leídos.
+     * @param limit        Número máximo de avisos.
+     * @return Los avisos, más recientes primero.
+     */
+    @GetMapping("/alertas")
+    @CircuitBreaker(name = "inmuebleServiceCircuitBreaker", fallbackMethod = "fallbackGetAlertas")
+    List<InmuebleAlertaDto> getAlertas(@RequestParam(value = "soloNoLeidas", required = false) Boolean soloNoLeidas,
+                                       @RequestParam(value = "limit", required = false) Integer limit);
+
+    /**
+     * Método de fallback para {@link #getAlertas(Boolean, Integer)}.
+     * Devuelve una bandeja vacía.
+     *
+     * @param soloNoLeidas Filtro de la petición original.
+     * @param limit        Límite de la petición original.
+     * @param throwable La excepción que causó la activación del fallback.
+     * @return Una lista vacía.
+     */
+    default List<InmuebleAlertaDto> fallbackGetAlertas(Boolean soloNoLeidas, Integer limit, Throwable throwable) {
+        System.err.println("Fallback para InmuebleServiceRequest.getAlertas() activado. Causa: " + (throwable != null ? throwable.getMessage() : "Desconocida"));
+        return Collections.emptyList();
+    }
+
+    /**
+     * Llama al endpoint {@code PUT /api/inmueble/alertas/leidas} del servicio de inmuebles para marcar
+     * como leídos los avisos del usuario autenticado hasta uno dado (inclusive).
+     *
+     * @param hastaId El ID del aviso más reciente visto.
+     * @return El número de avisos marcados.
+     */
+    @PutMapping("/alertas/leidas")
+    Integer marcarAlertasLeidas(@RequestParam("hastaId") Long hastaId);
+
+    /**
+     * Llama al endpoint {@code POST /api/inmueble/{inmuebleId}/reserva} del servicio de inmuebles para
+     * reservar un inmueble (o renovar la reserva) a nombre del usuario autenticado.
+     *
+     * @param inmuebleId El ID del inmueble.
+     * @param minutos    Duración de la reserva en minutos ({@code null} para la duración por defecto).
+     * @return El resultado de la reserva.
+     * @throws feign.FeignException.Conflict si el inmueble no está disponible.
+     * @throws feign.FeignException.NotFound si el inmueble no existe.
+     */
+    @PostMapping("/{inmuebleId}/reserva")
+    ReservaResultadoDto reservar(@PathVariable("inmuebleId") Long inmuebleId,
+                                 @RequestParam(value = "minutos", required = false) Integer minutos);
 
-}
\ No newline at end of file
+    /**
+     * Llama al endpoint {@code DELETE /api/inmueble/{inmuebleId}/reserva} del servicio de inmuebles.
+     *
+     * @param inmuebleId El ID del inmueble.
+     * @throws feign.FeignException.NotFound si el inmueble no tiene reserva.
+     * @throws feign.FeignException.Forbidden si la reserva es de otro usuario.
+     */
+    @DeleteMapping("/{inmuebleId}/reserva")
+    void cancelarReserva(@PathVariable("inmuebleId") Long inmuebleId);
+
+    /**
+     * Llama al endpoint {@code GET /api/inmueble/stats} del servicio de inmuebles para obtener
+     * las estadísticas globales del catálogo (total, desglose por estado y agregados de precio).
+     * <p>
+     * Es la alternativa a contar el resultado de {@link #getAllInmuebles()}: el servicio responde
+     * con unos pocos números calculados en la base de datos.
+     *
+     * @return Las estadísticas globales como {@link InmuebleStatsDto}.
+     */
+    @GetMapping("/stats")
+    @CircuitBreaker(name = "inmuebleServiceCircuitBreaker", fallbackMethod = "fallbackGetEstadisticas")
+    InmuebleStatsDto getEstadisticas();
+
+    /**
+     * Método de fallback para {@link #getEstadisticas()}.
+     * Devuelve {@code null} para que la vista muestre las estadísticas como no disponibles
+     * en lugar de unos valores a cero engañosos.
+     *
+     * @param throwable La excepción que causó la activación del fallback.
+     * @return {@code null}.
+     */
+    default InmuebleStatsDto fallbackGetEstadisticas(Throwable throwable) {
+        System.err.println("Fallback para InmuebleServiceRequest.getEstadisticas() activado. Causa: " + (throwable != null ? throwable.getMessage() : "Desconocida"));
+        return null;
+    }
+
+    /**
+     * Llama al endpoint {@code GET /api/inmueble/stats/user/{userId}} del servicio de inmuebles
+     * para obtener las estadísticas de los inmuebles de un propietario.
+     *
+     * @param userId El ID del propietario.
+     * @return Las estadísticas del propietario como {@link InmuebleStatsDto}.
+     */
+    @GetMapping("/stats/user/{userId}")
+    @CircuitBreaker(name = "inmuebleServiceCircuitBreaker", fallbackMethod = "fallbackGetEstadisticasDeUsuario")
+    InmuebleStatsDto getEstadisticasDeUsuario(@PathVariable("userId") Long userId);
+
+    /**
+     * Método de fallback para {@link #getEstadisticasDeUsuario(Long)}.
+     * Devuelve {@code null} para que la vista muestre las estadísticas como no disponibles.
+     *
+     * @param userId El propietario de la petición original.
+     * @param throwable La excepción que causó la activación del fallback.
+     * @return {@code null}.
+     */
+    default InmuebleStatsDto fallbackGetEstadisticasDeUsuario(Long userId, Throwable throwable) {
+        System.err.println("Fallback para InmuebleServiceRequest.getEstadisticasDeUsuario() activado. Causa: " + (throwable != null ? throwable.getMessage() : "Desconocida"));
+        return null;
+    }
+
+    /**
+     * Versión condicional de {@link #getAllInmuebles()}: envía {@code If-None-Match} con el
+     * {@code ETag} (versión del catálogo) de la última respuesta recibida.
+     * <p>
+     * Devuelve la {@link Response} sin decodificar para poder distinguir un {@code 304 Not Modified}
+     * (que Feign trataría como error) de un {@code 200 OK}. La gestión de la caché local está en
+     * {@code InmuebleCatalogoService}.
+     *
+     * @param fields      Campos a devolver, separados por comas; {@code null} para todos.
+     * @param ifNoneMatch El {@code ETag} conocido, o {@code null} si no hay ninguno (la cabecera se omite).
+     * @return La respuesta HTTP cruda; debe cerrarse tras leerla. {@code null} si se activa el fallback.
+     */
+    @GetMapping()
+    @CircuitBreaker(name = "inmuebleServiceCircuitBreaker", fallbackMethod = "fallbackRespuestaCondicional")
+    Response getAllInmueblesIfNoneMatch(@RequestParam(value = "fields", required = false) String fields,
+                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    /**
+     * Versión condicional de {@link #getInmuebleById(Long)}: envía {@code If-None-Match} con el
+     * {@code ETag} de la última respuesta recibida para ese inmueble.
+     *
+     * @param inmuebleId  El ID del inmueble a recuperar.
+     * @param ifNoneMatch El {@code ETag} conocido, o {@code null} si no hay ninguno (la cabecera se omite).
+     * @return La respuesta HTTP cruda; debe cerrarse tras leerla. {@code null} si se activa el fallback.
+     */
+    @GetMapping("/{inmuebleId}")
+    @CircuitBreaker(name = "inmuebleServiceCircuitBreaker", fallbackMethod = "fallbackRespuestaCondicional")
+    Response getInmuebleByIdIfNoneMatch(@PathVariable("inmuebleId") Long inmuebleId,
+                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    /**
+     * Método de fallback para {@link #getAllInmueblesIfNoneMatch(String, String)}.
+     * Devuelve {@code null} para que el llamante recurra a su copia local, si la tiene.
+     *
+     * @param fields      Los campos de la petición original.
+     * @param ifNoneMatch El {@code ETag} de la petición original.
+     * @param throwable La excepción que causó la activación del fallback.
+     * @return {@code null}.
+     */
+    default Response fallbackRespuestaCondicional(String fields, String ifNoneMatch, Throwable throwable) {
+        System.err.println("Fallback para InmuebleServiceRequest.getAllInmueblesIfNoneMatch() activado. Causa: " + (throwable != null ? throwable.getMessage() : "Desconocida"));
+        return null;
+    }
+
+    /**
+     * Método de fallback para {@link #getInmuebleByIdIfNoneMatch(Long, String)}.
+     * Devuelve {@code null} para que el llamante recurra a su copia local, si la tiene.
+     *
+     * @param inmuebleId  El ID de la petición original.
+     * @param ifNoneMatch El {@code ETag} de la petición original.
+     * @param throwable La excepción que causó la activación del fallback.
+     * @return {@code null}.
+     */
+    default Response fallbackRespuestaCondicional(Long inmuebleId, String ifNoneMatch, Throwable throwable) {
+        System.err.println("Fallback para InmuebleServiceRequest.getInmuebleByIdIfNoneMatch() activado. Causa: " + (throwable != null ? throwable.getMessage() : "Desconocida"));
+        return null;
+    }
+
+    /**
+     * Llama al endpoint {@code POST /api/inmueble/imagenes} del servicio de inmuebles para subir una foto.
+     * El servicio la guarda direccionada por contenido y genera sus miniaturas en segundo plano.
+     *
+     * @param file La imagen enviada por el usuario.
+     * @return Un {@link ImagenSubidaDto} con el hash de la imagen.
+     * @throws feign.FeignException.BadRequest si el fichero no es una imagen admitida.
+     */
+    @PostMapping(value = "/imagenes", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    ImagenSubidaDto subirImagen(@RequestPart("file") MultipartFile file);
+
+    /**
+     * Llama al endpoint {@code GET /api/inmueble/imagenes/{hash}} del servicio de inmuebles para
+     * descargar una foto o una de sus miniaturas.
+     * <p>
+     * Devuelve la {@link Response} sin decodificar para reenviar el cuerpo en streaming y poder
+     * distinguir un {@code 304 Not Modified} o un {@code 404 Not Found}.
+     *
+     * @param hash        El SHA-256 de la imagen.
+     * @param size        Ancho deseado en píxeles, o {@code null} para el original.
+     * @param ifNoneMatch El {@code ETag} que tiene el navegador, o {@code null}.
+     * @return La respuesta HTTP cruda; debe cerrarse tras leerla. {@code null} si se activa el fallback.
+     */
+    @GetMapping("/imagenes/{hash}")
+    @CircuitBreaker(name = "inmuebleServiceCircuitBreaker", fallbackMethod = "fallbackGetImagen")
+    Response getImagen(@PathVariable("hash") String hash,
+                       @RequestParam(value = "size", required = false) Integer size,
+                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    /**
+     * Método de fallback para {@link #getImagen(String, Integer, String)}.
+     * Devuelve {@code null} para que el llamante responda con un error temporal.
+     *
+     * @param hash        El hash de la petición original.
+     * @param size        El ancho de la petición original.
+     * @param ifNoneMatch El {@code ETag} de la petición original.
+     * @param throwable La excepción que causó la activación del fallback.
+     * @return {@code null}.
+     */
+    default Response fallbackGetImagen(String hash, Integer size, String ifNoneMatch, Throwable throwable) {
+        System.err.println("Fallback para InmuebleServiceRequest.getImagen() activado. Causa: " + (throwable != null ? throwable.getMessage() : "Desconocida"));
+        return null;
+    }
+}
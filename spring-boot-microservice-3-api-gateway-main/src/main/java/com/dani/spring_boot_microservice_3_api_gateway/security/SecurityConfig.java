@@ -137,13 +137,22 @@ public class SecurityConfig {
                         .requestMatchers(PUBLIC_UI_PATHS).permitAll()
                         .requestMatchers(PUBLIC_API_PATHS).permitAll()
                         .requestMatchers(HttpMethod.GET, "/gateway/inmueble").permitAll() // Listar inmuebles públicamente
+                        .requestMatchers(HttpMethod.GET, "/gateway/inmueble/page").permitAll() // Catálogo paginado público
+                        .requestMatchers(HttpMethod.GET, "/gateway/inmueble/search").permitAll() // Búsqueda pública
+                        .requestMatchers(HttpMethod.GET, "/gateway/inmueble/suggest").permitAll() // Autocompletado público
+                        .requestMatchers(HttpMethod.GET, "/gateway/inmueble/trending").permitAll() // Tendencias para la portada
+                        .requestMatchers(HttpMethod.GET, "/gateway/inmueble/*/similar").permitAll() // Similares en la ficha
+                        .requestMatchers(HttpMethod.GET, "/gateway/inmueble/imagenes/**").permitAll() // Fotos y miniaturas
 
                         // --- Rutas que requieren autenticación general ---
                         .requestMatchers(HttpMethod.POST, "/gateway/inmueble").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/gateway/inmueble/imagenes").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/gateway/inmueble/*/reserva").authenticated()
                         .requestMatchers(HttpMethod.PUT, "/gateway/inmueble/**").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/gateway/inmueble/**").authenticated()
                         .requestMatchers(HttpMethod.POST, "/gateway/compra").authenticated()
                         .requestMatchers(HttpMethod.GET, "/gateway/compra/api/mis-compras").authenticated()
+                        .requestMatchers("/gateway/inmueble/busquedas/**", "/gateway/inmueble/alertas/**").authenticated()
                         .requestMatchers(HttpMethod.PUT, "/api/user/change/**").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/user").authenticated()
 
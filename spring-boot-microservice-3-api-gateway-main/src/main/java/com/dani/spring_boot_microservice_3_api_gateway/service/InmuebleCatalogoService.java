@@ -0,0 +1,45 @@
+package com.dani.spring_boot_microservice_3_api_gateway.service;
+
+import com.dani.spring_boot_microservice_3_api_gateway.dto.InmuebleDto;
+
+import java.util.List;
+
+/**
+ * Interfaz que define las lecturas del catálogo de inmuebles que el API Gateway
+ * revalida mediante {@code ETag} en lugar de descargarlas completas en cada petición.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public interface InmuebleCatalogoService {
+
+    /**
+     * Devuelve todos los inmuebles del catálogo.
+     * <p>
+     * Si el catálogo no ha cambiado desde la última llamada, se reutiliza la copia local
+     * (el {@code inmueble-service} responde {@code 304 Not Modified} sin consultar su base de datos).
+     *
+     * @return Una lista de {@link InmuebleDto}; vacía si el servicio no está disponible y no hay copia local.
+     */
+    List<InmuebleDto> getAllInmuebles();
+
+    /**
+     * Igual que {@link #getAllInmuebles()}, pero solo con los campos que muestran las pantallas de
+     * listado ({@link com.dani.spring_boot_microservice_3_api_gateway.request.InmuebleServiceRequest#CAMPOS_LISTADO});
+     * el resto de propiedades de cada {@link InmuebleDto} quedan a {@code null}.
+     *
+     * @return Una lista de {@link InmuebleDto} parciales; vacía si el servicio no está disponible y no hay copia local.
+     */
+    List<InmuebleDto> getListadoInmuebles();
+
+    /**
+     * Devuelve un inmueble por su ID, revalidando la copia local si existe.
+     *
+     * @param inmuebleId El ID del inmueble.
+     * @return El {@link InmuebleDto} encontrado.
+     * @throws feign.FeignException.NotFound si el inmueble no existe.
+     * @throws IllegalStateException si el servicio no está disponible y no hay copia local.
+     */
+    InmuebleDto getInmuebleById(Long inmuebleId);
+}
@@ -0,0 +1,162 @@
+package com.dani.spring_boot_microservice_3_api_gateway.service;
+
+import com.dani.spring_boot_microservice_3_api_gateway.dto.InmuebleDto;
+import com.dani.spring_boot_microservice_3_api_gateway.request.InmuebleServiceRequest;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Implementación de {@link InmuebleCatalogoService} con peticiones condicionales.
+ * <p>
+ * Guarda en memoria la última respuesta de cada lectura junto con su {@code ETag} (la versión del
+ * catálogo del {@code inmueble-service}) y la reenvía en {@code If-None-Match}:
+ * <ul>
+ * <li>{@code 304 Not Modified}: se devuelve la copia local, sin transferencia ni deserialización.</li>
+ * <li>{@code 200 OK}: se decodifica el cuerpo y se sustituye la copia local.</li>
+ * <li>Fallback del Circuit Breaker: se devuelve la copia local (posiblemente desactualizada) si existe.</li>
+ * </ul>
+ * La copia de inmuebles individuales se limita a los {@value #MAX_INMUEBLES_CACHEADOS} más recientes.
+ *
+ * @author Daniel Núñez Rojas (danidev fullstack software)
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InmuebleCatalogoServiceImpl implements InmuebleCatalogoService {
+
+    /**
+     * Número máximo de inmuebles individuales conservados en memoria (LRU).
+     */
+    private static final int MAX_INMUEBLES_CACHEADOS = 1000;
+
+    /**
+     * Respuesta conservada junto con su {@code ETag}.
+     */
+    private record Cacheado<T>(String etag, T valor) {
+    }
+
+    private final InmuebleServiceRequest inmuebleServiceRequest;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<Cacheado<List<InmuebleDto>>> catalogo = new AtomicReference<>();
+
+    private final AtomicReference<Cacheado<List<InmuebleDto>>> listado = new AtomicReference<>();
+
+    private final Map<Long, Cacheado<InmuebleDto>> inmuebles = Collections.synchronizedMap(
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Cacheado<InmuebleDto>> eldest) {
+                    return size() > MAX_INMUEBLES_CACHEADOS;
+                }
+            });
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<InmuebleDto> getAllInmuebles() {
+        JavaType tipo = objectMapper.getTypeFactory().constructCollectionType(List.class, InmuebleDto.class);
+        return leerCondicional("getAllInmuebles", etag -> inmuebleServiceRequest.getAllInmueblesIfNoneMatch(null, etag),
+                catalogo.get(), tipo, catalogo::set, Collections::emptyList);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<InmuebleDto> getListadoInmuebles() {
+        JavaType tipo = objectMapper.getTypeFactory().constructCollectionType(List.class, InmuebleDto.class);
+        return leerCondicional("getListadoInmuebles",
+                etag -> inmuebleServiceRequest.getAllInmueblesIfNoneMatch(InmuebleServiceRequest.CAMPOS_LISTADO, etag),
+                listado.get(), tipo, listado::set, Collections::emptyList);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InmuebleDto getInmuebleById(Long inmuebleId) {
+        JavaType tipo = objectMapper.constructType(InmuebleDto.class);
+        try {
+            return leerCondicional("getInmuebleById",
+                    etag -> inmuebleServiceRequest.getInmuebleByIdIfNoneMatch(inmuebleId, etag),
+                    inmuebles.get(inmuebleId), tipo, cacheado -> inmuebles.put(inmuebleId, cacheado),
+                    () -> {
+                        throw new IllegalStateException("inmueble-service no disponible para obtener el inmueble " + inmuebleId);
+                    });
+        } catch (FeignException.NotFound e) {
+            inmuebles.remove(inmuebleId);
+            throw e;
+        }
+    }
+
+    /**
+     * Ejecuta una lectura condicional y resuelve su resultado frente a la copia local.
+     *
+     * @param metodo      Nombre de la operación, para los mensajes de error.
+     * @param llamada     La llamada Feign, que recibe el {@code ETag} a enviar (o {@code null}).
+     * @param cacheado    La copia local actual, o {@code null}.
+     * @param tipo        Tipo al que decodificar el cuerpo de un {@code 200 OK}.
+     * @param guardar     Acción que sustituye la copia local.
+     * @param sinServicio Resultado a devolver si el servicio no está disponible y no hay copia local.
+     * @return El valor vigente.
+     */
+    private <T> T leerCondicional(String metodo, Function<String, Response> llamada, Cacheado<T> cacheado,
+                                  JavaType tipo, Consumer<Cacheado<T>> guardar, Supplier<T> sinServicio) {
+        Response response = llamada.apply(cacheado != null ? cacheado.etag() : null);
+        if (response == null) {
+            if (cacheado != null) {
+                log.warn("inmueble-service no disponible; se sirve la copia local de {} (ETag {}).", metodo, cacheado.etag());
+                return cacheado.valor();
+            }
+            return sinServicio.get();
+        }
+        try (response) {
+            if (response.status() == HttpStatus.NOT_MODIFIED.value() && cacheado != null) {
+                log.debug("{} sin cambios (ETag {}).", metodo, cacheado.etag());
+                return cacheado.valor();
+            }
+            if (response.status() != HttpStatus.OK.value() || response.body() == null) {
+                throw FeignException.errorStatus(metodo, response);
+            }
+            T valor;
+            try (InputStream body = response.body().asInputStream()) {
+                valor = objectMapper.readValue(body, tipo);
+            }
+            String etag = etag(response);
+            if (etag != null) {
+                guardar.accept(new Cacheado<>(etag, valor));
+            }
+            return valor;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al leer la respuesta de " + metodo, e);
+        }
+    }
+
+    private static String etag(Response response) {
+        Collection<String> valores = response.headers().get(HttpHeaders.ETAG);
+        return (valores == null || valores.isEmpty()) ? null : valores.iterator().next();
+    }
+}